@@ -0,0 +1,313 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.codec;
+
+import be.yildiz.common.Color;
+import be.yildiz.common.vector.MutablePoint3D;
+import be.yildiz.common.vector.Point3D;
+import be.yildiz.common.vector.Quaternion;
+import be.yildiz.common.vector.Radian;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Write and read values in a ByteBuffer, using relative operations so the buffer position is moved after each value.
+ * Full precision methods keep the exact values, compressed methods trade some precision for a smaller size.
+ * To quantize positions within bounds, use a Point3DQuantizer.
+ *
+ * @author Grégory Van den Borre
+ */
+public interface BinaryCodec {
+
+    /**
+     * Number of bytes used by a full precision Point3D.
+     */
+    int POINT3D_BYTES = 12;
+
+    /**
+     * Number of bytes used by a full precision Quaternion.
+     */
+    int QUATERNION_BYTES = 16;
+
+    /**
+     * Number of bytes used by a smallest three compressed Quaternion.
+     */
+    int QUATERNION_SMALLEST_THREE_BYTES = 4;
+
+    /**
+     * Number of bytes used by a Color.
+     */
+    int COLOR_BYTES = 4;
+
+    /**
+     * Number of bytes used by a full precision Radian.
+     */
+    int RADIAN_BYTES = 4;
+
+    /**
+     * Number of bytes used by a 16 bits quantized Radian.
+     */
+    int RADIAN_QUANTIZED_BYTES = 2;
+
+    /**
+     * Number of bits used by each of the three smallest quaternion components.
+     */
+    int SMALLEST_THREE_BITS = 10;
+
+    /**
+     * Mask to retrieve a smallest three component.
+     */
+    int SMALLEST_THREE_MASK = (1 << SMALLEST_THREE_BITS) - 1;
+
+    /**
+     * Highest absolute value of a quaternion component which is not the largest one: 1 / sqrt(2).
+     */
+    float SMALLEST_THREE_RANGE = (float) (1.0 / Math.sqrt(2.0));
+
+    /**
+     * Full circle.
+     */
+    double TWO_PI = Math.PI * 2.0;
+
+    /**
+     * Write a point with full precision.
+     *
+     * @param buffer Buffer to write in.
+     * @param point  Point to write.
+     * @return The buffer.
+     */
+    static ByteBuffer writePoint3D(final ByteBuffer buffer, final Point3D point) {
+        return buffer.putFloat(point.x).putFloat(point.y).putFloat(point.z);
+    }
+
+    /**
+     * Write a point with full precision.
+     *
+     * @param buffer Buffer to write in.
+     * @param point  Point to write.
+     * @return The buffer.
+     */
+    static ByteBuffer writePoint3D(final ByteBuffer buffer, final MutablePoint3D point) {
+        return buffer.putFloat(point.x).putFloat(point.y).putFloat(point.z);
+    }
+
+    /**
+     * Read a full precision point.
+     *
+     * @param buffer Buffer to read from.
+     * @return The read point.
+     */
+    static Point3D readPoint3D(final ByteBuffer buffer) {
+        float x = buffer.getFloat();
+        float y = buffer.getFloat();
+        float z = buffer.getFloat();
+        return Point3D.xyz(x, y, z);
+    }
+
+    /**
+     * Read a full precision point without creating a new object.
+     *
+     * @param buffer Buffer to read from.
+     * @param result Point to write the read values in.
+     * @return The result parameter.
+     */
+    static MutablePoint3D readPoint3D(final ByteBuffer buffer, final MutablePoint3D result) {
+        float x = buffer.getFloat();
+        float y = buffer.getFloat();
+        float z = buffer.getFloat();
+        return result.set(x, y, z);
+    }
+
+    /**
+     * Write a quaternion with full precision.
+     *
+     * @param buffer Buffer to write in.
+     * @param q      Quaternion to write.
+     * @return The buffer.
+     */
+    static ByteBuffer writeQuaternion(final ByteBuffer buffer, final Quaternion q) {
+        return buffer.putFloat(q.w).putFloat(q.x).putFloat(q.y).putFloat(q.z);
+    }
+
+    /**
+     * Read a full precision quaternion.
+     *
+     * @param buffer Buffer to read from.
+     * @return The read quaternion.
+     */
+    static Quaternion readQuaternion(final ByteBuffer buffer) {
+        float w = buffer.getFloat();
+        float x = buffer.getFloat();
+        float y = buffer.getFloat();
+        float z = buffer.getFloat();
+        return new Quaternion(w, x, y, z);
+    }
+
+    /**
+     * Write a rotation quaternion in 4 bytes with the smallest three compression: the quaternion is normalized,
+     * the index of its largest component is stored on 2 bits and the 3 other components are stored on 10 bits each,
+     * the largest one is rebuilt when reading as the quaternion is unit length.
+     * The quaternion sign can be inverted, q and -q represent the same rotation.
+     *
+     * @param buffer Buffer to write in.
+     * @param q      Quaternion to write, must not be zero length.
+     * @return The buffer.
+     */
+    static ByteBuffer writeQuaternionSmallestThree(final ByteBuffer buffer, final Quaternion q) {
+        Quaternion n = q.normalize();
+        float[] c = {n.w, n.x, n.y, n.z};
+        int largest = 0;
+        for (int i = 1; i < c.length; i++) {
+            if (Math.abs(c[i]) > Math.abs(c[largest])) {
+                largest = i;
+            }
+        }
+        float sign = c[largest] < 0 ? -1 : 1;
+        int packed = largest;
+        for (int i = 0; i < c.length; i++) {
+            if (i != largest) {
+                packed = (packed << SMALLEST_THREE_BITS) | BinaryCodec.quantize(c[i] * sign, -SMALLEST_THREE_RANGE, SMALLEST_THREE_RANGE, SMALLEST_THREE_MASK);
+            }
+        }
+        return buffer.putInt(packed);
+    }
+
+    /**
+     * Read a smallest three compressed quaternion.
+     *
+     * @param buffer Buffer to read from.
+     * @return The read quaternion, normalized.
+     */
+    static Quaternion readQuaternionSmallestThree(final ByteBuffer buffer) {
+        int packed = buffer.getInt();
+        int largest = packed >>> (SMALLEST_THREE_BITS * 3);
+        float[] c = new float[4];
+        float sum = 0;
+        for (int i = c.length - 1, shift = 0; i >= 0; i--) {
+            if (i != largest) {
+                c[i] = BinaryCodec.dequantize((packed >>> shift) & SMALLEST_THREE_MASK, -SMALLEST_THREE_RANGE, SMALLEST_THREE_RANGE, SMALLEST_THREE_MASK);
+                sum += c[i] * c[i];
+                shift += SMALLEST_THREE_BITS;
+            }
+        }
+        c[largest] = (float) Math.sqrt(Math.max(0, 1 - sum));
+        return new Quaternion(c[0], c[1], c[2], c[3]).normalize();
+    }
+
+    /**
+     * Write a color, each component is stored on 1 byte, in red, green, blue, alpha order.
+     *
+     * @param buffer Buffer to write in.
+     * @param color  Color to write.
+     * @return The buffer.
+     */
+    static ByteBuffer writeColor(final ByteBuffer buffer, final Color color) {
+        return buffer.put((byte) color.red).put((byte) color.green).put((byte) color.blue).put((byte) color.alpha);
+    }
+
+    /**
+     * Read a color.
+     *
+     * @param buffer Buffer to read from.
+     * @return The read color.
+     */
+    static Color readColor(final ByteBuffer buffer) {
+        int red = buffer.get() & 0xFF;
+        int green = buffer.get() & 0xFF;
+        int blue = buffer.get() & 0xFF;
+        int alpha = buffer.get() & 0xFF;
+        return new Color(red, green, blue, alpha);
+    }
+
+    /**
+     * Write an angle with full precision.
+     *
+     * @param buffer Buffer to write in.
+     * @param angle  Angle to write.
+     * @return The buffer.
+     */
+    static ByteBuffer writeRadian(final ByteBuffer buffer, final Radian angle) {
+        return buffer.putFloat(angle.angle);
+    }
+
+    /**
+     * Read a full precision angle.
+     *
+     * @param buffer Buffer to read from.
+     * @return The read angle.
+     */
+    static Radian readRadian(final ByteBuffer buffer) {
+        return new Radian(buffer.getFloat());
+    }
+
+    /**
+     * Write an angle on 16 bits, the angle is wrapped in the [-PI, PI[ range, the precision is about 0.0001 radian.
+     *
+     * @param buffer Buffer to write in.
+     * @param angle  Angle to write.
+     * @return The buffer.
+     */
+    static ByteBuffer writeRadianQuantized(final ByteBuffer buffer, final Radian angle) {
+        double turn = (angle.angle + Math.PI) / TWO_PI;
+        turn -= Math.floor(turn);
+        return buffer.putShort((short) Math.round(turn * 0x10000));
+    }
+
+    /**
+     * Read an angle written on 16 bits.
+     *
+     * @param buffer Buffer to read from.
+     * @return The read angle, in the [-PI, PI[ range.
+     */
+    static Radian readRadianQuantized(final ByteBuffer buffer) {
+        return new Radian((float) ((buffer.getShort() & 0xFFFF) * TWO_PI / 0x10000 - Math.PI));
+    }
+
+    /**
+     * Convert a value to an integer in the [0, steps] range.
+     *
+     * @param value Value to convert, clamped to the bounds.
+     * @param min   Lowest possible value.
+     * @param max   Highest possible value.
+     * @param steps Highest integer value.
+     * @return The quantized value.
+     */
+    static int quantize(final float value, final float min, final float max, final int steps) {
+        float clamped = Math.min(max, Math.max(min, value));
+        return Math.round((clamped - min) / (max - min) * steps);
+    }
+
+    /**
+     * Convert an integer in the [0, steps] range to a value.
+     *
+     * @param value Value to convert.
+     * @param min   Lowest possible value.
+     * @param max   Highest possible value.
+     * @param steps Highest integer value.
+     * @return The dequantized value.
+     */
+    static float dequantize(final int value, final float min, final float max, final int steps) {
+        return min + value * (max - min) / steps;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.codec;
+
+import be.yildiz.common.vector.MutablePoint3D;
+import be.yildiz.common.vector.Point3D;
+import be.yildiz.common.vector.Point3DBuffer;
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Write and read positions with each coordinate quantized on 16 bits within fixed bounds, a point is then stored in 6 bytes instead of 12.
+ * Values outside of the bounds are clamped, the precision on each axis is (max - min) / 65535.
+ * Immutable class.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class Point3DQuantizer {
+
+    /**
+     * Number of bytes used by a quantized point.
+     */
+    public static final int BYTES = 6;
+
+    /**
+     * Highest quantized value.
+     */
+    private static final int STEPS = 0xFFFF;
+
+    /**
+     * Lowest possible position.
+     */
+    private final Point3D min;
+
+    /**
+     * Highest possible position.
+     */
+    private final Point3D max;
+
+    /**
+     * Create a new quantizer for the given bounds.
+     *
+     * @param min Lowest possible position.
+     * @param max Highest possible position, each coordinate must be greater than the min one.
+     * @throws IllegalArgumentException If a max coordinate is not greater than the min one.
+     */
+    public Point3DQuantizer(@NonNull final Point3D min, @NonNull final Point3D max) {
+        super();
+        if (max.x <= min.x || max.y <= min.y || max.z <= min.z) {
+            throw new IllegalArgumentException("Max bound " + max + " must be greater than min bound " + min);
+        }
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Write a point.
+     *
+     * @param buffer Buffer to write in.
+     * @param point  Point to write.
+     * @return The buffer.
+     */
+    public ByteBuffer write(final ByteBuffer buffer, final Point3D point) {
+        return this.write(buffer, point.x, point.y, point.z);
+    }
+
+    /**
+     * Write a point.
+     *
+     * @param buffer Buffer to write in.
+     * @param point  Point to write.
+     * @return The buffer.
+     */
+    public ByteBuffer write(final ByteBuffer buffer, final MutablePoint3D point) {
+        return this.write(buffer, point.x, point.y, point.z);
+    }
+
+    /**
+     * Write all the points of a buffer.
+     *
+     * @param buffer Buffer to write in.
+     * @param points Points to write.
+     * @return The buffer.
+     */
+    public ByteBuffer write(final ByteBuffer buffer, final Point3DBuffer points) {
+        for (int i = 0; i < points.size(); i++) {
+            this.write(buffer, points.getX(i), points.getY(i), points.getZ(i));
+        }
+        return buffer;
+    }
+
+    /**
+     * Read a point.
+     *
+     * @param buffer Buffer to read from.
+     * @return The read point.
+     */
+    public Point3D read(final ByteBuffer buffer) {
+        return this.read(buffer, new MutablePoint3D()).toPoint3D();
+    }
+
+    /**
+     * Read a point without creating a new object.
+     *
+     * @param buffer Buffer to read from.
+     * @param result Point to write the read values in.
+     * @return The result parameter.
+     */
+    public MutablePoint3D read(final ByteBuffer buffer, final MutablePoint3D result) {
+        float x = BinaryCodec.dequantize(buffer.getShort() & STEPS, this.min.x, this.max.x, STEPS);
+        float y = BinaryCodec.dequantize(buffer.getShort() & STEPS, this.min.y, this.max.y, STEPS);
+        float z = BinaryCodec.dequantize(buffer.getShort() & STEPS, this.min.z, this.max.z, STEPS);
+        return result.set(x, y, z);
+    }
+
+    /**
+     * Read a given number of points.
+     *
+     * @param buffer Buffer to read from.
+     * @param number Number of points to read.
+     * @param result Buffer to append the read points to.
+     * @return The result parameter.
+     */
+    public Point3DBuffer read(final ByteBuffer buffer, final int number, final Point3DBuffer result) {
+        for (int i = 0; i < number; i++) {
+            float x = BinaryCodec.dequantize(buffer.getShort() & STEPS, this.min.x, this.max.x, STEPS);
+            float y = BinaryCodec.dequantize(buffer.getShort() & STEPS, this.min.y, this.max.y, STEPS);
+            float z = BinaryCodec.dequantize(buffer.getShort() & STEPS, this.min.z, this.max.z, STEPS);
+            result.append(x, y, z);
+        }
+        return result;
+    }
+
+    /**
+     * @return The quantization step on each axis, the highest error is half of it.
+     */
+    public Point3D getPrecision() {
+        return Point3D.xyz(
+                (this.max.x - this.min.x) / STEPS,
+                (this.max.y - this.min.y) / STEPS,
+                (this.max.z - this.min.z) / STEPS);
+    }
+
+    /**
+     * Write the quantized coordinates.
+     *
+     * @param buffer Buffer to write in.
+     * @param x      X coordinate.
+     * @param y      Y coordinate.
+     * @param z      Z coordinate.
+     * @return The buffer.
+     */
+    private ByteBuffer write(final ByteBuffer buffer, final float x, final float y, final float z) {
+        return buffer
+                .putShort((short) BinaryCodec.quantize(x, this.min.x, this.max.x, STEPS))
+                .putShort((short) BinaryCodec.quantize(y, this.min.y, this.max.y, STEPS))
+                .putShort((short) BinaryCodec.quantize(z, this.min.z, this.max.z, STEPS));
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import lombok.NonNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Compressed set of ids backed by a CompressedBitmap of their values, shared implementation of the typed id sets.
+ * Set operations are done on the bitmaps and do not touch the ids.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @param <T> Type of the ids.
+ * @param <S> Type of the concrete set, returned by the set operations.
+ * @author Grégory Van den Borre
+ */
+abstract class AbstractIdSet<T, S extends AbstractIdSet<T, S>> {
+
+    /**
+     * Id values.
+     */
+    private final CompressedBitmap bitmap;
+
+    /**
+     * Create a set wrapping a bitmap.
+     *
+     * @param bitmap Id values.
+     */
+    AbstractIdSet(final CompressedBitmap bitmap) {
+        super();
+        this.bitmap = bitmap;
+    }
+
+    /**
+     * Retrieve the value of an id.
+     *
+     * @param id Id.
+     * @return The id value stored in the bitmap.
+     */
+    abstract long valueOf(T id);
+
+    /**
+     * Retrieve the id of a value.
+     *
+     * @param value Value stored in the bitmap.
+     * @return The id for that value.
+     */
+    abstract T idOf(long value);
+
+    /**
+     * Create a new set of the concrete type.
+     *
+     * @param values Id values of the new set.
+     * @return The created set.
+     */
+    abstract S create(CompressedBitmap values);
+
+    /**
+     * Add an id.
+     *
+     * @param id Id to add.
+     * @return <code>true</code> if the id was not already present.
+     */
+    public final boolean add(@NonNull final T id) {
+        return this.bitmap.add(this.valueOf(id));
+    }
+
+    /**
+     * Remove an id.
+     *
+     * @param id Id to remove.
+     * @return <code>true</code> if the id was present.
+     */
+    public final boolean remove(@NonNull final T id) {
+        return this.bitmap.remove(this.valueOf(id));
+    }
+
+    /**
+     * Check if an id is present.
+     *
+     * @param id Id to check.
+     * @return <code>true</code> if the id is in the set.
+     */
+    public final boolean contains(@NonNull final T id) {
+        return this.bitmap.contains(this.valueOf(id));
+    }
+
+    /**
+     * @return The number of ids.
+     */
+    public final long cardinality() {
+        return this.bitmap.cardinality();
+    }
+
+    /**
+     * @return <code>true</code> if the set has no id.
+     */
+    public final boolean isEmpty() {
+        return this.bitmap.isEmpty();
+    }
+
+    /**
+     * Remove all ids.
+     */
+    public final void clear() {
+        this.bitmap.clear();
+    }
+
+    /**
+     * Compute the intersection with another set.
+     *
+     * @param other Other set.
+     * @return A new set with the ids present in both sets.
+     */
+    public final S and(final S other) {
+        return this.create(this.bitmap.and(other.bitmap()));
+    }
+
+    /**
+     * Compute the number of ids present in both sets, without building the intersection.
+     *
+     * @param other Other set.
+     * @return The intersection cardinality.
+     */
+    public final long andCardinality(final S other) {
+        return this.bitmap.andCardinality(other.bitmap());
+    }
+
+    /**
+     * Compute the union with another set.
+     *
+     * @param other Other set.
+     * @return A new set with the ids present in any set.
+     */
+    public final S or(final S other) {
+        return this.create(this.bitmap.or(other.bitmap()));
+    }
+
+    /**
+     * Compute the difference with another set.
+     *
+     * @param other Other set.
+     * @return A new set with the ids of this set not present in the other one.
+     */
+    public final S andNot(final S other) {
+        return this.create(this.bitmap.andNot(other.bitmap()));
+    }
+
+    /**
+     * Compress the runs of consecutive ids, see CompressedBitmap.runOptimize.
+     */
+    public final void runOptimize() {
+        this.bitmap.runOptimize();
+    }
+
+    /**
+     * Call a function for every id, in ascending value order.
+     *
+     * @param action Function to call.
+     */
+    public final void forEach(final Consumer<T> action) {
+        this.bitmap.forEach(v -> action.accept(this.idOf(v)));
+    }
+
+    /**
+     * @return The id values.
+     */
+    final CompressedBitmap bitmap() {
+        return this.bitmap;
+    }
+
+    @Override
+    public final boolean equals(final Object obj) {
+        return this == obj || obj != null && obj.getClass() == this.getClass() && this.bitmap.equals(((AbstractIdSet<?, ?>) obj).bitmap);
+    }
+
+    @Override
+    public final int hashCode() {
+        return this.bitmap.hashCode();
+    }
+
+    @Override
+    public final String toString() {
+        return this.bitmap.toString();
+    }
+}
@@ -104,11 +104,31 @@ public final class BidirectionalMap<K, V> implements Iterable<Entry<K, V>> {
         this.inverseMap.remove(this.map.remove(key));
     }
 
+    /**
+     * @return A copy of the values.
+     */
     public List<V> getValues() {
         return new ArrayList<>(this.map.values());
     }
 
+    /**
+     * @return A copy of the keys.
+     */
     public List<K> getKeys() {
         return new ArrayList<>(this.inverseMap.values());
     }
+
+    /**
+     * @return A read only view on the keys, not a copy.
+     */
+    public Set<K> keySet() {
+        return Collections.unmodifiableSet(this.map.keySet());
+    }
+
+    /**
+     * @return A read only view on the values, not a copy.
+     */
+    public Set<V> valueSet() {
+        return Collections.unmodifiableSet(this.inverseMap.keySet());
+    }
 }
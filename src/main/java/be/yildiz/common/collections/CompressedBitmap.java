@@ -0,0 +1,1205 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Compressed set of long values, organized like a roaring bitmap: values are grouped by their high bits (value &gt;&gt; 16),
+ * the 16 low bits of each group are stored in a container chosen for its density:
+ * a sorted array for sparse groups, a 65536 bits bitmap for dense groups and a list of runs for consecutive values (see runOptimize).
+ * Set operations work container by container, only on the groups present in both sets.
+ * Values are iterated in ascending order.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class CompressedBitmap {
+
+    /**
+     * Maximum number of values in an array container, above this a bitmap container is smaller.
+     */
+    private static final int MAX_ARRAY_SIZE = 4096;
+
+    /**
+     * Number of long words in a bitmap container.
+     */
+    private static final int BITMAP_WORDS = 1024;
+
+    /**
+     * Key of each container, value &gt;&gt; 16, sorted.
+     */
+    private long[] keys;
+
+    /**
+     * Containers, in the same order as the keys.
+     */
+    private Container[] containers;
+
+    /**
+     * Number of containers.
+     */
+    private int size;
+
+    /**
+     * Create a new empty set.
+     */
+    public CompressedBitmap() {
+        super();
+        this.keys = new long[4];
+        this.containers = new Container[4];
+    }
+
+    /**
+     * Create a set with existing containers.
+     *
+     * @param keys       Container keys, sorted.
+     * @param containers Containers, none empty.
+     * @param size       Number of containers.
+     */
+    private CompressedBitmap(final long[] keys, final Container[] containers, final int size) {
+        super();
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    /**
+     * Create a new set containing some values.
+     *
+     * @param values Values to add.
+     * @return The created set.
+     */
+    public static CompressedBitmap of(final long... values) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (long v : values) {
+            result.add(v);
+        }
+        return result;
+    }
+
+    /**
+     * Add a value.
+     *
+     * @param value Value to add.
+     * @return <code>true</code> if the value was not already present.
+     */
+    public boolean add(final long value) {
+        long key = value >> 16;
+        char low = (char) value;
+        int i = this.indexOf(key);
+        if (i >= 0) {
+            Container c = this.containers[i];
+            if (c.contains(low)) {
+                return false;
+            }
+            this.containers[i] = c.add(low);
+            return true;
+        }
+        this.insert(-i - 1, key, new ArrayContainer().add(low));
+        return true;
+    }
+
+    /**
+     * Remove a value.
+     *
+     * @param value Value to remove.
+     * @return <code>true</code> if the value was present.
+     */
+    public boolean remove(final long value) {
+        int i = this.indexOf(value >> 16);
+        if (i < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Container c = this.containers[i];
+        if (!c.contains(low)) {
+            return false;
+        }
+        c = c.remove(low);
+        if (c.cardinality() == 0) {
+            System.arraycopy(this.keys, i + 1, this.keys, i, this.size - i - 1);
+            System.arraycopy(this.containers, i + 1, this.containers, i, this.size - i - 1);
+            this.size--;
+            this.containers[this.size] = null;
+        } else {
+            this.containers[i] = c;
+        }
+        return true;
+    }
+
+    /**
+     * Check if a value is present.
+     *
+     * @param value Value to check.
+     * @return <code>true</code> if the value is in the set.
+     */
+    public boolean contains(final long value) {
+        int i = this.indexOf(value >> 16);
+        return i >= 0 && this.containers[i].contains((char) value);
+    }
+
+    /**
+     * @return The number of values.
+     */
+    public long cardinality() {
+        long result = 0;
+        for (int i = 0; i < this.size; i++) {
+            result += this.containers[i].cardinality();
+        }
+        return result;
+    }
+
+    /**
+     * @return <code>true</code> if the set has no value.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Remove all values.
+     */
+    public void clear() {
+        Arrays.fill(this.containers, 0, this.size, null);
+        this.size = 0;
+    }
+
+    /**
+     * Compute the intersection with another set.
+     *
+     * @param other Other set.
+     * @return A new set with the values present in both sets.
+     */
+    public CompressedBitmap and(final CompressedBitmap other) {
+        int capacity = Math.max(1, Math.min(this.size, other.size));
+        CompressedBitmap result = new CompressedBitmap(new long[capacity], new Container[capacity], 0);
+        int i = 0;
+        int j = 0;
+        while (i < this.size && j < other.size) {
+            int cmp = Long.compare(this.keys[i], other.keys[j]);
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                Container c = Container.and(this.containers[i], other.containers[j]);
+                if (c != null) {
+                    result.append(this.keys[i], c);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compute the number of values present in both sets, without building the intersection.
+     *
+     * @param other Other set.
+     * @return The intersection cardinality.
+     */
+    public long andCardinality(final CompressedBitmap other) {
+        long result = 0;
+        int i = 0;
+        int j = 0;
+        while (i < this.size && j < other.size) {
+            int cmp = Long.compare(this.keys[i], other.keys[j]);
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                result += Container.andCardinality(this.containers[i], other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compute the union with another set.
+     *
+     * @param other Other set.
+     * @return A new set with the values present in any set.
+     */
+    public CompressedBitmap or(final CompressedBitmap other) {
+        int capacity = Math.max(1, this.size + other.size);
+        CompressedBitmap result = new CompressedBitmap(new long[capacity], new Container[capacity], 0);
+        int i = 0;
+        int j = 0;
+        while (i < this.size || j < other.size) {
+            int cmp = i == this.size ? 1 : j == other.size ? -1 : Long.compare(this.keys[i], other.keys[j]);
+            if (cmp < 0) {
+                result.append(this.keys[i], this.containers[i].copy());
+                i++;
+            } else if (cmp > 0) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(this.keys[i], Container.or(this.containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compute the difference with another set.
+     *
+     * @param other Other set.
+     * @return A new set with the values of this set not present in the other one.
+     */
+    public CompressedBitmap andNot(final CompressedBitmap other) {
+        int capacity = Math.max(1, this.size);
+        CompressedBitmap result = new CompressedBitmap(new long[capacity], new Container[capacity], 0);
+        int j = 0;
+        for (int i = 0; i < this.size; i++) {
+            while (j < other.size && other.keys[j] < this.keys[i]) {
+                j++;
+            }
+            if (j < other.size && other.keys[j] == this.keys[i]) {
+                Container c = Container.andNot(this.containers[i], other.containers[j]);
+                if (c != null) {
+                    result.append(this.keys[i], c);
+                }
+            } else {
+                result.append(this.keys[i], this.containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Convert the containers to run containers when it makes them smaller, to be called once a set containing long sequences of consecutive values is built.
+     */
+    public void runOptimize() {
+        for (int i = 0; i < this.size; i++) {
+            this.containers[i] = this.containers[i].runOptimize();
+        }
+    }
+
+    /**
+     * Call a function for every value, in ascending order.
+     *
+     * @param action Function to call.
+     */
+    public void forEach(final LongConsumer action) {
+        for (int i = 0; i < this.size; i++) {
+            this.containers[i].forEach(this.keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * @return An iterator over the values in ascending order, the set must not be modified during the iteration.
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new BitmapIterator();
+    }
+
+    /**
+     * @return All the values in ascending order.
+     */
+    public long[] toArray() {
+        long cardinality = this.cardinality();
+        if (cardinality > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many values for an array: " + cardinality);
+        }
+        long[] result = new long[(int) cardinality];
+        PrimitiveIterator.OfLong it = this.iterator();
+        for (int i = 0; i < result.length; i++) {
+            result[i] = it.nextLong();
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CompressedBitmap)) {
+            return false;
+        }
+        CompressedBitmap other = (CompressedBitmap) obj;
+        if (this.size != other.size || this.cardinality() != other.cardinality()) {
+            return false;
+        }
+        PrimitiveIterator.OfLong it = this.iterator();
+        PrimitiveIterator.OfLong otherIt = other.iterator();
+        while (it.hasNext()) {
+            if (it.nextLong() != otherIt.nextLong()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        PrimitiveIterator.OfLong it = this.iterator();
+        while (it.hasNext()) {
+            result = 31 * result + Long.hashCode(it.nextLong());
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        PrimitiveIterator.OfLong it = this.iterator();
+        while (it.hasNext()) {
+            sb.append(it.nextLong());
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Find a container.
+     *
+     * @param key Container key.
+     * @return The container index, or (-(insertion point) - 1) if not present.
+     */
+    private int indexOf(final long key) {
+        return Arrays.binarySearch(this.keys, 0, this.size, key);
+    }
+
+    /**
+     * Insert a new container.
+     *
+     * @param index     Position of the container.
+     * @param key       Container key.
+     * @param container Container to insert.
+     */
+    private void insert(final int index, final long key, final Container container) {
+        if (this.size == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, this.size * 2);
+            this.containers = Arrays.copyOf(this.containers, this.size * 2);
+        }
+        System.arraycopy(this.keys, index, this.keys, index + 1, this.size - index);
+        System.arraycopy(this.containers, index, this.containers, index + 1, this.size - index);
+        this.keys[index] = key;
+        this.containers[index] = container;
+        this.size++;
+    }
+
+    /**
+     * Add a container after the existing ones.
+     *
+     * @param key       Container key, greater than all existing keys.
+     * @param container Container to add.
+     */
+    private void append(final long key, final Container container) {
+        this.insert(this.size, key, container);
+    }
+
+    /**
+     * Iterate over the values, container by container.
+     */
+    private final class BitmapIterator implements PrimitiveIterator.OfLong {
+
+        /**
+         * Current container index.
+         */
+        private int container;
+
+        /**
+         * Next low bits in the current container, -1 if none.
+         */
+        private int next = -1;
+
+        /**
+         * Create a new iterator before the first value.
+         */
+        private BitmapIterator() {
+            super();
+            this.container = -1;
+            this.moveToNextContainer();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next >= 0;
+        }
+
+        @Override
+        public long nextLong() {
+            if (this.next < 0) {
+                throw new NoSuchElementException();
+            }
+            long result = (CompressedBitmap.this.keys[this.container] << 16) | this.next;
+            this.next = CompressedBitmap.this.containers[this.container].nextValue(this.next + 1);
+            if (this.next < 0) {
+                this.moveToNextContainer();
+            }
+            return result;
+        }
+
+        /**
+         * Place the iterator on the first value of the next container.
+         */
+        private void moveToNextContainer() {
+            this.container++;
+            this.next = this.container < CompressedBitmap.this.size ? CompressedBitmap.this.containers[this.container].nextValue(0) : -1;
+        }
+    }
+
+    /**
+     * Set of the 16 low bits values of a group.
+     */
+    private abstract static class Container {
+
+        /**
+         * Compute the intersection of 2 containers.
+         *
+         * @param a First container.
+         * @param b Second container.
+         * @return The intersection, null if empty.
+         */
+        private static Container and(final Container a, final Container b) {
+            if (a instanceof ArrayContainer) {
+                return ((ArrayContainer) a).filter(b, true);
+            }
+            if (b instanceof ArrayContainer) {
+                return ((ArrayContainer) b).filter(a, true);
+            }
+            long[] words = a.toWords();
+            b.andInto(words);
+            return Container.fromWords(words);
+        }
+
+        /**
+         * Compute the intersection cardinality of 2 containers.
+         *
+         * @param a First container.
+         * @param b Second container.
+         * @return The number of values present in both containers.
+         */
+        private static int andCardinality(final Container a, final Container b) {
+            if (a instanceof ArrayContainer) {
+                return ((ArrayContainer) a).countIn(b);
+            }
+            if (b instanceof ArrayContainer) {
+                return ((ArrayContainer) b).countIn(a);
+            }
+            long[] words = a.toWords();
+            b.andInto(words);
+            return Container.cardinality(words);
+        }
+
+        /**
+         * Compute the union of 2 containers.
+         *
+         * @param a First container.
+         * @param b Second container.
+         * @return The union.
+         */
+        private static Container or(final Container a, final Container b) {
+            if (a instanceof ArrayContainer && b instanceof ArrayContainer
+                    && a.cardinality() + b.cardinality() <= MAX_ARRAY_SIZE) {
+                return ((ArrayContainer) a).merge((ArrayContainer) b);
+            }
+            long[] words = a.toWords();
+            b.orInto(words);
+            return Container.fromWords(words);
+        }
+
+        /**
+         * Compute the difference of 2 containers.
+         *
+         * @param a Container to remove the values from.
+         * @param b Values to remove.
+         * @return The difference, null if empty.
+         */
+        private static Container andNot(final Container a, final Container b) {
+            if (a instanceof ArrayContainer) {
+                return ((ArrayContainer) a).filter(b, false);
+            }
+            long[] words = a.toWords();
+            b.andNotInto(words);
+            return Container.fromWords(words);
+        }
+
+        /**
+         * Build the smallest array or bitmap container for a bitmap.
+         *
+         * @param words Bitmap, kept by the container if a bitmap container is built.
+         * @return The built container, null if empty.
+         */
+        private static Container fromWords(final long[] words) {
+            int cardinality = Container.cardinality(words);
+            if (cardinality == 0) {
+                return null;
+            }
+            if (cardinality > MAX_ARRAY_SIZE) {
+                return new BitmapContainer(words, cardinality);
+            }
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values[n++] = (char) (w * 64 + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, cardinality);
+        }
+
+        /**
+         * Count the bits set in a bitmap.
+         *
+         * @param words Bitmap.
+         * @return The number of bits set.
+         */
+        private static int cardinality(final long[] words) {
+            int result = 0;
+            for (long word : words) {
+                result += Long.bitCount(word);
+            }
+            return result;
+        }
+
+        /**
+         * Check if a value is present.
+         *
+         * @param value Value to check.
+         * @return <code>true</code> if present.
+         */
+        abstract boolean contains(char value);
+
+        /**
+         * Add a value not present in the container.
+         *
+         * @param value Value to add.
+         * @return The container holding the result, this one or a new one if the type changed.
+         */
+        abstract Container add(char value);
+
+        /**
+         * Remove a value present in the container.
+         *
+         * @param value Value to remove.
+         * @return The container holding the result, this one or a new one if the type changed.
+         */
+        abstract Container remove(char value);
+
+        /**
+         * @return The number of values.
+         */
+        abstract int cardinality();
+
+        /**
+         * Find the smallest value greater or equal to a given one.
+         *
+         * @param from Lowest value to find, between 0 and 65536.
+         * @return The found value, -1 if none.
+         */
+        abstract int nextValue(int from);
+
+        /**
+         * Call a function for every value, in ascending order.
+         *
+         * @param high   High bits to add to the values, already shifted.
+         * @param action Function to call.
+         */
+        abstract void forEach(long high, LongConsumer action);
+
+        /**
+         * Set the bits of the values of this container in a bitmap.
+         *
+         * @param words Bitmap to update.
+         */
+        abstract void orInto(long[] words);
+
+        /**
+         * Clear the bits of the values of this container in a bitmap.
+         *
+         * @param words Bitmap to update.
+         */
+        abstract void andNotInto(long[] words);
+
+        /**
+         * Clear the bits of the values not present in this container in a bitmap.
+         *
+         * @param words Bitmap to update.
+         */
+        void andInto(final long[] words) {
+            long[] mine = this.toWords();
+            for (int i = 0; i < words.length; i++) {
+                words[i] &= mine[i];
+            }
+        }
+
+        /**
+         * @return A new bitmap with the values of this container.
+         */
+        long[] toWords() {
+            long[] words = new long[BITMAP_WORDS];
+            this.orInto(words);
+            return words;
+        }
+
+        /**
+         * @return A copy of this container.
+         */
+        abstract Container copy();
+
+        /**
+         * @return The number of runs of consecutive values.
+         */
+        abstract int numberOfRuns();
+
+        /**
+         * Convert this container to a run container if it is smaller.
+         *
+         * @return The smallest container.
+         */
+        Container runOptimize() {
+            int runs = this.numberOfRuns();
+            int cardinality = this.cardinality();
+            int currentBytes = cardinality > MAX_ARRAY_SIZE ? BITMAP_WORDS * 8 : cardinality * 2;
+            if (4 * runs >= currentBytes) {
+                return this;
+            }
+            char[] result = new char[runs * 2];
+            int n = 0;
+            int v = this.nextValue(0);
+            while (v >= 0) {
+                int start = v;
+                int end = v;
+                v = this.nextValue(v + 1);
+                while (v == end + 1) {
+                    end = v;
+                    v = this.nextValue(v + 1);
+                }
+                result[n++] = (char) start;
+                result[n++] = (char) (end - start);
+            }
+            return new RunContainer(result, runs, cardinality);
+        }
+    }
+
+    /**
+     * Container storing its values in a sorted array.
+     */
+    private static final class ArrayContainer extends Container {
+
+        /**
+         * Sorted values.
+         */
+        private char[] values;
+
+        /**
+         * Number of values.
+         */
+        private int cardinality;
+
+        /**
+         * Create an empty container.
+         */
+        private ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        /**
+         * Create a container with values.
+         *
+         * @param values      Sorted values.
+         * @param cardinality Number of values.
+         */
+        private ArrayContainer(final char[] values, final int cardinality) {
+            super();
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        boolean contains(final char value) {
+            return Arrays.binarySearch(this.values, 0, this.cardinality, value) >= 0;
+        }
+
+        @Override
+        Container add(final char value) {
+            if (this.cardinality == MAX_ARRAY_SIZE) {
+                long[] words = this.toWords();
+                words[value >>> 6] |= 1L << value;
+                return new BitmapContainer(words, this.cardinality + 1);
+            }
+            int index = -Arrays.binarySearch(this.values, 0, this.cardinality, value) - 1;
+            if (this.cardinality == this.values.length) {
+                this.values = Arrays.copyOf(this.values, Math.min(MAX_ARRAY_SIZE, this.cardinality * 2));
+            }
+            System.arraycopy(this.values, index, this.values, index + 1, this.cardinality - index);
+            this.values[index] = value;
+            this.cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(final char value) {
+            int index = Arrays.binarySearch(this.values, 0, this.cardinality, value);
+            System.arraycopy(this.values, index + 1, this.values, index, this.cardinality - index - 1);
+            this.cardinality--;
+            return this;
+        }
+
+        @Override
+        int cardinality() {
+            return this.cardinality;
+        }
+
+        @Override
+        int nextValue(final int from) {
+            if (from > Character.MAX_VALUE) {
+                return -1;
+            }
+            int index = Arrays.binarySearch(this.values, 0, this.cardinality, (char) from);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < this.cardinality ? this.values[index] : -1;
+        }
+
+        @Override
+        void forEach(final long high, final LongConsumer action) {
+            for (int i = 0; i < this.cardinality; i++) {
+                action.accept(high | this.values[i]);
+            }
+        }
+
+        @Override
+        void orInto(final long[] words) {
+            for (int i = 0; i < this.cardinality; i++) {
+                char v = this.values[i];
+                words[v >>> 6] |= 1L << v;
+            }
+        }
+
+        @Override
+        void andNotInto(final long[] words) {
+            for (int i = 0; i < this.cardinality; i++) {
+                char v = this.values[i];
+                words[v >>> 6] &= ~(1L << v);
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(this.values, Math.max(1, this.cardinality)), this.cardinality);
+        }
+
+        @Override
+        int numberOfRuns() {
+            int runs = this.cardinality == 0 ? 0 : 1;
+            for (int i = 1; i < this.cardinality; i++) {
+                if (this.values[i] != this.values[i - 1] + 1) {
+                    runs++;
+                }
+            }
+            return runs;
+        }
+
+        /**
+         * Keep the values present, or not present, in another container.
+         *
+         * @param other   Container to check.
+         * @param present <code>true</code> to keep the values present in other, <code>false</code> to keep the others.
+         * @return The filtered container, null if empty.
+         */
+        private Container filter(final Container other, final boolean present) {
+            char[] result = new char[this.cardinality];
+            int n = 0;
+            if (present && other instanceof ArrayContainer) {
+                ArrayContainer a = (ArrayContainer) other;
+                int i = 0;
+                int j = 0;
+                while (i < this.cardinality && j < a.cardinality) {
+                    if (this.values[i] < a.values[j]) {
+                        i++;
+                    } else if (this.values[i] > a.values[j]) {
+                        j++;
+                    } else {
+                        result[n++] = this.values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < this.cardinality; i++) {
+                    if (other.contains(this.values[i]) == present) {
+                        result[n++] = this.values[i];
+                    }
+                }
+            }
+            return n == 0 ? null : new ArrayContainer(result, n);
+        }
+
+        /**
+         * Count the values also present in another container.
+         *
+         * @param other Container to check.
+         * @return The number of values present in both containers.
+         */
+        private int countIn(final Container other) {
+            int result = 0;
+            for (int i = 0; i < this.cardinality; i++) {
+                if (other.contains(this.values[i])) {
+                    result++;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Merge the values of 2 array containers, the result must not be bigger than MAX_ARRAY_SIZE.
+         *
+         * @param other Other container.
+         * @return The union.
+         */
+        private ArrayContainer merge(final ArrayContainer other) {
+            char[] result = new char[this.cardinality + other.cardinality];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < this.cardinality && j < other.cardinality) {
+                char a = this.values[i];
+                char b = other.values[j];
+                if (a < b) {
+                    result[n++] = a;
+                    i++;
+                } else if (a > b) {
+                    result[n++] = b;
+                    j++;
+                } else {
+                    result[n++] = a;
+                    i++;
+                    j++;
+                }
+            }
+            while (i < this.cardinality) {
+                result[n++] = this.values[i++];
+            }
+            while (j < other.cardinality) {
+                result[n++] = other.values[j++];
+            }
+            return new ArrayContainer(result, n);
+        }
+    }
+
+    /**
+     * Container storing its values in a 65536 bits bitmap.
+     */
+    private static final class BitmapContainer extends Container {
+
+        /**
+         * Bitmap.
+         */
+        private final long[] words;
+
+        /**
+         * Number of bits set.
+         */
+        private int cardinality;
+
+        /**
+         * Create a container.
+         *
+         * @param words       Bitmap.
+         * @param cardinality Number of bits set.
+         */
+        private BitmapContainer(final long[] words, final int cardinality) {
+            super();
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        boolean contains(final char value) {
+            return (this.words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Container add(final char value) {
+            this.words[value >>> 6] |= 1L << value;
+            this.cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(final char value) {
+            this.words[value >>> 6] &= ~(1L << value);
+            this.cardinality--;
+            return this.cardinality > MAX_ARRAY_SIZE ? this : Container.fromWords(this.words);
+        }
+
+        @Override
+        int cardinality() {
+            return this.cardinality;
+        }
+
+        @Override
+        int nextValue(final int from) {
+            int w = from >>> 6;
+            if (w >= BITMAP_WORDS) {
+                return -1;
+            }
+            long word = this.words[w] & (-1L << from);
+            while (word == 0) {
+                w++;
+                if (w == BITMAP_WORDS) {
+                    return -1;
+                }
+                word = this.words[w];
+            }
+            return w * 64 + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        void forEach(final long high, final LongConsumer action) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = this.words[w];
+                while (word != 0) {
+                    action.accept(high | (w * 64 + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        void orInto(final long[] words) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] |= this.words[i];
+            }
+        }
+
+        @Override
+        void andNotInto(final long[] words) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] &= ~this.words[i];
+            }
+        }
+
+        @Override
+        void andInto(final long[] words) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                words[i] &= this.words[i];
+            }
+        }
+
+        @Override
+        long[] toWords() {
+            return this.words.clone();
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(this.words.clone(), this.cardinality);
+        }
+
+        @Override
+        int numberOfRuns() {
+            int runs = 0;
+            long previous = 0;
+            for (long word : this.words) {
+                runs += Long.bitCount(word & ~((word << 1) | (previous >>> 63)));
+                previous = word;
+            }
+            return runs;
+        }
+    }
+
+    /**
+     * Container storing its values as runs of consecutive values.
+     * Runs containers are not modified, adding or removing a value converts it to an array or bitmap container.
+     */
+    private static final class RunContainer extends Container {
+
+        /**
+         * Start and length - 1 of each run, sorted.
+         */
+        private final char[] runs;
+
+        /**
+         * Number of runs.
+         */
+        private final int numberOfRuns;
+
+        /**
+         * Number of values.
+         */
+        private final int cardinality;
+
+        /**
+         * Create a container.
+         *
+         * @param runs         Start and length - 1 of each run, sorted.
+         * @param numberOfRuns Number of runs.
+         * @param cardinality  Number of values.
+         */
+        private RunContainer(final char[] runs, final int numberOfRuns, final int cardinality) {
+            super();
+            this.runs = runs;
+            this.numberOfRuns = numberOfRuns;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        boolean contains(final char value) {
+            int run = this.runBefore(value);
+            return run >= 0 && value <= this.runs[run * 2] + this.runs[run * 2 + 1];
+        }
+
+        @Override
+        Container add(final char value) {
+            long[] words = this.toWords();
+            words[value >>> 6] |= 1L << value;
+            return Container.fromWords(words);
+        }
+
+        @Override
+        Container remove(final char value) {
+            long[] words = this.toWords();
+            words[value >>> 6] &= ~(1L << value);
+            Container result = Container.fromWords(words);
+            return result == null ? new ArrayContainer() : result;
+        }
+
+        @Override
+        int cardinality() {
+            return this.cardinality;
+        }
+
+        @Override
+        int nextValue(final int from) {
+            if (from > Character.MAX_VALUE) {
+                return -1;
+            }
+            int run = this.runBefore(from);
+            if (run >= 0 && from <= this.runs[run * 2] + this.runs[run * 2 + 1]) {
+                return from;
+            }
+            return run + 1 < this.numberOfRuns ? this.runs[(run + 1) * 2] : -1;
+        }
+
+        @Override
+        void forEach(final long high, final LongConsumer action) {
+            for (int r = 0; r < this.numberOfRuns; r++) {
+                int start = this.runs[r * 2];
+                int end = start + this.runs[r * 2 + 1];
+                for (int v = start; v <= end; v++) {
+                    action.accept(high | v);
+                }
+            }
+        }
+
+        @Override
+        void orInto(final long[] words) {
+            for (int r = 0; r < this.numberOfRuns; r++) {
+                int start = this.runs[r * 2];
+                RunContainer.setRange(words, start, start + this.runs[r * 2 + 1] + 1);
+            }
+        }
+
+        @Override
+        void andNotInto(final long[] words) {
+            for (int r = 0; r < this.numberOfRuns; r++) {
+                int start = this.runs[r * 2];
+                int end = start + this.runs[r * 2 + 1] + 1;
+                for (int v = start; v < end; v++) {
+                    words[v >>> 6] &= ~(1L << v);
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            return this;
+        }
+
+        @Override
+        int numberOfRuns() {
+            return this.numberOfRuns;
+        }
+
+        @Override
+        Container runOptimize() {
+            return this;
+        }
+
+        /**
+         * Find the last run starting at or before a value.
+         *
+         * @param value Value to find.
+         * @return The run index, -1 if all runs start after the value.
+         */
+        private int runBefore(final int value) {
+            int low = 0;
+            int high = this.numberOfRuns - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (this.runs[mid * 2] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+
+        /**
+         * Set a range of bits in a bitmap.
+         *
+         * @param words Bitmap.
+         * @param start First bit, inclusive.
+         * @param end   Last bit, exclusive.
+         */
+        private static void setRange(final long[] words, final int start, final int end) {
+            int firstWord = start >>> 6;
+            int lastWord = (end - 1) >>> 6;
+            long firstMask = -1L << start;
+            long lastMask = -1L >>> -end;
+            if (firstWord == lastWord) {
+                words[firstWord] |= firstMask & lastMask;
+                return;
+            }
+            words[firstWord] |= firstMask;
+            for (int w = firstWord + 1; w < lastWord; w++) {
+                words[w] = -1L;
+            }
+            words[lastWord] |= lastMask;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import lombok.NonNull;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread safe bidirectional map, to get a value from a key and a key from a value. The mapping is 1 - 1, putting an
+ * existing key or an existing value replaces the previous mapping in both directions.
+ * <p>
+ * Both directions are updated under the same write lock, and lookups are optimistic reads validated against that lock,
+ * retried under the read lock if a modification happened meanwhile: a lookup never sees half of a put or a remove, and
+ * lookups are lock free as long as there is no concurrent modification.
+ * The views are not copies, they reflect the map content and are weakly consistent while iterated, they may see a
+ * modification in progress.
+ * Null keys and values are not allowed.
+ *
+ * @param <K> Type for the keys.
+ * @param <V> Type for the values.
+ * @author Grégory Van den Borre
+ */
+public final class ConcurrentBidirectionalMap<K, V> implements Iterable<Entry<K, V>> {
+
+    /**
+     * Base map.
+     */
+    private final Map<K, V> map = new ConcurrentHashMap<>();
+
+    /**
+     * Revert map, to get a key from its value.
+     */
+    private final Map<V, K> inverseMap = new ConcurrentHashMap<>();
+
+    /**
+     * Lock guarding the consistency between both maps, the maps are concurrent so an optimistic read is always safe.
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Read only view on the base map.
+     */
+    private final Map<K, V> view = Collections.unmodifiableMap(this.map);
+
+    /**
+     * Read only view on the keys.
+     */
+    private final Set<K> keys = Collections.unmodifiableSet(this.map.keySet());
+
+    /**
+     * Read only view on the values.
+     */
+    private final Set<V> values = Collections.unmodifiableSet(this.inverseMap.keySet());
+
+    /**
+     * Retrieve a key from a value.
+     *
+     * @param value Stored value.
+     * @return Associated key, null if none.
+     */
+    public K getKey(@NonNull final Object value) {
+        long stamp = this.lock.tryOptimisticRead();
+        K key = this.inverseMap.get(value);
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                key = this.inverseMap.get(value);
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Get a key from a value, or return the given one.
+     *
+     * @param value            Value matching the key.
+     * @param replacementValue Value to return in case if the given does not match the key.
+     * @return The matching key, or the replacement value.
+     */
+    public K getKeyOr(@NonNull final V value, @NonNull final K replacementValue) {
+        K key = this.getKey(value);
+        return key == null ? replacementValue : key;
+    }
+
+    /**
+     * Retrieve the value from the key.
+     *
+     * @param key Stored key.
+     * @return Associated value, null if none.
+     */
+    public V getValue(@NonNull final K key) {
+        long stamp = this.lock.tryOptimisticRead();
+        V value = this.map.get(key);
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                value = this.map.get(key);
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Add a key and its value to the map, any previous mapping for the key or for the value is removed.
+     *
+     * @param key   The map key.
+     * @param value The value associated to the key.
+     */
+    public void put(@NonNull final K key, @NonNull final V value) {
+        long stamp = this.lock.writeLock();
+        try {
+            V previousValue = this.map.get(key);
+            if (previousValue != null) {
+                this.inverseMap.remove(previousValue);
+            }
+            K previousKey = this.inverseMap.get(value);
+            if (previousKey != null) {
+                this.map.remove(previousKey);
+            }
+            this.map.put(key, value);
+            this.inverseMap.put(value, key);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Add a key and its value to the map, only if neither the key nor the value are already mapped.
+     *
+     * @param key   The map key.
+     * @param value The value associated to the key.
+     * @return <code>true</code> if the mapping was added.
+     */
+    public boolean putIfAbsent(@NonNull final K key, @NonNull final V value) {
+        long stamp = this.lock.writeLock();
+        try {
+            if (this.map.containsKey(key) || this.inverseMap.containsKey(value)) {
+                return false;
+            }
+            this.map.put(key, value);
+            this.inverseMap.put(value, key);
+            return true;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove a key and its value.
+     *
+     * @param key Key to remove.
+     * @return The removed value, null if the key was not present.
+     */
+    public V remove(@NonNull final K key) {
+        long stamp = this.lock.writeLock();
+        try {
+            V value = this.map.remove(key);
+            if (value != null) {
+                this.inverseMap.remove(value);
+            }
+            return value;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove a value and its key.
+     *
+     * @param value Value to remove.
+     * @return The removed key, null if the value was not present.
+     */
+    public K removeValue(@NonNull final V value) {
+        long stamp = this.lock.writeLock();
+        try {
+            K key = this.inverseMap.remove(value);
+            if (key != null) {
+                this.map.remove(key);
+            }
+            return key;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove all the mappings.
+     */
+    public void clear() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.map.clear();
+            this.inverseMap.clear();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return The number of mappings.
+     */
+    public int size() {
+        long stamp = this.lock.tryOptimisticRead();
+        int size = this.map.size();
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                size = this.map.size();
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return <code>true</code> if there is no mapping.
+     */
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * @return A read only view on the keys, not a copy.
+     */
+    public Set<K> keySet() {
+        return this.keys;
+    }
+
+    /**
+     * @return A read only view on the values, not a copy.
+     */
+    public Set<V> valueSet() {
+        return this.values;
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return this.view.entrySet().iterator();
+    }
+}
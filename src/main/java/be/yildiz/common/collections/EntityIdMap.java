@@ -0,0 +1,234 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import be.yildiz.common.id.EntityId;
+import lombok.NonNull;
+
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Map with EntityId keys, stored by their primitive value in a LongObjectMap, so no object is created for an entry and a lookup does not dereference the key.
+ * Null values are not allowed.
+ * <p>
+ * This class is not thread safe, and must not be modified while iterated with a cursor.
+ *
+ * @param <V> Type of the values.
+ * @author Grégory Van den Borre
+ */
+public final class EntityIdMap<V> {
+
+    /**
+     * Values, with the id value as key.
+     */
+    private final LongObjectMap<V> map;
+
+    /**
+     * Create a new empty map.
+     */
+    public EntityIdMap() {
+        super();
+        this.map = new LongObjectMap<>();
+    }
+
+    /**
+     * Create a new empty map.
+     *
+     * @param expectedSize Number of entries the map can contain without growing.
+     * @throws IllegalArgumentException If expectedSize is negative.
+     */
+    public EntityIdMap(final int expectedSize) {
+        super();
+        this.map = new LongObjectMap<>(expectedSize);
+    }
+
+    /**
+     * Retrieve the value for an id.
+     *
+     * @param id Id to find.
+     * @return The associated value, null if none.
+     */
+    public V get(@NonNull final EntityId id) {
+        return this.map.get(id.value);
+    }
+
+    /**
+     * Retrieve the value for an id, or a default value if there is none.
+     *
+     * @param id           Id to find.
+     * @param defaultValue Value to return if the id is not present.
+     * @return The associated value, defaultValue if none.
+     */
+    public V getOrDefault(@NonNull final EntityId id, final V defaultValue) {
+        return this.map.getOrDefault(id.value, defaultValue);
+    }
+
+    /**
+     * Check if an id is present.
+     *
+     * @param id Id to check.
+     * @return <code>true</code> if the map contains a value for that id.
+     */
+    public boolean containsKey(@NonNull final EntityId id) {
+        return this.map.containsKey(id.value);
+    }
+
+    /**
+     * Associate a value to an id, replacing any previous value.
+     *
+     * @param id    Id.
+     * @param value Value, not null.
+     * @return The previous value for that id, null if none.
+     */
+    public V put(@NonNull final EntityId id, final V value) {
+        return this.map.put(id.value, value);
+    }
+
+    /**
+     * Retrieve the value for an id, computing and inserting it if the id is not present.
+     *
+     * @param id       Id.
+     * @param function Function to compute the value, not called if the id is present, must not modify the map.
+     * @return The existing or computed value, null if the function returned null, in this case nothing is inserted.
+     */
+    public V computeIfAbsent(@NonNull final EntityId id, @NonNull final Function<EntityId, ? extends V> function) {
+        return this.map.computeIfAbsent(id.value, id, function);
+    }
+
+    /**
+     * Remove the entry for an id.
+     *
+     * @param id Id to remove.
+     * @return The removed value, null if the id was not present.
+     */
+    public V remove(@NonNull final EntityId id) {
+        return this.map.remove(id.value);
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        return this.map.size();
+    }
+
+    /**
+     * @return <code>true</code> if the map has no entry.
+     */
+    public boolean isEmpty() {
+        return this.map.isEmpty();
+    }
+
+    /**
+     * Remove all the entries, the capacity is kept.
+     */
+    public void clear() {
+        this.map.clear();
+    }
+
+    /**
+     * Create a cursor to iterate over the entries, no object is created for the entries.
+     * The iteration order is unspecified.
+     *
+     * @return A new cursor, placed before the first entry.
+     */
+    public Cursor<V> cursor() {
+        return new Cursor<>(this.map.cursor());
+    }
+
+    /**
+     * Iterate over the entries of a map without creating any object per entry, the cursor can be reset to iterate again.
+     * Usage: while (cursor.next()) { cursor.key(); cursor.value(); }
+     *
+     * @param <V> Type of the values.
+     */
+    public static final class Cursor<V> {
+
+        /**
+         * Cursor on the wrapped map.
+         */
+        private final LongObjectMap.Cursor<V> cursor;
+
+        /**
+         * Create a new cursor.
+         *
+         * @param cursor Cursor on the wrapped map.
+         */
+        private Cursor(final LongObjectMap.Cursor<V> cursor) {
+            super();
+            this.cursor = cursor;
+        }
+
+        /**
+         * Move to the next entry.
+         *
+         * @return <code>true</code> if there is an entry, <code>false</code> if the iteration is over.
+         */
+        public boolean next() {
+            return this.cursor.next();
+        }
+
+        /**
+         * Place the cursor back before the first entry, to iterate again without creating a new cursor.
+         */
+        public void reset() {
+            this.cursor.reset();
+        }
+
+        /**
+         * @return The id of the current entry.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        public EntityId key() {
+            return EntityId.get(this.cursor.key());
+        }
+
+        /**
+         * @return The value of the current entry id.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        public long keyValue() {
+            return this.cursor.key();
+        }
+
+        /**
+         * @return The value of the current entry.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        public V value() {
+            return this.cursor.value();
+        }
+
+        /**
+         * Replace the value of the current entry.
+         *
+         * @param value New value, not null.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        public void setValue(final V value) {
+            this.cursor.setValue(value);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import lombok.NonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable map with String keys, built once from an existing map with a minimal perfect hash: every key has its own
+ * slot in flat arrays of exactly size entries, and a lookup computes that slot directly, with a single key comparison.
+ * <p>
+ * The keys are dispatched in buckets, each bucket stores the seed to use to place its keys without collision
+ * (hash and displace). The String cached hash code is used as base hash, if two keys share the same hash code, a 64 bits
+ * hash of the characters is used instead.
+ * <p>
+ * Null keys and values are not allowed, any modification throws an UnsupportedOperationException. This class is thread safe.
+ *
+ * @param <V> Type of the values.
+ * @author Grégory Van den Borre
+ */
+public final class FrozenStringMap<V> extends AbstractMap<String, V> {
+
+    /**
+     * Maximum number of seeds tried to place a bucket before retrying with more buckets.
+     */
+    private static final int MAX_SEED = 1 << 16;
+
+    /**
+     * Keys, by slot.
+     */
+    private final String[] keys;
+
+    /**
+     * Values, by slot.
+     */
+    private final Object[] values;
+
+    /**
+     * For each bucket, the seed placing its keys, or -(slot + 1) for a bucket with a single key.
+     */
+    private final int[] displacements;
+
+    /**
+     * <code>true</code> if the hash is computed from the characters, <code>false</code> to use String.hashCode.
+     */
+    private final boolean charHash;
+
+    /**
+     * Lazily created view on the entries.
+     */
+    private Set<Entry<String, V>> entries;
+
+    /**
+     * Build a new map.
+     *
+     * @param keys          Keys, by slot.
+     * @param values        Values, by slot.
+     * @param displacements Seeds, by bucket.
+     * @param charHash      <code>true</code> if the hash is computed from the characters.
+     */
+    private FrozenStringMap(final String[] keys, final Object[] values, final int[] displacements, final boolean charHash) {
+        super();
+        this.keys = keys;
+        this.values = values;
+        this.displacements = displacements;
+        this.charHash = charHash;
+    }
+
+    /**
+     * Build a new frozen map containing the same entries as a map.
+     *
+     * @param map Map to copy.
+     * @param <V> Type of the values.
+     * @return The frozen map.
+     * @throws NullPointerException If the map contains a null key or value.
+     */
+    public static <V> FrozenStringMap<V> copyOf(@NonNull final Map<String, ? extends V> map) {
+        int size = map.size();
+        String[] sourceKeys = new String[size];
+        Object[] sourceValues = new Object[size];
+        int index = 0;
+        for (Entry<String, ? extends V> e : map.entrySet()) {
+            if (e.getKey() == null || e.getValue() == null) {
+                throw new NullPointerException("Null keys and values are not allowed.");
+            }
+            sourceKeys[index] = e.getKey();
+            sourceValues[index] = e.getValue();
+            index++;
+        }
+        boolean charHash = false;
+        long[] hashes = FrozenStringMap.hashAll(sourceKeys, false);
+        if (hashes == null) {
+            charHash = true;
+            hashes = FrozenStringMap.hashAll(sourceKeys, true);
+            if (hashes == null) {
+                throw new IllegalArgumentException("Keys with colliding 64 bits hashes, cannot build a perfect hash.");
+            }
+        }
+        for (int bucketCount = Math.max(1, size / 2); bucketCount <= Math.max(1, size) * 4; bucketCount *= 2) {
+            int[] slots = new int[size];
+            int[] displacements = FrozenStringMap.place(hashes, bucketCount, slots);
+            if (displacements != null) {
+                String[] keys = new String[size];
+                Object[] values = new Object[size];
+                for (int i = 0; i < size; i++) {
+                    keys[slots[i]] = sourceKeys[i];
+                    values[slots[i]] = sourceValues[i];
+                }
+                return new FrozenStringMap<>(keys, values, displacements, charHash);
+            }
+        }
+        throw new IllegalStateException("No perfect hash found for " + size + " keys.");
+    }
+
+    /**
+     * Compute the slot of a key.
+     *
+     * @param key Key to find.
+     * @return The key slot, -1 if the key is not present.
+     */
+    public int indexOf(final String key) {
+        int size = this.keys.length;
+        if (key == null || size == 0) {
+            return -1;
+        }
+        long hash = FrozenStringMap.hash(key, this.charHash);
+        int d = this.displacements[FrozenStringMap.range(FrozenStringMap.mix(hash, 0), this.displacements.length)];
+        int slot = d < 0 ? -d - 1 : FrozenStringMap.range(FrozenStringMap.mix(hash, d), size);
+        String candidate = this.keys[slot];
+        return candidate == key || candidate.equals(key) ? slot : -1;
+    }
+
+    /**
+     * Retrieve the key in a slot.
+     *
+     * @param slot Slot, in [0, size[.
+     * @return The key in that slot.
+     */
+    public String keyAt(final int slot) {
+        return this.keys[slot];
+    }
+
+    /**
+     * Retrieve the value in a slot.
+     *
+     * @param slot Slot, in [0, size[.
+     * @return The value in that slot.
+     */
+    @SuppressWarnings("unchecked")
+    public V valueAt(final int slot) {
+        return (V) this.values[slot];
+    }
+
+    @Override
+    public V get(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int slot = this.indexOf((String) key);
+        return slot == -1 ? null : this.valueAt(slot);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof String && this.indexOf((String) key) != -1;
+    }
+
+    @Override
+    public int size() {
+        return this.keys.length;
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        if (this.entries == null) {
+            this.entries = new EntrySet();
+        }
+        return this.entries;
+    }
+
+    /**
+     * Compute the hash of every key.
+     *
+     * @param keys     Keys to hash.
+     * @param charHash <code>true</code> to hash the characters, <code>false</code> to use String.hashCode.
+     * @return The hashes, by key index, null if two keys have the same hash.
+     */
+    private static long[] hashAll(final String[] keys, final boolean charHash) {
+        long[] hashes = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            hashes[i] = FrozenStringMap.hash(keys[i], charHash);
+        }
+        long[] sorted = hashes.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                return null;
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Find a seed for every bucket so all the keys are placed in distinct slots.
+     *
+     * @param hashes      Key hashes, all distinct.
+     * @param bucketCount Number of buckets.
+     * @param slots       Filled with the slot of each key.
+     * @return The seed of each bucket, null if a bucket could not be placed.
+     */
+    private static int[] place(final long[] hashes, final int bucketCount, final int[] slots) {
+        int size = hashes.length;
+        int[] bucketOf = new int[size];
+        int[] bucketSize = new int[bucketCount];
+        int maxBucketSize = 0;
+        for (int i = 0; i < size; i++) {
+            bucketOf[i] = FrozenStringMap.range(FrozenStringMap.mix(hashes[i], 0), bucketCount);
+            bucketSize[bucketOf[i]]++;
+            maxBucketSize = Math.max(maxBucketSize, bucketSize[bucketOf[i]]);
+        }
+        // Keys grouped by bucket, buckets are consecutive.
+        int[] bucketStart = new int[bucketCount + 1];
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStart[b + 1] = bucketStart[b] + bucketSize[b];
+        }
+        int[] members = new int[size];
+        int[] fill = Arrays.copyOf(bucketStart, bucketCount);
+        for (int i = 0; i < size; i++) {
+            members[fill[bucketOf[i]]++] = i;
+        }
+        int[] displacements = new int[bucketCount];
+        boolean[] used = new boolean[size];
+        int[] candidate = new int[maxBucketSize];
+        // Largest buckets first, while the table is mostly empty.
+        for (int bucketLength = maxBucketSize; bucketLength > 1; bucketLength--) {
+            for (int b = 0; b < bucketCount; b++) {
+                if (bucketSize[b] != bucketLength) {
+                    continue;
+                }
+                int seed = FrozenStringMap.findSeed(hashes, members, bucketStart[b], bucketLength, used, candidate);
+                if (seed == -1) {
+                    return null;
+                }
+                displacements[b] = seed;
+                for (int m = 0; m < bucketLength; m++) {
+                    used[candidate[m]] = true;
+                    slots[members[bucketStart[b] + m]] = candidate[m];
+                }
+            }
+        }
+        int free = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            if (bucketSize[b] == 1) {
+                while (used[free]) {
+                    free++;
+                }
+                used[free] = true;
+                slots[members[bucketStart[b]]] = free;
+                displacements[b] = -free - 1;
+            }
+        }
+        return displacements;
+    }
+
+    /**
+     * Find a seed placing all the keys of a bucket in free and distinct slots.
+     *
+     * @param hashes    Key hashes.
+     * @param members   Key indices, grouped by bucket.
+     * @param start     Index of the first key of the bucket in members.
+     * @param length    Number of keys in the bucket.
+     * @param used      Slots already taken.
+     * @param candidate Filled with the slots for the found seed.
+     * @return The seed, -1 if none was found.
+     */
+    private static int findSeed(final long[] hashes, final int[] members, final int start, final int length, final boolean[] used, final int[] candidate) {
+        int size = used.length;
+        for (int seed = 1; seed <= MAX_SEED; seed++) {
+            boolean placed = true;
+            for (int m = 0; m < length && placed; m++) {
+                int slot = FrozenStringMap.range(FrozenStringMap.mix(hashes[members[start + m]], seed), size);
+                placed = !used[slot];
+                for (int o = 0; o < m && placed; o++) {
+                    placed = candidate[o] != slot;
+                }
+                candidate[m] = slot;
+            }
+            if (placed) {
+                return seed;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compute the base hash of a key.
+     *
+     * @param key      Key to hash.
+     * @param charHash <code>true</code> to hash the characters (FNV-1a), <code>false</code> to use the cached String.hashCode.
+     * @return The key hash.
+     */
+    private static long hash(final String key, final boolean charHash) {
+        if (!charHash) {
+            return key.hashCode();
+        }
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return h;
+    }
+
+    /**
+     * Mix a hash with a seed.
+     *
+     * @param hash Hash to mix.
+     * @param seed Seed to use.
+     * @return The mixed hash.
+     */
+    private static long mix(final long hash, final int seed) {
+        long h = hash + seed * 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Map a mixed hash to [0, bound[ without a division.
+     *
+     * @param mixed Mixed hash.
+     * @param bound Upper bound, exclusive.
+     * @return A value in [0, bound[.
+     */
+    private static int range(final long mixed, final int bound) {
+        return (int) (((mixed >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * View on the entries, in slot order.
+     */
+    private final class EntrySet extends AbstractSet<Entry<String, V>> {
+
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+            return new Iterator<Entry<String, V>>() {
+
+                private int slot;
+
+                @Override
+                public boolean hasNext() {
+                    return this.slot < FrozenStringMap.this.keys.length;
+                }
+
+                @Override
+                public Entry<String, V> next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Entry<String, V> e = new SimpleImmutableEntry<>(FrozenStringMap.this.keyAt(this.slot), FrozenStringMap.this.valueAt(this.slot));
+                    this.slot++;
+                    return e;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return FrozenStringMap.this.keys.length;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import lombok.NonNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+/**
+ * Growable list of primitive int values, backed by a single int array, so no value is boxed.
+ * A boxed List view is available through {@link #asList()} for code expecting a Collection.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class IntList {
+
+    /**
+     * Capacity used when the list is created without one.
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * Maximum size of an array on most virtual machines.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Values, only the first size ones are used.
+     */
+    private int[] data;
+
+    /**
+     * Number of values in the list.
+     */
+    private int size;
+
+    /**
+     * Create a new empty list.
+     */
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new empty list.
+     *
+     * @param capacity Number of values the list can contain without growing.
+     * @throws IllegalArgumentException If capacity is negative.
+     */
+    public IntList(final int capacity) {
+        super();
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        this.data = new int[capacity];
+    }
+
+    /**
+     * Create a new list containing a copy of the given values.
+     *
+     * @param values Values to copy.
+     * @return The new list.
+     */
+    public static IntList of(@NonNull final int... values) {
+        IntList list = new IntList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    /**
+     * @return The number of values.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return <code>true</code> if the list has no value.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Retrieve a value.
+     *
+     * @param index Value index.
+     * @return The value at that index.
+     * @throws IndexOutOfBoundsException If index is not in [0, size[.
+     */
+    public int get(final int index) {
+        this.checkIndex(index);
+        return this.data[index];
+    }
+
+    /**
+     * Replace a value.
+     *
+     * @param index Value index.
+     * @param value New value.
+     * @return The replaced value.
+     * @throws IndexOutOfBoundsException If index is not in [0, size[.
+     */
+    public int set(final int index, final int value) {
+        this.checkIndex(index);
+        int previous = this.data[index];
+        this.data[index] = value;
+        return previous;
+    }
+
+    /**
+     * Append a value at the end of the list.
+     *
+     * @param value Value to add.
+     */
+    public void add(final int value) {
+        this.grow(this.size + 1);
+        this.data[this.size] = value;
+        this.size++;
+    }
+
+    /**
+     * Insert a value, the following values are moved by one.
+     *
+     * @param index Index of the inserted value.
+     * @param value Value to insert.
+     * @throws IndexOutOfBoundsException If index is not in [0, size].
+     */
+    public void insert(final int index, final int value) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + this.size);
+        }
+        this.grow(this.size + 1);
+        System.arraycopy(this.data, index, this.data, index + 1, this.size - index);
+        this.data[index] = value;
+        this.size++;
+    }
+
+    /**
+     * Append all the values at the end of the list.
+     *
+     * @param values Values to add.
+     */
+    public void addAll(@NonNull final int... values) {
+        this.addAll(values, 0, values.length);
+    }
+
+    /**
+     * Append a range of an array at the end of the list.
+     *
+     * @param values Array containing the values to add.
+     * @param offset Index of the first value to add in the array.
+     * @param length Number of values to add.
+     * @throws IndexOutOfBoundsException If the range is not inside the array.
+     */
+    public void addAll(@NonNull final int[] values, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > values.length - length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", length: " + length + ", array length: " + values.length);
+        }
+        this.grow(this.size + length);
+        System.arraycopy(values, offset, this.data, this.size, length);
+        this.size += length;
+    }
+
+    /**
+     * Append all the values of another list at the end of this one.
+     *
+     * @param list List containing the values to add.
+     */
+    public void addAll(@NonNull final IntList list) {
+        this.addAll(list.data, 0, list.size);
+    }
+
+    /**
+     * Remove a value, the following values are moved by one.
+     *
+     * @param index Index of the value to remove.
+     * @return The removed value.
+     * @throws IndexOutOfBoundsException If index is not in [0, size[.
+     */
+    public int removeAt(final int index) {
+        this.checkIndex(index);
+        int previous = this.data[index];
+        System.arraycopy(this.data, index + 1, this.data, index, this.size - index - 1);
+        this.size--;
+        return previous;
+    }
+
+    /**
+     * Remove all the values, the capacity is kept.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Find the first index of a value.
+     *
+     * @param value Value to find.
+     * @return The index of the value, -1 if not present.
+     */
+    public int indexOf(final int value) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Check if a value is present.
+     *
+     * @param value Value to check.
+     * @return <code>true</code> if the list contains the value.
+     */
+    public boolean contains(final int value) {
+        return this.indexOf(value) != -1;
+    }
+
+    /**
+     * Sort the values in ascending order.
+     */
+    public void sort() {
+        Arrays.sort(this.data, 0, this.size);
+    }
+
+    /**
+     * Search a value with a binary search, the list must be sorted.
+     *
+     * @param value Value to find.
+     * @return The value index if present, (-(insertion point) - 1) otherwise, as in {@link Arrays#binarySearch(int[], int)}.
+     */
+    public int binarySearch(final int value) {
+        return Arrays.binarySearch(this.data, 0, this.size, value);
+    }
+
+    /**
+     * Make sure the list can contain a number of values without growing, a capacity lower than the current one is ignored.
+     *
+     * @param capacity Number of values.
+     * @throws OutOfMemoryError If the capacity is larger than the maximum array size.
+     */
+    public void ensureCapacity(final int capacity) {
+        if (capacity > this.data.length) {
+            this.grow(capacity);
+        }
+    }
+
+    /**
+     * Make sure the list can contain a number of values without growing, for the internal additions.
+     *
+     * @param capacity Number of values, negative if the required size overflowed.
+     * @throws OutOfMemoryError If the capacity is larger than the maximum array size, or overflowed.
+     */
+    private void grow(final int capacity) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity too large: " + capacity);
+        }
+        if (capacity > this.data.length) {
+            int newCapacity = Math.max(DEFAULT_CAPACITY, this.data.length + (this.data.length >> 1));
+            this.data = Arrays.copyOf(this.data, Math.min(MAX_CAPACITY, Math.max(newCapacity, capacity)));
+        }
+    }
+
+    /**
+     * Reduce the capacity to the number of values.
+     */
+    public void trimToSize() {
+        if (this.data.length > this.size) {
+            this.data = Arrays.copyOf(this.data, this.size);
+        }
+    }
+
+    /**
+     * @return A new array containing the values.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(this.data, this.size);
+    }
+
+    /**
+     * Stream the values, the list must not be modified while the stream is used.
+     *
+     * @return A stream on the values.
+     */
+    public IntStream stream() {
+        return Arrays.stream(this.data, 0, this.size);
+    }
+
+    /**
+     * Provide a List view on this list, for compatibility with the Collection API. The view is not a copy, changes are
+     * visible in both directions, but every value is boxed when read through the view.
+     *
+     * @return A List view on this list.
+     */
+    public List<Integer> asList() {
+        return new BoxedView(this);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntList)) {
+            return false;
+        }
+        IntList other = (IntList) o;
+        if (this.size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (this.data[i] != other.data[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < this.size; i++) {
+            result = 31 * result + Integer.hashCode(this.data[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(this.size * 4 + 2);
+        sb.append('[');
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(this.data[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Check an index is in [0, size[.
+     *
+     * @param index Index to check.
+     * @throws IndexOutOfBoundsException If the index is not valid.
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + this.size);
+        }
+    }
+
+    /**
+     * List view on a primitive list, boxing the values.
+     */
+    private static final class BoxedView extends AbstractList<Integer> implements RandomAccess {
+
+        /**
+         * Backing list.
+         */
+        private final IntList list;
+
+        /**
+         * Create a new view.
+         *
+         * @param list Backing list.
+         */
+        private BoxedView(final IntList list) {
+            super();
+            this.list = list;
+        }
+
+        @Override
+        public Integer get(final int index) {
+            return this.list.get(index);
+        }
+
+        @Override
+        public Integer set(final int index, @NonNull final Integer value) {
+            return this.list.set(index, value);
+        }
+
+        @Override
+        public void add(final int index, @NonNull final Integer value) {
+            this.list.insert(index, value);
+            this.modCount++;
+        }
+
+        @Override
+        public Integer remove(final int index) {
+            this.modCount++;
+            return this.list.removeAt(index);
+        }
+
+        @Override
+        public void clear() {
+            this.modCount++;
+            this.list.clear();
+        }
+
+        @Override
+        public int size() {
+            return this.list.size;
+        }
+    }
+}
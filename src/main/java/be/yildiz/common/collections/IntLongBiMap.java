@@ -0,0 +1,235 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread safe bidirectional map between primitive int keys and primitive long values, typically a dense handle or player
+ * number and an entity id. Lookups in both directions are done without boxing and without creating any object.
+ * The mapping is 1 - 1, putting an existing key or an existing value replaces the previous mapping in both directions.
+ * <p>
+ * Both directions are updated under the same write lock, so a lookup never sees half of a modification.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class IntLongBiMap {
+
+    /**
+     * Values, with their key.
+     */
+    private final IntLongMap map;
+
+    /**
+     * Keys, with their value.
+     */
+    private final LongIntMap inverseMap;
+
+    /**
+     * Lock guarding both maps.
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Create a new empty map.
+     *
+     * @param expectedSize Number of mappings the map can contain without growing.
+     * @param missingKey   Key returned when a value is not present.
+     * @param missingValue Value returned when a key is not present.
+     * @throws IllegalArgumentException If expectedSize is negative.
+     */
+    public IntLongBiMap(final int expectedSize, final int missingKey, final long missingValue) {
+        super();
+        this.map = new IntLongMap(expectedSize, missingValue);
+        this.inverseMap = new LongIntMap(expectedSize, missingKey);
+    }
+
+    /**
+     * Retrieve the value for a key.
+     *
+     * @param key Key to find.
+     * @return The associated value, the missing value if none.
+     */
+    public long getValue(final int key) {
+        long stamp = this.lock.readLock();
+        try {
+            return this.map.get(key);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Retrieve the key for a value.
+     *
+     * @param value Value to find.
+     * @return The associated key, the missing key if none.
+     */
+    public int getKey(final long value) {
+        long stamp = this.lock.readLock();
+        try {
+            return this.inverseMap.get(value);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Check if a key is present.
+     *
+     * @param key Key to check.
+     * @return <code>true</code> if the key is mapped.
+     */
+    public boolean containsKey(final int key) {
+        long stamp = this.lock.readLock();
+        try {
+            return this.map.containsKey(key);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Check if a value is present.
+     *
+     * @param value Value to check.
+     * @return <code>true</code> if the value is mapped.
+     */
+    public boolean containsValue(final long value) {
+        long stamp = this.lock.readLock();
+        try {
+            return this.inverseMap.containsKey(value);
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Map a key and a value, any previous mapping for the key or for the value is removed.
+     *
+     * @param key   Key.
+     * @param value Value.
+     */
+    public void put(final int key, final long value) {
+        long stamp = this.lock.writeLock();
+        try {
+            if (this.map.containsKey(key)) {
+                this.inverseMap.remove(this.map.get(key));
+            }
+            if (this.inverseMap.containsKey(value)) {
+                this.map.remove(this.inverseMap.get(value));
+            }
+            this.map.put(key, value);
+            this.inverseMap.put(value, key);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove a key and its value.
+     *
+     * @param key Key to remove.
+     * @return The removed value, the missing value if the key was not present.
+     */
+    public long removeKey(final int key) {
+        long stamp = this.lock.writeLock();
+        try {
+            if (!this.map.containsKey(key)) {
+                return this.map.getMissingValue();
+            }
+            long value = this.map.remove(key);
+            this.inverseMap.remove(value);
+            return value;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove a value and its key.
+     *
+     * @param value Value to remove.
+     * @return The removed key, the missing key if the value was not present.
+     */
+    public int removeValue(final long value) {
+        long stamp = this.lock.writeLock();
+        try {
+            if (!this.inverseMap.containsKey(value)) {
+                return this.inverseMap.getMissingValue();
+            }
+            int key = this.inverseMap.remove(value);
+            this.map.remove(key);
+            return key;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return The number of mappings.
+     */
+    public int size() {
+        long stamp = this.lock.readLock();
+        try {
+            return this.map.size();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if there is no mapping.
+     */
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Remove all the mappings, the capacity is kept.
+     */
+    public void clear() {
+        long stamp = this.lock.writeLock();
+        try {
+            this.map.clear();
+            this.inverseMap.clear();
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return The key returned when a value is not present.
+     */
+    public int getMissingKey() {
+        return this.inverseMap.getMissingValue();
+    }
+
+    /**
+     * @return The value returned when a key is not present.
+     */
+    public long getMissingValue() {
+        return this.map.getMissingValue();
+    }
+}
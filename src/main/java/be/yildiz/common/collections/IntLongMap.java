@@ -0,0 +1,277 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import java.util.Arrays;
+
+/**
+ * Map with primitive int keys and primitive long values, using open addressing with linear probing, so nothing is boxed and no object is created for an entry.
+ * The key 0 is stored apart, as 0 marks the free slots.
+ * Removed entries are not replaced by tombstones, the following entries are shifted back instead.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class IntLongMap {
+
+    /**
+     * Key marking a free slot.
+     */
+    private static final int FREE_KEY = 0;
+
+    /**
+     * Value returned when a key is not present.
+     */
+    private final long missingValue;
+
+    /**
+     * Entry keys.
+     */
+    private int[] keys;
+
+    /**
+     * Entry values.
+     */
+    private long[] values;
+
+    /**
+     * <code>true</code> if the key 0 is present.
+     */
+    private boolean hasZeroKey;
+
+    /**
+     * Value for the key 0.
+     */
+    private long zeroValue;
+
+    /**
+     * Number of entries.
+     */
+    private int size;
+
+    /**
+     * Create a new empty map.
+     *
+     * @param expectedSize Number of entries the map can contain without growing.
+     * @param missingValue Value returned when a key is not present.
+     * @throws IllegalArgumentException If expectedSize is negative.
+     */
+    public IntLongMap(final int expectedSize, final long missingValue) {
+        super();
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        }
+        this.missingValue = missingValue;
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize * 2) - 1) << 1;
+        this.keys = new int[capacity];
+        this.values = new long[capacity];
+    }
+
+    /**
+     * Retrieve the value for a key.
+     *
+     * @param key Key to find.
+     * @return The associated value, the missing value if none.
+     */
+    public long get(final int key) {
+        if (key == FREE_KEY) {
+            return this.hasZeroKey ? this.zeroValue : this.missingValue;
+        }
+        int mask = this.keys.length - 1;
+        for (int i = IntLongMap.hash(key) & mask; this.keys[i] != FREE_KEY; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                return this.values[i];
+            }
+        }
+        return this.missingValue;
+    }
+
+    /**
+     * Check if a key is present.
+     *
+     * @param key Key to check.
+     * @return <code>true</code> if the map contains a value for that key.
+     */
+    public boolean containsKey(final int key) {
+        if (key == FREE_KEY) {
+            return this.hasZeroKey;
+        }
+        int mask = this.keys.length - 1;
+        for (int i = IntLongMap.hash(key) & mask; this.keys[i] != FREE_KEY; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Associate a value to a key, replacing any previous value.
+     *
+     * @param key   Key.
+     * @param value Value.
+     * @return The previous value for that key, the missing value if none.
+     */
+    public long put(final int key, final long value) {
+        if (key == FREE_KEY) {
+            long previous = this.hasZeroKey ? this.zeroValue : this.missingValue;
+            if (!this.hasZeroKey) {
+                this.hasZeroKey = true;
+                this.size++;
+            }
+            this.zeroValue = value;
+            return previous;
+        }
+        int mask = this.keys.length - 1;
+        int i = IntLongMap.hash(key) & mask;
+        while (this.keys[i] != FREE_KEY) {
+            if (this.keys[i] == key) {
+                long previous = this.values[i];
+                this.values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        this.keys[i] = key;
+        this.values[i] = value;
+        this.size++;
+        if (this.size * 2 > this.keys.length) {
+            this.grow();
+        }
+        return this.missingValue;
+    }
+
+    /**
+     * Remove the entry for a key.
+     *
+     * @param key Key to remove.
+     * @return The removed value, the missing value if the key was not present.
+     */
+    public long remove(final int key) {
+        if (key == FREE_KEY) {
+            if (!this.hasZeroKey) {
+                return this.missingValue;
+            }
+            this.hasZeroKey = false;
+            this.size--;
+            return this.zeroValue;
+        }
+        int mask = this.keys.length - 1;
+        int i = IntLongMap.hash(key) & mask;
+        while (this.keys[i] != key) {
+            if (this.keys[i] == FREE_KEY) {
+                return this.missingValue;
+            }
+            i = (i + 1) & mask;
+        }
+        long previous = this.values[i];
+        this.shiftBack(i);
+        this.size--;
+        return previous;
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return <code>true</code> if the map has no entry.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Remove all the entries, the capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(this.keys, FREE_KEY);
+        this.hasZeroKey = false;
+        this.size = 0;
+    }
+
+    /**
+     * @return The value returned when a key is not present.
+     */
+    public long getMissingValue() {
+        return this.missingValue;
+    }
+
+    /**
+     * Free a slot and move back the following entries of the cluster which would no longer be reachable.
+     *
+     * @param slot Slot to free.
+     */
+    private void shiftBack(final int slot) {
+        int mask = this.keys.length - 1;
+        int free = slot;
+        int i = (slot + 1) & mask;
+        while (this.keys[i] != FREE_KEY) {
+            int home = IntLongMap.hash(this.keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - free) & mask)) {
+                this.keys[free] = this.keys[i];
+                this.values[free] = this.values[i];
+                free = i;
+            }
+            i = (i + 1) & mask;
+        }
+        this.keys[free] = FREE_KEY;
+    }
+
+    /**
+     * Double the table capacity and place all the entries again.
+     */
+    private void grow() {
+        int[] oldKeys = this.keys;
+        long[] oldValues = this.values;
+        this.keys = new int[oldKeys.length * 2];
+        this.values = new long[oldKeys.length * 2];
+        int mask = this.keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != FREE_KEY) {
+                int i = IntLongMap.hash(oldKeys[j]) & mask;
+                while (this.keys[i] != FREE_KEY) {
+                    i = (i + 1) & mask;
+                }
+                this.keys[i] = oldKeys[j];
+                this.values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Spread the bits of a key.
+     *
+     * @param key Key to hash.
+     * @return The hashed key.
+     */
+    private static int hash(final int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -36,6 +36,8 @@ public interface Lists {
      * Build a new List with NoNullArrayList implementation and set a collection
      * of objects inside.
      *
+     * Every value is boxed, use {@link FloatList} for large amounts of values.
+     *
      * @param values Collection of objects placed in the list.
      * @return The new list.
      */
@@ -61,6 +63,8 @@ public interface Lists {
      * Build a new List with NoNullArrayList implementation and set a collection
      * of objects inside.
      *
+     * Every value is boxed, use {@link IntList} for large amounts of values.
+     *
      * @param values Collection of objects placed in the list.
      * @return The new list.
      */
@@ -0,0 +1,469 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Map with primitive long keys, using open addressing with linear probing in 2 arrays, so no object is created for an entry.
+ * Removed entries are not replaced by tombstones, the following entries are shifted back instead, so the table never degrades with removals.
+ * Null values are not allowed.
+ * <p>
+ * This class is not thread safe, and must not be modified while iterated with a cursor.
+ *
+ * @param <V> Type of the values.
+ * @author Grégory Van den Borre
+ */
+public final class LongObjectMap<V> {
+
+    /**
+     * Default expected number of entries.
+     */
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    /**
+     * Entry keys.
+     */
+    private long[] keys;
+
+    /**
+     * Entry values, a slot is free when its value is null.
+     */
+    private Object[] values;
+
+    /**
+     * Number of entries.
+     */
+    private int size;
+
+    /**
+     * Number of entries triggering the table growth.
+     */
+    private int threshold;
+
+    /**
+     * Create a new empty map.
+     */
+    public LongObjectMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Create a new empty map.
+     *
+     * @param expectedSize Number of entries the map can contain without growing.
+     * @throws IllegalArgumentException If expectedSize is negative.
+     */
+    public LongObjectMap(final int expectedSize) {
+        super();
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        }
+        this.allocate(LongObjectMap.capacityFor(expectedSize));
+    }
+
+    /**
+     * Retrieve the value for a key.
+     *
+     * @param key Key to find.
+     * @return The associated value, null if none.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final long key) {
+        int i = this.indexOf(key);
+        return i < 0 ? null : (V) this.values[i];
+    }
+
+    /**
+     * Retrieve the value for a key, or a default value if there is none.
+     *
+     * @param key          Key to find.
+     * @param defaultValue Value to return if the key is not present.
+     * @return The associated value, defaultValue if none.
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(final long key, final V defaultValue) {
+        int i = this.indexOf(key);
+        return i < 0 ? defaultValue : (V) this.values[i];
+    }
+
+    /**
+     * Check if a key is present.
+     *
+     * @param key Key to check.
+     * @return <code>true</code> if the map contains a value for that key.
+     */
+    public boolean containsKey(final long key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    /**
+     * Associate a value to a key, replacing any previous value.
+     *
+     * @param key   Key.
+     * @param value Value, not null.
+     * @return The previous value for that key, null if none.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(final long key, @NonNull final V value) {
+        int mask = this.keys.length - 1;
+        int i = LongObjectMap.hash(key) & mask;
+        while (this.values[i] != null) {
+            if (this.keys[i] == key) {
+                V previous = (V) this.values[i];
+                this.values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        this.insert(i, key, value);
+        return null;
+    }
+
+    /**
+     * Retrieve the value for a key, computing and inserting it if the key is not present.
+     *
+     * @param key      Key.
+     * @param function Function to compute the value, not called if the key is present, must not modify the map.
+     * @return The existing or computed value, null if the function returned null, in this case nothing is inserted.
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(final long key, @NonNull final LongFunction<? extends V> function) {
+        int i = this.slotFor(key);
+        if (this.values[i] != null) {
+            return (V) this.values[i];
+        }
+        V value = function.apply(key);
+        if (value != null) {
+            this.insert(i, key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Retrieve the value for a key, computing and inserting it if the key is not present.
+     * The function receives an object representing the key instead of the primitive value, so a wrapper can call it
+     * without creating a capturing function for each call.
+     *
+     * @param key       Key.
+     * @param keyObject Object given to the function, representing the key.
+     * @param function  Function to compute the value, not called if the key is present, must not modify the map.
+     * @param <K>       Type of the key object.
+     * @return The existing or computed value, null if the function returned null, in this case nothing is inserted.
+     */
+    @SuppressWarnings("unchecked")
+    public <K> V computeIfAbsent(final long key, final K keyObject, @NonNull final Function<? super K, ? extends V> function) {
+        int i = this.slotFor(key);
+        if (this.values[i] != null) {
+            return (V) this.values[i];
+        }
+        V value = function.apply(keyObject);
+        if (value != null) {
+            this.insert(i, key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Remove the entry for a key.
+     *
+     * @param key Key to remove.
+     * @return The removed value, null if the key was not present.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(final long key) {
+        int i = this.indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        V previous = (V) this.values[i];
+        this.shiftBack(i);
+        this.size--;
+        return previous;
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return <code>true</code> if the map has no entry.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Remove all the entries, the capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    /**
+     * Create a cursor to iterate over the entries, no object is created for the entries.
+     * The iteration order is unspecified.
+     *
+     * @return A new cursor, placed before the first entry.
+     */
+    public Cursor<V> cursor() {
+        return new Cursor<>(this);
+    }
+
+    /**
+     * Find the slot of a key, or the free slot where it would be inserted.
+     *
+     * @param key Key to find.
+     * @return The slot containing the key, or the first free slot of its probe sequence.
+     */
+    private int slotFor(final long key) {
+        int mask = this.keys.length - 1;
+        int i = LongObjectMap.hash(key) & mask;
+        while (this.values[i] != null && this.keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Find the slot of a key.
+     *
+     * @param key Key to find.
+     * @return The slot index, -1 if the key is not present.
+     */
+    private int indexOf(final long key) {
+        int mask = this.keys.length - 1;
+        for (int i = LongObjectMap.hash(key) & mask; this.values[i] != null; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Insert a new entry in a free slot, the table is grown if needed.
+     *
+     * @param slot  Free slot found for the key.
+     * @param key   Key.
+     * @param value Value.
+     */
+    private void insert(final int slot, final long key, final Object value) {
+        if (this.size >= this.threshold) {
+            this.grow();
+            int mask = this.keys.length - 1;
+            int i = LongObjectMap.hash(key) & mask;
+            while (this.values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            this.keys[i] = key;
+            this.values[i] = value;
+        } else {
+            this.keys[slot] = key;
+            this.values[slot] = value;
+        }
+        this.size++;
+    }
+
+    /**
+     * Free a slot and move back the following entries of the cluster which would no longer be reachable.
+     *
+     * @param slot Slot to free.
+     */
+    private void shiftBack(final int slot) {
+        int mask = this.keys.length - 1;
+        int free = slot;
+        int i = (slot + 1) & mask;
+        while (this.values[i] != null) {
+            int home = LongObjectMap.hash(this.keys[i]) & mask;
+            // The entry can fill the free slot if its home is not in the cyclic range ]free, i].
+            if (((i - home) & mask) >= ((i - free) & mask)) {
+                this.keys[free] = this.keys[i];
+                this.values[free] = this.values[i];
+                free = i;
+            }
+            i = (i + 1) & mask;
+        }
+        this.values[free] = null;
+    }
+
+    /**
+     * Double the table capacity and place all the entries again.
+     */
+    private void grow() {
+        long[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        this.allocate(oldKeys.length * 2);
+        int mask = this.keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != null) {
+                int i = LongObjectMap.hash(oldKeys[j]) & mask;
+                while (this.values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                this.keys[i] = oldKeys[j];
+                this.values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Create the arrays.
+     *
+     * @param capacity Number of slots, power of 2.
+     */
+    private void allocate(final int capacity) {
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.threshold = capacity / 4 * 3;
+    }
+
+    /**
+     * Compute the number of slots needed for a number of entries, with a load factor of 0.75.
+     *
+     * @param expectedSize Number of entries.
+     * @return The number of slots, power of 2.
+     */
+    private static int capacityFor(final int expectedSize) {
+        long needed = Math.max(4L, (long) expectedSize * 4 / 3 + 1);
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Expected size too big: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /**
+     * Spread the bits of a key.
+     *
+     * @param key Key to hash.
+     * @return The hashed key.
+     */
+    private static int hash(final long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Iterate over the entries of a map without creating any object per entry, the cursor can be reset to iterate again.
+     * Usage: while (cursor.next()) { cursor.key(); cursor.value(); }
+     *
+     * @param <V> Type of the values.
+     */
+    public static final class Cursor<V> {
+
+        /**
+         * Iterated map.
+         */
+        private final LongObjectMap<V> map;
+
+        /**
+         * Current slot.
+         */
+        private int index = -1;
+
+        /**
+         * Create a new cursor.
+         *
+         * @param map Map to iterate.
+         */
+        private Cursor(final LongObjectMap<V> map) {
+            super();
+            this.map = map;
+        }
+
+        /**
+         * Move to the next entry.
+         *
+         * @return <code>true</code> if there is an entry, <code>false</code> if the iteration is over.
+         */
+        public boolean next() {
+            Object[] values = this.map.values;
+            for (int i = this.index + 1; i < values.length; i++) {
+                if (values[i] != null) {
+                    this.index = i;
+                    return true;
+                }
+            }
+            this.index = values.length;
+            return false;
+        }
+
+        /**
+         * Place the cursor back before the first entry, to iterate again without creating a new cursor.
+         */
+        public void reset() {
+            this.index = -1;
+        }
+
+        /**
+         * @return The key of the current entry.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        public long key() {
+            this.checkPosition();
+            return this.map.keys[this.index];
+        }
+
+        /**
+         * @return The value of the current entry.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        @SuppressWarnings("unchecked")
+        public V value() {
+            this.checkPosition();
+            return (V) this.map.values[this.index];
+        }
+
+        /**
+         * Replace the value of the current entry.
+         *
+         * @param value New value, not null.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        public void setValue(@NonNull final V value) {
+            this.checkPosition();
+            this.map.values[this.index] = value;
+        }
+
+        /**
+         * Check the cursor is on an entry.
+         *
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        private void checkPosition() {
+            if (this.index < 0 || this.index >= this.map.values.length) {
+                throw new NoSuchElementException("Cursor is not on an entry.");
+            }
+        }
+    }
+}
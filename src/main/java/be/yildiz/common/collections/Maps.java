@@ -58,4 +58,28 @@ public interface Maps {
         return new BidirectionalMap<>();
     }
 
+    /**
+     * Create a new thread safe bidirectional map, as for every components of this
+     * collection, it does not accept any <code>null</code> value.
+     *
+     * @param <K> Type of the key map.
+     * @param <V> Type of the value map.
+     * @return The new concurrent bidirectional map.
+     */
+    static <K, V> ConcurrentBidirectionalMap<K, V> newConcurrentBidirectionalMap() {
+        return new ConcurrentBidirectionalMap<>();
+    }
+
+    /**
+     * Create an immutable copy of a map with String keys, using a minimal perfect hash so a lookup needs a single probe.
+     * Meant for lookup tables which never change once built.
+     *
+     * @param map Map to copy.
+     * @param <V> Type of the value map.
+     * @return The immutable map.
+     */
+    static <V> FrozenStringMap<V> freeze(final Map<String, ? extends V> map) {
+        return FrozenStringMap.copyOf(map);
+    }
+
 }
@@ -0,0 +1,68 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import be.yildiz.common.id.PlayerId;
+
+/**
+ * Compressed set of PlayerIds, backed by a CompressedBitmap of their values, to be used instead of a Set of PlayerId for large or dense memberships.
+ * Set operations are done on the bitmaps and do not touch the ids.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class PlayerIdSet extends AbstractIdSet<PlayerId, PlayerIdSet> {
+
+    /**
+     * Create a new empty set.
+     */
+    public PlayerIdSet() {
+        this(new CompressedBitmap());
+    }
+
+    /**
+     * Create a set wrapping a bitmap.
+     *
+     * @param bitmap Id values.
+     */
+    private PlayerIdSet(final CompressedBitmap bitmap) {
+        super(bitmap);
+    }
+
+    @Override
+    long valueOf(final PlayerId id) {
+        return id.value;
+    }
+
+    @Override
+    PlayerId idOf(final long value) {
+        return PlayerId.get((int) value);
+    }
+
+    @Override
+    PlayerIdSet create(final CompressedBitmap values) {
+        return new PlayerIdSet(values);
+    }
+}
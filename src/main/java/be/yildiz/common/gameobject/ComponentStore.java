@@ -0,0 +1,390 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.gameobject;
+
+import be.yildiz.common.id.EntityHandle;
+import be.yildiz.common.id.EntityHandleAllocator;
+import be.yildiz.common.id.EntityId;
+import be.yildiz.common.id.EntityIdentifiable;
+import lombok.NonNull;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Sparse set storage for components: the components are packed in a dense array, iterated without any indirection,
+ * and a sparse array, indexed by the entity handle index, gives the position of each component in the dense array.
+ * The handles come from the allocator shared by all the stores, the handle of each component is kept to check its generation, so a stale handle never matches the component of the entity reusing its index.
+ * Adding, removing and retrieving a component are O(1), removing moves the last component in the freed position, so the iteration order is not stable.
+ * Stores can be joined to iterate over the entities having a component in each of them, without any hashing.
+ * <p>
+ * The methods taking an EntityId resolve its handle with the allocator, the methods taking a handle are the fast path.
+ * <p>
+ * This class is not thread safe, and must not be modified during an iteration.
+ *
+ * @param <T> Type of the components.
+ * @author Grégory Van den Borre
+ */
+public final class ComponentStore<T extends EntityIdentifiable> {
+
+    /**
+     * Allocator providing the entity handles.
+     */
+    private final EntityHandleAllocator allocator;
+
+    /**
+     * Dense position of each entity component, with the handle index as array index.
+     * A position is only valid if it is lower than the size and the handle at this position matches.
+     */
+    private int[] sparse;
+
+    /**
+     * Packed components.
+     */
+    private Object[] dense;
+
+    /**
+     * Handle of each packed component.
+     */
+    private long[] handles;
+
+    /**
+     * Number of components.
+     */
+    private int size;
+
+    /**
+     * Create a new empty store.
+     *
+     * @param allocator Allocator providing the entity handles.
+     */
+    public ComponentStore(final EntityHandleAllocator allocator) {
+        this(allocator, 64);
+    }
+
+    /**
+     * Create a new empty store.
+     *
+     * @param allocator    Allocator providing the entity handles.
+     * @param expectedSize Number of components the store can contain without growing.
+     * @throws IllegalArgumentException If expectedSize is not greater than 0.
+     */
+    public ComponentStore(@NonNull final EntityHandleAllocator allocator, final int expectedSize) {
+        super();
+        if (expectedSize <= 0) {
+            throw new IllegalArgumentException("Expected size must be greater than 0: " + expectedSize);
+        }
+        this.allocator = allocator;
+        this.sparse = new int[Math.max(expectedSize, allocator.getCapacity())];
+        this.dense = new Object[expectedSize];
+        this.handles = new long[expectedSize];
+    }
+
+    /**
+     * Join 2 stores: call a function for every entity having a component in both stores.
+     * The smallest store is iterated and the other one is probed.
+     *
+     * @param first  First store.
+     * @param second Second store.
+     * @param action Function to call with the components of an entity.
+     * @param <A>    Type of the first store components.
+     * @param <B>    Type of the second store components.
+     * @throws IllegalArgumentException If the stores do not share the same allocator.
+     */
+    public static <A extends EntityIdentifiable, B extends EntityIdentifiable> void join(
+            final ComponentStore<A> first, final ComponentStore<B> second, final BiConsumer<A, B> action) {
+        checkAllocator(first, second);
+        if (first.size <= second.size) {
+            for (int i = 0; i < first.size; i++) {
+                int j = second.indexOf(first.handles[i]);
+                if (j != -1) {
+                    action.accept(first.get(i), second.get(j));
+                }
+            }
+        } else {
+            for (int j = 0; j < second.size; j++) {
+                int i = first.indexOf(second.handles[j]);
+                if (i != -1) {
+                    action.accept(first.get(i), second.get(j));
+                }
+            }
+        }
+    }
+
+    /**
+     * Join 3 stores: call a function for every entity having a component in all the stores.
+     * The smallest store is iterated and the other ones are probed.
+     *
+     * @param first  First store.
+     * @param second Second store.
+     * @param third  Third store.
+     * @param action Function to call with the components of an entity.
+     * @param <A>    Type of the first store components.
+     * @param <B>    Type of the second store components.
+     * @param <C>    Type of the third store components.
+     * @throws IllegalArgumentException If the stores do not share the same allocator.
+     */
+    public static <A extends EntityIdentifiable, B extends EntityIdentifiable, C extends EntityIdentifiable> void join(
+            final ComponentStore<A> first, final ComponentStore<B> second, final ComponentStore<C> third, final JoinConsumer<A, B, C> action) {
+        checkAllocator(first, second);
+        checkAllocator(first, third);
+        ComponentStore<?> smallest = first;
+        if (second.size < smallest.size) {
+            smallest = second;
+        }
+        if (third.size < smallest.size) {
+            smallest = third;
+        }
+        for (int n = 0; n < smallest.size; n++) {
+            long handle = smallest.handles[n];
+            int i = first.indexOf(handle);
+            int j = second.indexOf(handle);
+            int k = third.indexOf(handle);
+            if (i != -1 && j != -1 && k != -1) {
+                action.accept(first.get(i), second.get(j), third.get(k));
+            }
+        }
+    }
+
+    /**
+     * Check that 2 stores use the same allocator, their handles could not be compared otherwise.
+     *
+     * @param first  First store.
+     * @param second Second store.
+     * @throws IllegalArgumentException If the stores do not share the same allocator.
+     */
+    private static void checkAllocator(final ComponentStore<?> first, final ComponentStore<?> second) {
+        if (first.allocator != second.allocator) {
+            throw new IllegalArgumentException("Joined stores must share the same handle allocator.");
+        }
+    }
+
+    /**
+     * Add a component, replacing any existing component for the same entity.
+     * A component left by a stale handle with the same index is replaced as well.
+     *
+     * @param component Component to add, its id must not be null.
+     * @return The replaced component, null if none or if it belonged to a stale handle.
+     * @throws InvalidParameterException If the component entity has no handle in the allocator.
+     */
+    public T add(@NonNull final T component) {
+        long handle = this.allocator.getHandle(component.getId());
+        if (handle == EntityHandle.NONE) {
+            throw new InvalidParameterException(component.getId() + " has no handle.");
+        }
+        int slot = EntityHandle.index(handle);
+        if (slot >= this.sparse.length) {
+            this.sparse = Arrays.copyOf(this.sparse, Math.max(slot + 1, Math.max(this.allocator.getCapacity(), this.sparse.length * 2)));
+        }
+        int index = this.sparse[slot];
+        if (index < this.size && EntityHandle.index(this.handles[index]) == slot) {
+            T previous = this.handles[index] == handle ? this.get(index) : null;
+            this.dense[index] = component;
+            this.handles[index] = handle;
+            return previous;
+        }
+        if (this.size == this.dense.length) {
+            this.dense = Arrays.copyOf(this.dense, this.size * 2);
+            this.handles = Arrays.copyOf(this.handles, this.size * 2);
+        }
+        this.dense[this.size] = component;
+        this.handles[this.size] = handle;
+        this.sparse[slot] = this.size;
+        this.size++;
+        return null;
+    }
+
+    /**
+     * Remove the component of an entity.
+     *
+     * @param id Entity id.
+     * @return The removed component, null if the entity had none or has no handle.
+     */
+    public T remove(@NonNull final EntityId id) {
+        return this.removeByHandle(this.allocator.getHandle(id));
+    }
+
+    /**
+     * Remove the component of a handle, the handle does not need to be alive, to clean the components of a released entity.
+     *
+     * @param handle Entity handle.
+     * @return The removed component, null if the handle had none.
+     */
+    public T removeByHandle(final long handle) {
+        int index = this.indexOf(handle);
+        if (index == -1) {
+            return null;
+        }
+        T removed = this.get(index);
+        this.size--;
+        if (index != this.size) {
+            this.dense[index] = this.dense[this.size];
+            this.handles[index] = this.handles[this.size];
+            this.sparse[EntityHandle.index(this.handles[index])] = index;
+        }
+        this.dense[this.size] = null;
+        return removed;
+    }
+
+    /**
+     * Retrieve the component of an entity.
+     *
+     * @param id Entity id.
+     * @return The entity component, null if none.
+     */
+    public T get(@NonNull final EntityId id) {
+        return this.getByHandle(this.allocator.getHandle(id));
+    }
+
+    /**
+     * Retrieve the component of a handle.
+     *
+     * @param handle Entity handle.
+     * @return The component, null if none or if the handle generation does not match.
+     */
+    public T getByHandle(final long handle) {
+        int index = this.indexOf(handle);
+        return index == -1 ? null : this.get(index);
+    }
+
+    /**
+     * Retrieve a component by its position in the dense array, to iterate with an index from 0 to size - 1.
+     *
+     * @param index Component position.
+     * @return The component.
+     * @throws IndexOutOfBoundsException If index is not between 0 and size - 1.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + this.size);
+        }
+        return (T) this.dense[index];
+    }
+
+    /**
+     * Retrieve the handle of a component by its position in the dense array.
+     *
+     * @param index Component position.
+     * @return The component handle.
+     * @throws IndexOutOfBoundsException If index is not between 0 and size - 1.
+     */
+    public long getHandle(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + this.size);
+        }
+        return this.handles[index];
+    }
+
+    /**
+     * Check if an entity has a component.
+     *
+     * @param id Entity id.
+     * @return <code>true</code> if the entity has a component in this store.
+     */
+    public boolean contains(@NonNull final EntityId id) {
+        return this.containsHandle(this.allocator.getHandle(id));
+    }
+
+    /**
+     * Check if a handle has a component.
+     *
+     * @param handle Entity handle.
+     * @return <code>true</code> if the handle has a component in this store, with the same generation.
+     */
+    public boolean containsHandle(final long handle) {
+        return this.indexOf(handle) != -1;
+    }
+
+    /**
+     * Call a function for every component, in the dense array order.
+     *
+     * @param action Function to call.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(final Consumer<? super T> action) {
+        for (int i = 0; i < this.size; i++) {
+            action.accept((T) this.dense[i]);
+        }
+    }
+
+    /**
+     * @return The number of components.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return <code>true</code> if the store has no component.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Remove all the components, the sparse array does not need to be reset as its positions are checked against the size.
+     */
+    public void clear() {
+        Arrays.fill(this.dense, 0, this.size, null);
+        this.size = 0;
+    }
+
+    /**
+     * Find the dense position of a handle.
+     *
+     * @param handle Handle to find.
+     * @return The position of the handle component, -1 if none.
+     */
+    private int indexOf(final long handle) {
+        int slot = EntityHandle.index(handle);
+        if (slot < 0 || slot >= this.sparse.length) {
+            return -1;
+        }
+        int index = this.sparse[slot];
+        return index < this.size && this.handles[index] == handle ? index : -1;
+    }
+
+    /**
+     * Function receiving the components of an entity from 3 joined stores.
+     *
+     * @param <A> Type of the first store components.
+     * @param <B> Type of the second store components.
+     * @param <C> Type of the third store components.
+     */
+    @FunctionalInterface
+    public interface JoinConsumer<A, B, C> {
+
+        /**
+         * Receive the components of an entity.
+         *
+         * @param a First store component.
+         * @param b Second store component.
+         * @param c Third store component.
+         */
+        void accept(A a, B b, C c);
+    }
+}
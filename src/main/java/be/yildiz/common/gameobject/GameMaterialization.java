@@ -24,6 +24,7 @@
 package be.yildiz.common.gameobject;
 
 import be.yildiz.common.id.EntityId;
+import be.yildiz.common.id.EntityIdentifiable;
 import be.yildiz.common.vector.Point3D;
 
 /**
@@ -31,11 +32,12 @@ import be.yildiz.common.vector.Point3D;
  *
  * @author Grégory Van den Borre
  */
-public interface GameMaterialization extends Movable {
+public interface GameMaterialization extends Movable, EntityIdentifiable {
 
     /**
      * @return The object associated Id.
      */
+    @Override
     EntityId getId();
 
     /**
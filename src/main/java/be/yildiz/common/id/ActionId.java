@@ -23,10 +23,7 @@
 
 package be.yildiz.common.id;
 
-import be.yildiz.common.collections.Maps;
-
 import java.io.Serializable;
-import java.util.Map;
 
 /**
  * An id represent an unique instance of a class of object. The same id can be shared between different class but two objects of the same class cannot have the same id.
@@ -38,10 +35,21 @@ public class ActionId implements Serializable {
     /***/
     private static final long serialVersionUID = -1300879297702695817L;
 
+    /**
+     * Name of the system property to set the number of small values, from 0, whose ids are cached in an array for a faster lookup.
+     */
+    public static final String DENSE_LIMIT_PROPERTY = "yildiz.actionid.denselimit";
+
+    /**
+     * Default number of small values whose ids are cached in an array.
+     */
+    private static final int DEFAULT_DENSE_LIMIT = 4096;
+
     /**
      * List of all registered id with their value as key.
      */
-    private static final Map<Integer, ActionId> LIST = Maps.newMap();
+    private static final DenseIntInterner<ActionId> LIST = new DenseIntInterner<>(v -> new ActionId((int) v),
+            Integer.getInteger(ActionId.DENSE_LIMIT_PROPERTY, ActionId.DEFAULT_DENSE_LIMIT));
 
     /**
      * Constant value for the world.
@@ -50,7 +58,7 @@ public class ActionId implements Serializable {
     /**
      * Constant id for the world.
      */
-    public static final ActionId WORLD = new ActionId(ActionId.WORLD_VALUE);
+    public static final ActionId WORLD = ActionId.get(ActionId.WORLD_VALUE);
 
     /**
      * Id value, it is immutable.
@@ -70,8 +78,8 @@ public class ActionId implements Serializable {
     protected ActionId(final int idValue) {
         super();
         this.value = idValue;
-        ActionId.LIST.putIfAbsent(this.value, this);
-        this.hashCode = Long.valueOf(this.value).hashCode();
+        this.hashCode = Long.hashCode(this.value);
+        ActionId.LIST.register(this.value, this);
     }
 
     /**
@@ -81,9 +89,6 @@ public class ActionId implements Serializable {
      * @return The Id with the internal value correspond to the parameter.
      */
     public static ActionId get(final int value) {
-        if (!ActionId.LIST.containsKey(value)) {
-            ActionId.LIST.put(value, new ActionId(value));
-        }
         return ActionId.LIST.get(value);
     }
 
@@ -0,0 +1,115 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+/**
+ * Thread safe interning table for int ids, values in the [0, limit[ range are cached in an array indexed by the value,
+ * so the lookup for small and dense values is a single array read, other values use a LongInterner.
+ * The LongInterner remains the only place where ids are created, the array only caches its results, so a single instance exists for each value.
+ *
+ * @param <T> Type of the interned ids.
+ * @author Grégory Van den Borre
+ */
+final class DenseIntInterner<T> implements Interner<T> {
+
+    /**
+     * Ids for the values lower than the limit, filled on first access.
+     */
+    private final AtomicReferenceArray<T> dense;
+
+    /**
+     * Interning table creating the ids.
+     */
+    private final LongInterner<T> fallback;
+
+    /**
+     * Create a new interner.
+     *
+     * @param factory Factory to create a new id from a value.
+     * @param limit   Values from 0 to limit excluded are cached in an array.
+     * @throws IllegalArgumentException If limit is negative.
+     */
+    DenseIntInterner(final LongFunction<T> factory, final int limit) {
+        super();
+        if (limit < 0) {
+            throw new IllegalArgumentException("Dense limit cannot be negative: " + limit);
+        }
+        this.dense = new AtomicReferenceArray<>(limit);
+        this.fallback = new LongInterner<>(factory);
+    }
+
+    /**
+     * Retrieve the unique id for a value, creating it if it does not exist yet.
+     *
+     * @param key Id value.
+     * @return The unique id for that value.
+     */
+    T get(final int key) {
+        if (key >= 0 && key < this.dense.length()) {
+            T result = this.dense.get(key);
+            if (result == null) {
+                result = this.fallback.get(key);
+                this.dense.set(key, result);
+            }
+            return result;
+        }
+        return this.fallback.get(key);
+    }
+
+    @Override
+    public T get(final long key) {
+        return key >= 0 && key < this.dense.length() ? this.get((int) key) : this.fallback.get(key);
+    }
+
+    /**
+     * Register an already built id if none exists for its value.
+     *
+     * @param key   Id value.
+     * @param value Id to register.
+     * @return The unique id for that value, the one already registered if any, the value parameter otherwise.
+     */
+    T register(final long key, final T value) {
+        return this.fallback.register(key, value);
+    }
+
+    @Override
+    public int size() {
+        return this.fallback.size();
+    }
+
+    @Override
+    public long reclaimed() {
+        return 0;
+    }
+
+    /**
+     * @return The upper bound, excluded, of the values cached in the array.
+     */
+    int getLimit() {
+        return this.dense.length();
+    }
+}
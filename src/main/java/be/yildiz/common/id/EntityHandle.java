@@ -0,0 +1,70 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+/**
+ * Generational entity handle, packed in a primitive long: the 32 low bits are a slot index, usable directly as an array index,
+ * and the 32 high bits are the slot generation, increased each time the slot is released, so a handle kept after its entity was released is detected as stale.
+ * Handles are created by an EntityHandleAllocator, valid handles are never negative.
+ *
+ * @author Grégory Van den Borre
+ */
+public interface EntityHandle {
+
+    /**
+     * Value used when there is no handle.
+     */
+    long NONE = -1L;
+
+    /**
+     * Build a handle.
+     *
+     * @param index      Slot index, positive.
+     * @param generation Slot generation, positive.
+     * @return The handle.
+     */
+    static long of(final int index, final int generation) {
+        return ((long) generation << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Retrieve the slot index of a handle.
+     *
+     * @param handle Handle.
+     * @return The slot index.
+     */
+    static int index(final long handle) {
+        return (int) handle;
+    }
+
+    /**
+     * Retrieve the generation of a handle.
+     *
+     * @param handle Handle.
+     * @return The slot generation.
+     */
+    static int generation(final long handle) {
+        return (int) (handle >>> 32);
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+import be.yildiz.common.collections.LongIntMap;
+import lombok.NonNull;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+/**
+ * Allocate generational handles for entities, indices of released handles are recycled so they remain dense and can be used to index component arrays.
+ * The allocator keeps the mapping between the handles and the EntityIds in both directions, without boxing.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class EntityHandleAllocator {
+
+    /**
+     * Value returned by the id table for an id without handle.
+     */
+    private static final int NO_SLOT = -1;
+
+    /**
+     * Current generation of each slot.
+     */
+    private int[] generations;
+
+    /**
+     * Entity id value of each used slot.
+     */
+    private long[] ids;
+
+    /**
+     * Flag set for the used slots.
+     */
+    private boolean[] used;
+
+    /**
+     * Stack of released slots, reused before creating new ones.
+     */
+    private int[] free;
+
+    /**
+     * Number of released slots in the stack.
+     */
+    private int freeSize;
+
+    /**
+     * Number of slots ever created, all indices are lower than this.
+     */
+    private int capacity;
+
+    /**
+     * Number of used slots.
+     */
+    private int size;
+
+    /**
+     * Slot of each entity, with the id value as key.
+     */
+    private final LongIntMap slots;
+
+    /**
+     * Create a new empty allocator.
+     */
+    public EntityHandleAllocator() {
+        this(64);
+    }
+
+    /**
+     * Create a new empty allocator.
+     *
+     * @param expectedSize Number of entities the allocator can handle without growing.
+     * @throws IllegalArgumentException If expectedSize is not greater than 0.
+     */
+    public EntityHandleAllocator(final int expectedSize) {
+        super();
+        if (expectedSize <= 0) {
+            throw new IllegalArgumentException("Expected size must be greater than 0: " + expectedSize);
+        }
+        this.generations = new int[expectedSize];
+        this.ids = new long[expectedSize];
+        this.used = new boolean[expectedSize];
+        this.free = new int[expectedSize];
+        this.slots = new LongIntMap(expectedSize, NO_SLOT);
+    }
+
+    /**
+     * Create a handle for an entity.
+     *
+     * @param id Entity id.
+     * @return The new handle.
+     * @throws InvalidParameterException If the entity already has a handle.
+     */
+    public long create(@NonNull final EntityId id) {
+        if (this.slots.containsKey(id.value)) {
+            throw new InvalidParameterException(id + " has already a handle.");
+        }
+        int slot;
+        if (this.freeSize > 0) {
+            this.freeSize--;
+            slot = this.free[this.freeSize];
+        } else {
+            if (this.capacity == Integer.MAX_VALUE) {
+                throw new IllegalStateException("No more handle available.");
+            }
+            if (this.capacity == this.generations.length) {
+                this.growSlots();
+            }
+            slot = this.capacity;
+            this.capacity++;
+        }
+        this.used[slot] = true;
+        this.ids[slot] = id.value;
+        this.size++;
+        this.slots.put(id.value, slot);
+        return EntityHandle.of(slot, this.generations[slot]);
+    }
+
+    /**
+     * Release a handle, its slot will be reused with a new generation, so this handle becomes stale.
+     *
+     * @param handle Handle to release.
+     * @return <code>true</code> if the handle was released, <code>false</code> if it was already stale.
+     */
+    public boolean release(final long handle) {
+        if (!this.isAlive(handle)) {
+            return false;
+        }
+        int slot = EntityHandle.index(handle);
+        this.used[slot] = false;
+        this.generations[slot] = (this.generations[slot] + 1) & Integer.MAX_VALUE;
+        this.free[this.freeSize] = slot;
+        this.freeSize++;
+        this.size--;
+        this.slots.remove(this.ids[slot]);
+        return true;
+    }
+
+    /**
+     * Release the handle of an entity.
+     *
+     * @param id Entity id.
+     * @return <code>true</code> if the handle was released, <code>false</code> if the entity had no handle.
+     */
+    public boolean release(@NonNull final EntityId id) {
+        return this.release(this.getHandle(id));
+    }
+
+    /**
+     * Check if a handle is still valid.
+     *
+     * @param handle Handle to check.
+     * @return <code>true</code> if the handle was created by this allocator and not released.
+     */
+    public boolean isAlive(final long handle) {
+        int slot = EntityHandle.index(handle);
+        return handle >= 0 && slot >= 0 && slot < this.capacity && this.used[slot] && this.generations[slot] == EntityHandle.generation(handle);
+    }
+
+    /**
+     * Retrieve the handle of an entity.
+     *
+     * @param id Entity id.
+     * @return The entity handle, EntityHandle.NONE if the entity has no handle.
+     */
+    public long getHandle(@NonNull final EntityId id) {
+        int slot = this.slots.get(id.value);
+        return slot == NO_SLOT ? EntityHandle.NONE : EntityHandle.of(slot, this.generations[slot]);
+    }
+
+    /**
+     * Retrieve the entity of a handle.
+     *
+     * @param handle Handle.
+     * @return The entity id, null if the handle is stale.
+     */
+    public EntityId getEntityId(final long handle) {
+        return this.isAlive(handle) ? EntityId.get(this.ids[EntityHandle.index(handle)]) : null;
+    }
+
+    /**
+     * @return The number of live handles.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return The number of slots ever used, all handle indices are lower than this value, to size arrays indexed by handles.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Double the number of slots.
+     */
+    private void growSlots() {
+        int newLength = (int) Math.min(Integer.MAX_VALUE, this.generations.length * 2L);
+        this.generations = Arrays.copyOf(this.generations, newLength);
+        this.ids = Arrays.copyOf(this.ids, newLength);
+        this.used = Arrays.copyOf(this.used, newLength);
+        this.free = Arrays.copyOf(this.free, newLength);
+    }
+}
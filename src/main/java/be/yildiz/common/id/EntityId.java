@@ -23,11 +23,8 @@
 
 package be.yildiz.common.id;
 
-import be.yildiz.common.collections.Maps;
-
 import java.io.Serializable;
 import java.security.InvalidParameterException;
-import java.util.Map;
 
 /**
  * An id represent an unique instance of a class of object. The same id can be shared between different class but two objects of the same class cannot have the same id.
@@ -46,15 +43,23 @@ public final class EntityId implements Serializable {
      */
     private static final long WORLD_VALUE = 0L;
 
+    /**
+     * Name of the system property to set to true to let the unused ids be garbage collected,
+     * by default all ids are kept for the lifetime of the application.
+     */
+    public static final String WEAK_INTERNING_PROPERTY = "yildiz.entityid.weak";
+
     /**
      * List of all registered id with their value as key.
      */
-    private static final Map<Long, EntityId> LIST = Maps.newMap();
+    private static final Interner<EntityId> LIST = Boolean.getBoolean(EntityId.WEAK_INTERNING_PROPERTY)
+            ? new WeakLongInterner<>(EntityId::new)
+            : new LongInterner<>(EntityId::new);
 
     /**
      * Constant id for the world.
      */
-    public static final EntityId WORLD = new EntityId(EntityId.WORLD_VALUE);
+    public static final EntityId WORLD = EntityId.get(EntityId.WORLD_VALUE);
 
     /**
      * Id value, it is immutable.
@@ -74,8 +79,7 @@ public final class EntityId implements Serializable {
     private EntityId(final long idValue) {
         super();
         this.value = idValue;
-        EntityId.LIST.putIfAbsent(this.value, this);
-        this.hashCode = Long.valueOf(this.value).hashCode();
+        this.hashCode = Long.hashCode(this.value);
     }
 
     /**
@@ -85,12 +89,21 @@ public final class EntityId implements Serializable {
      * @return The Id with the internal value correspond to the parameter.
      */
     public static EntityId get(final long value) {
-        if (!EntityId.LIST.containsKey(value)) {
-            EntityId.LIST.put(value, new EntityId(value));
-        }
         return EntityId.LIST.get(value);
     }
 
+    /**
+     * Retrieve the Ids of a range of consecutive values, the missing ones are registered at once,
+     * so a range of new ids costs a single synchronization instead of one per id.
+     *
+     * @param first  First id value.
+     * @param count  Number of values.
+     * @param result Array receiving the ids, from index 0.
+     */
+    static void getRange(final long first, final int count, final EntityId[] result) {
+        EntityId.LIST.getRange(first, count, result);
+    }
+
     /**
      * Retrieve an Id from a value.
      *
@@ -101,6 +114,20 @@ public final class EntityId implements Serializable {
         throw new IllegalArgumentException("Please use long values");
     }
 
+    /**
+     * @return The number of ids currently registered.
+     */
+    public static int getRegistrySize() {
+        return EntityId.LIST.size();
+    }
+
+    /**
+     * @return The number of unused ids removed from the registry, always 0 if weak interning is not enabled.
+     */
+    public static long getReclaimedCount() {
+        return EntityId.LIST.reclaimed();
+    }
+
     /**
      * Check if an id is world.
      *
@@ -0,0 +1,248 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+import lombok.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generate unique positive EntityIds, 0(WORLD) and negative values are never returned.
+ * Each thread leases a block of consecutive values from a shared counter and then allocates from it without any synchronization,
+ * so the shared counter is only touched once per block. The EntityIds of a block are registered together on first use,
+ * so the synchronized EntityId registry is also only touched once per block, nextValue does not touch it at all.
+ * Ids are unique but not consecutive across threads, and the unused values of a thread block are never given.
+ * <p>
+ * With an IdHighWaterMark, the reserved values are persisted before being given, by chunks of several blocks,
+ * and a new allocator starts after the stored mark, so ids are never repeated after a restart.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class EntityIdAllocator {
+
+    /**
+     * Default number of ids leased at once by a thread.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    /**
+     * Number of blocks reserved in the high water mark in a single save.
+     */
+    private static final int BLOCKS_PER_RESERVATION = 64;
+
+    /**
+     * Number of ids leased at once by a thread.
+     */
+    private final int blockSize;
+
+    /**
+     * First value of the next block to lease.
+     */
+    private final AtomicLong nextBlock;
+
+    /**
+     * Persistent storage for the reserved values, null if not persisted.
+     */
+    private final IdHighWaterMark highWaterMark;
+
+    /**
+     * All values strictly lower than this one are persisted as reserved.
+     */
+    private volatile long reserved;
+
+    /**
+     * Block currently used by each thread.
+     */
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+
+    /**
+     * Create a new allocator starting at 1, with the default block size and without persistence.
+     */
+    public EntityIdAllocator() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Create a new allocator starting at 1, without persistence.
+     *
+     * @param blockSize Number of ids leased at once by a thread.
+     * @throws IllegalArgumentException If blockSize is not greater than 0.
+     */
+    public EntityIdAllocator(final int blockSize) {
+        this(blockSize, 1, null);
+    }
+
+    /**
+     * Create a new allocator starting after a persisted high water mark.
+     *
+     * @param blockSize     Number of ids leased at once by a thread.
+     * @param highWaterMark Storage for the reserved values.
+     * @throws IllegalArgumentException If blockSize is not greater than 0.
+     */
+    public EntityIdAllocator(final int blockSize, @NonNull final IdHighWaterMark highWaterMark) {
+        this(blockSize, Math.max(1, highWaterMark.load()), highWaterMark);
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param blockSize     Number of ids leased at once by a thread.
+     * @param first         First value to give.
+     * @param highWaterMark Storage for the reserved values, null if not persisted.
+     * @throws IllegalArgumentException If blockSize is not greater than 0.
+     */
+    private EntityIdAllocator(final int blockSize, final long first, final IdHighWaterMark highWaterMark) {
+        super();
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be greater than 0: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.nextBlock = new AtomicLong(first);
+        this.highWaterMark = highWaterMark;
+        this.reserved = highWaterMark == null ? Long.MAX_VALUE : first;
+    }
+
+    /**
+     * Generate a new unique id.
+     * The ids of the current thread block are registered together the first time one of them is requested,
+     * so the shared EntityId registry is only synchronized once per block.
+     *
+     * @return The id.
+     * @throws IllegalStateException If all positive values were given.
+     */
+    public EntityId next() {
+        Block block = this.blocks.get();
+        if (block.next == block.end) {
+            this.lease(block);
+        }
+        if (block.next >= block.internedEnd) {
+            block.intern();
+        }
+        int index = (int) (block.next - block.internedStart);
+        EntityId id = block.ids[index];
+        // Do not keep the given ids alive, they can be collected with weak interning.
+        block.ids[index] = null;
+        block.next++;
+        return id;
+    }
+
+    /**
+     * Generate a new unique id value, without retrieving the EntityId, this does not touch the EntityId registry at all.
+     *
+     * @return The id value, greater than 0.
+     * @throws IllegalStateException If all positive values were given.
+     */
+    public long nextValue() {
+        Block block = this.blocks.get();
+        if (block.next == block.end) {
+            this.lease(block);
+        }
+        return block.next++;
+    }
+
+    /**
+     * Lease a new block of values for the current thread.
+     *
+     * @param block Block to update.
+     * @throws IllegalStateException If all positive values were given.
+     */
+    private void lease(final Block block) {
+        long start = this.nextBlock.getAndAdd(this.blockSize);
+        if (start < 1 || start > Long.MAX_VALUE - this.blockSize) {
+            throw new IllegalStateException("All entity id values have been allocated.");
+        }
+        long end = start + this.blockSize;
+        if (end > this.reserved) {
+            this.reserve(end);
+        }
+        block.next = start;
+        block.end = end;
+        block.internedEnd = start;
+    }
+
+    /**
+     * Persist a new high water mark covering a value, and some blocks after it.
+     *
+     * @param end Value to cover.
+     */
+    private synchronized void reserve(final long end) {
+        if (end > this.reserved) {
+            long ahead = (long) this.blockSize * BLOCKS_PER_RESERVATION;
+            long mark = end > Long.MAX_VALUE - ahead ? Long.MAX_VALUE : end + ahead;
+            this.highWaterMark.save(mark);
+            this.reserved = mark;
+        }
+    }
+
+    /**
+     * Range of values leased by a thread.
+     */
+    private static final class Block {
+
+        /**
+         * Next value to give.
+         */
+        private long next;
+
+        /**
+         * First value after the block.
+         */
+        private long end;
+
+        /**
+         * Value of the first id in the ids array.
+         */
+        private long internedStart;
+
+        /**
+         * First value after the last id in the ids array, the ids from next to this value are registered.
+         */
+        private long internedEnd;
+
+        /**
+         * Registered ids of the block, not yet given, created on first use.
+         */
+        private EntityId[] ids;
+
+        /**
+         * Create an empty block, a new one will be leased on first use.
+         */
+        private Block() {
+            super();
+        }
+
+        /**
+         * Register the remaining ids of the block at once.
+         */
+        private void intern() {
+            int count = (int) (this.end - this.next);
+            if (this.ids == null || this.ids.length < count) {
+                this.ids = new EntityId[count];
+            }
+            EntityId.getRange(this.next, count, this.ids);
+            this.internedStart = this.next;
+            this.internedEnd = this.end;
+        }
+    }
+}
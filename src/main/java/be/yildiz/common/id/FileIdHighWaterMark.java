@@ -0,0 +1,105 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+import be.yildiz.common.exeption.TechnicalException;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * High water mark stored as text in a file, the new value is flushed to disk in a temporary file which then atomically replaces the current one.
+ * The parent directory is flushed after the replacement so the rename itself survives a crash, on platforms where a directory cannot be opened(Windows),
+ * the durability of the rename relies on the file system.
+ *
+ * @author Grégory Van den Borre
+ */
+final class FileIdHighWaterMark implements IdHighWaterMark {
+
+    /**
+     * File containing the mark.
+     */
+    private final Path file;
+
+    /**
+     * Temporary file used to write the new mark before replacing the current one.
+     */
+    private final Path temporary;
+
+    /**
+     * Create a new file high water mark.
+     *
+     * @param file File containing the mark.
+     */
+    FileIdHighWaterMark(@NonNull final Path file) {
+        super();
+        this.file = file.toAbsolutePath();
+        this.temporary = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+    }
+
+    @Override
+    public long load() {
+        if (!Files.exists(this.file)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(this.file), StandardCharsets.US_ASCII).trim());
+        } catch (IOException | NumberFormatException e) {
+            throw new TechnicalException(e, "Cannot read id high water mark from " + this.file);
+        }
+    }
+
+    @Override
+    public void save(final long mark) {
+        try {
+            try (FileChannel channel = FileChannel.open(this.temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.wrap(Long.toString(mark).getBytes(StandardCharsets.US_ASCII)));
+                channel.force(true);
+            }
+            Files.move(this.temporary, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new TechnicalException(e, "Cannot write id high water mark to " + this.file);
+        }
+        this.syncDirectory();
+    }
+
+    /**
+     * Flush the parent directory to disk, so the rename of the temporary file is durable.
+     * Nothing is done if the platform does not allow to open a directory.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(this.file.getParent(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened on some platforms, the rename durability then depends on the file system.
+        }
+    }
+}
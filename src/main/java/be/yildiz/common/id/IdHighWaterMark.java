@@ -0,0 +1,58 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+import java.nio.file.Path;
+
+/**
+ * Storage for the highest id value reserved by an EntityIdAllocator, so ids are never given twice across application restarts.
+ *
+ * @author Grégory Van den Borre
+ */
+public interface IdHighWaterMark {
+
+    /**
+     * Build a high water mark stored in a text file.
+     *
+     * @param file File to use, created on first save if it does not exist.
+     * @return The file high water mark.
+     */
+    static IdHighWaterMark file(final Path file) {
+        return new FileIdHighWaterMark(file);
+    }
+
+    /**
+     * Retrieve the stored mark.
+     *
+     * @return The highest value reserved so far, 0 if none was ever saved.
+     */
+    long load();
+
+    /**
+     * Store a new mark, must be durable when this method returns.
+     *
+     * @param mark All values strictly lower than this mark are reserved.
+     */
+    void save(long mark);
+}
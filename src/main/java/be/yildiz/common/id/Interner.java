@@ -0,0 +1,65 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+/**
+ * Thread safe interning table for ids, keyed by a primitive long, ensuring a single instance exists for each value.
+ *
+ * @param <T> Type of the interned ids.
+ * @author Grégory Van den Borre
+ */
+interface Interner<T> {
+
+    /**
+     * Retrieve the unique id for a value, creating it if it does not exist yet.
+     *
+     * @param key Id value.
+     * @return The unique id for that value.
+     */
+    T get(long key);
+
+    /**
+     * Retrieve the unique ids for a range of consecutive values, creating the missing ones.
+     * Implementations should create all the missing ids in a single synchronized operation.
+     *
+     * @param first  First id value.
+     * @param count  Number of values.
+     * @param result Array receiving the ids, from index 0.
+     */
+    default void getRange(final long first, final int count, final T[] result) {
+        for (int i = 0; i < count; i++) {
+            result[i] = this.get(first + i);
+        }
+    }
+
+    /**
+     * @return The number of ids currently held in the table.
+     */
+    int size();
+
+    /**
+     * @return The number of ids removed from the table since its creation because they were no longer used.
+     */
+    long reclaimed();
+}
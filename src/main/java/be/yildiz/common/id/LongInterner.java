@@ -0,0 +1,231 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+/**
+ * Thread safe interning table for ids, keyed by a primitive long to avoid boxing.
+ * The table uses open addressing with linear probing, the read path is lock free and does a single probe sequence,
+ * only the creation of a new id is synchronized.
+ *
+ * @param <T> Type of the interned ids.
+ * @author Grégory Van den Borre
+ */
+final class LongInterner<T> implements Interner<T> {
+
+    /**
+     * Initial number of slots, must be a power of 2.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Factory to create a new id from a value.
+     */
+    private final LongFunction<T> factory;
+
+    /**
+     * Current table, replaced by a bigger one when half full.
+     */
+    private volatile Table<T> table = new Table<>(INITIAL_CAPACITY);
+
+    /**
+     * Number of interned ids, only modified in synchronized blocks.
+     */
+    private volatile int size;
+
+    /**
+     * Create a new interner.
+     *
+     * @param factory Factory to create a new id from a value.
+     */
+    LongInterner(final LongFunction<T> factory) {
+        super();
+        this.factory = factory;
+    }
+
+    @Override
+    public T get(final long key) {
+        T result = this.table.find(key);
+        return result == null ? this.intern(key, null) : result;
+    }
+
+    /**
+     * Register an already built id if none exists for its value.
+     *
+     * @param key   Id value.
+     * @param value Id to register.
+     * @return The unique id for that value, the one already registered if any, the value parameter otherwise.
+     */
+    T register(final long key, final T value) {
+        return this.intern(key, value);
+    }
+
+    /**
+     * Retrieve the ids of a range of values, the monitor is taken once for the whole range.
+     *
+     * @param first  First id value.
+     * @param count  Number of values.
+     * @param result Array receiving the ids, from index 0.
+     */
+    @Override
+    public synchronized void getRange(final long first, final int count, final T[] result) {
+        for (int i = 0; i < count; i++) {
+            result[i] = this.intern(first + i, null);
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Ids are strongly held, nothing is ever reclaimed.
+     *
+     * @return 0.
+     */
+    @Override
+    public long reclaimed() {
+        return 0;
+    }
+
+    /**
+     * Insert an id, or retrieve it if another thread inserted it in the meantime.
+     *
+     * @param key   Id value.
+     * @param value Id to insert, null to build it with the factory.
+     * @return The unique id for that value.
+     */
+    private synchronized T intern(final long key, final T value) {
+        T result = this.table.find(key);
+        if (result != null) {
+            return result;
+        }
+        result = value == null ? this.factory.apply(key) : value;
+        // The factory may have registered the id itself.
+        T registered = this.table.find(key);
+        if (registered != null) {
+            return registered;
+        }
+        Table<T> t = this.table;
+        if ((this.size + 1) * 2 > t.keys.length) {
+            t = t.grow();
+            this.table = t;
+        }
+        t.put(key, result);
+        this.size++;
+        return result;
+    }
+
+    /**
+     * Spread the bits of a key.
+     *
+     * @param key Key to hash.
+     * @return The hashed key.
+     */
+    static int hash(final long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Keys and values arrays, a slot is used when its value is not null.
+     *
+     * @param <T> Type of the interned ids.
+     */
+    private static final class Table<T> {
+
+        /**
+         * Key of each slot, written before the value.
+         */
+        private final long[] keys;
+
+        /**
+         * Value of each slot.
+         */
+        private final AtomicReferenceArray<T> values;
+
+        /**
+         * Create an empty table.
+         *
+         * @param capacity Number of slots, must be a power of 2.
+         */
+        private Table(final int capacity) {
+            super();
+            this.keys = new long[capacity];
+            this.values = new AtomicReferenceArray<>(capacity);
+        }
+
+        /**
+         * Find the value for a key.
+         *
+         * @param key Key to find.
+         * @return The value for that key, null if none.
+         */
+        private T find(final long key) {
+            int mask = this.keys.length - 1;
+            for (int i = LongInterner.hash(key) & mask; ; i = (i + 1) & mask) {
+                T v = this.values.get(i);
+                if (v == null || this.keys[i] == key) {
+                    return v;
+                }
+            }
+        }
+
+        /**
+         * Place a key not present in the table in the first free slot.
+         *
+         * @param key   Key to place.
+         * @param value Value for the key.
+         */
+        private void put(final long key, final T value) {
+            int mask = this.keys.length - 1;
+            int i = LongInterner.hash(key) & mask;
+            while (this.values.get(i) != null) {
+                i = (i + 1) & mask;
+            }
+            this.keys[i] = key;
+            // Volatile write, the key is visible to any reader seeing the value.
+            this.values.set(i, value);
+        }
+
+        /**
+         * Build a new table twice as big containing the same entries.
+         *
+         * @return The new table.
+         */
+        private Table<T> grow() {
+            Table<T> result = new Table<>(this.keys.length * 2);
+            for (int i = 0; i < this.keys.length; i++) {
+                T v = this.values.get(i);
+                if (v != null) {
+                    result.put(this.keys[i], v);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -23,10 +23,7 @@
 
 package be.yildiz.common.id;
 
-import be.yildiz.common.collections.Maps;
-
 import java.io.Serializable;
-import java.util.Map;
 
 /**
  * An id represent an unique instance of a class of object. The same id can be shared between different class but two objects of the same class cannot have the same id.
@@ -38,10 +35,21 @@ public final class PlayerId implements Serializable {
     /***/
     private static final long serialVersionUID = -1300879297702695817L;
 
+    /**
+     * Name of the system property to set the number of small values, from 0, whose ids are cached in an array for a faster lookup.
+     */
+    public static final String DENSE_LIMIT_PROPERTY = "yildiz.playerid.denselimit";
+
+    /**
+     * Default number of small values whose ids are cached in an array.
+     */
+    private static final int DEFAULT_DENSE_LIMIT = 4096;
+
     /**
      * List of all registered id with their value as key.
      */
-    private static final Map<Integer, PlayerId> LIST = Maps.newMap();
+    private static final DenseIntInterner<PlayerId> LIST = new DenseIntInterner<>(v -> new PlayerId((int) v),
+            Integer.getInteger(PlayerId.DENSE_LIMIT_PROPERTY, PlayerId.DEFAULT_DENSE_LIMIT));
 
     /**
      * Constant value for the world.
@@ -51,7 +59,7 @@ public final class PlayerId implements Serializable {
     /**
      * Constant id for the world.
      */
-    public static final PlayerId WORLD = new PlayerId(PlayerId.WORLD_VALUE);
+    public static final PlayerId WORLD = PlayerId.get(PlayerId.WORLD_VALUE);
 
     /**
      * Id value, it is immutable.
@@ -71,8 +79,7 @@ public final class PlayerId implements Serializable {
     private PlayerId(final int idValue) {
         super();
         this.value = idValue;
-        PlayerId.LIST.putIfAbsent(this.value, this);
-        this.hashCode = Long.valueOf(this.value).hashCode();
+        this.hashCode = Long.hashCode(this.value);
     }
 
     /**
@@ -82,9 +89,6 @@ public final class PlayerId implements Serializable {
      * @return The Id with the internal value correspond to the parameter.
      */
     public static PlayerId get(final int value) {
-        if (!PlayerId.LIST.containsKey(value)) {
-            PlayerId.LIST.put(value, new PlayerId(value));
-        }
         return PlayerId.LIST.get(value);
     }
 
@@ -0,0 +1,276 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+/**
+ * Thread safe interning table for ids, keyed by a primitive long, holding the ids with weak references so the ones no longer used anywhere can be garbage collected.
+ * An id is only removed once it is unreachable, so a single instance still exists for each value at any time and identity equality remains valid.
+ * The table uses open addressing with linear probing, the read path is lock free, creating an id and cleaning the collected ones is synchronized.
+ *
+ * @param <T> Type of the interned ids.
+ * @author Grégory Van den Borre
+ */
+final class WeakLongInterner<T> implements Interner<T> {
+
+    /**
+     * Initial number of slots, must be a power of 2.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Marker for a slot whose id was collected, probing must continue after it.
+     */
+    private final Entry<T> removed;
+
+    /**
+     * Factory to create a new id from a value.
+     */
+    private final LongFunction<T> factory;
+
+    /**
+     * Queue receiving the references whose id was collected.
+     */
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+    /**
+     * Current slots, replaced when used and removed slots reach half of the capacity.
+     */
+    private volatile AtomicReferenceArray<Entry<T>> table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+    /**
+     * Number of live entries, only modified in synchronized blocks.
+     */
+    private volatile int size;
+
+    /**
+     * Number of removed slots in the current table, only used in synchronized blocks.
+     */
+    private int removedSlots;
+
+    /**
+     * Number of collected ids, only modified in synchronized blocks.
+     */
+    private volatile long reclaimed;
+
+    /**
+     * Create a new interner.
+     *
+     * @param factory Factory to create a new id from a value.
+     */
+    WeakLongInterner(final LongFunction<T> factory) {
+        super();
+        this.factory = factory;
+        this.removed = new Entry<>(0, null, null);
+    }
+
+    @Override
+    public T get(final long key) {
+        Entry<T> e = this.find(this.table, key);
+        if (e != null) {
+            T result = e.get();
+            if (result != null) {
+                return result;
+            }
+        }
+        return this.intern(key);
+    }
+
+    /**
+     * Retrieve the ids of a range of values, the monitor is taken once for the whole range.
+     *
+     * @param first  First id value.
+     * @param count  Number of values.
+     * @param result Array receiving the ids, from index 0.
+     */
+    @Override
+    public synchronized void getRange(final long first, final int count, final T[] result) {
+        for (int i = 0; i < count; i++) {
+            result[i] = this.intern(first + i);
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (this) {
+            this.expunge();
+        }
+        return this.size;
+    }
+
+    @Override
+    public long reclaimed() {
+        synchronized (this) {
+            this.expunge();
+        }
+        return this.reclaimed;
+    }
+
+    /**
+     * Insert an id, or retrieve it if another thread inserted it in the meantime.
+     *
+     * @param key Id value.
+     * @return The unique id for that value.
+     */
+    private synchronized T intern(final long key) {
+        this.expunge();
+        AtomicReferenceArray<Entry<T>> t = this.table;
+        Entry<T> e = this.find(t, key);
+        if (e != null) {
+            T existing = e.get();
+            if (existing != null) {
+                return existing;
+            }
+            // Collected but not yet enqueued, forget it now.
+            this.remove(t, e);
+        }
+        T result = this.factory.apply(key);
+        if ((this.size + this.removedSlots + 1) * 2 > t.length()) {
+            t = this.rebuild(t);
+        }
+        this.put(t, new Entry<>(key, result, this.queue));
+        this.size++;
+        return result;
+    }
+
+    /**
+     * Remove all the entries whose id was collected.
+     */
+    private void expunge() {
+        Object ref = this.queue.poll();
+        while (ref != null) {
+            @SuppressWarnings("unchecked")
+            Entry<T> e = (Entry<T>) ref;
+            this.remove(this.table, e);
+            ref = this.queue.poll();
+        }
+    }
+
+    /**
+     * Replace an entry by the removed marker, nothing is done if the entry is no longer in the table.
+     *
+     * @param t Table to update.
+     * @param e Entry to remove.
+     */
+    private void remove(final AtomicReferenceArray<Entry<T>> t, final Entry<T> e) {
+        int mask = t.length() - 1;
+        for (int i = LongInterner.hash(e.key) & mask; ; i = (i + 1) & mask) {
+            Entry<T> current = t.get(i);
+            if (current == null) {
+                return;
+            }
+            if (current == e) {
+                t.set(i, this.removed);
+                this.size--;
+                this.removedSlots++;
+                this.reclaimed++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Build a new table without the removed slots, twice as big if the live entries use more than a quarter of the slots.
+     *
+     * @param t Current table.
+     * @return The new table.
+     */
+    private AtomicReferenceArray<Entry<T>> rebuild(final AtomicReferenceArray<Entry<T>> t) {
+        int capacity = (this.size + 1) * 4 > t.length() ? t.length() * 2 : t.length();
+        AtomicReferenceArray<Entry<T>> result = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < t.length(); i++) {
+            Entry<T> e = t.get(i);
+            if (e != null && e != this.removed) {
+                this.put(result, e);
+            }
+        }
+        this.removedSlots = 0;
+        this.table = result;
+        return result;
+    }
+
+    /**
+     * Place an entry in the first free slot.
+     *
+     * @param t Table to update.
+     * @param e Entry to place.
+     */
+    private void put(final AtomicReferenceArray<Entry<T>> t, final Entry<T> e) {
+        int mask = t.length() - 1;
+        int i = LongInterner.hash(e.key) & mask;
+        while (t.get(i) != null) {
+            i = (i + 1) & mask;
+        }
+        t.set(i, e);
+    }
+
+    /**
+     * Find the entry for a key.
+     *
+     * @param t   Table to search in.
+     * @param key Key to find.
+     * @return The entry for that key, null if none.
+     */
+    private Entry<T> find(final AtomicReferenceArray<Entry<T>> t, final long key) {
+        int mask = t.length() - 1;
+        for (int i = LongInterner.hash(key) & mask; ; i = (i + 1) & mask) {
+            Entry<T> e = t.get(i);
+            if (e == null) {
+                return null;
+            }
+            if (e != this.removed && e.key == key) {
+                return e;
+            }
+        }
+    }
+
+    /**
+     * Weak reference to an id, with the id value.
+     *
+     * @param <T> Type of the interned ids.
+     */
+    private static final class Entry<T> extends WeakReference<T> {
+
+        /**
+         * Id value.
+         */
+        private final long key;
+
+        /**
+         * Create a new entry.
+         *
+         * @param key   Id value.
+         * @param value Id.
+         * @param queue Queue to register the reference in.
+         */
+        private Entry(final long key, final T value, final ReferenceQueue<T> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
@@ -23,11 +23,8 @@
 
 package be.yildiz.common.id;
 
-import be.yildiz.common.collections.Maps;
-
 import java.io.Serializable;
 import java.security.InvalidParameterException;
-import java.util.Map;
 
 /**
  * An id represent an unique instance of a class of object. The same id can be shared between different class but two objects of the same class cannot have the same id.
@@ -42,7 +39,7 @@ public final class WorldId implements Serializable {
     /**
      * List of all registered id with their value as key.
      */
-    private static final Map<Integer, WorldId> LIST = Maps.newMap();
+    private static final LongInterner<WorldId> LIST = new LongInterner<>(v -> new WorldId((int) v));
 
     /**
      * Constant value for the world.
@@ -52,7 +49,7 @@ public final class WorldId implements Serializable {
     /**
      * Constant id for the world.
      */
-    public static final WorldId WORLD = new WorldId(WorldId.WORLD_VALUE);
+    public static final WorldId WORLD = WorldId.get(WorldId.WORLD_VALUE);
 
     /**
      * Id value, it is immutable.
@@ -72,8 +69,7 @@ public final class WorldId implements Serializable {
     private WorldId(final int idValue) {
         super();
         this.value = idValue;
-        WorldId.LIST.putIfAbsent(this.value, this);
-        this.hashCode = Long.valueOf(this.value).hashCode();
+        this.hashCode = Long.hashCode(this.value);
     }
 
     /**
@@ -83,9 +79,6 @@ public final class WorldId implements Serializable {
      * @return The Id with the internal value correspond to the parameter.
      */
     public static WorldId get(final int value) {
-        if (!WorldId.LIST.containsKey(value)) {
-            WorldId.LIST.put(value, new WorldId(value));
-        }
         return WorldId.LIST.get(value);
     }
 
@@ -34,10 +34,13 @@ import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Optional;
 import java.util.zip.CRC32;
@@ -47,6 +50,26 @@ import java.util.zip.CRC32;
  */
 public final class FileResource {
 
+    /**
+     * Files at least this large are memory mapped to compute the CRC32, smaller files are streamed through a fixed size buffer.
+     */
+    private static final long CRC_MAP_THRESHOLD = 1L << 26;
+
+    /**
+     * Number of bytes mapped at once to compute the CRC32 of a large file.
+     */
+    private static final int CRC_MAP_WINDOW = 1 << 23;
+
+    /**
+     * Size of the buffer used to stream the files smaller than the map threshold.
+     */
+    private static final int CRC_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Direct buffer reused by each thread to stream the files for the CRC32 computation.
+     */
+    private static final ThreadLocal<ByteBuffer> CRC_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(CRC_BUFFER_SIZE));
+
     /**
      * Associated File object.
      */
@@ -197,13 +220,49 @@ public final class FileResource {
     }
 
     /**
-     * Compute the file CRC32.
+     * Compute the file CRC32, the file is read by chunks so its size is not limited and it is never completely in memory.
      *
-     * @return The computed value.
+     * @return The computed value, 0 if the file could not be read.
      */
     private long computeCrc() {
+        try {
+            return FileResource.computeCrc(this.file.toPath(), CRC_MAP_THRESHOLD, CRC_MAP_WINDOW);
+        } catch (IOException e) {
+            Logger.error("File resource compute crc", e);
+        }
+        return 0;
+    }
+
+    /**
+     * Compute the CRC32 of a file. Files smaller than the threshold are streamed through a direct buffer of fixed size reused by the calling thread,
+     * so the memory used does not depend on the file size. Larger files are memory mapped one window at a time, the CRC is updated
+     * directly from the mapped region without copy. A mapped window is only released when its buffer is garbage collected,
+     * so the windows are kept small to limit the address space held by a computation.
+     *
+     * @param path         File to read.
+     * @param mapThreshold Minimum file size to map the file instead of streaming it.
+     * @param window       Maximum number of bytes mapped at once.
+     * @return The computed value.
+     * @throws IOException If the file cannot be read.
+     */
+    static long computeCrc(final Path path, final long mapThreshold, final int window) throws IOException {
         CRC32 c = new CRC32();
-        c.update(this.getBytesFromFile());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < mapThreshold) {
+                ByteBuffer buffer = CRC_BUFFER.get();
+                buffer.clear();
+                while (channel.read(buffer) >= 0) {
+                    buffer.flip();
+                    c.update(buffer);
+                    buffer.clear();
+                }
+            } else {
+                for (long position = 0; position < fileSize; position += window) {
+                    c.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(window, fileSize - position)));
+                }
+            }
+        }
         return c.getValue();
     }
 
@@ -35,7 +35,7 @@ public abstract class Resource extends BaseRegisterable {
     /**
      * Loaded state.
      */
-    private boolean loaded;
+    private volatile boolean loaded;
 
     /**
      * Full constructor.
@@ -47,20 +47,55 @@ public abstract class Resource extends BaseRegisterable {
     }
 
     /**
-     * Load the resource, can be only be done one time.
+     * Load the resource, can be only be done one time. This method is thread safe: if several threads call it at the
+     * same time, the loading implementation is called once and the other threads wait until it is complete.
+     * If the loading implementation fails, the resource is not loaded and next call will try again.
      */
     public final void load() {
         if (!this.loaded) {
-            this.loadImpl();
-            this.loaded = true;
+            synchronized (this) {
+                if (!this.loaded) {
+                    this.loadImpl();
+                    this.loaded = true;
+                }
+            }
         }
     }
 
+    /**
+     * Unload the resource, to release its memory, it will be loaded again on next call to load().
+     * Does nothing if the resource is not loaded.
+     */
+    public final void unload() {
+        if (this.loaded) {
+            synchronized (this) {
+                if (this.loaded) {
+                    this.unloadImpl();
+                    this.loaded = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the resource is loaded.
+     */
+    public final boolean isLoaded() {
+        return this.loaded;
+    }
+
     /**
      * Call the loading implementation.
      */
     protected abstract void loadImpl();
 
+    /**
+     * Call the unloading implementation, release what was acquired by loadImpl, does nothing by default.
+     */
+    protected void unloadImpl() {
+        // Nothing to release by default.
+    }
+
     @Override
     public final String toString() {
         return this.getName();
@@ -0,0 +1,197 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.resource;
+
+import lombok.NonNull;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Load resources asynchronously on an executor, a resource is loaded once all its declared dependencies are loaded,
+ * independent resources are loaded in parallel.
+ * <p>
+ * Each resource is loaded only once, even if it is requested concurrently or is a dependency of several other resources.
+ * If a loading fails, the resources depending on it fail too, and the failed resource is loaded again on next request.
+ * Dependencies must be declared before their resource is requested. This class is thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class ResourceLoader {
+
+    /**
+     * Executor running the loading implementations.
+     */
+    private final Executor executor;
+
+    /**
+     * Declared dependencies, by resource.
+     */
+    private final Map<Resource, List<Resource>> dependencies = new ConcurrentHashMap<>();
+
+    /**
+     * Loading results, by resource, completed or not.
+     */
+    private final Map<Resource, CompletableFuture<Resource>> futures = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new loader using the common fork join pool.
+     */
+    public ResourceLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new loader.
+     *
+     * @param executor Executor to run the loading implementations.
+     */
+    public ResourceLoader(@NonNull final Executor executor) {
+        super();
+        this.executor = executor;
+    }
+
+    /**
+     * Declare that a resource can only be loaded once other ones are.
+     *
+     * @param resource     Resource depending on the others.
+     * @param dependencies Resources to load before.
+     * @throws InvalidParameterException If a dependency would create a cycle.
+     */
+    public synchronized void addDependency(@NonNull final Resource resource, @NonNull final Resource... dependencies) {
+        for (Resource dependency : dependencies) {
+            if (dependency == null) {
+                throw new NullPointerException("dependency");
+            }
+            if (this.dependsOn(dependency, resource)) {
+                throw new InvalidParameterException(resource + " cannot depend on " + dependency + ", it would create a cycle.");
+            }
+            this.dependencies.computeIfAbsent(resource, r -> new CopyOnWriteArrayList<>()).add(dependency);
+        }
+    }
+
+    /**
+     * Load a resource and its dependencies, if not already done or in progress.
+     * A resource unloaded since its last loading, by a cache eviction for example, is loaded again.
+     *
+     * @param resource Resource to load.
+     * @return A future completed with the resource once it is loaded.
+     */
+    public CompletableFuture<Resource> load(@NonNull final Resource resource) {
+        CompletableFuture<Resource> existing = this.futures.get(resource);
+        if (existing != null && !ResourceLoader.isStale(existing, resource)) {
+            return existing;
+        }
+        List<Resource> required = this.dependencies.getOrDefault(resource, Collections.emptyList());
+        CompletableFuture<?>[] requiredFutures = new CompletableFuture<?>[required.size()];
+        for (int i = 0; i < requiredFutures.length; i++) {
+            requiredFutures[i] = this.load(required.get(i));
+        }
+        CompletableFuture<Resource> future = new CompletableFuture<>();
+        existing = this.futures.putIfAbsent(resource, future);
+        while (existing != null) {
+            if (!ResourceLoader.isStale(existing, resource)) {
+                return existing;
+            }
+            this.futures.remove(resource, existing);
+            existing = this.futures.putIfAbsent(resource, future);
+        }
+        CompletableFuture.allOf(requiredFutures)
+                .thenApplyAsync(v -> {
+                    resource.load();
+                    return resource;
+                }, this.executor)
+                .whenComplete((r, e) -> {
+                    if (e == null) {
+                        future.complete(r);
+                    } else {
+                        this.futures.remove(resource, future);
+                        future.completeExceptionally(e);
+                    }
+                });
+        return future;
+    }
+
+    /**
+     * Load several resources and their dependencies.
+     *
+     * @param resources Resources to load.
+     * @return A future completed once all the resources are loaded.
+     */
+    public CompletableFuture<Void> loadAll(@NonNull final Collection<? extends Resource> resources) {
+        CompletableFuture<?>[] all = new CompletableFuture<?>[resources.size()];
+        int i = 0;
+        for (Resource resource : resources) {
+            all[i] = this.load(resource);
+            i++;
+        }
+        return CompletableFuture.allOf(all);
+    }
+
+    /**
+     * Check if a loading result no longer matches the resource state.
+     *
+     * @param future   Loading result.
+     * @param resource Loaded resource.
+     * @return <code>true</code> if the loading succeeded but the resource was unloaded since.
+     */
+    private static boolean isStale(final CompletableFuture<Resource> future, final Resource resource) {
+        return future.isDone() && !future.isCompletedExceptionally() && !resource.isLoaded();
+    }
+
+    /**
+     * Check if a resource depends directly or transitively on another one.
+     *
+     * @param resource   Resource to check.
+     * @param dependency Possible dependency.
+     * @return <code>true</code> if the dependency must be loaded before the resource.
+     */
+    private boolean dependsOn(final Resource resource, final Resource dependency) {
+        Deque<Resource> toVisit = new ArrayDeque<>();
+        Set<Resource> visited = new HashSet<>();
+        toVisit.push(resource);
+        while (!toVisit.isEmpty()) {
+            Resource current = toVisit.pop();
+            if (current.equals(dependency)) {
+                return true;
+            }
+            if (visited.add(current)) {
+                toVisit.addAll(this.dependencies.getOrDefault(current, Collections.emptyList()));
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.resource.cache;
+
+/**
+ * Choose which entries to evict from a cache. The policy only orders the entries, the cache decides when to evict
+ * according to its budget. Implementations are not thread safe, the cache guards them.
+ *
+ * @param <K> Type of the cached entries.
+ * @author Grégory Van den Borre
+ */
+public interface EvictionPolicy<K> {
+
+    /**
+     * Create a least recently used policy.
+     *
+     * @param <K> Type of the cached entries.
+     * @return A new LRU policy.
+     */
+    static <K> EvictionPolicy<K> lru() {
+        return new LruPolicy<>();
+    }
+
+    /**
+     * Create a window TinyLFU policy: recent entries are kept in a small LRU window, and only move to the main space if they
+     * are used more often than what they would replace, so one time accesses cannot flush the frequently used entries.
+     *
+     * @param expectedEntries Expected number of entries in the cache, to size the frequency sketch.
+     * @param <K>             Type of the cached entries.
+     * @return A new W-TinyLFU policy.
+     * @throws IllegalArgumentException If expectedEntries is not positive.
+     */
+    static <K> EvictionPolicy<K> windowTinyLfu(final int expectedEntries) {
+        return new WindowTinyLfuPolicy<>(expectedEntries);
+    }
+
+    /**
+     * Notify a new entry was added to the cache.
+     *
+     * @param key Added entry.
+     */
+    void add(K key);
+
+    /**
+     * Notify an entry already in the cache was accessed.
+     *
+     * @param key Accessed entry.
+     */
+    void recordAccess(K key);
+
+    /**
+     * Notify an entry is no longer in the cache.
+     *
+     * @param key Removed entry.
+     */
+    void remove(K key);
+
+    /**
+     * Choose the next entry to evict, the entry is not removed from the policy.
+     *
+     * @param protect Entry which must not be chosen, null if none.
+     * @return The entry to evict, null if there is no candidate.
+     */
+    K victim(K protect);
+}
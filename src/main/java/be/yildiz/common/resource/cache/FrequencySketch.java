@@ -0,0 +1,146 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.resource.cache;
+
+/**
+ * Approximate access frequency of the entries, using a count-min sketch of 4 bits counters in 4 rows.
+ * Counters are halved once enough accesses were recorded, so old popularity fades out.
+ *
+ * @author Grégory Van den Borre
+ */
+final class FrequencySketch {
+
+    /**
+     * Number of rows, the frequency is the minimum of the counters of an entry in each row.
+     */
+    private static final int DEPTH = 4;
+
+    /**
+     * Maximum value of a counter.
+     */
+    private static final int MAX_COUNT = 15;
+
+    /**
+     * Seed used to hash in each row.
+     */
+    private static final long[] SEEDS = {0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+
+    /**
+     * Counters, row by row.
+     */
+    private final byte[] table;
+
+    /**
+     * Number of counters per row minus one, the row width is a power of 2.
+     */
+    private final int mask;
+
+    /**
+     * Number of increments before the counters are halved.
+     */
+    private final int sampleSize;
+
+    /**
+     * Number of increments since the last halving.
+     */
+    private int additions;
+
+    /**
+     * Create a new sketch.
+     *
+     * @param expectedEntries Expected number of distinct entries.
+     * @throws IllegalArgumentException If expectedEntries is not positive.
+     */
+    FrequencySketch(final int expectedEntries) {
+        super();
+        if (expectedEntries <= 0) {
+            throw new IllegalArgumentException("Expected entries must be positive: " + expectedEntries);
+        }
+        int width = Integer.highestOneBit(Math.max(16, Math.min(expectedEntries, 1 << 24)) - 1) << 1;
+        this.table = new byte[width * DEPTH];
+        this.mask = width - 1;
+        this.sampleSize = width * 10;
+    }
+
+    /**
+     * Record an access to an entry.
+     *
+     * @param key Accessed entry.
+     */
+    void increment(final Object key) {
+        int hash = key.hashCode();
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int i = this.index(hash, row);
+            if (this.table[i] < MAX_COUNT) {
+                this.table[i]++;
+                added = true;
+            }
+        }
+        if (added) {
+            this.additions++;
+            if (this.additions >= this.sampleSize) {
+                this.reset();
+            }
+        }
+    }
+
+    /**
+     * Estimate the access frequency of an entry.
+     *
+     * @param key Entry.
+     * @return The estimated number of recent accesses, at most 15.
+     */
+    int frequency(final Object key) {
+        int hash = key.hashCode();
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, this.table[this.index(hash, row)]);
+        }
+        return frequency;
+    }
+
+    /**
+     * Halve all the counters.
+     */
+    private void reset() {
+        for (int i = 0; i < this.table.length; i++) {
+            this.table[i] = (byte) (this.table[i] >>> 1);
+        }
+        this.additions /= 2;
+    }
+
+    /**
+     * Compute the counter index of a hash in a row.
+     *
+     * @param hash Entry hash.
+     * @param row  Row.
+     * @return The index in the table.
+     */
+    private int index(final int hash, final int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return row * (this.mask + 1) + ((int) h & this.mask);
+    }
+}
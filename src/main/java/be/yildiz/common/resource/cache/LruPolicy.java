@@ -0,0 +1,91 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.resource.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Evict the least recently used entry first.
+ *
+ * @param <K> Type of the cached entries.
+ * @author Grégory Van den Borre
+ */
+final class LruPolicy<K> implements EvictionPolicy<K> {
+
+    /**
+     * Entries, from the least to the most recently used.
+     */
+    private final Set<K> order = new LinkedHashSet<>();
+
+    /**
+     * Create a new empty policy.
+     */
+    LruPolicy() {
+        super();
+    }
+
+    @Override
+    public void add(final K key) {
+        this.order.remove(key);
+        this.order.add(key);
+    }
+
+    @Override
+    public void recordAccess(final K key) {
+        if (this.order.remove(key)) {
+            this.order.add(key);
+        }
+    }
+
+    @Override
+    public void remove(final K key) {
+        this.order.remove(key);
+    }
+
+    @Override
+    public K victim(final K protect) {
+        return LruPolicy.oldest(this.order, protect);
+    }
+
+    /**
+     * Find the oldest entry of an access ordered set.
+     *
+     * @param order   Entries, from the least to the most recently used.
+     * @param protect Entry to skip, null if none.
+     * @param <K>     Type of the entries.
+     * @return The oldest entry other than protect, null if none.
+     */
+    static <K> K oldest(final Set<K> order, final K protect) {
+        Iterator<K> it = order.iterator();
+        while (it.hasNext()) {
+            K key = it.next();
+            if (!key.equals(protect)) {
+                return key;
+            }
+        }
+        return null;
+    }
+}
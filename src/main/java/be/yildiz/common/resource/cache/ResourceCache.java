@@ -0,0 +1,349 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.resource.cache;
+
+import be.yildiz.common.resource.Resource;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * Keep loaded resources within a weight budget, typically their memory size. Resources are loaded when requested
+ * through the cache, and when the total weight exceeds the budget, the resources chosen by the eviction policy are
+ * unloaded. An evicted resource is transparently loaded again the next time it is requested.
+ * <p>
+ * The resource being requested is never evicted by its own insertion, so a single resource heavier than the budget is
+ * still returned loaded. A resource returned by the cache can be unloaded later by another eviction, callers should
+ * request it again from the cache each time they need it.
+ * <p>
+ * This class is thread safe, loading and unloading are done outside the cache lock, so a loading implementation can
+ * request other resources from the same cache. A resource removed from the cache but not yet unloaded is requested
+ * again only once its unloading is complete, so the cache never returns a resource being unloaded. For this reason,
+ * an unloading implementation must not request resources from the cache.
+ *
+ * @param <T> Type of the cached resources.
+ * @author Grégory Van den Borre
+ */
+public final class ResourceCache<T extends Resource> {
+
+    /**
+     * Maximum total weight of the loaded resources.
+     */
+    private final long budget;
+
+    /**
+     * Compute the weight of a loaded resource.
+     */
+    private final ToLongFunction<? super T> weigher;
+
+    /**
+     * Policy choosing the resources to evict.
+     */
+    private final EvictionPolicy<T> policy;
+
+    /**
+     * Cached resources, with their weight.
+     */
+    private final Map<T, Long> entries = new HashMap<>();
+
+    /**
+     * Resources removed from the cache and not yet unloaded.
+     */
+    private final Set<T> unloading = new HashSet<>();
+
+    /**
+     * Total weight of the cached resources.
+     */
+    private long weight;
+
+    /**
+     * Number of requests for a resource already loaded in the cache.
+     */
+    private long hitCount;
+
+    /**
+     * Number of requests which required a loading.
+     */
+    private long missCount;
+
+    /**
+     * Number of resources unloaded to respect the budget.
+     */
+    private long evictionCount;
+
+    /**
+     * Create a new empty cache.
+     *
+     * @param budget  Maximum total weight of the loaded resources.
+     * @param weigher Compute the weight of a resource once loaded, must not be negative.
+     * @param policy  Policy choosing the resources to evict.
+     * @throws IllegalArgumentException If budget is negative.
+     */
+    public ResourceCache(final long budget, @NonNull final ToLongFunction<? super T> weigher, @NonNull final EvictionPolicy<T> policy) {
+        super();
+        if (budget < 0) {
+            throw new IllegalArgumentException("Budget cannot be negative: " + budget);
+        }
+        this.budget = budget;
+        this.weigher = weigher;
+        this.policy = policy;
+    }
+
+    /**
+     * Retrieve a resource, loading it if it is not already loaded in the cache, and evicting other resources if the
+     * budget is exceeded.
+     *
+     * @param resource Resource to retrieve.
+     * @return The loaded resource.
+     * @throws IllegalArgumentException If the weigher returns a negative weight.
+     */
+    public T get(@NonNull final T resource) {
+        synchronized (this) {
+            this.awaitUnloaded(resource);
+            if (this.entries.containsKey(resource) && resource.isLoaded()) {
+                this.hitCount++;
+                this.policy.recordAccess(resource);
+                return resource;
+            }
+            this.missCount++;
+        }
+        while (true) {
+            resource.load();
+            List<T> evicted = Collections.emptyList();
+            synchronized (this) {
+                // An eviction may have removed it since, it must be unloaded before being loaded again.
+                if (this.unloading.contains(resource)) {
+                    this.awaitUnloaded(resource);
+                    continue;
+                }
+                if (!resource.isLoaded()) {
+                    continue;
+                }
+                if (this.entries.containsKey(resource)) {
+                    this.policy.recordAccess(resource);
+                } else {
+                    long resourceWeight = this.weigher.applyAsLong(resource);
+                    if (resourceWeight < 0) {
+                        throw new IllegalArgumentException("Negative weight for " + resource + ": " + resourceWeight);
+                    }
+                    this.entries.put(resource, resourceWeight);
+                    this.weight += resourceWeight;
+                    this.policy.add(resource);
+                    evicted = this.evict(resource);
+                }
+            }
+            this.unload(evicted);
+            return resource;
+        }
+    }
+
+    /**
+     * Remove a resource from the cache and unload it.
+     *
+     * @param resource Resource to remove.
+     * @return <code>true</code> if the resource was in the cache.
+     */
+    public boolean remove(@NonNull final T resource) {
+        synchronized (this) {
+            if (!this.detach(resource)) {
+                return false;
+            }
+        }
+        this.unload(Collections.singletonList(resource));
+        return true;
+    }
+
+    /**
+     * Remove and unload all the resources.
+     */
+    public void clear() {
+        List<T> removed;
+        synchronized (this) {
+            removed = new ArrayList<>(this.entries.keySet());
+            for (T resource : removed) {
+                this.detach(resource);
+            }
+        }
+        this.unload(removed);
+    }
+
+    /**
+     * Check if a resource is currently in the cache.
+     *
+     * @param resource Resource to check.
+     * @return <code>true</code> if the resource is in the cache.
+     */
+    public synchronized boolean contains(@NonNull final T resource) {
+        return this.entries.containsKey(resource);
+    }
+
+    /**
+     * @return The number of resources in the cache.
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return The total weight of the resources in the cache.
+     */
+    public synchronized long getWeight() {
+        return this.weight;
+    }
+
+    /**
+     * @return The maximum total weight of the resources.
+     */
+    public long getBudget() {
+        return this.budget;
+    }
+
+    /**
+     * @return The number of requests for a resource already loaded in the cache.
+     */
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * @return The number of requests which required a loading.
+     */
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * @return The number of resources unloaded to respect the budget.
+     */
+    public synchronized long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * @return The share of requests served without loading, in [0, 1], 0 if there was no request.
+     */
+    public synchronized double getHitRate() {
+        long requests = this.hitCount + this.missCount;
+        return requests == 0 ? 0 : (double) this.hitCount / requests;
+    }
+
+    /**
+     * Remove resources chosen by the policy until the budget is respected, they are not unloaded here as this is called
+     * under the cache lock.
+     *
+     * @param protect Resource which must not be evicted.
+     * @return The removed resources, to unload.
+     */
+    private List<T> evict(final T protect) {
+        List<T> evicted = Collections.emptyList();
+        while (this.weight > this.budget) {
+            T victim = this.policy.victim(protect);
+            if (victim == null) {
+                break;
+            }
+            if (this.detach(victim)) {
+                if (evicted.isEmpty()) {
+                    evicted = new ArrayList<>();
+                }
+                evicted.add(victim);
+                this.evictionCount++;
+            } else {
+                this.policy.remove(victim);
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Wait until a resource is no longer being unloaded, must be called under the cache lock.
+     * The interruption status is kept, the wait is not aborted as the resource must not be returned while unloading.
+     *
+     * @param resource Resource to wait for.
+     */
+    private void awaitUnloaded(final T resource) {
+        boolean interrupted = false;
+        while (this.unloading.contains(resource)) {
+            try {
+                this.wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Remove a resource from the cache without unloading it, it is marked as unloading until unload is called, must be
+     * called under the cache lock.
+     *
+     * @param resource Resource to remove.
+     * @return <code>true</code> if the resource was in the cache.
+     */
+    private boolean detach(final T resource) {
+        Long resourceWeight = this.entries.remove(resource);
+        if (resourceWeight == null) {
+            return false;
+        }
+        this.weight -= resourceWeight;
+        this.policy.remove(resource);
+        this.unloading.add(resource);
+        return true;
+    }
+
+    /**
+     * Unload removed resources, must be called without holding the cache lock. The threads waiting for a resource to
+     * be unloaded are then released, even if the unloading failed, the first failure is thrown once all the resources
+     * were processed.
+     *
+     * @param resources Resources to unload.
+     */
+    private void unload(final List<T> resources) {
+        RuntimeException failure = null;
+        for (T resource : resources) {
+            try {
+                resource.unload();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+            synchronized (this) {
+                this.unloading.remove(resource);
+                this.notifyAll();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
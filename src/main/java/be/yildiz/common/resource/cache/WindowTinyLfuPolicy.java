@@ -0,0 +1,176 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.resource.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Window TinyLFU eviction policy. New entries go to a small LRU window, entries leaving the window enter the probation
+ * segment of the main space, and are promoted to its protected segment when accessed again. When an entry must be
+ * evicted, the last entry which left the window competes with the oldest probation entry, the one with the lowest
+ * estimated access frequency is evicted.
+ *
+ * @param <K> Type of the cached entries.
+ * @author Grégory Van den Borre
+ */
+final class WindowTinyLfuPolicy<K> implements EvictionPolicy<K> {
+
+    /**
+     * Share of the entries kept in the window, in percent.
+     */
+    private static final int WINDOW_PERCENT = 1;
+
+    /**
+     * Share of the main space entries kept in the protected segment, in percent.
+     */
+    private static final int PROTECTED_PERCENT = 80;
+
+    /**
+     * Access frequencies.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * Recently added entries, from the least to the most recently used.
+     */
+    private final Set<K> window = new LinkedHashSet<>();
+
+    /**
+     * Main space entries accessed only once since they left the window, from the least to the most recently used.
+     */
+    private final Set<K> probation = new LinkedHashSet<>();
+
+    /**
+     * Main space entries accessed several times, from the least to the most recently used.
+     */
+    private final Set<K> protectedSegment = new LinkedHashSet<>();
+
+    /**
+     * Last entry moved from the window to the probation segment, null if none or if it already competed.
+     */
+    private K candidate;
+
+    /**
+     * Create a new empty policy.
+     *
+     * @param expectedEntries Expected number of entries, to size the frequency sketch.
+     * @throws IllegalArgumentException If expectedEntries is not positive.
+     */
+    WindowTinyLfuPolicy(final int expectedEntries) {
+        super();
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    @Override
+    public void add(final K key) {
+        this.sketch.increment(key);
+        if (!this.window.contains(key) && !this.probation.contains(key) && !this.protectedSegment.contains(key)) {
+            this.window.add(key);
+        }
+    }
+
+    @Override
+    public void recordAccess(final K key) {
+        this.sketch.increment(key);
+        if (this.window.remove(key)) {
+            this.window.add(key);
+        } else if (this.probation.remove(key)) {
+            this.protectedSegment.add(key);
+            this.trimProtected();
+        } else if (this.protectedSegment.remove(key)) {
+            this.protectedSegment.add(key);
+        }
+    }
+
+    @Override
+    public void remove(final K key) {
+        if (!this.window.remove(key) && !this.probation.remove(key)) {
+            this.protectedSegment.remove(key);
+        }
+        if (key.equals(this.candidate)) {
+            this.candidate = null;
+        }
+    }
+
+    @Override
+    public K victim(final K protect) {
+        this.trimWindow(protect);
+        K victim = LruPolicy.oldest(this.probation, protect);
+        if (victim == null) {
+            victim = LruPolicy.oldest(this.protectedSegment, protect);
+        }
+        if (victim == null) {
+            return LruPolicy.oldest(this.window, protect);
+        }
+        K challenger = this.candidate;
+        if (challenger == null || challenger.equals(victim) || challenger.equals(protect) || !this.probation.contains(challenger)) {
+            return victim;
+        }
+        if (this.sketch.frequency(challenger) > this.sketch.frequency(victim)) {
+            return victim;
+        }
+        this.candidate = null;
+        return challenger;
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    private int size() {
+        return this.window.size() + this.probation.size() + this.protectedSegment.size();
+    }
+
+    /**
+     * Move the oldest window entries to the probation segment while the window is larger than its share.
+     *
+     * @param protect Entry which must stay in the window, null if none.
+     */
+    private void trimWindow(final K protect) {
+        int windowMax = Math.max(1, this.size() * WINDOW_PERCENT / 100);
+        Iterator<K> it = this.window.iterator();
+        while (this.window.size() > windowMax && it.hasNext()) {
+            K key = it.next();
+            if (!key.equals(protect)) {
+                it.remove();
+                this.probation.add(key);
+                this.candidate = key;
+            }
+        }
+    }
+
+    /**
+     * Move the oldest protected entries back to the probation segment while the protected segment is larger than its share.
+     */
+    private void trimProtected() {
+        int protectedMax = Math.max(1, (this.probation.size() + this.protectedSegment.size()) * PROTECTED_PERCENT / 100);
+        Iterator<K> it = this.protectedSegment.iterator();
+        while (this.protectedSegment.size() > protectedMax && it.hasNext()) {
+            K key = it.next();
+            it.remove();
+            this.probation.add(key);
+        }
+    }
+}
@@ -0,0 +1,813 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.spatial;
+
+import be.yildiz.common.collections.Maps;
+import be.yildiz.common.shape.Box;
+import be.yildiz.common.shape.Plane;
+import be.yildiz.common.shape.Sphere;
+import be.yildiz.common.util.Checker;
+import be.yildiz.common.vector.Point3D;
+import lombok.NonNull;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loose octree indexing shapes placed at a given center, used as collision broad phase.
+ * Every node bounds are extended to twice their size, so an object is always stored in the deepest node whose size is
+ * greater than the object size and containing the object center, it never needs to be split between nodes.
+ * Objects outside the root bounds are kept in the root node.
+ * <p>
+ * Nodes and objects are stored in flat arrays, moving many objects in one frame is done with updateCenter, the tree is
+ * then rebuilt once, on the next call to rebuild or on the next query, without any object creation.
+ * Queries write their results in a list provided by the caller so it can be reused every frame.
+ * Mutable class, not thread safe.
+ *
+ * @param <T> Type of the indexed objects.
+ * @author Grégory Van den Borre
+ */
+public final class LooseOctree<T> {
+
+    /**
+     * Value for no node or no object.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * Number of children for a node.
+     */
+    private static final int CHILDREN = 8;
+
+    /**
+     * Initial capacity for objects and nodes.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Maximum depth of the tree.
+     */
+    private final int maxDepth;
+
+    /**
+     * Index of every object in the object arrays.
+     */
+    private final Map<T, Integer> indexes = Maps.newMap();
+
+    /**
+     * Indexed objects.
+     */
+    private Object[] objects = new Object[INITIAL_CAPACITY];
+
+    /**
+     * Objects centers and half sizes, 6 values for each object: x, y, z, half width, half height, half depth.
+     */
+    private float[] bounds = new float[INITIAL_CAPACITY * 6];
+
+    /**
+     * Flag for objects that are spheres, the half sizes are then the radius.
+     */
+    private boolean[] spheres = new boolean[INITIAL_CAPACITY];
+
+    /**
+     * Node containing each object.
+     */
+    private int[] objectNode = new int[INITIAL_CAPACITY];
+
+    /**
+     * Next object in the same node.
+     */
+    private int[] nextObject = new int[INITIAL_CAPACITY];
+
+    /**
+     * Previous object in the same node.
+     */
+    private int[] previousObject = new int[INITIAL_CAPACITY];
+
+    /**
+     * Number of objects.
+     */
+    private int size;
+
+    /**
+     * Nodes centers and half sizes, 4 values for each node: x, y, z, half size.
+     */
+    private float[] nodes = new float[INITIAL_CAPACITY * 4];
+
+    /**
+     * Nodes children, 8 values for each node.
+     */
+    private int[] children = new int[INITIAL_CAPACITY * CHILDREN];
+
+    /**
+     * First object of each node.
+     */
+    private int[] firstObject = new int[INITIAL_CAPACITY];
+
+    /**
+     * Depth of each node.
+     */
+    private int[] depth = new int[INITIAL_CAPACITY];
+
+    /**
+     * Number of nodes.
+     */
+    private int nodeCount;
+
+    /**
+     * Stack used to traverse the nodes during queries.
+     */
+    private int[] stack = new int[INITIAL_CAPACITY];
+
+    /**
+     * Flag set when objects were moved with updateCenter and the tree must be rebuilt.
+     */
+    private boolean dirty;
+
+    /**
+     * Full constructor.
+     *
+     * @param center   Center of the indexed space.
+     * @param halfSize Half of the size of the indexed space side.
+     * @param maxDepth Maximum depth of the tree, 0 means only a root node.
+     * @throws IllegalArgumentException If halfSize is not greater than 0 or maxDepth is negative.
+     */
+    public LooseOctree(@NonNull final Point3D center, final float halfSize, final int maxDepth) {
+        super();
+        Checker.exceptionNotGreaterThanZero(halfSize);
+        Checker.exceptionNotPositive(maxDepth);
+        this.maxDepth = maxDepth;
+        this.nodes[0] = center.x;
+        this.nodes[1] = center.y;
+        this.nodes[2] = center.z;
+        this.nodes[3] = halfSize;
+        this.clearNodes();
+    }
+
+    /**
+     * Add a box.
+     *
+     * @param object Object to index.
+     * @param box    Object shape.
+     * @param center Box center.
+     * @throws InvalidParameterException If the object is already indexed.
+     */
+    public void add(@NonNull final T object, @NonNull final Box box, @NonNull final Point3D center) {
+        this.add(object, center, box.width * 0.5f, box.height * 0.5f, box.depth * 0.5f, false);
+    }
+
+    /**
+     * Add a plane, it is considered as a box with no height.
+     *
+     * @param object Object to index.
+     * @param plane  Object shape.
+     * @param center Plane center.
+     * @throws InvalidParameterException If the object is already indexed.
+     */
+    public void add(@NonNull final T object, @NonNull final Plane plane, @NonNull final Point3D center) {
+        this.add(object, center, plane.width * 0.5f, 0, plane.depth * 0.5f, false);
+    }
+
+    /**
+     * Add a sphere.
+     *
+     * @param object Object to index.
+     * @param sphere Object shape.
+     * @param center Sphere center.
+     * @throws InvalidParameterException If the object is already indexed.
+     */
+    public void add(@NonNull final T object, @NonNull final Sphere sphere, @NonNull final Point3D center) {
+        this.add(object, center, sphere.radius, sphere.radius, sphere.radius, true);
+    }
+
+    /**
+     * Move an object and relocate it in the tree immediately.
+     *
+     * @param object Object to move.
+     * @param center New object center.
+     * @throws InvalidParameterException If the object is not indexed.
+     */
+    public void move(@NonNull final T object, @NonNull final Point3D center) {
+        int index = this.indexOf(object);
+        this.setCenter(index, center);
+        if (!this.dirty) {
+            this.unlink(index);
+            this.insert(index);
+        }
+    }
+
+    /**
+     * Move an object without relocating it, the tree will be rebuilt before the next query.
+     * To be used when many objects are moved in the same frame.
+     *
+     * @param object Object to move.
+     * @param center New object center.
+     * @throws InvalidParameterException If the object is not indexed.
+     */
+    public void updateCenter(@NonNull final T object, @NonNull final Point3D center) {
+        this.setCenter(this.indexOf(object), center);
+        this.dirty = true;
+    }
+
+    /**
+     * Remove an object.
+     *
+     * @param object Object to remove.
+     * @return <code>true</code> if the object was indexed.
+     */
+    public boolean remove(@NonNull final T object) {
+        Integer removed = this.indexes.remove(object);
+        if (removed == null) {
+            return false;
+        }
+        int index = removed;
+        if (!this.dirty) {
+            this.unlink(index);
+        }
+        int last = this.size - 1;
+        if (index != last) {
+            this.moveObject(last, index);
+        }
+        this.objects[last] = null;
+        this.size = last;
+        return true;
+    }
+
+    /**
+     * Check if an object is indexed.
+     *
+     * @param object Object to check.
+     * @return <code>true</code> if the object is indexed.
+     */
+    public boolean contains(@NonNull final T object) {
+        return this.indexes.containsKey(object);
+    }
+
+    /**
+     * @return The number of indexed objects.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Rebuild the tree from the current objects centers, empty nodes are dropped.
+     */
+    public void rebuild() {
+        this.clearNodes();
+        for (int i = 0; i < this.size; i++) {
+            this.insert(i);
+        }
+        this.dirty = false;
+    }
+
+    /**
+     * Find all objects whose bounds overlap an axis aligned box.
+     *
+     * @param min    Box minimum corner.
+     * @param max    Box maximum corner.
+     * @param result List to fill with the found objects, it is cleared first, order is not specified.
+     * @return The result parameter.
+     */
+    public List<T> queryBox(@NonNull final Point3D min, @NonNull final Point3D max, @NonNull final List<T> result) {
+        return this.query(new BoxQuery(min, max), result);
+    }
+
+    /**
+     * Find all objects overlapping a sphere.
+     *
+     * @param center Sphere center.
+     * @param radius Sphere radius.
+     * @param result List to fill with the found objects, it is cleared first, order is not specified.
+     * @return The result parameter.
+     */
+    public List<T> querySphere(@NonNull final Point3D center, final float radius, @NonNull final List<T> result) {
+        return this.query(new SphereQuery(center, radius), result);
+    }
+
+    /**
+     * Find all objects hit by a ray.
+     *
+     * @param origin      Ray origin.
+     * @param direction   Ray direction, it does not need to be normalized.
+     * @param maxDistance Maximum distance from the origin.
+     * @param result      List to fill with the found objects, it is cleared first, order is not specified.
+     * @return The result parameter.
+     */
+    public List<T> queryRay(@NonNull final Point3D origin, @NonNull final Point3D direction, final float maxDistance, @NonNull final List<T> result) {
+        return this.query(new RayQuery(origin, Point3D.normalize(direction), maxDistance), result);
+    }
+
+    /**
+     * Traverse the nodes intersecting a query and add the objects matching it.
+     *
+     * @param query  Query to run.
+     * @param result List to fill.
+     * @return The result parameter.
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> query(final Query query, final List<T> result) {
+        result.clear();
+        if (this.dirty) {
+            this.rebuild();
+        }
+        int top = 0;
+        this.stack[top++] = 0;
+        while (top > 0) {
+            int node = this.stack[--top];
+            int offset = node * 4;
+            float loose = this.nodes[offset + 3] * 2;
+            // Objects outside the root bounds are kept in the root, so it is always checked.
+            if (node != 0 && !query.box(this.nodes[offset], this.nodes[offset + 1], this.nodes[offset + 2], loose, loose, loose)) {
+                continue;
+            }
+            for (int i = this.firstObject[node]; i != NONE; i = this.nextObject[i]) {
+                int b = i * 6;
+                boolean hit = this.spheres[i]
+                        ? query.sphere(this.bounds[b], this.bounds[b + 1], this.bounds[b + 2], this.bounds[b + 3])
+                        : query.box(this.bounds[b], this.bounds[b + 1], this.bounds[b + 2], this.bounds[b + 3], this.bounds[b + 4], this.bounds[b + 5]);
+                if (hit) {
+                    result.add((T) this.objects[i]);
+                }
+            }
+            for (int c = node * CHILDREN; c < node * CHILDREN + CHILDREN; c++) {
+                if (this.children[c] != NONE) {
+                    if (top == this.stack.length) {
+                        this.stack = Arrays.copyOf(this.stack, top << 1);
+                    }
+                    this.stack[top++] = this.children[c];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Add an object.
+     *
+     * @param object Object to add.
+     * @param center Object center.
+     * @param hx     Object half width.
+     * @param hy     Object half height.
+     * @param hz     Object half depth.
+     * @param sphere <code>true</code> if the object is a sphere.
+     * @throws InvalidParameterException If the object is already indexed.
+     */
+    private void add(final T object, final Point3D center, final float hx, final float hy, final float hz, final boolean sphere) {
+        if (this.indexes.containsKey(object)) {
+            throw new InvalidParameterException(object + " is already indexed.");
+        }
+        if (this.size == this.objects.length) {
+            int capacity = this.size << 1;
+            this.objects = Arrays.copyOf(this.objects, capacity);
+            this.bounds = Arrays.copyOf(this.bounds, capacity * 6);
+            this.spheres = Arrays.copyOf(this.spheres, capacity);
+            this.objectNode = Arrays.copyOf(this.objectNode, capacity);
+            this.nextObject = Arrays.copyOf(this.nextObject, capacity);
+            this.previousObject = Arrays.copyOf(this.previousObject, capacity);
+        }
+        int index = this.size;
+        this.size++;
+        this.indexes.put(object, index);
+        this.objects[index] = object;
+        this.setCenter(index, center);
+        this.bounds[index * 6 + 3] = hx;
+        this.bounds[index * 6 + 4] = hy;
+        this.bounds[index * 6 + 5] = hz;
+        this.spheres[index] = sphere;
+        if (!this.dirty) {
+            this.insert(index);
+        }
+    }
+
+    /**
+     * Retrieve the index of an object.
+     *
+     * @param object Object to find.
+     * @return The object index.
+     * @throws InvalidParameterException If the object is not indexed.
+     */
+    private int indexOf(final T object) {
+        Integer index = this.indexes.get(object);
+        if (index == null) {
+            throw new InvalidParameterException(object + " is not indexed.");
+        }
+        return index;
+    }
+
+    /**
+     * Update an object center.
+     *
+     * @param index  Object index.
+     * @param center New center.
+     */
+    private void setCenter(final int index, final Point3D center) {
+        int b = index * 6;
+        this.bounds[b] = center.x;
+        this.bounds[b + 1] = center.y;
+        this.bounds[b + 2] = center.z;
+    }
+
+    /**
+     * Move the object data from an index to another, used to keep the object arrays packed after a removal.
+     *
+     * @param from Current object index.
+     * @param to   New object index.
+     */
+    @SuppressWarnings("unchecked")
+    private void moveObject(final int from, final int to) {
+        this.objects[to] = this.objects[from];
+        System.arraycopy(this.bounds, from * 6, this.bounds, to * 6, 6);
+        this.spheres[to] = this.spheres[from];
+        this.indexes.put((T) this.objects[to], to);
+        if (!this.dirty) {
+            int node = this.objectNode[from];
+            int previous = this.previousObject[from];
+            int next = this.nextObject[from];
+            this.objectNode[to] = node;
+            this.previousObject[to] = previous;
+            this.nextObject[to] = next;
+            if (previous == NONE) {
+                this.firstObject[node] = to;
+            } else {
+                this.nextObject[previous] = to;
+            }
+            if (next != NONE) {
+                this.previousObject[next] = to;
+            }
+        }
+    }
+
+    /**
+     * Remove all nodes but the root.
+     */
+    private void clearNodes() {
+        this.nodeCount = 1;
+        this.firstObject[0] = NONE;
+        this.depth[0] = 0;
+        Arrays.fill(this.children, 0, CHILDREN, NONE);
+    }
+
+    /**
+     * Insert an object in the deepest node able to contain it.
+     *
+     * @param index Object index.
+     */
+    private void insert(final int index) {
+        int b = index * 6;
+        final float x = this.bounds[b];
+        final float y = this.bounds[b + 1];
+        final float z = this.bounds[b + 2];
+        final float extent = Math.max(this.bounds[b + 3], Math.max(this.bounds[b + 4], this.bounds[b + 5]));
+        int node = 0;
+        if (this.inRoot(x, y, z)) {
+            while (this.depth[node] < this.maxDepth) {
+                int offset = node * 4;
+                float childHalfSize = this.nodes[offset + 3] * 0.5f;
+                if (extent > childHalfSize) {
+                    break;
+                }
+                int octant = (x >= this.nodes[offset] ? 1 : 0) | (y >= this.nodes[offset + 1] ? 2 : 0) | (z >= this.nodes[offset + 2] ? 4 : 0);
+                int child = this.children[node * CHILDREN + octant];
+                if (child == NONE) {
+                    child = this.createNode(node, octant, childHalfSize);
+                }
+                node = child;
+            }
+        }
+        this.link(index, node);
+    }
+
+    /**
+     * Check if a point is in the root node strict bounds.
+     *
+     * @param x Point x value.
+     * @param y Point y value.
+     * @param z Point z value.
+     * @return <code>true</code> if the point is inside the root.
+     */
+    private boolean inRoot(final float x, final float y, final float z) {
+        float h = this.nodes[3];
+        return Math.abs(x - this.nodes[0]) <= h && Math.abs(y - this.nodes[1]) <= h && Math.abs(z - this.nodes[2]) <= h;
+    }
+
+    /**
+     * Create a child node.
+     *
+     * @param parent        Parent node.
+     * @param octant        Octant of the child in the parent.
+     * @param childHalfSize Half size of the child.
+     * @return The created node.
+     */
+    private int createNode(final int parent, final int octant, final float childHalfSize) {
+        if (this.nodeCount == this.firstObject.length) {
+            int capacity = this.nodeCount << 1;
+            this.nodes = Arrays.copyOf(this.nodes, capacity * 4);
+            this.children = Arrays.copyOf(this.children, capacity * CHILDREN);
+            this.firstObject = Arrays.copyOf(this.firstObject, capacity);
+            this.depth = Arrays.copyOf(this.depth, capacity);
+        }
+        int node = this.nodeCount;
+        this.nodeCount++;
+        int parentOffset = parent * 4;
+        int offset = node * 4;
+        this.nodes[offset] = this.nodes[parentOffset] + ((octant & 1) == 0 ? -childHalfSize : childHalfSize);
+        this.nodes[offset + 1] = this.nodes[parentOffset + 1] + ((octant & 2) == 0 ? -childHalfSize : childHalfSize);
+        this.nodes[offset + 2] = this.nodes[parentOffset + 2] + ((octant & 4) == 0 ? -childHalfSize : childHalfSize);
+        this.nodes[offset + 3] = childHalfSize;
+        this.firstObject[node] = NONE;
+        this.depth[node] = this.depth[parent] + 1;
+        Arrays.fill(this.children, node * CHILDREN, node * CHILDREN + CHILDREN, NONE);
+        this.children[parent * CHILDREN + octant] = node;
+        return node;
+    }
+
+    /**
+     * Add an object at the head of a node object list.
+     *
+     * @param index Object index.
+     * @param node  Node to add the object to.
+     */
+    private void link(final int index, final int node) {
+        int first = this.firstObject[node];
+        this.objectNode[index] = node;
+        this.previousObject[index] = NONE;
+        this.nextObject[index] = first;
+        if (first != NONE) {
+            this.previousObject[first] = index;
+        }
+        this.firstObject[node] = index;
+    }
+
+    /**
+     * Remove an object from its node object list.
+     *
+     * @param index Object index.
+     */
+    private void unlink(final int index) {
+        int previous = this.previousObject[index];
+        int next = this.nextObject[index];
+        if (previous == NONE) {
+            this.firstObject[this.objectNode[index]] = next;
+        } else {
+            this.nextObject[previous] = next;
+        }
+        if (next != NONE) {
+            this.previousObject[next] = previous;
+        }
+    }
+
+    /**
+     * Compute the squared distance between a point and an axis aligned box.
+     *
+     * @param px Point x value.
+     * @param py Point y value.
+     * @param pz Point z value.
+     * @param cx Box center x value.
+     * @param cy Box center y value.
+     * @param cz Box center z value.
+     * @param hx Box half width.
+     * @param hy Box half height.
+     * @param hz Box half depth.
+     * @return The squared distance, 0 if the point is in the box.
+     */
+    private static float squaredDistanceToBox(final float px, final float py, final float pz, final float cx, final float cy,
+                                              final float cz, final float hx, final float hy, final float hz) {
+        float dx = Math.max(0, Math.abs(px - cx) - hx);
+        float dy = Math.max(0, Math.abs(py - cy) - hy);
+        float dz = Math.max(0, Math.abs(pz - cz) - hz);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Intersection test against boxes and spheres.
+     */
+    private interface Query {
+
+        /**
+         * Check if an axis aligned box intersects this query.
+         *
+         * @param cx Box center x value.
+         * @param cy Box center y value.
+         * @param cz Box center z value.
+         * @param hx Box half width.
+         * @param hy Box half height.
+         * @param hz Box half depth.
+         * @return <code>true</code> if the box intersects.
+         */
+        boolean box(float cx, float cy, float cz, float hx, float hy, float hz);
+
+        /**
+         * Check if a sphere intersects this query.
+         *
+         * @param cx     Sphere center x value.
+         * @param cy     Sphere center y value.
+         * @param cz     Sphere center z value.
+         * @param radius Sphere radius.
+         * @return <code>true</code> if the sphere intersects.
+         */
+        boolean sphere(float cx, float cy, float cz, float radius);
+    }
+
+    /**
+     * Axis aligned box query.
+     */
+    private static final class BoxQuery implements Query {
+
+        /**
+         * Box center.
+         */
+        private final float x, y, z;
+
+        /**
+         * Box half sizes.
+         */
+        private final float hx, hy, hz;
+
+        /**
+         * Full constructor.
+         *
+         * @param min Box minimum corner.
+         * @param max Box maximum corner.
+         */
+        private BoxQuery(final Point3D min, final Point3D max) {
+            super();
+            this.x = (min.x + max.x) * 0.5f;
+            this.y = (min.y + max.y) * 0.5f;
+            this.z = (min.z + max.z) * 0.5f;
+            this.hx = Math.abs(max.x - min.x) * 0.5f;
+            this.hy = Math.abs(max.y - min.y) * 0.5f;
+            this.hz = Math.abs(max.z - min.z) * 0.5f;
+        }
+
+        @Override
+        public boolean box(final float cx, final float cy, final float cz, final float bhx, final float bhy, final float bhz) {
+            return Math.abs(cx - this.x) <= bhx + this.hx && Math.abs(cy - this.y) <= bhy + this.hy && Math.abs(cz - this.z) <= bhz + this.hz;
+        }
+
+        @Override
+        public boolean sphere(final float cx, final float cy, final float cz, final float radius) {
+            return squaredDistanceToBox(cx, cy, cz, this.x, this.y, this.z, this.hx, this.hy, this.hz) <= radius * radius;
+        }
+    }
+
+    /**
+     * Sphere query.
+     */
+    private static final class SphereQuery implements Query {
+
+        /**
+         * Sphere center.
+         */
+        private final float x, y, z;
+
+        /**
+         * Sphere radius.
+         */
+        private final float radius;
+
+        /**
+         * Full constructor.
+         *
+         * @param center Sphere center.
+         * @param radius Sphere radius.
+         */
+        private SphereQuery(final Point3D center, final float radius) {
+            super();
+            this.x = center.x;
+            this.y = center.y;
+            this.z = center.z;
+            this.radius = radius;
+        }
+
+        @Override
+        public boolean box(final float cx, final float cy, final float cz, final float hx, final float hy, final float hz) {
+            return squaredDistanceToBox(this.x, this.y, this.z, cx, cy, cz, hx, hy, hz) <= this.radius * this.radius;
+        }
+
+        @Override
+        public boolean sphere(final float cx, final float cy, final float cz, final float r) {
+            float dx = cx - this.x;
+            float dy = cy - this.y;
+            float dz = cz - this.z;
+            float sum = r + this.radius;
+            return dx * dx + dy * dy + dz * dz <= sum * sum;
+        }
+    }
+
+    /**
+     * Ray query.
+     */
+    private static final class RayQuery implements Query {
+
+        /**
+         * Ray origin.
+         */
+        private final float x, y, z;
+
+        /**
+         * Normalized ray direction.
+         */
+        private final float dx, dy, dz;
+
+        /**
+         * Maximum distance.
+         */
+        private final float maxDistance;
+
+        /**
+         * Start of the ray range inside the box being tested.
+         */
+        private float near;
+
+        /**
+         * End of the ray range inside the box being tested.
+         */
+        private float far;
+
+        /**
+         * Full constructor.
+         *
+         * @param origin      Ray origin.
+         * @param direction   Normalized ray direction.
+         * @param maxDistance Maximum distance.
+         */
+        private RayQuery(final Point3D origin, final Point3D direction, final float maxDistance) {
+            super();
+            this.x = origin.x;
+            this.y = origin.y;
+            this.z = origin.z;
+            this.dx = direction.x;
+            this.dy = direction.y;
+            this.dz = direction.z;
+            this.maxDistance = maxDistance;
+        }
+
+        @Override
+        public boolean box(final float cx, final float cy, final float cz, final float hx, final float hy, final float hz) {
+            this.near = 0;
+            this.far = this.maxDistance;
+            return this.slab(this.x, this.dx, cx, hx) && this.slab(this.y, this.dy, cy, hy) && this.slab(this.z, this.dz, cz, hz);
+        }
+
+        /**
+         * Clip the ray range with the slab of one axis.
+         *
+         * @param origin    Ray origin on the axis.
+         * @param direction Ray direction on the axis.
+         * @param center    Box center on the axis.
+         * @param half      Box half size on the axis.
+         * @return <code>false</code> if the ray misses the slab.
+         */
+        private boolean slab(final float origin, final float direction, final float center, final float half) {
+            float min = center - half;
+            float max = center + half;
+            if (direction == 0) {
+                return origin >= min && origin <= max;
+            }
+            float t1 = (min - origin) / direction;
+            float t2 = (max - origin) / direction;
+            this.near = Math.max(this.near, Math.min(t1, t2));
+            this.far = Math.min(this.far, Math.max(t1, t2));
+            return this.near <= this.far;
+        }
+
+        @Override
+        public boolean sphere(final float cx, final float cy, final float cz, final float radius) {
+            float ox = cx - this.x;
+            float oy = cy - this.y;
+            float oz = cz - this.z;
+            float projection = ox * this.dx + oy * this.dy + oz * this.dz;
+            float squaredDistance = ox * ox + oy * oy + oz * oz - projection * projection;
+            float squaredRadius = radius * radius;
+            if (squaredDistance > squaredRadius) {
+                return false;
+            }
+            float half = (float) Math.sqrt(squaredRadius - squaredDistance);
+            return projection + half >= 0 && projection - half <= this.maxDistance;
+        }
+    }
+}
@@ -0,0 +1,530 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.spatial;
+
+import be.yildiz.common.collections.Maps;
+import be.yildiz.common.gameobject.Movable;
+import be.yildiz.common.id.EntityId;
+import be.yildiz.common.id.EntityIdentifiable;
+import be.yildiz.common.util.Checker;
+import be.yildiz.common.vector.Point3D;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Uniform grid indexing entity positions by cell, to find the entities close to a point without checking all of them.
+ * Space is split in cubic cells of the same size, only the non empty cells are kept in memory.
+ * The cell size should be close to the most common query radius, cell coordinates are kept on 21 bits so positions must stay
+ * within 2^20 cells from the origin.
+ * Queries write their results in a list provided by the caller so it can be reused every frame.
+ * Mutable class, not thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class SpatialHashGrid {
+
+    /**
+     * Number of bits used for each cell coordinate in a cell key.
+     */
+    private static final int BITS = 21;
+
+    /**
+     * Mask to keep the cell coordinate bits.
+     */
+    private static final long MASK = (1L << BITS) - 1;
+
+    /**
+     * Initial capacity of a cell.
+     */
+    private static final int CELL_CAPACITY = 4;
+
+    /**
+     * Size of a cell side.
+     */
+    private final float cellSize;
+
+    /**
+     * Non empty cells, with their packed coordinates as key.
+     */
+    private final Map<Long, Cell> cells = Maps.newMap();
+
+    /**
+     * Location of every indexed entity.
+     */
+    private final Map<EntityId, Location> locations = Maps.newMap();
+
+    /**
+     * Distances of the current k nearest candidates, reused between queries.
+     */
+    private float[] nearestDistances = new float[0];
+
+    /**
+     * Current k nearest candidates, reused between queries.
+     */
+    private EntityId[] nearestIds = new EntityId[0];
+
+    /**
+     * Full constructor.
+     *
+     * @param cellSize Size of a cell side.
+     * @throws IllegalArgumentException If cellSize is not greater than 0.
+     */
+    public SpatialHashGrid(final float cellSize) {
+        super();
+        Checker.exceptionNotGreaterThanZero(cellSize);
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Pack cell coordinates in a single key.
+     *
+     * @param cx Cell x coordinate.
+     * @param cy Cell y coordinate.
+     * @param cz Cell z coordinate.
+     * @return The cell key.
+     */
+    private static long key(final int cx, final int cy, final int cz) {
+        return ((cx & MASK) << (BITS << 1)) | ((cy & MASK) << BITS) | (cz & MASK);
+    }
+
+    /**
+     * Add an entity or update its position.
+     *
+     * @param id       Entity id.
+     * @param position New entity position.
+     */
+    public void move(@NonNull final EntityId id, @NonNull final Point3D position) {
+        int cx = this.cell(position.x);
+        int cy = this.cell(position.y);
+        int cz = this.cell(position.z);
+        long key = SpatialHashGrid.key(cx, cy, cz);
+        Location location = this.locations.get(id);
+        if (location == null) {
+            location = new Location();
+            this.locations.put(id, location);
+            this.addToCell(id, location, key, position);
+        } else if (location.cell.key == key) {
+            location.cell.setPosition(location.index, position);
+        } else {
+            this.removeFromCell(location);
+            this.addToCell(id, location, key, position);
+        }
+        location.position = position;
+    }
+
+    /**
+     * Add an entity or update its position.
+     *
+     * @param entity   Entity to index.
+     * @param position New entity position.
+     */
+    public void move(@NonNull final EntityIdentifiable entity, @NonNull final Point3D position) {
+        this.move(entity.getId(), position);
+    }
+
+    /**
+     * Add a movable entity or update its position with its current absolute position.
+     *
+     * @param entity Entity to index.
+     * @param <T>    Entity type.
+     */
+    public <T extends Movable & EntityIdentifiable> void update(@NonNull final T entity) {
+        this.move(entity.getId(), entity.getAbsolutePosition());
+    }
+
+    /**
+     * Remove an entity from this grid.
+     *
+     * @param id Id of the entity to remove.
+     * @return <code>true</code> if the entity was indexed.
+     */
+    public boolean remove(@NonNull final EntityId id) {
+        Location location = this.locations.remove(id);
+        if (location == null) {
+            return false;
+        }
+        this.removeFromCell(location);
+        return true;
+    }
+
+    /**
+     * Remove an entity from this grid.
+     *
+     * @param entity Entity to remove.
+     * @return <code>true</code> if the entity was indexed.
+     */
+    public boolean remove(@NonNull final EntityIdentifiable entity) {
+        return this.remove(entity.getId());
+    }
+
+    /**
+     * Retrieve the indexed position of an entity.
+     *
+     * @param id Entity id.
+     * @return The entity position, empty if the entity is not indexed.
+     */
+    public Optional<Point3D> getPosition(@NonNull final EntityId id) {
+        Location location = this.locations.get(id);
+        return location == null ? Optional.empty() : Optional.of(location.position);
+    }
+
+    /**
+     * @return The number of indexed entities.
+     */
+    public int size() {
+        return this.locations.size();
+    }
+
+    /**
+     * Remove all entities.
+     */
+    public void clear() {
+        this.locations.clear();
+        this.cells.clear();
+    }
+
+    /**
+     * Find all entities within a distance from a point.
+     *
+     * @param center Point to search around.
+     * @param radius Maximum distance, inclusive.
+     * @param result List to fill with the found entities, it is cleared first, order is not specified.
+     * @return The result parameter.
+     */
+    public List<EntityId> queryRadius(@NonNull final Point3D center, final float radius, @NonNull final List<EntityId> result) {
+        result.clear();
+        final float squaredRadius = radius * radius;
+        final int minX = this.cell(center.x - radius);
+        final int maxX = this.cell(center.x + radius);
+        final int minY = this.cell(center.y - radius);
+        final int maxY = this.cell(center.y + radius);
+        final int minZ = this.cell(center.z - radius);
+        final int maxZ = this.cell(center.z + radius);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    Cell cell = this.cells.get(SpatialHashGrid.key(cx, cy, cz));
+                    if (cell != null) {
+                        cell.collect(center, squaredRadius, result);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find the k entities closest to a point.
+     *
+     * @param center Point to search around.
+     * @param k      Maximum number of entities to find.
+     * @param result List to fill with the found entities, it is cleared first, closest entity is first.
+     * @return The result parameter.
+     * @throws IllegalArgumentException If k is not greater than 0.
+     */
+    public List<EntityId> queryNearest(@NonNull final Point3D center, final int k, @NonNull final List<EntityId> result) {
+        Checker.exceptionNotGreaterThanZero(k);
+        result.clear();
+        if (this.nearestIds.length < k) {
+            this.nearestIds = new EntityId[k];
+            this.nearestDistances = new float[k];
+        }
+        final int ccx = this.cell(center.x);
+        final int ccy = this.cell(center.y);
+        final int ccz = this.cell(center.z);
+        final int total = this.locations.size();
+        int found = 0;
+        int visited = 0;
+        for (int ring = 0; visited < total; ring++) {
+            long side = (ring << 1) + 1L;
+            long shell = ring == 0 ? 1 : side * side * side - (side - 2) * (side - 2) * (side - 2);
+            if (shell > this.cells.size()) {
+                // The shell has more cells than the grid is holding, scanning the remaining occupied cells is cheaper.
+                for (Cell cell : this.cells.values()) {
+                    if (cell.ring(ccx, ccy, ccz) >= ring) {
+                        found = cell.collectNearest(center, k, found, this.nearestIds, this.nearestDistances);
+                    }
+                }
+                break;
+            }
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dy = -ring; dy <= ring; dy++) {
+                    boolean border = dx == -ring || dx == ring || dy == -ring || dy == ring;
+                    int step = border ? 1 : ring << 1;
+                    for (int dz = -ring; dz <= ring; dz += step) {
+                        Cell cell = this.cells.get(SpatialHashGrid.key(ccx + dx, ccy + dy, ccz + dz));
+                        if (cell != null) {
+                            visited += cell.size;
+                            found = cell.collectNearest(center, k, found, this.nearestIds, this.nearestDistances);
+                        }
+                    }
+                }
+            }
+            // Cells not yet visited are at least ring * cellSize away from the center.
+            float reach = ring * this.cellSize;
+            if (found == k && this.nearestDistances[k - 1] <= reach * reach) {
+                break;
+            }
+        }
+        for (int i = 0; i < found; i++) {
+            result.add(this.nearestIds[i]);
+            this.nearestIds[i] = null;
+        }
+        return result;
+    }
+
+    /**
+     * Extract a cell coordinate from a cell key.
+     *
+     * @param key   Cell key.
+     * @param shift Position of the coordinate bits in the key.
+     * @return The signed cell coordinate.
+     */
+    private static int coordinate(final long key, final int shift) {
+        return (int) ((key >>> shift) << (Long.SIZE - BITS) >> (Long.SIZE - BITS));
+    }
+
+    /**
+     * Compute the cell coordinate for a value.
+     *
+     * @param value Value to convert.
+     * @return The cell coordinate containing the value.
+     */
+    private int cell(final float value) {
+        return (int) Math.floor(value / this.cellSize);
+    }
+
+    /**
+     * Add an entity in a cell, the cell is created if necessary.
+     *
+     * @param id       Entity id.
+     * @param location Entity location to update.
+     * @param key      Cell key.
+     * @param position Entity position.
+     */
+    private void addToCell(final EntityId id, final Location location, final long key, final Point3D position) {
+        Cell cell = this.cells.get(key);
+        if (cell == null) {
+            cell = new Cell(key);
+            this.cells.put(key, cell);
+        }
+        location.cell = cell;
+        location.index = cell.add(id, position);
+    }
+
+    /**
+     * Remove an entity from its current cell, the cell is dropped if empty.
+     *
+     * @param location Entity location.
+     */
+    private void removeFromCell(final Location location) {
+        Cell cell = location.cell;
+        EntityId moved = cell.removeAndSwap(location.index);
+        if (moved != null) {
+            this.locations.get(moved).index = location.index;
+        }
+        if (cell.size == 0) {
+            this.cells.remove(cell.key);
+        }
+    }
+
+    /**
+     * Location of an entity in the grid.
+     */
+    private static final class Location {
+
+        /**
+         * Cell containing the entity.
+         */
+        private Cell cell;
+
+        /**
+         * Index of the entity in the cell.
+         */
+        private int index;
+
+        /**
+         * Last indexed position.
+         */
+        private Point3D position;
+    }
+
+    /**
+     * Content of a cell, positions are stored in a packed array to be iterated without dereferencing the points.
+     */
+    private static final class Cell {
+
+        /**
+         * Cell key.
+         */
+        private final long key;
+
+        /**
+         * Entities in this cell.
+         */
+        private EntityId[] ids = new EntityId[CELL_CAPACITY];
+
+        /**
+         * Interleaved x,y,z entities positions.
+         */
+        private float[] positions = new float[CELL_CAPACITY * 3];
+
+        /**
+         * Number of entities in this cell.
+         */
+        private int size;
+
+        /**
+         * Full constructor.
+         *
+         * @param key Cell key.
+         */
+        private Cell(final long key) {
+            super();
+            this.key = key;
+        }
+
+        /**
+         * Compute the ring of this cell around a center cell, its Chebyshev distance in cells.
+         *
+         * @param cx Center cell x coordinate.
+         * @param cy Center cell y coordinate.
+         * @param cz Center cell z coordinate.
+         * @return The ring containing this cell.
+         */
+        private int ring(final int cx, final int cy, final int cz) {
+            int dx = Math.abs(SpatialHashGrid.coordinate(this.key, BITS << 1) - cx);
+            int dy = Math.abs(SpatialHashGrid.coordinate(this.key, BITS) - cy);
+            int dz = Math.abs(SpatialHashGrid.coordinate(this.key, 0) - cz);
+            return Math.max(dx, Math.max(dy, dz));
+        }
+
+        /**
+         * Add an entity.
+         *
+         * @param id       Entity to add.
+         * @param position Entity position.
+         * @return The index of the entity in this cell.
+         */
+        private int add(final EntityId id, final Point3D position) {
+            if (this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.size << 1);
+                this.positions = Arrays.copyOf(this.positions, this.size * 6);
+            }
+            int index = this.size;
+            this.ids[index] = id;
+            this.setPosition(index, position);
+            this.size++;
+            return index;
+        }
+
+        /**
+         * Update an entity position.
+         *
+         * @param index    Entity index.
+         * @param position New position.
+         */
+        private void setPosition(final int index, final Point3D position) {
+            int offset = index * 3;
+            this.positions[offset] = position.x;
+            this.positions[offset + 1] = position.y;
+            this.positions[offset + 2] = position.z;
+        }
+
+        /**
+         * Remove an entity, the last entity is moved at its index.
+         *
+         * @param index Index of the entity to remove.
+         * @return The entity moved to the index, or null if the removed entity was the last.
+         */
+        private EntityId removeAndSwap(final int index) {
+            int last = this.size - 1;
+            EntityId moved = null;
+            if (index != last) {
+                moved = this.ids[last];
+                this.ids[index] = moved;
+                System.arraycopy(this.positions, last * 3, this.positions, index * 3, 3);
+            }
+            this.ids[last] = null;
+            this.size = last;
+            return moved;
+        }
+
+        /**
+         * Add the entities within a distance to a list.
+         *
+         * @param center        Point to search around.
+         * @param squaredRadius Squared maximum distance.
+         * @param result        List to fill.
+         */
+        private void collect(final Point3D center, final float squaredRadius, final List<EntityId> result) {
+            final float[] p = this.positions;
+            for (int i = 0, offset = 0; i < this.size; i++, offset += 3) {
+                final float x = p[offset] - center.x;
+                final float y = p[offset + 1] - center.y;
+                final float z = p[offset + 2] - center.z;
+                if (x * x + y * y + z * z <= squaredRadius) {
+                    result.add(this.ids[i]);
+                }
+            }
+        }
+
+        /**
+         * Merge the entities of this cell in a sorted candidate array keeping the k closest.
+         *
+         * @param center    Point to search around.
+         * @param k         Number of candidates to keep.
+         * @param found     Current number of candidates.
+         * @param ids       Candidates, sorted by distance.
+         * @param distances Candidates squared distances.
+         * @return The new number of candidates.
+         */
+        private int collectNearest(final Point3D center, final int k, final int found, final EntityId[] ids, final float[] distances) {
+            int count = found;
+            final float[] p = this.positions;
+            for (int i = 0, offset = 0; i < this.size; i++, offset += 3) {
+                final float x = p[offset] - center.x;
+                final float y = p[offset + 1] - center.y;
+                final float z = p[offset + 2] - center.z;
+                final float distance = x * x + y * y + z * z;
+                if (count == k && distance >= distances[k - 1]) {
+                    continue;
+                }
+                int position = count == k ? k - 1 : count++;
+                while (position > 0 && distances[position - 1] > distance) {
+                    distances[position] = distances[position - 1];
+                    ids[position] = ids[position - 1];
+                    position--;
+                }
+                distances[position] = distance;
+                ids[position] = this.ids[i];
+            }
+            return count;
+        }
+    }
+}
@@ -23,14 +23,25 @@
 
 package be.yildiz.common.util;
 
+import be.yildiz.common.collections.FrozenStringMap;
 import be.yildiz.common.collections.Maps;
 
 import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
 /**
- * Register objects to be retrieved by their name.
+ * Register objects to be retrieved by their name, or by the handle returned when they are registered.
+ * Handles are dense ints starting at 0, a handle is never reused, even after the element is removed.
+ * <p>
+ * The default registerer is not thread safe. A concurrent registerer copies its content on every modification and
+ * publishes it at once, so lookups never lock nor wait, and see either the whole modification or nothing of it. As
+ * modifications are in O(n), it is meant for registries filled once and read from many threads afterwards.
+ * <p>
+ * Once all the elements are registered, the registerer can be frozen: names are then resolved with a minimal perfect
+ * hash, and any further modification fails. A frozen registerer is thread safe, whatever its mode.
  *
  * @param <T> Type to register.
  * @author Grégory Van den Borre
@@ -38,23 +49,46 @@ import java.util.Optional;
 public final class Registerer<T extends Registerable> {
 
     /**
-     * Map containing the Registerable elements, the key is the name and the
-     * value is the element.
+     * Handle returned when no element matches a name.
      */
-    private final Map<String, T> list = Maps.newMap();
+    public static final int NO_HANDLE = -1;
+
     /**
      * Behavior to call when no result is found for a given name.
      */
     private final NoResult<T> noResult;
 
+    /**
+     * <code>true</code> to copy the content on each modification, <code>false</code> to modify it in place.
+     */
+    private final boolean concurrent;
+
+    /**
+     * Current content, replaced on each modification in concurrent mode.
+     */
+    private volatile Snapshot<T> snapshot = new Snapshot<>(Maps.newMap(), new Object[0]);
+
+    /**
+     * Handle to give to the next registered element.
+     */
+    private int nextHandle;
+
+    /**
+     * <code>true</code> once the registerer can no longer be modified.
+     */
+    private volatile boolean frozen;
+
     /**
      * Default constructor, use the default NoResult behavior when no result is
      * found(throw an İnvalidParameterException). Private to be used only by the
      * factory.
+     *
+     * @param concurrent <code>true</code> to copy the content on each modification.
      */
-    private Registerer() {
+    private Registerer(final boolean concurrent) {
         super();
         this.noResult = new DefaultNoResult();
+        this.concurrent = concurrent;
     }
 
     /**
@@ -62,10 +96,12 @@ public final class Registerer<T extends Registerable> {
      * Private to be used only by the factory.
      *
      * @param noResultBehavior Given NoResult to use when no result is found.
+     * @param concurrent       <code>true</code> to copy the content on each modification.
      */
-    private Registerer(final NoResult<T> noResultBehavior) {
+    private Registerer(final NoResult<T> noResultBehavior, final boolean concurrent) {
         super();
         this.noResult = noResultBehavior;
+        this.concurrent = concurrent;
     }
 
     /**
@@ -76,7 +112,7 @@ public final class Registerer<T extends Registerable> {
      * @return A new Registerer instance with default NoResult behavior.
      */
     public static <T extends Registerable> Registerer<T> newRegisterer() {
-        return new Registerer<>();
+        return new Registerer<>(false);
     }
 
     /**
@@ -87,7 +123,29 @@ public final class Registerer<T extends Registerable> {
      * @return A new Registerer instance.
      */
     public static <T extends Registerable> Registerer<T> newRegisterer(final NoResult<T> noResult) {
-        return new Registerer<>(noResult);
+        return new Registerer<>(noResult, false);
+    }
+
+    /**
+     * Factory to build a new thread safe Registerer instance, with wait free lookups, default NoResult is
+     * applied(throw InvalidParameterException).
+     *
+     * @param <T> Type to use in the registerer.
+     * @return A new concurrent Registerer instance with default NoResult behavior.
+     */
+    public static <T extends Registerable> Registerer<T> newConcurrentRegisterer() {
+        return new Registerer<>(true);
+    }
+
+    /**
+     * Factory to build a new thread safe Registerer instance, with wait free lookups.
+     *
+     * @param <T>      Type to use in the registerer.
+     * @param noResult Behavior to use when no result is found for a given name.
+     * @return A new concurrent Registerer instance.
+     */
+    public static <T extends Registerable> Registerer<T> newConcurrentRegisterer(final NoResult<T> noResult) {
+        return new Registerer<>(noResult, true);
     }
 
     /**
@@ -98,11 +156,38 @@ public final class Registerer<T extends Registerable> {
      * @return The object matching the name.
      */
     public T get(final String name) {
-        T result = this.list.get(name);
-        if (result == null) {
+        Snapshot<T> current = this.snapshot;
+        Integer handle = current.handles.get(name);
+        if (handle == null) {
             return this.noResult.resultNotFound(name);
         }
-        return result;
+        return current.get(handle);
+    }
+
+    /**
+     * Retrieve an element from the handle returned when it was registered, without hashing its name.
+     *
+     * @param handle Handle of the object to retrieve.
+     * @return The object matching the handle.
+     * @throws InvalidParameterException If no element is registered with that handle.
+     */
+    public T get(final int handle) {
+        Object[] elements = this.snapshot.elements;
+        if (handle < 0 || handle >= elements.length || elements[handle] == null) {
+            throw new InvalidParameterException("No element registered with handle " + handle);
+        }
+        return Snapshot.cast(elements[handle]);
+    }
+
+    /**
+     * Retrieve the handle of an element from its name.
+     *
+     * @param name Name of the object.
+     * @return The handle of the object matching the name, NO_HANDLE if none.
+     */
+    public int getHandle(final String name) {
+        Integer handle = this.snapshot.handles.get(name);
+        return handle == null ? NO_HANDLE : handle;
     }
 
     /**
@@ -112,7 +197,16 @@ public final class Registerer<T extends Registerable> {
      * @return An optional result.
      */
     public Optional<T> find(final String name) {
-        return Optional.ofNullable(this.list.get(name));
+        Snapshot<T> current = this.snapshot;
+        Integer handle = current.handles.get(name);
+        return handle == null ? Optional.empty() : Optional.of(current.get(handle));
+    }
+
+    /**
+     * @return The number of registered elements.
+     */
+    public int size() {
+        return this.snapshot.handles.size();
     }
 
     /**
@@ -120,22 +214,138 @@ public final class Registerer<T extends Registerable> {
      * İnvalıidParameterExeption is thrown.
      *
      * @param element Object to insert.
+     * @return The handle to retrieve the element with get(int).
+     * @throws IllegalStateException If the registerer is frozen.
      */
-    public void register(final T element) {
-        if (this.list.containsKey(element.getName())) {
+    public synchronized int register(final T element) {
+        this.checkNotFrozen();
+        Snapshot<T> current = this.snapshot;
+        if (current.handles.containsKey(element.getName())) {
             throw new InvalidParameterException(this.getClass().getTypeParameters()[0].getGenericDeclaration().getSimpleName()
                     + " associated with name " + element.getName() + " already exists.");
         }
-        this.list.put(element.getName(), element);
+        int handle = this.nextHandle;
+        Map<String, Integer> handles = this.concurrent ? new HashMap<>(current.handles) : current.handles;
+        Object[] elements = current.elements;
+        if (this.concurrent) {
+            elements = Arrays.copyOf(elements, handle + 1);
+        } else if (handle == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(8, handle * 2));
+        }
+        handles.put(element.getName(), handle);
+        elements[handle] = element;
+        this.nextHandle++;
+        if (handles != current.handles || elements != current.elements) {
+            this.snapshot = new Snapshot<>(handles, elements);
+        }
+        return handle;
     }
 
     /**
-     * Unregister an element.
+     * Unregister an element, its handle is not reused.
      *
      * @param element Object to remove.
+     * @throws IllegalStateException If the registerer is frozen.
+     */
+    public synchronized void remove(final T element) {
+        this.checkNotFrozen();
+        Snapshot<T> current = this.snapshot;
+        Integer handle = current.handles.get(element.getName());
+        if (handle == null) {
+            return;
+        }
+        if (this.concurrent) {
+            Map<String, Integer> handles = new HashMap<>(current.handles);
+            handles.remove(element.getName());
+            Object[] elements = current.elements.clone();
+            elements[handle] = null;
+            this.snapshot = new Snapshot<>(handles, elements);
+        } else {
+            current.handles.remove(element.getName());
+            current.elements[handle] = null;
+        }
+    }
+
+    /**
+     * Make this registerer immutable, the names are compiled into a minimal perfect hash table, so a lookup by name
+     * needs a single probe. Freezing an already frozen registerer has no effect.
+     */
+    public synchronized void freeze() {
+        if (!this.frozen) {
+            Snapshot<T> current = this.snapshot;
+            this.snapshot = new Snapshot<>(FrozenStringMap.copyOf(current.handles), Arrays.copyOf(current.elements, this.nextHandle));
+            this.frozen = true;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if this registerer can no longer be modified.
      */
-    public void remove(final T element) {
-        this.list.remove(element.getName());
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Fail if the registerer is frozen.
+     *
+     * @throws IllegalStateException If the registerer is frozen.
+     */
+    private void checkNotFrozen() {
+        if (this.frozen) {
+            throw new IllegalStateException("Registerer is frozen, it can no longer be modified.");
+        }
+    }
+
+    /**
+     * Registered elements, only modified in place if the registerer is not concurrent.
+     *
+     * @param <T> Type of the registered elements.
+     */
+    private static final class Snapshot<T> {
+
+        /**
+         * Element handles, the key is the element name.
+         */
+        private final Map<String, Integer> handles;
+
+        /**
+         * Elements, the index is their handle, null if the handle is not or no longer used.
+         */
+        private final Object[] elements;
+
+        /**
+         * Create a new snapshot.
+         *
+         * @param handles  Element handles, by name.
+         * @param elements Elements, by handle.
+         */
+        private Snapshot(final Map<String, Integer> handles, final Object[] elements) {
+            super();
+            this.handles = handles;
+            this.elements = elements;
+        }
+
+        /**
+         * Retrieve an element.
+         *
+         * @param handle Element handle, must be in use.
+         * @return The element.
+         */
+        private T get(final int handle) {
+            return Snapshot.cast(this.elements[handle]);
+        }
+
+        /**
+         * Cast a stored element to its type, only registered elements are stored.
+         *
+         * @param element Stored element.
+         * @param <T>     Type of the registered elements.
+         * @return The element.
+         */
+        @SuppressWarnings("unchecked")
+        private static <T> T cast(final Object element) {
+            return (T) element;
+        }
     }
 
     /**
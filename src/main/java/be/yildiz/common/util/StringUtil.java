@@ -44,8 +44,8 @@ public interface StringUtil {
             return "";
         }
         StringBuilder sb = new StringBuilder();
-        for (Float o : array) {
-            sb.append(o.toString());
+        for (float f : array) {
+            sb.append(f);
             sb.append('|');
         }
         sb.deleteCharAt(sb.length() - 1);
@@ -0,0 +1,360 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.vector;
+
+import be.yildiz.common.util.Literals;
+
+/**
+ * Affine 4x4 transformation matrix, combining translation, rotation and scale.
+ * The last row is always 0,0,0,1 so only the 3 first rows are stored, values are named m[row][column].
+ * Points are considered as column vectors: a.multiply(b) applied to a point is the transformation of b followed by a.
+ * Immutable class.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class Matrix4 {
+
+    /**
+     * Matrix with no transformation.
+     */
+    public static final Matrix4 IDENTITY = new Matrix4(
+            1, 0, 0, 0,
+            0, 1, 0, 0,
+            0, 0, 1, 0);
+
+    /**
+     * Number of floats for a point in a packed array.
+     */
+    private static final int STRIDE = 3;
+
+    /**
+     * First row.
+     */
+    public final float m00, m01, m02, m03;
+
+    /**
+     * Second row.
+     */
+    public final float m10, m11, m12, m13;
+
+    /**
+     * Third row.
+     */
+    public final float m20, m21, m22, m23;
+
+    /**
+     * Full constructor.
+     *
+     * @param m00 Row 0, column 0.
+     * @param m01 Row 0, column 1.
+     * @param m02 Row 0, column 2.
+     * @param m03 Row 0, column 3, x translation.
+     * @param m10 Row 1, column 0.
+     * @param m11 Row 1, column 1.
+     * @param m12 Row 1, column 2.
+     * @param m13 Row 1, column 3, y translation.
+     * @param m20 Row 2, column 0.
+     * @param m21 Row 2, column 1.
+     * @param m22 Row 2, column 2.
+     * @param m23 Row 2, column 3, z translation.
+     */
+    public Matrix4(final float m00, final float m01, final float m02, final float m03,
+                   final float m10, final float m11, final float m12, final float m13,
+                   final float m20, final float m21, final float m22, final float m23) {
+        super();
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m03 = m03;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m13 = m13;
+        this.m20 = m20;
+        this.m21 = m21;
+        this.m22 = m22;
+        this.m23 = m23;
+    }
+
+    /**
+     * Build a translation matrix.
+     *
+     * @param translation Translation to apply.
+     * @return The built matrix.
+     */
+    public static Matrix4 translation(final Point3D translation) {
+        return new Matrix4(
+                1, 0, 0, translation.x,
+                0, 1, 0, translation.y,
+                0, 0, 1, translation.z);
+    }
+
+    /**
+     * Build a scale matrix.
+     *
+     * @param scale Scale factor for each axis.
+     * @return The built matrix.
+     */
+    public static Matrix4 scale(final Point3D scale) {
+        return new Matrix4(
+                scale.x, 0, 0, 0,
+                0, scale.y, 0, 0,
+                0, 0, scale.z, 0);
+    }
+
+    /**
+     * Build a rotation matrix.
+     *
+     * @param rotation Unit quaternion to use.
+     * @return The built matrix.
+     */
+    public static Matrix4 rotation(final Quaternion rotation) {
+        return Matrix4.compose(Point3D.ZERO, rotation, Point3D.xyz(1));
+    }
+
+    /**
+     * Build a matrix scaling, then rotating, then translating, as done for an object in a scene graph.
+     *
+     * @param translation Translation to apply, typically the object position.
+     * @param rotation    Unit quaternion to apply, typically the object orientation.
+     * @param scale       Scale factor for each axis, typically the object scale size.
+     * @return The built matrix.
+     */
+    public static Matrix4 compose(final Point3D translation, final Quaternion rotation, final Point3D scale) {
+        final float w = rotation.w;
+        final float x = rotation.x;
+        final float y = rotation.y;
+        final float z = rotation.z;
+        final float xx = x * x;
+        final float yy = y * y;
+        final float zz = z * z;
+        final float xy = x * y;
+        final float xz = x * z;
+        final float yz = y * z;
+        final float wx = w * x;
+        final float wy = w * y;
+        final float wz = w * z;
+        return new Matrix4(
+                (1 - 2 * (yy + zz)) * scale.x, 2 * (xy - wz) * scale.y, 2 * (xz + wy) * scale.z, translation.x,
+                2 * (xy + wz) * scale.x, (1 - 2 * (xx + zz)) * scale.y, 2 * (yz - wx) * scale.z, translation.y,
+                2 * (xz - wy) * scale.x, 2 * (yz + wx) * scale.y, (1 - 2 * (xx + yy)) * scale.z, translation.z);
+    }
+
+    /**
+     * Multiply this matrix by another one.
+     *
+     * @param o Matrix to multiply, its transformation is applied before this one.
+     * @return The resulting matrix.
+     */
+    public Matrix4 multiply(final Matrix4 o) {
+        return new Matrix4(
+                this.m00 * o.m00 + this.m01 * o.m10 + this.m02 * o.m20,
+                this.m00 * o.m01 + this.m01 * o.m11 + this.m02 * o.m21,
+                this.m00 * o.m02 + this.m01 * o.m12 + this.m02 * o.m22,
+                this.m00 * o.m03 + this.m01 * o.m13 + this.m02 * o.m23 + this.m03,
+                this.m10 * o.m00 + this.m11 * o.m10 + this.m12 * o.m20,
+                this.m10 * o.m01 + this.m11 * o.m11 + this.m12 * o.m21,
+                this.m10 * o.m02 + this.m11 * o.m12 + this.m12 * o.m22,
+                this.m10 * o.m03 + this.m11 * o.m13 + this.m12 * o.m23 + this.m13,
+                this.m20 * o.m00 + this.m21 * o.m10 + this.m22 * o.m20,
+                this.m20 * o.m01 + this.m21 * o.m11 + this.m22 * o.m21,
+                this.m20 * o.m02 + this.m21 * o.m12 + this.m22 * o.m22,
+                this.m20 * o.m03 + this.m21 * o.m13 + this.m22 * o.m23 + this.m23);
+    }
+
+    /**
+     * @return The determinant of this matrix.
+     */
+    public float determinant() {
+        return this.m00 * (this.m11 * this.m22 - this.m12 * this.m21)
+                - this.m01 * (this.m10 * this.m22 - this.m12 * this.m20)
+                + this.m02 * (this.m10 * this.m21 - this.m11 * this.m20);
+    }
+
+    /**
+     * A matrix with a small but non zero determinant, like a small uniform scale, is still invertible.
+     *
+     * @return The inverse of this matrix.
+     * @throws IllegalStateException If this matrix is not invertible: its determinant is 0 or its inverse is not finite.
+     */
+    public Matrix4 inverse() {
+        float determinant = this.determinant();
+        float f = 1 / determinant;
+        if (determinant == 0 || Float.isInfinite(f) || Float.isNaN(f)) {
+            throw new IllegalStateException("Matrix is not invertible.");
+        }
+        float i00 = (this.m11 * this.m22 - this.m12 * this.m21) * f;
+        float i01 = (this.m02 * this.m21 - this.m01 * this.m22) * f;
+        float i02 = (this.m01 * this.m12 - this.m02 * this.m11) * f;
+        float i10 = (this.m12 * this.m20 - this.m10 * this.m22) * f;
+        float i11 = (this.m00 * this.m22 - this.m02 * this.m20) * f;
+        float i12 = (this.m02 * this.m10 - this.m00 * this.m12) * f;
+        float i20 = (this.m10 * this.m21 - this.m11 * this.m20) * f;
+        float i21 = (this.m01 * this.m20 - this.m00 * this.m21) * f;
+        float i22 = (this.m00 * this.m11 - this.m01 * this.m10) * f;
+        return new Matrix4(
+                i00, i01, i02, -(i00 * this.m03 + i01 * this.m13 + i02 * this.m23),
+                i10, i11, i12, -(i10 * this.m03 + i11 * this.m13 + i12 * this.m23),
+                i20, i21, i22, -(i20 * this.m03 + i21 * this.m13 + i22 * this.m23));
+    }
+
+    /**
+     * Transform a point.
+     *
+     * @param point Point to transform.
+     * @return The transformed point.
+     */
+    public Point3D transform(final Point3D point) {
+        return Point3D.xyz(
+                this.m00 * point.x + this.m01 * point.y + this.m02 * point.z + this.m03,
+                this.m10 * point.x + this.m11 * point.y + this.m12 * point.z + this.m13,
+                this.m20 * point.x + this.m21 * point.y + this.m22 * point.z + this.m23);
+    }
+
+    /**
+     * Transform a point, the result is written in a given destination instead of creating a new point.
+     *
+     * @param point  Point to transform.
+     * @param result Point to write the result in, can be the point parameter.
+     * @return The result parameter.
+     */
+    public MutablePoint3D transform(final MutablePoint3D point, final MutablePoint3D result) {
+        final float x = point.x;
+        final float y = point.y;
+        final float z = point.z;
+        return result.set(
+                this.m00 * x + this.m01 * y + this.m02 * z + this.m03,
+                this.m10 * x + this.m11 * y + this.m12 * z + this.m13,
+                this.m20 * x + this.m21 * y + this.m22 * z + this.m23);
+    }
+
+    /**
+     * Transform a direction, the translation is not applied.
+     *
+     * @param direction Direction to transform.
+     * @return The transformed direction, not normalized.
+     */
+    public Point3D transformDirection(final Point3D direction) {
+        return Point3D.xyz(
+                this.m00 * direction.x + this.m01 * direction.y + this.m02 * direction.z,
+                this.m10 * direction.x + this.m11 * direction.y + this.m12 * direction.z,
+                this.m20 * direction.x + this.m21 * direction.y + this.m22 * direction.z);
+    }
+
+    /**
+     * Transform points stored as interleaved x,y,z values.
+     *
+     * @param source      Points to transform.
+     * @param destination Array to write the transformed points in, can be the source array.
+     * @param count       Number of points to transform.
+     * @throws IllegalArgumentException If an array is too small for the number of points.
+     */
+    public void transform(final float[] source, final float[] destination, final int count) {
+        if (source.length < count * STRIDE || destination.length < count * STRIDE) {
+            throw new IllegalArgumentException("Arrays too small for " + count + " points.");
+        }
+        for (int i = 0, end = count * STRIDE; i < end; i += STRIDE) {
+            final float x = source[i];
+            final float y = source[i + 1];
+            final float z = source[i + 2];
+            destination[i] = this.m00 * x + this.m01 * y + this.m02 * z + this.m03;
+            destination[i + 1] = this.m10 * x + this.m11 * y + this.m12 * z + this.m13;
+            destination[i + 2] = this.m20 * x + this.m21 * y + this.m22 * z + this.m23;
+        }
+    }
+
+    /**
+     * @return The translation part of this matrix.
+     */
+    public Point3D getTranslation() {
+        return Point3D.xyz(this.m03, this.m13, this.m23);
+    }
+
+    /**
+     * Copy the values in an array, as a 4x4 row major matrix.
+     *
+     * @param result Array to fill, must have a length of at least 16.
+     * @return The result parameter.
+     */
+    public float[] toArray(final float[] result) {
+        result[0] = this.m00;
+        result[1] = this.m01;
+        result[2] = this.m02;
+        result[3] = this.m03;
+        result[4] = this.m10;
+        result[5] = this.m11;
+        result[6] = this.m12;
+        result[7] = this.m13;
+        result[8] = this.m20;
+        result[9] = this.m21;
+        result[10] = this.m22;
+        result[11] = this.m23;
+        result[12] = 0;
+        result[13] = 0;
+        result[14] = 0;
+        result[15] = 1;
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Matrix4)) {
+            return false;
+        }
+        Matrix4 o = (Matrix4) obj;
+        return Float.floatToIntBits(this.m00) == Float.floatToIntBits(o.m00)
+                && Float.floatToIntBits(this.m01) == Float.floatToIntBits(o.m01)
+                && Float.floatToIntBits(this.m02) == Float.floatToIntBits(o.m02)
+                && Float.floatToIntBits(this.m03) == Float.floatToIntBits(o.m03)
+                && Float.floatToIntBits(this.m10) == Float.floatToIntBits(o.m10)
+                && Float.floatToIntBits(this.m11) == Float.floatToIntBits(o.m11)
+                && Float.floatToIntBits(this.m12) == Float.floatToIntBits(o.m12)
+                && Float.floatToIntBits(this.m13) == Float.floatToIntBits(o.m13)
+                && Float.floatToIntBits(this.m20) == Float.floatToIntBits(o.m20)
+                && Float.floatToIntBits(this.m21) == Float.floatToIntBits(o.m21)
+                && Float.floatToIntBits(this.m22) == Float.floatToIntBits(o.m22)
+                && Float.floatToIntBits(this.m23) == Float.floatToIntBits(o.m23);
+    }
+
+    @Override
+    public int hashCode() {
+        float[] values = {this.m00, this.m01, this.m02, this.m03, this.m10, this.m11, this.m12, this.m13, this.m20, this.m21, this.m22, this.m23};
+        final int prime = 31;
+        int result = 1;
+        for (float value : values) {
+            result = prime * result + Float.floatToIntBits(value);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return this.m00 + Literals.VECTOR_SEPARATOR + this.m01 + Literals.VECTOR_SEPARATOR + this.m02 + Literals.VECTOR_SEPARATOR + this.m03 + "|"
+                + this.m10 + Literals.VECTOR_SEPARATOR + this.m11 + Literals.VECTOR_SEPARATOR + this.m12 + Literals.VECTOR_SEPARATOR + this.m13 + "|"
+                + this.m20 + Literals.VECTOR_SEPARATOR + this.m21 + Literals.VECTOR_SEPARATOR + this.m22 + Literals.VECTOR_SEPARATOR + this.m23;
+    }
+}
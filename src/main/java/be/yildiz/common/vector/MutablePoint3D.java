@@ -0,0 +1,381 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.vector;
+
+import be.yildiz.common.util.Literals;
+
+/**
+ * Mutable companion of Point3D, meant to be reused in per frame computations to avoid creating a new Point3D for every operation.
+ * All operations are done in place and return this instance to allow chaining.
+ * Point3D must still be used as the exposed API type, call toPoint3D when a value must leave the computation.
+ * Mutable class, not thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class MutablePoint3D {
+
+    /**
+     * Value for the x axis.
+     */
+    public float x;
+
+    /**
+     * Value for the y axis.
+     */
+    public float y;
+
+    /**
+     * Value for the z axis.
+     */
+    public float z;
+
+    /**
+     * Simple constructor, all values are set to 0.
+     */
+    public MutablePoint3D() {
+        super();
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param xValue Value for the x axis.
+     * @param yValue Value for the y axis.
+     * @param zValue Value for the z axis.
+     */
+    public MutablePoint3D(final float xValue, final float yValue, final float zValue) {
+        super();
+        this.x = xValue;
+        this.y = yValue;
+        this.z = zValue;
+    }
+
+    /**
+     * Build a mutable point with the values of an immutable one.
+     *
+     * @param point Point to copy.
+     * @return A new mutable point with the same values.
+     */
+    public static MutablePoint3D from(final Point3D point) {
+        return new MutablePoint3D(point.x, point.y, point.z);
+    }
+
+    /**
+     * Set new values.
+     *
+     * @param xValue New value for the x axis.
+     * @param yValue New value for the y axis.
+     * @param zValue New value for the z axis.
+     * @return This point.
+     */
+    public MutablePoint3D set(final float xValue, final float yValue, final float zValue) {
+        this.x = xValue;
+        this.y = yValue;
+        this.z = zValue;
+        return this;
+    }
+
+    /**
+     * Set the values from an immutable point.
+     *
+     * @param point Point to copy.
+     * @return This point.
+     */
+    public MutablePoint3D set(final Point3D point) {
+        return this.set(point.x, point.y, point.z);
+    }
+
+    /**
+     * Set the values from another mutable point.
+     *
+     * @param point Point to copy.
+     * @return This point.
+     */
+    public MutablePoint3D set(final MutablePoint3D point) {
+        return this.set(point.x, point.y, point.z);
+    }
+
+    /**
+     * Add values to the values of this point.
+     *
+     * @param xValue Value to add to this point X value.
+     * @param yValue Value to add to this point Y value.
+     * @param zValue Value to add to this point Z value.
+     * @return This point.
+     */
+    public MutablePoint3D add(final float xValue, final float yValue, final float zValue) {
+        this.x += xValue;
+        this.y += yValue;
+        this.z += zValue;
+        return this;
+    }
+
+    /**
+     * Add a point to this one.
+     *
+     * @param point Point to add.
+     * @return This point.
+     */
+    public MutablePoint3D add(final Point3D point) {
+        return this.add(point.x, point.y, point.z);
+    }
+
+    /**
+     * Add a point to this one.
+     *
+     * @param point Point to add.
+     * @return This point.
+     */
+    public MutablePoint3D add(final MutablePoint3D point) {
+        return this.add(point.x, point.y, point.z);
+    }
+
+    /**
+     * Add a point multiplied by a scalar to this one, typically used to apply a velocity: position.addScaled(velocity, time).
+     *
+     * @param point  Point to add.
+     * @param scalar Value to multiply the point with before adding it.
+     * @return This point.
+     */
+    public MutablePoint3D addScaled(final Point3D point, final float scalar) {
+        return this.add(point.x * scalar, point.y * scalar, point.z * scalar);
+    }
+
+    /**
+     * Add a point multiplied by a scalar to this one, typically used to apply a velocity: position.addScaled(velocity, time).
+     *
+     * @param point  Point to add.
+     * @param scalar Value to multiply the point with before adding it.
+     * @return This point.
+     */
+    public MutablePoint3D addScaled(final MutablePoint3D point, final float scalar) {
+        return this.add(point.x * scalar, point.y * scalar, point.z * scalar);
+    }
+
+    /**
+     * Add a value to the X value of this point.
+     *
+     * @param value Value to add to this point X value.
+     * @return This point.
+     */
+    public MutablePoint3D addX(final float value) {
+        this.x += value;
+        return this;
+    }
+
+    /**
+     * Add a value to the Y value of this point.
+     *
+     * @param value Value to add to this point Y value.
+     * @return This point.
+     */
+    public MutablePoint3D addY(final float value) {
+        this.y += value;
+        return this;
+    }
+
+    /**
+     * Add a value to the Z value of this point.
+     *
+     * @param value Value to add to this point Z value.
+     * @return This point.
+     */
+    public MutablePoint3D addZ(final float value) {
+        this.z += value;
+        return this;
+    }
+
+    /**
+     * Subtract a value to the X value of this point.
+     *
+     * @param value Value to subtract to this point X value.
+     * @return This point.
+     */
+    public MutablePoint3D subtractX(final float value) {
+        this.x -= value;
+        return this;
+    }
+
+    /**
+     * Subtract the other point values from this point values.
+     *
+     * @param point Other point to use.
+     * @return This point.
+     */
+    public MutablePoint3D subtract(final Point3D point) {
+        return this.add(-point.x, -point.y, -point.z);
+    }
+
+    /**
+     * Subtract the other point values from this point values.
+     *
+     * @param point Other point to use.
+     * @return This point.
+     */
+    public MutablePoint3D subtract(final MutablePoint3D point) {
+        return this.add(-point.x, -point.y, -point.z);
+    }
+
+    /**
+     * Multiply this point values by a given value.
+     *
+     * @param scalar Value to multiply.
+     * @return This point.
+     */
+    public MutablePoint3D multiply(final float scalar) {
+        this.x *= scalar;
+        this.y *= scalar;
+        this.z *= scalar;
+        return this;
+    }
+
+    /**
+     * Normalize this point, nothing is done if the length is 0.
+     *
+     * @return This point.
+     */
+    public MutablePoint3D normalize() {
+        return this.normalizeAndMultiply(1);
+    }
+
+    /**
+     * Normalize this point and multiply the values, nothing is done if the length is 0.
+     *
+     * @param scalar Value to multiply.
+     * @return This point.
+     */
+    public MutablePoint3D normalizeAndMultiply(final float scalar) {
+        float length = this.length();
+        if (Math.abs(length) > 0.000001f) {
+            this.x = scalar * (this.x / length);
+            this.y = scalar * (this.y / length);
+            this.z = scalar * (this.z / length);
+        }
+        return this;
+    }
+
+    /**
+     * Invert all values(5,10,-8 will be -5,-10,8).
+     *
+     * @return This point.
+     */
+    public MutablePoint3D inverse() {
+        return this.set(-this.x, -this.y, -this.z);
+    }
+
+    /**
+     * Round all values.
+     *
+     * @return This point.
+     */
+    public MutablePoint3D round() {
+        return this.set(Math.round(this.x), Math.round(this.y), Math.round(this.z));
+    }
+
+    /**
+     * Set the Y coordinate to 0.
+     *
+     * @return This point.
+     */
+    public MutablePoint3D toXZ() {
+        this.y = 0;
+        return this;
+    }
+
+    /**
+     * @return The length of this point.
+     */
+    public float length() {
+        return (float) Math.sqrt(this.squaredLength());
+    }
+
+    /**
+     * @return The squared length of this point.
+     */
+    public float squaredLength() {
+        return this.x * this.x + this.y * this.y + this.z * this.z;
+    }
+
+    /**
+     * Compute squared distance between this point and another one.
+     *
+     * @param point Other point.
+     * @return The squared distance between the 2 points.
+     */
+    public float squaredDistance(final Point3D point) {
+        return MutablePoint3D.squaredDistance(this.x, this.y, this.z, point.x, point.y, point.z);
+    }
+
+    /**
+     * Compute squared distance between this point and another one.
+     *
+     * @param point Other point.
+     * @return The squared distance between the 2 points.
+     */
+    public float squaredDistance(final MutablePoint3D point) {
+        return MutablePoint3D.squaredDistance(this.x, this.y, this.z, point.x, point.y, point.z);
+    }
+
+    /**
+     * Compute squared distance between 2 points given by their coordinates.
+     *
+     * @param x1 First point x value.
+     * @param y1 First point y value.
+     * @param z1 First point z value.
+     * @param x2 Second point x value.
+     * @param y2 Second point y value.
+     * @param z2 Second point z value.
+     * @return The squared distance between the 2 points.
+     */
+    private static float squaredDistance(final float x1, final float y1, final float z1, final float x2, final float y2, final float z2) {
+        final float valueX = x1 - x2;
+        final float valueY = y1 - y2;
+        final float valueZ = z1 - z2;
+        return valueX * valueX + valueY * valueY + valueZ * valueZ;
+    }
+
+    /**
+     * @return A new immutable point with this point values.
+     */
+    public Point3D toPoint3D() {
+        return Point3D.xyz(this.x, this.y, this.z);
+    }
+
+    /**
+     * Check if this point has the same values as an immutable point.
+     *
+     * @param point Point to compare.
+     * @return <code>true</code> if the values are equals.
+     */
+    public boolean sameValues(final Point3D point) {
+        return Float.floatToIntBits(this.x) == Float.floatToIntBits(point.x)
+                && Float.floatToIntBits(this.y) == Float.floatToIntBits(point.y)
+                && Float.floatToIntBits(this.z) == Float.floatToIntBits(point.z);
+    }
+
+    @Override
+    public String toString() {
+        return this.x + Literals.VECTOR_SEPARATOR + this.y + Literals.VECTOR_SEPARATOR + this.z;
+    }
+}
@@ -218,6 +218,18 @@ public final class Point3D {
         return p;
     }
 
+    /**
+     * Normalize a point and multiply the values, the result is written in a given destination instead of creating a new point.
+     *
+     * @param p      Point to normalize.
+     * @param scalar Value to multiply.
+     * @param result Point to write the result in.
+     * @return The result parameter.
+     */
+    public static MutablePoint3D normalizeAndMultiply(final Point3D p, final float scalar, final MutablePoint3D result) {
+        return result.set(p).normalizeAndMultiply(scalar);
+    }
+
     /**
      * Compute squared distance between 2 points.
      *
@@ -254,6 +266,17 @@ public final class Point3D {
         return new Point3D(this.x + point.x, this.y + point.y, this.z + point.z);
     }
 
+    /**
+     * Add a point to this one, the result is written in a given destination instead of creating a new point.
+     *
+     * @param point  Point to add.
+     * @param result Point to write the result in.
+     * @return The result parameter.
+     */
+    public MutablePoint3D add(final Point3D point, final MutablePoint3D result) {
+        return result.set(this.x + point.x, this.y + point.y, this.z + point.z);
+    }
+
     /**
      * Add a value to the X value of this point.
      *
@@ -358,6 +381,17 @@ public final class Point3D {
         return new Point3D(this.x * scalar, this.y * scalar, this.z * scalar);
     }
 
+    /**
+     * Multiply this point values by a given value, the result is written in a given destination instead of creating a new point.
+     *
+     * @param scalar Value to multiply.
+     * @param result Point to write the result in.
+     * @return The result parameter.
+     */
+    public MutablePoint3D multiply(final float scalar, final MutablePoint3D result) {
+        return result.set(this.x * scalar, this.y * scalar, this.z * scalar);
+    }
+
     /**
      * @return This point with rounded values.
      */
@@ -365,6 +399,16 @@ public final class Point3D {
         return new Point3D(Math.round(this.x), Math.round(this.y), Math.round(this.z));
     }
 
+    /**
+     * Round this point values, the result is written in a given destination instead of creating a new point.
+     *
+     * @param result Point to write the result in.
+     * @return The result parameter.
+     */
+    public MutablePoint3D rounded(final MutablePoint3D result) {
+        return result.set(Math.round(this.x), Math.round(this.y), Math.round(this.z));
+    }
+
     /**
      * Subtract this point values by the other point values.
      *
@@ -375,9 +419,20 @@ public final class Point3D {
         return new Point3D(this.x - point.x, this.y - point.y, this.z - point.z);
     }
 
+    /**
+     * Subtract this point values by the other point values, the result is written in a given destination instead of creating a new point.
+     *
+     * @param point  Other point to use.
+     * @param result Point to write the result in.
+     * @return The result parameter.
+     */
+    public MutablePoint3D subtract(final Point3D point, final MutablePoint3D result) {
+        return result.set(this.x - point.x, this.y - point.y, this.z - point.z);
+    }
+
     @Override
     public String toString() {
-        return this.x + Literals.VECTOR_SEPARATOR + this.y + Literals.VECTOR_SEPARATOR + this.z;
+        return Point3DWriter.append(this, new StringBuilder(32)).toString();
     }
 
     /**
@@ -386,4 +441,14 @@ public final class Point3D {
     public Point3D toXZ() {
         return new Point3D(this.x, 0, this.z);
     }
+
+    /**
+     * Copy this point with 0 as Y coordinate in a given destination instead of creating a new point.
+     *
+     * @param result Point to write the result in.
+     * @return The result parameter.
+     */
+    public MutablePoint3D toXZ(final MutablePoint3D result) {
+        return result.set(this.x, 0, this.z);
+    }
 }
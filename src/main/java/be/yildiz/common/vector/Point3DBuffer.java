@@ -0,0 +1,680 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.vector;
+
+import be.yildiz.common.util.Checker;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Store a set of 3d coordinates as a structure of arrays: all x values are contiguous, as are all y and z values.
+ * Batch operations mirror the Point3D static helpers but iterate over the primitive arrays, without any object creation.
+ * A direct FloatBuffer can optionally be associated, it is filled with interleaved x,y,z values on demand to be shared with native code.
+ * Mutable class, not thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class Point3DBuffer {
+
+    /**
+     * Number of float for one point in the direct buffer.
+     */
+    private static final int STRIDE = 3;
+
+    /**
+     * Length under which a point is not normalized, same value as Point3D.
+     */
+    private static final float EPSILON = 0.000001f;
+
+    /**
+     * Flag to keep a direct buffer.
+     */
+    private final boolean direct;
+
+    /**
+     * X values.
+     */
+    private float[] x;
+
+    /**
+     * Y values.
+     */
+    private float[] y;
+
+    /**
+     * Z values.
+     */
+    private float[] z;
+
+    /**
+     * Number of points stored.
+     */
+    private int size;
+
+    /**
+     * Direct buffer, only created if direct is true.
+     */
+    private FloatBuffer directBuffer;
+
+    /**
+     * Full constructor.
+     *
+     * @param initialCapacity Number of points that can be stored before the arrays are grown.
+     * @param direct          <code>true</code> to keep a direct FloatBuffer with the values.
+     * @throws IllegalArgumentException If initialCapacity is not greater than 0.
+     */
+    private Point3DBuffer(final int initialCapacity, final boolean direct) {
+        super();
+        Checker.exceptionNotGreaterThanZero(initialCapacity);
+        this.direct = direct;
+        this.x = new float[initialCapacity];
+        this.y = new float[initialCapacity];
+        this.z = new float[initialCapacity];
+        if (direct) {
+            this.directBuffer = Point3DBuffer.allocateDirect(initialCapacity);
+        }
+    }
+
+    /**
+     * Create a new buffer backed by primitive arrays only.
+     *
+     * @param initialCapacity Number of points that can be stored before the arrays are grown.
+     * @return The created buffer.
+     * @throws IllegalArgumentException If initialCapacity is not greater than 0.
+     */
+    public static Point3DBuffer create(final int initialCapacity) {
+        return new Point3DBuffer(initialCapacity, false);
+    }
+
+    /**
+     * Create a new buffer keeping a direct FloatBuffer with the values as well, to be shared with native code.
+     *
+     * @param initialCapacity Number of points that can be stored before the arrays are grown.
+     * @return The created buffer.
+     * @throws IllegalArgumentException If initialCapacity is not greater than 0.
+     */
+    public static Point3DBuffer createDirect(final int initialCapacity) {
+        return new Point3DBuffer(initialCapacity, true);
+    }
+
+    /**
+     * Create a new buffer containing the values of a list of points.
+     *
+     * @param points Points to copy.
+     * @return The created buffer.
+     */
+    public static Point3DBuffer fromList(final List<Point3D> points) {
+        Point3DBuffer buffer = new Point3DBuffer(Math.max(1, points.size()), false);
+        for (Point3D p : points) {
+            buffer.append(p);
+        }
+        return buffer;
+    }
+
+    /**
+     * Allocate a native ordered direct float buffer.
+     *
+     * @param capacity Number of points to hold.
+     * @return The allocated buffer.
+     */
+    private static FloatBuffer allocateDirect(final int capacity) {
+        return ByteBuffer.allocateDirect(capacity * STRIDE * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    /**
+     * Compute the squared distance between all points of 2 buffers with the same size, point at index i in the first buffer
+     * is compared with the point at index i in the second.
+     *
+     * @param b1     First buffer.
+     * @param b2     Second buffer.
+     * @param result Array to write the squared distances in, must be at least as large as the buffers size.
+     * @throws IllegalArgumentException If the buffers do not have the same size.
+     */
+    public static void squaredDistance(final Point3DBuffer b1, final Point3DBuffer b2, final float[] result) {
+        b1.checkSameSize(b2);
+        final float[] x1 = b1.x;
+        final float[] y1 = b1.y;
+        final float[] z1 = b1.z;
+        final float[] x2 = b2.x;
+        final float[] y2 = b2.y;
+        final float[] z2 = b2.z;
+        for (int i = 0; i < b1.size; i++) {
+            final float valueX = x1[i] - x2[i];
+            final float valueY = y1[i] - y2[i];
+            final float valueZ = z1[i] - z2[i];
+            result[i] = valueX * valueX + valueY * valueY + valueZ * valueZ;
+        }
+    }
+
+    /**
+     * Compute the dot product between all points of 2 buffers with the same size, point at index i in the first buffer
+     * is multiplied with the point at index i in the second.
+     *
+     * @param b1     First buffer.
+     * @param b2     Second buffer.
+     * @param result Array to write the dot products in, must be at least as large as the buffers size.
+     * @throws IllegalArgumentException If the buffers do not have the same size.
+     */
+    public static void dot(final Point3DBuffer b1, final Point3DBuffer b2, final float[] result) {
+        b1.checkSameSize(b2);
+        final float[] x1 = b1.x;
+        final float[] y1 = b1.y;
+        final float[] z1 = b1.z;
+        final float[] x2 = b2.x;
+        final float[] y2 = b2.y;
+        final float[] z2 = b2.z;
+        for (int i = 0; i < b1.size; i++) {
+            result[i] = x1[i] * x2[i] + y1[i] * y2[i] + z1[i] * z2[i];
+        }
+    }
+
+    /**
+     * Add a point at the end of this buffer.
+     *
+     * @param xValue Point x value.
+     * @param yValue Point y value.
+     * @param zValue Point z value.
+     * @return The index of the added point.
+     */
+    public int append(final float xValue, final float yValue, final float zValue) {
+        if (this.size == this.x.length) {
+            this.grow();
+        }
+        int index = this.size;
+        this.x[index] = xValue;
+        this.y[index] = yValue;
+        this.z[index] = zValue;
+        this.size++;
+        return index;
+    }
+
+    /**
+     * Add a point at the end of this buffer.
+     *
+     * @param point Point to add.
+     * @return The index of the added point.
+     */
+    public int append(final Point3D point) {
+        return this.append(point.x, point.y, point.z);
+    }
+
+    /**
+     * Replace the values of a point.
+     *
+     * @param index  Index of the point to replace.
+     * @param xValue New x value.
+     * @param yValue New y value.
+     * @param zValue New z value.
+     * @throws IndexOutOfBoundsException If the index is not in this buffer.
+     */
+    public void set(final int index, final float xValue, final float yValue, final float zValue) {
+        this.checkIndex(index);
+        this.x[index] = xValue;
+        this.y[index] = yValue;
+        this.z[index] = zValue;
+    }
+
+    /**
+     * Replace the values of a point.
+     *
+     * @param index Index of the point to replace.
+     * @param point New values.
+     * @throws IndexOutOfBoundsException If the index is not in this buffer.
+     */
+    public void set(final int index, final Point3D point) {
+        this.set(index, point.x, point.y, point.z);
+    }
+
+    /**
+     * Remove a point, the last point is moved to its index to keep the arrays packed.
+     *
+     * @param index Index of the point to remove.
+     * @throws IndexOutOfBoundsException If the index is not in this buffer.
+     */
+    public void removeAndSwap(final int index) {
+        this.checkIndex(index);
+        int last = this.size - 1;
+        this.x[index] = this.x[last];
+        this.y[index] = this.y[last];
+        this.z[index] = this.z[last];
+        this.size = last;
+    }
+
+    /**
+     * Remove all points, the capacity is kept.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Build an immutable point from the values at an index.
+     *
+     * @param index Index of the point.
+     * @return A new Point3D.
+     * @throws IndexOutOfBoundsException If the index is not in this buffer.
+     */
+    public Point3D get(final int index) {
+        this.checkIndex(index);
+        return Point3D.xyz(this.x[index], this.y[index], this.z[index]);
+    }
+
+    /**
+     * Copy the values at an index in a mutable point.
+     *
+     * @param index  Index of the point.
+     * @param result Point to write the values in.
+     * @return The result parameter.
+     * @throws IndexOutOfBoundsException If the index is not in this buffer.
+     */
+    public MutablePoint3D get(final int index, final MutablePoint3D result) {
+        this.checkIndex(index);
+        return result.set(this.x[index], this.y[index], this.z[index]);
+    }
+
+    /**
+     * @param index Index of the point.
+     * @return The x value of the point.
+     */
+    public float getX(final int index) {
+        this.checkIndex(index);
+        return this.x[index];
+    }
+
+    /**
+     * @param index Index of the point.
+     * @return The y value of the point.
+     */
+    public float getY(final int index) {
+        this.checkIndex(index);
+        return this.y[index];
+    }
+
+    /**
+     * @param index Index of the point.
+     * @return The z value of the point.
+     */
+    public float getZ(final int index) {
+        this.checkIndex(index);
+        return this.z[index];
+    }
+
+    /**
+     * @return The number of points in this buffer.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return <code>true</code> if this buffer contains no point.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Add the same offset to all points.
+     *
+     * @param offset Offset to add.
+     */
+    public void translate(final Point3D offset) {
+        this.translate(offset.x, offset.y, offset.z);
+    }
+
+    /**
+     * Add the same offset to all points.
+     *
+     * @param xValue Value to add to all x values.
+     * @param yValue Value to add to all y values.
+     * @param zValue Value to add to all z values.
+     */
+    public void translate(final float xValue, final float yValue, final float zValue) {
+        final float[] xs = this.x;
+        final float[] ys = this.y;
+        final float[] zs = this.z;
+        for (int i = 0; i < this.size; i++) {
+            xs[i] += xValue;
+            ys[i] += yValue;
+            zs[i] += zValue;
+        }
+    }
+
+    /**
+     * Rotate all points with a unit quaternion.
+     *
+     * @param rotation Rotation to apply.
+     */
+    public void rotate(final Quaternion rotation) {
+        this.rotate(rotation, this);
+    }
+
+    /**
+     * Rotate all points with a unit quaternion, the result is written in a destination buffer which is resized to this
+     * buffer size, the destination can be this buffer.
+     *
+     * @param rotation    Rotation to apply.
+     * @param destination Buffer to write the rotated points in.
+     */
+    public void rotate(final Quaternion rotation, final Point3DBuffer destination) {
+        destination.resize(this.size);
+        final float[] xs = this.x;
+        final float[] ys = this.y;
+        final float[] zs = this.z;
+        final float[] dx = destination.x;
+        final float[] dy = destination.y;
+        final float[] dz = destination.z;
+        final float qw = rotation.w;
+        final float qx = rotation.x;
+        final float qy = rotation.y;
+        final float qz = rotation.z;
+        for (int i = 0; i < this.size; i++) {
+            final float px = xs[i];
+            final float py = ys[i];
+            final float pz = zs[i];
+            final float tx = 2 * (qy * pz - qz * py);
+            final float ty = 2 * (qz * px - qx * pz);
+            final float tz = 2 * (qx * py - qy * px);
+            dx[i] = px + qw * tx + qy * tz - qz * ty;
+            dy[i] = py + qw * ty + qz * tx - qx * tz;
+            dz[i] = pz + qw * tz + qx * ty - qy * tx;
+        }
+    }
+
+    /**
+     * Transform all points with a matrix, the result is written in a destination buffer which is resized to this
+     * buffer size, the destination can be this buffer.
+     *
+     * @param matrix      Transformation to apply.
+     * @param destination Buffer to write the transformed points in.
+     */
+    public void transform(final Matrix4 matrix, final Point3DBuffer destination) {
+        destination.resize(this.size);
+        final float[] xs = this.x;
+        final float[] ys = this.y;
+        final float[] zs = this.z;
+        final float[] dx = destination.x;
+        final float[] dy = destination.y;
+        final float[] dz = destination.z;
+        for (int i = 0; i < this.size; i++) {
+            final float px = xs[i];
+            final float py = ys[i];
+            final float pz = zs[i];
+            dx[i] = matrix.m00 * px + matrix.m01 * py + matrix.m02 * pz + matrix.m03;
+            dy[i] = matrix.m10 * px + matrix.m11 * py + matrix.m12 * pz + matrix.m13;
+            dz[i] = matrix.m20 * px + matrix.m21 * py + matrix.m22 * pz + matrix.m23;
+        }
+    }
+
+    /**
+     * Add the points of another buffer to the points of this one, point at index i in the other buffer is added to the point
+     * at index i in this one.
+     *
+     * @param other Buffer to add, must have the same size.
+     * @throws IllegalArgumentException If the buffers do not have the same size.
+     */
+    public void add(final Point3DBuffer other) {
+        this.addScaled(other, 1);
+    }
+
+    /**
+     * Add the points of another buffer multiplied by a scalar to the points of this one, typically used to apply velocities
+     * on positions: positions.addScaled(velocities, time).
+     *
+     * @param other  Buffer to add, must have the same size.
+     * @param scalar Value to multiply the other points with before adding them.
+     * @throws IllegalArgumentException If the buffers do not have the same size.
+     */
+    public void addScaled(final Point3DBuffer other, final float scalar) {
+        this.checkSameSize(other);
+        final float[] xs = this.x;
+        final float[] ys = this.y;
+        final float[] zs = this.z;
+        final float[] ox = other.x;
+        final float[] oy = other.y;
+        final float[] oz = other.z;
+        for (int i = 0; i < this.size; i++) {
+            xs[i] += ox[i] * scalar;
+            ys[i] += oy[i] * scalar;
+            zs[i] += oz[i] * scalar;
+        }
+    }
+
+    /**
+     * Multiply all points values by a given value.
+     *
+     * @param scalar Value to multiply.
+     */
+    public void scale(final float scalar) {
+        final float[] xs = this.x;
+        final float[] ys = this.y;
+        final float[] zs = this.z;
+        for (int i = 0; i < this.size; i++) {
+            xs[i] *= scalar;
+            ys[i] *= scalar;
+            zs[i] *= scalar;
+        }
+    }
+
+    /**
+     * Normalize all points, points with a length of 0 are kept unchanged.
+     */
+    public void normalize() {
+        this.normalizeAndMultiply(1);
+    }
+
+    /**
+     * Normalize all points and multiply the values, points with a length of 0 are kept unchanged.
+     *
+     * @param scalar Value to multiply.
+     */
+    public void normalizeAndMultiply(final float scalar) {
+        final float[] xs = this.x;
+        final float[] ys = this.y;
+        final float[] zs = this.z;
+        for (int i = 0; i < this.size; i++) {
+            float length = (float) Math.sqrt(xs[i] * xs[i] + ys[i] * ys[i] + zs[i] * zs[i]);
+            if (Math.abs(length) > EPSILON) {
+                xs[i] = scalar * (xs[i] / length);
+                ys[i] = scalar * (ys[i] / length);
+                zs[i] = scalar * (zs[i] / length);
+            }
+        }
+    }
+
+    /**
+     * Compute the squared distance between every point of this buffer and a given point.
+     *
+     * @param point  Point to compute the distance from.
+     * @param result Array to write the squared distances in, must be at least as large as this buffer size.
+     */
+    public void squaredDistance(final Point3D point, final float[] result) {
+        final float[] xs = this.x;
+        final float[] ys = this.y;
+        final float[] zs = this.z;
+        final float px = point.x;
+        final float py = point.y;
+        final float pz = point.z;
+        for (int i = 0; i < this.size; i++) {
+            final float valueX = xs[i] - px;
+            final float valueY = ys[i] - py;
+            final float valueZ = zs[i] - pz;
+            result[i] = valueX * valueX + valueY * valueY + valueZ * valueZ;
+        }
+    }
+
+    /**
+     * Compute the dot product between every point of this buffer and a given point.
+     *
+     * @param point  Point to compute the dot product with.
+     * @param result Array to write the dot products in, must be at least as large as this buffer size.
+     */
+    public void dot(final Point3D point, final float[] result) {
+        final float[] xs = this.x;
+        final float[] ys = this.y;
+        final float[] zs = this.z;
+        final float px = point.x;
+        final float py = point.y;
+        final float pz = point.z;
+        for (int i = 0; i < this.size; i++) {
+            result[i] = xs[i] * px + ys[i] * py + zs[i] * pz;
+        }
+    }
+
+    /**
+     * Compute the length of every point of this buffer.
+     *
+     * @param result Array to write the lengths in, must be at least as large as this buffer size.
+     */
+    public void length(final float[] result) {
+        final float[] xs = this.x;
+        final float[] ys = this.y;
+        final float[] zs = this.z;
+        for (int i = 0; i < this.size; i++) {
+            result[i] = (float) Math.sqrt(xs[i] * xs[i] + ys[i] * ys[i] + zs[i] * zs[i]);
+        }
+    }
+
+    /**
+     * Find all points closer than a given distance from a point.
+     *
+     * @param point    Point to compute the distance from.
+     * @param distance Maximum distance, inclusive.
+     * @param result   Array to write the index of the matching points in, must be at least as large as this buffer size.
+     * @return The number of matching points written in result.
+     */
+    public int within(final Point3D point, final float distance, final int[] result) {
+        final float[] xs = this.x;
+        final float[] ys = this.y;
+        final float[] zs = this.z;
+        final float px = point.x;
+        final float py = point.y;
+        final float pz = point.z;
+        final float squared = distance * distance;
+        int count = 0;
+        for (int i = 0; i < this.size; i++) {
+            final float valueX = xs[i] - px;
+            final float valueY = ys[i] - py;
+            final float valueZ = zs[i] - pz;
+            if (valueX * valueX + valueY * valueY + valueZ * valueZ <= squared) {
+                result[count] = i;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Copy the values in the direct buffer, as interleaved x,y,z values, and return it.
+     * The returned buffer position is 0 and its limit is size * 3, it must not be kept after the next call as it can be reallocated.
+     *
+     * @return The direct buffer containing this buffer values.
+     * @throws IllegalStateException If this buffer was not created with createDirect.
+     */
+    public FloatBuffer toDirectBuffer() {
+        if (!this.direct) {
+            throw new IllegalStateException("This buffer has no direct buffer, use createDirect.");
+        }
+        if (this.directBuffer.capacity() < this.size * STRIDE) {
+            this.directBuffer = Point3DBuffer.allocateDirect(this.x.length);
+        }
+        FloatBuffer buffer = this.directBuffer;
+        buffer.clear();
+        for (int i = 0; i < this.size; i++) {
+            buffer.put(this.x[i]).put(this.y[i]).put(this.z[i]);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return A new list containing all points of this buffer.
+     */
+    public List<Point3D> toList() {
+        List<Point3D> result = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            result.add(Point3D.xyz(this.x[i], this.y[i], this.z[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Double the arrays capacity.
+     */
+    private void grow() {
+        this.growTo(this.x.length << 1);
+    }
+
+    /**
+     * Set the arrays capacity.
+     *
+     * @param capacity New capacity.
+     */
+    private void growTo(final int capacity) {
+        this.x = Arrays.copyOf(this.x, capacity);
+        this.y = Arrays.copyOf(this.y, capacity);
+        this.z = Arrays.copyOf(this.z, capacity);
+    }
+
+    /**
+     * Change the number of points, the arrays are grown if necessary, new points values are not specified.
+     *
+     * @param newSize New number of points.
+     */
+    private void resize(final int newSize) {
+        if (newSize > this.x.length) {
+            this.growTo(newSize);
+        }
+        this.size = newSize;
+    }
+
+    /**
+     * Check an index is in this buffer.
+     *
+     * @param index Index to check.
+     * @throws IndexOutOfBoundsException If the index is not in this buffer.
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + this.size);
+        }
+    }
+
+    /**
+     * Check another buffer has the same size as this one.
+     *
+     * @param other Buffer to check.
+     * @throws IllegalArgumentException If the buffers do not have the same size.
+     */
+    private void checkSameSize(final Point3DBuffer other) {
+        if (this.size != other.size) {
+            throw new IllegalArgumentException("Buffers must have the same size: " + this.size + " and " + other.size);
+        }
+    }
+}
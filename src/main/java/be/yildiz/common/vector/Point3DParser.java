@@ -0,0 +1,450 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.vector;
+
+import be.yildiz.common.util.Literals;
+
+import java.nio.ByteBuffer;
+import java.security.InvalidParameterException;
+
+/**
+ * Parse 3d coordinates from text without creating intermediate Strings, to be used when loading large amount of positions.
+ * The accepted formats are the same as the Point3D String constructor: "x,y,z" or "x,z", with optional spaces around the values.
+ * Values are parsed directly from the characters, only unusual notations(hexadecimal, type suffix...) and values with more than 15 significant digits fall back to Float.parseFloat.
+ * An instance can be reused for any number of parsing, it is mutable and not thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class Point3DParser {
+
+    /**
+     * Separator between values.
+     */
+    private static final char SEPARATOR = Literals.VECTOR_SEPARATOR.charAt(0);
+
+    /**
+     * Maximum number of digits parsed in the mantissa, to be exactly represented in a double, longer values fall back to Float.parseFloat.
+     */
+    private static final int MAX_DIGITS = 15;
+
+    /**
+     * Exact powers of ten representable in a double.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * Source is a CharSequence.
+     */
+    private static final int SEQUENCE = 0;
+
+    /**
+     * Source is a char array.
+     */
+    private static final int ARRAY = 1;
+
+    /**
+     * Source is a ByteBuffer containing ASCII characters.
+     */
+    private static final int BYTES = 2;
+
+    /**
+     * Parsed values.
+     */
+    private final float[] values = new float[3];
+
+    /**
+     * Current source type.
+     */
+    private int mode;
+
+    /**
+     * Current source when it is a CharSequence.
+     */
+    private CharSequence sequence;
+
+    /**
+     * Current source when it is a char array.
+     */
+    private char[] array;
+
+    /**
+     * Current source when it is a ByteBuffer.
+     */
+    private ByteBuffer bytes;
+
+    /**
+     * Simple constructor.
+     */
+    public Point3DParser() {
+        super();
+    }
+
+    /**
+     * Parse a point.
+     *
+     * @param text Text to parse.
+     * @return The parsed point.
+     * @throws InvalidParameterException If the text is not a valid point.
+     */
+    public Point3D parse(final CharSequence text) {
+        return this.parse(text, 0, text.length(), new MutablePoint3D()).toPoint3D();
+    }
+
+    /**
+     * Parse a point from a part of a CharSequence.
+     *
+     * @param text   Text to parse.
+     * @param start  Index of the first character, inclusive.
+     * @param end    Index of the last character, exclusive.
+     * @param result Point to write the parsed values in.
+     * @return The result parameter.
+     * @throws InvalidParameterException If the text is not a valid point.
+     */
+    public MutablePoint3D parse(final CharSequence text, final int start, final int end, final MutablePoint3D result) {
+        this.mode = SEQUENCE;
+        this.sequence = text;
+        try {
+            return this.parse(start, end, result);
+        } finally {
+            this.sequence = null;
+        }
+    }
+
+    /**
+     * Parse a point from a part of a char array.
+     *
+     * @param text   Characters to parse.
+     * @param start  Index of the first character, inclusive.
+     * @param end    Index of the last character, exclusive.
+     * @param result Point to write the parsed values in.
+     * @return The result parameter.
+     * @throws InvalidParameterException If the text is not a valid point.
+     */
+    public MutablePoint3D parse(final char[] text, final int start, final int end, final MutablePoint3D result) {
+        this.mode = ARRAY;
+        this.array = text;
+        try {
+            return this.parse(start, end, result);
+        } finally {
+            this.array = null;
+        }
+    }
+
+    /**
+     * Parse a point from a part of a buffer containing ASCII characters, the buffer position is not modified.
+     *
+     * @param text   Buffer to parse.
+     * @param start  Index of the first byte, inclusive.
+     * @param end    Index of the last byte, exclusive.
+     * @param result Point to write the parsed values in.
+     * @return The result parameter.
+     * @throws InvalidParameterException If the text is not a valid point.
+     */
+    public MutablePoint3D parse(final ByteBuffer text, final int start, final int end, final MutablePoint3D result) {
+        this.mode = BYTES;
+        this.bytes = text;
+        try {
+            return this.parse(start, end, result);
+        } finally {
+            this.bytes = null;
+        }
+    }
+
+    /**
+     * Parse all the points of a CharSequence, for example one point per line.
+     *
+     * @param text      Text to parse.
+     * @param separator Character separating the points, empty parts are ignored.
+     * @param result    Buffer to append the parsed points to.
+     * @return The number of parsed points.
+     * @throws InvalidParameterException If a point is not valid.
+     */
+    public int parseAll(final CharSequence text, final char separator, final Point3DBuffer result) {
+        this.mode = SEQUENCE;
+        this.sequence = text;
+        try {
+            return this.parseAll(0, text.length(), separator, result);
+        } finally {
+            this.sequence = null;
+        }
+    }
+
+    /**
+     * Parse all the points of a part of a buffer containing ASCII characters, the buffer position is not modified.
+     *
+     * @param text      Buffer to parse.
+     * @param start     Index of the first byte, inclusive.
+     * @param end       Index of the last byte, exclusive.
+     * @param separator Character separating the points, empty parts are ignored.
+     * @param result    Buffer to append the parsed points to.
+     * @return The number of parsed points.
+     * @throws InvalidParameterException If a point is not valid.
+     */
+    public int parseAll(final ByteBuffer text, final int start, final int end, final char separator, final Point3DBuffer result) {
+        this.mode = BYTES;
+        this.bytes = text;
+        try {
+            return this.parseAll(start, end, separator, result);
+        } finally {
+            this.bytes = null;
+        }
+    }
+
+    /**
+     * Parse the current source.
+     *
+     * @param start  Index of the first character, inclusive.
+     * @param end    Index of the last character, exclusive.
+     * @param result Point to write the parsed values in.
+     * @return The result parameter.
+     * @throws InvalidParameterException If the text is not a valid point.
+     */
+    private MutablePoint3D parse(final int start, final int end, final MutablePoint3D result) {
+        this.parseValues(start, end);
+        return result.set(this.values[0], this.values[1], this.values[2]);
+    }
+
+    /**
+     * Parse all the points of the current source, points are separated by a given character, empty parts are ignored.
+     *
+     * @param start     Index of the first character, inclusive.
+     * @param end       Index of the last character, exclusive.
+     * @param separator Character separating the points.
+     * @param result    Buffer to append the parsed points to.
+     * @return The number of parsed points.
+     * @throws InvalidParameterException If a point is not valid.
+     */
+    private int parseAll(final int start, final int end, final char separator, final Point3DBuffer result) {
+        int count = 0;
+        int pointStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || this.charAt(i) == separator) {
+                if (!this.isBlank(pointStart, i)) {
+                    this.parseValues(pointStart, i);
+                    result.append(this.values[0], this.values[1], this.values[2]);
+                    count++;
+                }
+                pointStart = i + 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Parse a point from the current source into the values array.
+     *
+     * @param start Index of the first character, inclusive.
+     * @param end   Index of the last character, exclusive.
+     * @throws InvalidParameterException If the text is not a valid point.
+     */
+    private void parseValues(final int start, final int end) {
+        int count = 0;
+        int valueStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || this.charAt(i) == SEPARATOR) {
+                if (count == this.values.length) {
+                    throw this.invalid(start, end);
+                }
+                this.values[count] = this.parseFloat(valueStart, i, start, end);
+                count++;
+                valueStart = i + 1;
+            }
+        }
+        if (count == 2) {
+            this.values[2] = this.values[1];
+            this.values[1] = 0;
+        } else if (count != 3) {
+            throw this.invalid(start, end);
+        }
+    }
+
+    /**
+     * Check if a part of the current source contains only white spaces.
+     *
+     * @param start Index of the first character, inclusive.
+     * @param end   Index of the last character, exclusive.
+     * @return <code>true</code> if there is no visible character.
+     */
+    private boolean isBlank(final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (this.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parse a float value.
+     *
+     * @param from      Index of the first character of the value, inclusive.
+     * @param to        Index of the last character of the value, exclusive.
+     * @param textStart Index of the first character of the whole text, for error message.
+     * @param textEnd   Index of the last character of the whole text, for error message.
+     * @return The parsed value.
+     * @throws InvalidParameterException If the value is not a valid float.
+     */
+    private float parseFloat(final int from, final int to, final int textStart, final int textEnd) {
+        int start = from;
+        int end = to;
+        while (start < end && this.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && this.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int i = start;
+        boolean negative = false;
+        if (i < end && (this.charAt(i) == '-' || this.charAt(i) == '+')) {
+            negative = this.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean dot = false;
+        for (; i < end; i++) {
+            char c = this.charAt(i);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (digits == MAX_DIGITS) {
+                    // Dropping the next digits could round in the wrong direction, let the JDK handle it.
+                    return this.fallback(start, end, textStart, textEnd);
+                }
+                if (mantissa != 0 || c != '0') {
+                    digits++;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (dot) {
+                    exponent--;
+                }
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+        }
+        if (anyDigit && i < end && (this.charAt(i) == 'e' || this.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (this.charAt(i) == '-' || this.charAt(i) == '+')) {
+                negativeExponent = this.charAt(i) == '-';
+                i++;
+            }
+            int value = 0;
+            boolean exponentDigit = false;
+            for (; i < end && this.charAt(i) >= '0' && this.charAt(i) <= '9' && value < 10000; i++) {
+                value = value * 10 + (this.charAt(i) - '0');
+                exponentDigit = true;
+            }
+            if (!exponentDigit) {
+                return this.fallback(start, end, textStart, textEnd);
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (!anyDigit || i != end) {
+            return this.fallback(start, end, textStart, textEnd);
+        }
+        double result;
+        if (mantissa == 0) {
+            result = 0;
+        } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            result = mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            result = mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return this.fallback(start, end, textStart, textEnd);
+        }
+        // A double exactly halfway between 2 floats could be rounded in the wrong direction, let the JDK handle it.
+        if ((Double.doubleToRawLongBits(result) & 0x1FFFFFFFL) == 0x10000000L || (result != 0 && result < Float.MIN_NORMAL)) {
+            return this.fallback(start, end, textStart, textEnd);
+        }
+        float value = (float) result;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse a float value with Float.parseFloat, to handle all notations.
+     *
+     * @param from      Index of the first character of the value, inclusive.
+     * @param to        Index of the last character of the value, exclusive.
+     * @param textStart Index of the first character of the whole text, for error message.
+     * @param textEnd   Index of the last character of the whole text, for error message.
+     * @return The parsed value.
+     * @throws InvalidParameterException If the value is not a valid float.
+     */
+    private float fallback(final int from, final int to, final int textStart, final int textEnd) {
+        try {
+            return Float.parseFloat(this.toString(from, to));
+        } catch (NumberFormatException nfe) {
+            throw this.invalid(textStart, textEnd);
+        }
+    }
+
+    /**
+     * Build the exception for an invalid text.
+     *
+     * @param start Index of the first character of the text, inclusive.
+     * @param end   Index of the last character of the text, exclusive.
+     * @return The exception to throw.
+     */
+    private InvalidParameterException invalid(final int start, final int end) {
+        return new InvalidParameterException("Invalid value while parsing String:" + this.toString(start, end));
+    }
+
+    /**
+     * Build a String from a part of the current source.
+     *
+     * @param start Index of the first character, inclusive.
+     * @param end   Index of the last character, exclusive.
+     * @return The built String.
+     */
+    private String toString(final int start, final int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            sb.append(this.charAt(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Retrieve a character from the current source.
+     *
+     * @param index Character index.
+     * @return The character.
+     */
+    private char charAt(final int index) {
+        switch (this.mode) {
+            case ARRAY:
+                return this.array[index];
+            case BYTES:
+                return (char) (this.bytes.get(index) & 0xFF);
+            default:
+                return this.sequence.charAt(index);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.vector;
+
+import be.yildiz.common.util.Literals;
+
+/**
+ * Write 3d coordinates as text in the "x,y,z" format produced by Point3D.toString, directly in a provided StringBuilder
+ * to avoid the intermediate Strings created by concatenation when exporting large amount of positions.
+ * The output can be read back with a Point3DParser.
+ *
+ * @author Grégory Van den Borre
+ */
+public interface Point3DWriter {
+
+    /**
+     * Separator between values.
+     */
+    char SEPARATOR = Literals.VECTOR_SEPARATOR.charAt(0);
+
+    /**
+     * Append a point to a StringBuilder.
+     *
+     * @param x      X value.
+     * @param y      Y value.
+     * @param z      Z value.
+     * @param result StringBuilder to write in.
+     * @return The result parameter.
+     */
+    static StringBuilder append(final float x, final float y, final float z, final StringBuilder result) {
+        return result.append(x).append(SEPARATOR).append(y).append(SEPARATOR).append(z);
+    }
+
+    /**
+     * Append a point to a StringBuilder.
+     *
+     * @param point  Point to write.
+     * @param result StringBuilder to write in.
+     * @return The result parameter.
+     */
+    static StringBuilder append(final Point3D point, final StringBuilder result) {
+        return Point3DWriter.append(point.x, point.y, point.z, result);
+    }
+
+    /**
+     * Append a point to a StringBuilder.
+     *
+     * @param point  Point to write.
+     * @param result StringBuilder to write in.
+     * @return The result parameter.
+     */
+    static StringBuilder append(final MutablePoint3D point, final StringBuilder result) {
+        return Point3DWriter.append(point.x, point.y, point.z, result);
+    }
+
+    /**
+     * Append all the points of a buffer to a StringBuilder.
+     *
+     * @param buffer    Points to write.
+     * @param separator Character to write after each point.
+     * @param result    StringBuilder to write in.
+     * @return The result parameter.
+     */
+    static StringBuilder append(final Point3DBuffer buffer, final char separator, final StringBuilder result) {
+        for (int i = 0; i < buffer.size(); i++) {
+            Point3DWriter.append(buffer.getX(i), buffer.getY(i), buffer.getZ(i), result).append(separator);
+        }
+        return result;
+    }
+}
@@ -23,13 +23,31 @@
 
 package be.yildiz.common.vector;
 
+import be.yildiz.common.util.Literals;
+
 /**
  * This class represent a quaternion.
+ * Immutable class.
  *
  * @author Grégory Van den Borre
  */
 public final class Quaternion {
 
+    /**
+     * Quaternion with no rotation.
+     */
+    public static final Quaternion IDENTITY = new Quaternion(1, 0, 0, 0);
+
+    /**
+     * Length under which a quaternion is not normalized, same value as Point3D.
+     */
+    private static final float EPSILON = 0.000001f;
+
+    /**
+     * Dot product above which slerp falls back to nlerp, to avoid a division by a sinus close to 0.
+     */
+    private static final float SLERP_THRESHOLD = 0.9995f;
+
     /**
      * W value.
      */
@@ -75,4 +93,220 @@ public final class Quaternion {
         return new Quaternion(q1.w * q2.w - q1.x * q2.x - q1.y * q2.y - q1.z * q2.z, q1.w * q2.x + q1.x * q2.w + q1.y * q2.z - q1.z * q2.y,
                 q1.w * q2.y + q1.y * q2.w + q1.z * q2.x - q1.x * q2.z, q1.w * q2.z + q1.z * q2.w + q1.x * q2.y - q1.y * q2.x);
     }
+
+    /**
+     * Build a quaternion representing a rotation around an axis.
+     *
+     * @param axis  Rotation axis, it does not need to be normalized.
+     * @param angle Rotation angle.
+     * @return The built quaternion, or IDENTITY if the axis length is 0.
+     */
+    public static Quaternion fromAxisAngle(final Point3D axis, final Radian angle) {
+        float length = (float) Math.sqrt(axis.x * axis.x + axis.y * axis.y + axis.z * axis.z);
+        if (length <= EPSILON) {
+            return IDENTITY;
+        }
+        double half = angle.angle * 0.5;
+        float sin = (float) Math.sin(half) / length;
+        return new Quaternion((float) Math.cos(half), axis.x * sin, axis.y * sin, axis.z * sin);
+    }
+
+    /**
+     * Normalized linear interpolation between 2 quaternions, follow the shortest path.
+     * Cheaper than slerp but the angular speed is not constant.
+     *
+     * @param q1     Start quaternion, returned when t is 0.
+     * @param q2     End quaternion, returned when t is 1.
+     * @param factor Interpolation factor, between 0 and 1.
+     * @return The normalized interpolated quaternion.
+     */
+    public static Quaternion nlerp(final Quaternion q1, final Quaternion q2, final float factor) {
+        float end = q1.dot(q2) < 0 ? -factor : factor;
+        float start = 1 - factor;
+        return new Quaternion(start * q1.w + end * q2.w, start * q1.x + end * q2.x, start * q1.y + end * q2.y, start * q1.z + end * q2.z)
+                .normalize();
+    }
+
+    /**
+     * Spherical linear interpolation between 2 quaternions, follow the shortest path with a constant angular speed.
+     *
+     * @param q1     Start quaternion, returned when t is 0.
+     * @param q2     End quaternion, returned when t is 1.
+     * @param factor Interpolation factor, between 0 and 1.
+     * @return The interpolated quaternion.
+     */
+    public static Quaternion slerp(final Quaternion q1, final Quaternion q2, final float factor) {
+        float dot = q1.dot(q2);
+        float sign = 1;
+        if (dot < 0) {
+            dot = -dot;
+            sign = -1;
+        }
+        if (dot > SLERP_THRESHOLD) {
+            return Quaternion.nlerp(q1, q2, factor);
+        }
+        double theta = Math.acos(dot);
+        double sin = Math.sin(theta);
+        float start = (float) (Math.sin((1 - factor) * theta) / sin);
+        float end = sign * (float) (Math.sin(factor * theta) / sin);
+        return new Quaternion(start * q1.w + end * q2.w, start * q1.x + end * q2.x, start * q1.y + end * q2.y, start * q1.z + end * q2.z);
+    }
+
+    /**
+     * Multiply this quaternion by another one, the result is the rotation of the other followed by this one.
+     *
+     * @param other Quaternion to multiply.
+     * @return The newly build Quaternion.
+     */
+    public Quaternion multiply(final Quaternion other) {
+        return Quaternion.multiply2Quaternions(this, other);
+    }
+
+    /**
+     * Compute the dot product with another quaternion.
+     *
+     * @param other Other quaternion.
+     * @return The dot product.
+     */
+    public float dot(final Quaternion other) {
+        return this.w * other.w + this.x * other.x + this.y * other.y + this.z * other.z;
+    }
+
+    /**
+     * @return The quaternion length.
+     */
+    public float length() {
+        return (float) Math.sqrt(this.dot(this));
+    }
+
+    /**
+     * @return A new quaternion with a length of 1, or this one if its length is 0.
+     */
+    public Quaternion normalize() {
+        float length = this.length();
+        if (length <= EPSILON) {
+            return this;
+        }
+        float factor = 1 / length;
+        return new Quaternion(this.w * factor, this.x * factor, this.y * factor, this.z * factor);
+    }
+
+    /**
+     * @return The conjugate of this quaternion, for a unit quaternion, it is the inverse rotation.
+     */
+    public Quaternion conjugate() {
+        return new Quaternion(this.w, -this.x, -this.y, -this.z);
+    }
+
+    /**
+     * @return The inverse of this quaternion, or this one if its length is 0.
+     */
+    public Quaternion inverse() {
+        float squaredLength = this.dot(this);
+        if (squaredLength <= EPSILON) {
+            return this;
+        }
+        float factor = 1 / squaredLength;
+        return new Quaternion(this.w * factor, -this.x * factor, -this.y * factor, -this.z * factor);
+    }
+
+    /**
+     * @return The rotation angle of this unit quaternion.
+     */
+    public Radian getAngle() {
+        return new Radian(2 * (float) Math.acos(Math.max(-1, Math.min(1, this.w))));
+    }
+
+    /**
+     * @return The rotation axis of this unit quaternion, X if there is no rotation.
+     */
+    public Point3D getAxis() {
+        float sin = (float) Math.sqrt(Math.max(0, 1 - this.w * this.w));
+        if (sin <= EPSILON) {
+            return Point3D.X;
+        }
+        return Point3D.xyz(this.x / sin, this.y / sin, this.z / sin);
+    }
+
+    /**
+     * Rotate a point with this unit quaternion.
+     *
+     * @param point Point to rotate.
+     * @return The rotated point.
+     */
+    public Point3D rotate(final Point3D point) {
+        return this.rotate(point.x, point.y, point.z, new MutablePoint3D()).toPoint3D();
+    }
+
+    /**
+     * Rotate a point with this unit quaternion, the result is written in a given destination instead of creating a new point.
+     *
+     * @param point  Point to rotate.
+     * @param result Point to write the result in.
+     * @return The result parameter.
+     */
+    public MutablePoint3D rotate(final Point3D point, final MutablePoint3D result) {
+        return this.rotate(point.x, point.y, point.z, result);
+    }
+
+    /**
+     * Rotate a point in place with this unit quaternion.
+     *
+     * @param point Point to rotate.
+     * @return The point parameter.
+     */
+    public MutablePoint3D rotate(final MutablePoint3D point) {
+        return this.rotate(point.x, point.y, point.z, point);
+    }
+
+    /**
+     * Rotate a point with this unit quaternion, the result is written in a given destination instead of creating a new point.
+     * Use v' = v + w * t + u x t, where u is the quaternion vector part and t = 2 * u x v.
+     *
+     * @param px     Point x value.
+     * @param py     Point y value.
+     * @param pz     Point z value.
+     * @param result Point to write the result in.
+     * @return The result parameter.
+     */
+    public MutablePoint3D rotate(final float px, final float py, final float pz, final MutablePoint3D result) {
+        float tx = 2 * (this.y * pz - this.z * py);
+        float ty = 2 * (this.z * px - this.x * pz);
+        float tz = 2 * (this.x * py - this.y * px);
+        return result.set(
+                px + this.w * tx + this.y * tz - this.z * ty,
+                py + this.w * ty + this.z * tx - this.x * tz,
+                pz + this.w * tz + this.x * ty - this.y * tx);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Quaternion)) {
+            return false;
+        }
+        Quaternion other = (Quaternion) obj;
+        return Float.floatToIntBits(this.w) == Float.floatToIntBits(other.w)
+                && Float.floatToIntBits(this.x) == Float.floatToIntBits(other.x)
+                && Float.floatToIntBits(this.y) == Float.floatToIntBits(other.y)
+                && Float.floatToIntBits(this.z) == Float.floatToIntBits(other.z);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + Float.floatToIntBits(this.w);
+        result = prime * result + Float.floatToIntBits(this.x);
+        result = prime * result + Float.floatToIntBits(this.y);
+        result = prime * result + Float.floatToIntBits(this.z);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return this.w + Literals.VECTOR_SEPARATOR + this.x + Literals.VECTOR_SEPARATOR + this.y + Literals.VECTOR_SEPARATOR + this.z;
+    }
 }
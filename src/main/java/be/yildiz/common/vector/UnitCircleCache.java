@@ -0,0 +1,93 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.vector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded and thread safe cache of unit circle coordinates, keyed by number of points.
+ * Tables are never modified once computed, so they can be shared between threads without copy.
+ *
+ * @author Grégory Van den Borre
+ */
+final class UnitCircleCache {
+
+    /**
+     * Maximum number of tables kept in the cache, other tables are computed on each call.
+     */
+    private static final int MAX_TABLES = 64;
+
+    /**
+     * Maximum number of points in a cached table, bigger tables are computed on each call.
+     */
+    private static final int MAX_POINTS = 1024;
+
+    /**
+     * Computed tables, keyed by number of points.
+     */
+    private static final Map<Integer, double[]> TABLES = new ConcurrentHashMap<>();
+
+    /**
+     * Utility class, no instance.
+     */
+    private UnitCircleCache() {
+        super();
+    }
+
+    /**
+     * Retrieve the unit circle coordinates for a number of points, the first point is at angle 2 * PI / number and the others follow counter clockwise.
+     *
+     * @param number Number of points, must be greater than 0.
+     * @return The interleaved x, y coordinates, must not be modified.
+     */
+    static double[] get(final int number) {
+        double[] table = TABLES.get(number);
+        if (table == null) {
+            table = UnitCircleCache.compute(number);
+            if (number <= MAX_POINTS && TABLES.size() < MAX_TABLES) {
+                TABLES.putIfAbsent(number, table);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Compute the unit circle coordinates for a number of points.
+     *
+     * @param number Number of points, must be greater than 0.
+     * @return The interleaved x, y coordinates.
+     */
+    private static double[] compute(final int number) {
+        double angle = 2 * Math.PI / number;
+        double value = 0;
+        double[] result = new double[number * 2];
+        for (int i = 0; i < number; i++) {
+            value += angle;
+            result[i * 2] = Math.cos(value);
+            result[i * 2 + 1] = Math.sin(value);
+        }
+        return result;
+    }
+}
@@ -45,16 +45,38 @@ public interface VectorUtil {
     static Point2D[] getPointOnCircle(final int number, final int radius) {
         Checker.exceptionNotGreaterThanZero(number);
         Checker.exceptionNotGreaterThanZero(radius);
-        double angle = 2 * Math.PI / number;
-        double value = 0;
+        double[] table = UnitCircleCache.get(number);
         Point2D[] result = new Point2D[number];
         for (int i = 0; i < number; i++) {
-            value += angle;
-            double x = radius * Math.cos(value);
-            double y = radius * Math.sin(value);
+            double x = radius * table[i * 2];
+            double y = radius * table[i * 2 + 1];
             result[i] = new Point2D(x, y);
         }
         return result;
     }
 
+    /**
+     * Compute position for point on a circle without creating any object.
+     *
+     * @param number Number of points to set on the circle.
+     * @param radius Circle ray size.
+     * @param result Array to fill with the interleaved x, y position of every point, assuming the circle is at 0,0, must have a length of at least number * 2.
+     * @return The result parameter.
+     * @throws InvalidParameterException if number is not greater than 0.
+     * @throws InvalidParameterException if radius is not greater than 0.
+     * @throws IllegalArgumentException if result is too small.
+     */
+    static float[] getPointOnCircle(final int number, final float radius, final float[] result) {
+        Checker.exceptionNotGreaterThanZero(number);
+        Checker.exceptionNotGreaterThanZero(radius);
+        if (result.length < number * 2) {
+            throw new IllegalArgumentException("Result array too small: " + result.length + " for " + number + " points.");
+        }
+        double[] table = UnitCircleCache.get(number);
+        for (int i = 0; i < number * 2; i++) {
+            result[i] = (float) (radius * table[i]);
+        }
+        return result;
+    }
+
 }
@@ -0,0 +1,135 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.codec;
+
+import be.yildiz.common.Color;
+import be.yildiz.common.vector.MutablePoint3D;
+import be.yildiz.common.vector.Point3D;
+import be.yildiz.common.vector.Quaternion;
+import be.yildiz.common.vector.Radian;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class BinaryCodecTest {
+
+    public static class FullPrecision {
+
+        @Test
+        public void point3D() {
+            ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.POINT3D_BYTES * 2);
+            BinaryCodec.writePoint3D(buffer, Point3D.xyz(1.1f, -2.2f, 3.3f));
+            BinaryCodec.writePoint3D(buffer, new MutablePoint3D().set(4, 5, 6));
+            Assert.assertFalse(buffer.hasRemaining());
+            buffer.flip();
+            Assert.assertEquals(Point3D.xyz(1.1f, -2.2f, 3.3f), BinaryCodec.readPoint3D(buffer));
+            Assert.assertTrue(BinaryCodec.readPoint3D(buffer, new MutablePoint3D()).sameValues(Point3D.xyz(4, 5, 6)));
+        }
+
+        @Test
+        public void quaternion() {
+            ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.QUATERNION_BYTES);
+            Quaternion q = new Quaternion(0.1f, 0.2f, 0.3f, 0.4f);
+            BinaryCodec.writeQuaternion(buffer, q);
+            buffer.flip();
+            Assert.assertEquals(q, BinaryCodec.readQuaternion(buffer));
+        }
+
+        @Test
+        public void color() {
+            ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.COLOR_BYTES);
+            Color c = new Color(255, 128, 0, 12);
+            BinaryCodec.writeColor(buffer, c);
+            buffer.flip();
+            Assert.assertEquals(c, BinaryCodec.readColor(buffer));
+        }
+
+        @Test
+        public void radian() {
+            ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.RADIAN_BYTES);
+            BinaryCodec.writeRadian(buffer, new Radian(1.234f));
+            buffer.flip();
+            Assert.assertEquals(new Radian(1.234f), BinaryCodec.readRadian(buffer));
+        }
+    }
+
+    public static class SmallestThree {
+
+        @Test
+        public void sameRotation() {
+            Random random = new Random(5);
+            ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.QUATERNION_SMALLEST_THREE_BYTES);
+            for (int i = 0; i < 1000; i++) {
+                Quaternion q = new Quaternion(
+                        random.nextFloat() * 2 - 1,
+                        random.nextFloat() * 2 - 1,
+                        random.nextFloat() * 2 - 1,
+                        random.nextFloat() * 2 - 1).normalize();
+                buffer.clear();
+                BinaryCodec.writeQuaternionSmallestThree(buffer, q);
+                Assert.assertFalse(buffer.hasRemaining());
+                buffer.flip();
+                Quaternion read = BinaryCodec.readQuaternionSmallestThree(buffer);
+                Assert.assertEquals(1, Math.abs(q.dot(read)), 0.00001f);
+            }
+        }
+
+        @Test
+        public void identity() {
+            ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.QUATERNION_SMALLEST_THREE_BYTES);
+            BinaryCodec.writeQuaternionSmallestThree(buffer, new Quaternion(-1, 0, 0, 0));
+            buffer.flip();
+            Quaternion read = BinaryCodec.readQuaternionSmallestThree(buffer);
+            Assert.assertEquals(1, read.w, 0.0001f);
+            Assert.assertEquals(0, read.x, 0.001f);
+        }
+    }
+
+    public static class RadianQuantized {
+
+        @Test
+        public void happyFlow() {
+            ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.RADIAN_QUANTIZED_BYTES);
+            BinaryCodec.writeRadianQuantized(buffer, new Radian(-1.5f));
+            buffer.flip();
+            Assert.assertEquals(-1.5f, BinaryCodec.readRadianQuantized(buffer).angle, 0.0001f);
+        }
+
+        @Test
+        public void wrapped() {
+            ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.RADIAN_QUANTIZED_BYTES);
+            BinaryCodec.writeRadianQuantized(buffer, new Radian((float) (Math.PI * 2 + 1)));
+            buffer.flip();
+            Assert.assertEquals(1, BinaryCodec.readRadianQuantized(buffer).angle, 0.0001f);
+        }
+    }
+}
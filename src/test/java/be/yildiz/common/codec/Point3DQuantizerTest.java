@@ -0,0 +1,100 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.codec;
+
+import be.yildiz.common.vector.MutablePoint3D;
+import be.yildiz.common.vector.Point3D;
+import be.yildiz.common.vector.Point3DBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class Point3DQuantizerTest {
+
+    private static Point3DQuantizer givenAQuantizer() {
+        return new Point3DQuantizer(Point3D.xyz(-1000, 0, -1000), Point3D.xyz(1000, 100, 1000));
+    }
+
+    public static class Constructor {
+
+        @Test(expected = IllegalArgumentException.class)
+        public void maxNotGreaterThanMin() {
+            new Point3DQuantizer(Point3D.xyz(0, 0, 0), Point3D.xyz(10, 0, 10));
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void nullMin() {
+            new Point3DQuantizer(null, Point3D.xyz(10));
+        }
+    }
+
+    public static class WriteRead {
+
+        @Test
+        public void happyFlow() {
+            Point3DQuantizer q = givenAQuantizer();
+            ByteBuffer buffer = ByteBuffer.allocate(Point3DQuantizer.BYTES);
+            q.write(buffer, Point3D.xyz(123.456f, 12.3f, -999.9f));
+            Assert.assertFalse(buffer.hasRemaining());
+            buffer.flip();
+            Point3D read = q.read(buffer);
+            Point3D precision = q.getPrecision();
+            Assert.assertEquals(123.456f, read.x, precision.x / 2);
+            Assert.assertEquals(12.3f, read.y, precision.y / 2);
+            Assert.assertEquals(-999.9f, read.z, precision.z / 2);
+        }
+
+        @Test
+        public void bounds() {
+            Point3DQuantizer q = givenAQuantizer();
+            ByteBuffer buffer = ByteBuffer.allocate(Point3DQuantizer.BYTES * 2);
+            q.write(buffer, Point3D.xyz(-1000, 0, -1000));
+            q.write(buffer, new MutablePoint3D().set(5000, 100, 1000));
+            buffer.flip();
+            Assert.assertEquals(Point3D.xyz(-1000, 0, -1000), q.read(buffer));
+            Assert.assertTrue(q.read(buffer, new MutablePoint3D()).sameValues(Point3D.xyz(1000, 100, 1000)));
+        }
+
+        @Test
+        public void pointBuffer() {
+            Point3DQuantizer q = givenAQuantizer();
+            Point3DBuffer points = Point3DBuffer.create(2);
+            points.append(1, 2, 3);
+            points.append(-4, 5, -6);
+            ByteBuffer buffer = ByteBuffer.allocate(Point3DQuantizer.BYTES * 2);
+            q.write(buffer, points);
+            buffer.flip();
+            Point3DBuffer read = q.read(buffer, 2, Point3DBuffer.create(2));
+            Assert.assertEquals(2, read.size());
+            Assert.assertEquals(-6, read.getZ(1), q.getPrecision().z / 2);
+        }
+    }
+}
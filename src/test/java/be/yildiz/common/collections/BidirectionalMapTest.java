@@ -28,8 +28,10 @@ import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -175,6 +177,25 @@ public class BidirectionalMapTest {
         }
     }
 
+    public static class Views {
+
+        @Test
+        public void happyFlow() {
+            BidirectionalMap<String, String> bm = Maps.newBidirectionalMap();
+            Set<String> keys = bm.keySet();
+            Set<String> values = bm.valueSet();
+            bm.put("key", "value");
+            Assert.assertEquals(Collections.singleton("key"), keys);
+            Assert.assertEquals(Collections.singleton("value"), values);
+        }
+
+        @Test(expected = UnsupportedOperationException.class)
+        public void readOnly() {
+            BidirectionalMap<String, String> bm = Maps.newBidirectionalMap();
+            bm.valueSet().add("value");
+        }
+    }
+
     public static class GetIterator {
 
         @Test
@@ -0,0 +1,212 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class CompressedBitmapTest {
+
+    /**
+     * Build a set and its expected content, mixing sparse, dense and consecutive values.
+     */
+    private static TreeSet<Long> fill(final CompressedBitmap bitmap, final long seed) {
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(seed);
+        for (int i = 0; i < 3000; i++) {
+            long v = random.nextInt(1 << 20) - (1 << 19);
+            bitmap.add(v);
+            expected.add(v);
+        }
+        for (int i = 0; i < 10000; i++) {
+            long v = 300000 + random.nextInt(20000);
+            bitmap.add(v);
+            expected.add(v);
+        }
+        long start = 5_000_000_000L + random.nextInt(1000);
+        for (long v = start; v < start + 70000; v++) {
+            bitmap.add(v);
+            expected.add(v);
+        }
+        return expected;
+    }
+
+    private static void assertSame(final TreeSet<Long> expected, final CompressedBitmap bitmap) {
+        Assert.assertEquals(expected.size(), bitmap.cardinality());
+        PrimitiveIterator.OfLong it = bitmap.iterator();
+        for (long v : expected) {
+            Assert.assertTrue(it.hasNext());
+            Assert.assertEquals(v, it.nextLong());
+        }
+        Assert.assertFalse(it.hasNext());
+    }
+
+    public static class Add {
+
+        @Test
+        public void happyFlow() {
+            CompressedBitmap bitmap = new CompressedBitmap();
+            Assert.assertTrue(bitmap.add(5));
+            Assert.assertFalse(bitmap.add(5));
+            Assert.assertTrue(bitmap.contains(5));
+            Assert.assertFalse(bitmap.contains(6));
+            Assert.assertEquals(1, bitmap.cardinality());
+        }
+
+        @Test
+        public void extremeValues() {
+            CompressedBitmap bitmap = CompressedBitmap.of(Long.MAX_VALUE, Long.MIN_VALUE, -1, 0);
+            Assert.assertArrayEquals(new long[]{Long.MIN_VALUE, -1, 0, Long.MAX_VALUE}, bitmap.toArray());
+        }
+
+        @Test
+        public void sameAsTreeSet() {
+            CompressedBitmap bitmap = new CompressedBitmap();
+            CompressedBitmapTest.assertSame(CompressedBitmapTest.fill(bitmap, 1), bitmap);
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void happyFlow() {
+            CompressedBitmap bitmap = CompressedBitmap.of(1, 2);
+            Assert.assertTrue(bitmap.remove(1));
+            Assert.assertFalse(bitmap.remove(1));
+            Assert.assertFalse(bitmap.remove(100000));
+            Assert.assertTrue(bitmap.remove(2));
+            Assert.assertTrue(bitmap.isEmpty());
+        }
+
+        @Test
+        public void sameAsTreeSet() {
+            CompressedBitmap bitmap = new CompressedBitmap();
+            TreeSet<Long> expected = CompressedBitmapTest.fill(bitmap, 2);
+            bitmap.runOptimize();
+            Random random = new Random(3);
+            List<Long> values = new ArrayList<>(expected);
+            for (int i = 0; i < 40000; i++) {
+                long v = values.get(random.nextInt(values.size()));
+                Assert.assertEquals(expected.remove(v), bitmap.remove(v));
+            }
+            CompressedBitmapTest.assertSame(expected, bitmap);
+        }
+    }
+
+    public static class SetOperations {
+
+        @Test
+        public void sameAsTreeSet() {
+            for (int optimize = 0; optimize < 4; optimize++) {
+                CompressedBitmap a = new CompressedBitmap();
+                CompressedBitmap b = new CompressedBitmap();
+                TreeSet<Long> expectedA = CompressedBitmapTest.fill(a, 10);
+                TreeSet<Long> expectedB = CompressedBitmapTest.fill(b, 20);
+                if ((optimize & 1) != 0) {
+                    a.runOptimize();
+                }
+                if ((optimize & 2) != 0) {
+                    b.runOptimize();
+                }
+                TreeSet<Long> and = new TreeSet<>(expectedA);
+                and.retainAll(expectedB);
+                TreeSet<Long> or = new TreeSet<>(expectedA);
+                or.addAll(expectedB);
+                TreeSet<Long> andNot = new TreeSet<>(expectedA);
+                andNot.removeAll(expectedB);
+                CompressedBitmapTest.assertSame(and, a.and(b));
+                Assert.assertEquals(and.size(), a.andCardinality(b));
+                CompressedBitmapTest.assertSame(or, a.or(b));
+                CompressedBitmapTest.assertSame(andNot, a.andNot(b));
+                CompressedBitmapTest.assertSame(expectedA, a);
+                CompressedBitmapTest.assertSame(expectedB, b);
+            }
+        }
+
+        @Test
+        public void resultIsIndependent() {
+            CompressedBitmap a = CompressedBitmap.of(1, 2);
+            CompressedBitmap b = CompressedBitmap.of(3);
+            CompressedBitmap or = a.or(b);
+            or.add(4);
+            a.add(5);
+            Assert.assertEquals(CompressedBitmap.of(1, 2, 3, 4), or);
+            Assert.assertEquals(CompressedBitmap.of(1, 2, 5), a);
+        }
+
+        @Test
+        public void emptyResult() {
+            CompressedBitmap a = CompressedBitmap.of(1, 2);
+            Assert.assertTrue(a.and(CompressedBitmap.of(3)).isEmpty());
+            Assert.assertTrue(a.andNot(a).isEmpty());
+            Assert.assertEquals(a, a.or(new CompressedBitmap()));
+        }
+    }
+
+    public static class RunOptimize {
+
+        @Test
+        public void keepValues() {
+            CompressedBitmap bitmap = new CompressedBitmap();
+            TreeSet<Long> expected = CompressedBitmapTest.fill(bitmap, 4);
+            CompressedBitmap copy = bitmap.or(new CompressedBitmap());
+            bitmap.runOptimize();
+            CompressedBitmapTest.assertSame(expected, bitmap);
+            Assert.assertEquals(copy, bitmap);
+            Assert.assertEquals(copy.hashCode(), bitmap.hashCode());
+            bitmap.add(5_100_000_000L);
+            Assert.assertTrue(bitmap.contains(5_100_000_000L));
+        }
+    }
+
+    public static class Iteration {
+
+        @Test
+        public void forEach() {
+            CompressedBitmap bitmap = CompressedBitmap.of(70000, -3, 8);
+            List<Long> result = new ArrayList<>();
+            bitmap.forEach(result::add);
+            Assert.assertEquals("[-3, 8, 70000]", result.toString());
+            Assert.assertEquals("[-3, 8, 70000]", bitmap.toString());
+        }
+
+        @Test(expected = NoSuchElementException.class)
+        public void afterLast() {
+            new CompressedBitmap().iterator().nextLong();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class ConcurrentBidirectionalMapTest {
+
+    public static class Put {
+
+        @Test
+        public void happyFlow() {
+            ConcurrentBidirectionalMap<String, Integer> bm = Maps.newConcurrentBidirectionalMap();
+            bm.put("key", 1);
+            Assert.assertEquals(Integer.valueOf(1), bm.getValue("key"));
+            Assert.assertEquals("key", bm.getKey(1));
+            Assert.assertEquals(1, bm.size());
+        }
+
+        @Test
+        public void withAlreadyExistingKey() {
+            ConcurrentBidirectionalMap<String, Integer> bm = Maps.newConcurrentBidirectionalMap();
+            bm.put("key", 1);
+            bm.put("key", 2);
+            Assert.assertEquals(Integer.valueOf(2), bm.getValue("key"));
+            Assert.assertNull(bm.getKey(1));
+            Assert.assertEquals(1, bm.size());
+        }
+
+        @Test
+        public void withAlreadyExistingValue() {
+            ConcurrentBidirectionalMap<String, Integer> bm = Maps.newConcurrentBidirectionalMap();
+            bm.put("key", 1);
+            bm.put("other", 1);
+            Assert.assertEquals("other", bm.getKey(1));
+            Assert.assertNull(bm.getValue("key"));
+            Assert.assertEquals(1, bm.size());
+        }
+
+        @Test
+        public void ifAbsent() {
+            ConcurrentBidirectionalMap<String, Integer> bm = Maps.newConcurrentBidirectionalMap();
+            Assert.assertTrue(bm.putIfAbsent("key", 1));
+            Assert.assertFalse(bm.putIfAbsent("key", 2));
+            Assert.assertFalse(bm.putIfAbsent("other", 1));
+            Assert.assertEquals("key", bm.getKeyOr(1, "default"));
+            Assert.assertEquals("default", bm.getKeyOr(2, "default"));
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void withNullKey() {
+            Maps.<String, Integer>newConcurrentBidirectionalMap().put(null, 1);
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void withNullValue() {
+            Maps.<String, Integer>newConcurrentBidirectionalMap().put("key", null);
+        }
+
+        @Test
+        public void concurrent() throws Exception {
+            ConcurrentBidirectionalMap<Integer, Integer> bm = Maps.newConcurrentBidirectionalMap();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    final int seed = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 5000; i++) {
+                            int key = (i * 7 + seed) % 100;
+                            int value = (i * 13 + seed * 3) % 100;
+                            if (i % 3 == 0) {
+                                bm.remove(key);
+                            } else {
+                                bm.put(key, value);
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            Assert.assertEquals(bm.keySet().size(), bm.valueSet().size());
+            for (Integer key : bm.keySet()) {
+                Assert.assertEquals(key, bm.getKey(bm.getValue(key)));
+            }
+        }
+    }
+
+    public static class Atomicity {
+
+        @Test(timeout = 60000)
+        public void neverHalfOfAPut() throws Exception {
+            ConcurrentBidirectionalMap<Integer, Integer> bm = Maps.newConcurrentBidirectionalMap();
+            bm.put(0, 0);
+            AtomicBoolean done = new AtomicBoolean();
+            ExecutorService executor = Executors.newFixedThreadPool(3);
+            try {
+                Future<?> writer = executor.submit(() -> {
+                    for (int i = 1; i < 500000; i++) {
+                        bm.put(0, i);
+                    }
+                    done.set(true);
+                });
+                List<Future<Integer>> readers = new ArrayList<>();
+                for (int t = 0; t < 2; t++) {
+                    readers.add(executor.submit(() -> {
+                        int torn = 0;
+                        while (!done.get()) {
+                            Integer value = bm.getValue(0);
+                            // The values only increase, once the value lost its key, the key must have a newer value.
+                            if (bm.getKey(value) == null && value.equals(bm.getValue(0))) {
+                                torn++;
+                            }
+                        }
+                        return torn;
+                    }));
+                }
+                writer.get();
+                for (Future<Integer> f : readers) {
+                    Assert.assertEquals(0, f.get().intValue());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void happyFlow() {
+            ConcurrentBidirectionalMap<String, Integer> bm = Maps.newConcurrentBidirectionalMap();
+            bm.put("key", 1);
+            Assert.assertEquals(Integer.valueOf(1), bm.remove("key"));
+            Assert.assertNull(bm.getKey(1));
+            Assert.assertNull(bm.getValue("key"));
+            Assert.assertTrue(bm.isEmpty());
+        }
+
+        @Test
+        public void value() {
+            ConcurrentBidirectionalMap<String, Integer> bm = Maps.newConcurrentBidirectionalMap();
+            bm.put("key", 1);
+            Assert.assertEquals("key", bm.removeValue(1));
+            Assert.assertNull(bm.getValue("key"));
+            Assert.assertNull(bm.removeValue(1));
+        }
+
+        @Test
+        public void notExisting() {
+            Assert.assertNull(Maps.<String, Integer>newConcurrentBidirectionalMap().remove("key"));
+        }
+    }
+
+    public static class Views {
+
+        @Test
+        public void reflectChanges() {
+            ConcurrentBidirectionalMap<String, Integer> bm = Maps.newConcurrentBidirectionalMap();
+            Set<String> keys = bm.keySet();
+            Set<Integer> values = bm.valueSet();
+            bm.put("key", 1);
+            Assert.assertTrue(keys.contains("key"));
+            Assert.assertTrue(values.contains(1));
+            bm.clear();
+            Assert.assertTrue(keys.isEmpty());
+            Assert.assertTrue(values.isEmpty());
+        }
+
+        @Test(expected = UnsupportedOperationException.class)
+        public void readOnly() {
+            Maps.<String, Integer>newConcurrentBidirectionalMap().keySet().add("key");
+        }
+
+        @Test(expected = UnsupportedOperationException.class)
+        public void iteratorReadOnly() {
+            ConcurrentBidirectionalMap<String, Integer> bm = Maps.newConcurrentBidirectionalMap();
+            bm.put("key", 1);
+            bm.iterator().next().setValue(2);
+        }
+    }
+}
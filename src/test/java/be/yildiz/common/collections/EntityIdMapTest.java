@@ -0,0 +1,127 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import be.yildiz.common.id.EntityId;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class EntityIdMapTest {
+
+    public static class Put {
+
+        @Test
+        public void happyFlow() {
+            EntityIdMap<String> map = new EntityIdMap<>();
+            Assert.assertNull(map.put(EntityId.get(5L), "a"));
+            Assert.assertEquals("a", map.get(EntityId.get(5L)));
+            Assert.assertTrue(map.containsKey(EntityId.get(5L)));
+            Assert.assertEquals(1, map.size());
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void nullId() {
+            new EntityIdMap<String>().put(null, "a");
+        }
+    }
+
+    public static class ComputeIfAbsent {
+
+        @Test
+        public void happyFlow() {
+            EntityIdMap<String> map = new EntityIdMap<>(10);
+            Assert.assertEquals("3", map.computeIfAbsent(EntityId.get(3L), EntityId::toString));
+            Assert.assertEquals("3", map.computeIfAbsent(EntityId.get(3L), id -> "other"));
+            Assert.assertEquals(1, map.size());
+        }
+
+        @Test
+        public void nullNotInserted() {
+            EntityIdMap<String> map = new EntityIdMap<>();
+            Assert.assertNull(map.computeIfAbsent(EntityId.get(3L), id -> null));
+            Assert.assertFalse(map.containsKey(EntityId.get(3L)));
+        }
+
+        @Test
+        public void grow() {
+            EntityIdMap<String> map = new EntityIdMap<>(1);
+            for (long i = 0; i < 100; i++) {
+                Assert.assertEquals(String.valueOf(i), map.computeIfAbsent(EntityId.get(i), id -> String.valueOf(id.value)));
+            }
+            Assert.assertEquals(100, map.size());
+            Assert.assertEquals("42", map.get(EntityId.get(42L)));
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void happyFlow() {
+            EntityIdMap<String> map = new EntityIdMap<>();
+            map.put(EntityId.get(5L), "a");
+            Assert.assertEquals("a", map.remove(EntityId.get(5L)));
+            Assert.assertTrue(map.isEmpty());
+            Assert.assertEquals("z", map.getOrDefault(EntityId.get(5L), "z"));
+        }
+    }
+
+    public static class Cursor {
+
+        @Test
+        public void happyFlow() {
+            EntityIdMap<String> map = new EntityIdMap<>();
+            map.put(EntityId.get(1L), "a");
+            map.put(EntityId.get(2L), "b");
+            Set<EntityId> ids = new HashSet<>();
+            EntityIdMap.Cursor<String> cursor = map.cursor();
+            while (cursor.next()) {
+                ids.add(cursor.key());
+                Assert.assertEquals(cursor.keyValue() == 1L ? "a" : "b", cursor.value());
+            }
+            Assert.assertEquals(2, ids.size());
+            Assert.assertTrue(ids.contains(EntityId.get(2L)));
+        }
+
+        @Test
+        public void reset() {
+            EntityIdMap<String> map = new EntityIdMap<>();
+            map.put(EntityId.get(1L), "a");
+            EntityIdMap.Cursor<String> cursor = map.cursor();
+            Assert.assertTrue(cursor.next());
+            Assert.assertFalse(cursor.next());
+            cursor.reset();
+            Assert.assertTrue(cursor.next());
+            Assert.assertEquals("a", cursor.value());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import be.yildiz.common.id.EntityId;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class EntityIdSetTest {
+
+    public static class Add {
+
+        @Test
+        public void happyFlow() {
+            EntityIdSet set = new EntityIdSet();
+            Assert.assertTrue(set.add(EntityId.get(5L)));
+            Assert.assertFalse(set.add(EntityId.get(5L)));
+            Assert.assertTrue(set.contains(EntityId.get(5L)));
+            Assert.assertEquals(1, set.cardinality());
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void nullId() {
+            new EntityIdSet().add(null);
+        }
+    }
+
+    public static class SetOperations {
+
+        @Test
+        public void happyFlow() {
+            EntityIdSet visible = new EntityIdSet();
+            EntityIdSet sleeping = new EntityIdSet();
+            for (long i = 1; i <= 10; i++) {
+                visible.add(EntityId.get(i));
+            }
+            sleeping.add(EntityId.get(2L));
+            sleeping.add(EntityId.get(20L));
+            Assert.assertEquals(1, visible.and(sleeping).cardinality());
+            Assert.assertEquals(1, visible.andCardinality(sleeping));
+            Assert.assertEquals(11, visible.or(sleeping).cardinality());
+            Assert.assertFalse(visible.andNot(sleeping).contains(EntityId.get(2L)));
+        }
+
+        @Test
+        public void equalsByContent() {
+            EntityIdSet set = new EntityIdSet();
+            set.add(EntityId.get(3L));
+            EntityIdSet other = new EntityIdSet();
+            other.add(EntityId.get(3L));
+            Assert.assertEquals(set, other);
+            Assert.assertEquals(set.hashCode(), other.hashCode());
+            Assert.assertNotEquals(set, new PlayerIdSet());
+        }
+
+        @Test
+        public void forEach() {
+            EntityIdSet set = new EntityIdSet();
+            set.add(EntityId.get(3L));
+            set.add(EntityId.get(1L));
+            List<EntityId> result = new ArrayList<>();
+            set.forEach(result::add);
+            Assert.assertEquals(Arrays.asList(EntityId.get(1L), EntityId.get(3L)), result);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class FloatListTest {
+
+    public static class Add {
+
+        @Test
+        public void happyFlow() {
+            FloatList list = new FloatList(0);
+            for (int i = 0; i < 100; i++) {
+                list.add(i * 0.5f);
+            }
+            Assert.assertEquals(100, list.size());
+            Assert.assertEquals(49.5f, list.get(99), 0f);
+            list.trimToSize();
+            list.add(1f);
+            Assert.assertEquals(101, list.size());
+        }
+
+        @Test
+        public void insert() {
+            FloatList list = FloatList.of(1f, 3f);
+            list.insert(1, 2f);
+            list.insert(3, 4f);
+            list.insert(0, 0f);
+            Assert.assertArrayEquals(new float[]{0f, 1f, 2f, 3f, 4f}, list.toArray(), 0f);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void insertOutOfRange() {
+            FloatList.of(1f).insert(2, 1f);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void insertNegative() {
+            FloatList.of(1f).insert(-1, 1f);
+        }
+
+        @Test
+        public void ensureNegativeCapacity() {
+            FloatList list = FloatList.of(1f);
+            list.ensureCapacity(-1);
+            Assert.assertArrayEquals(new float[]{1f}, list.toArray(), 0f);
+        }
+    }
+
+    public static class Get {
+
+        @Test
+        public void set() {
+            FloatList list = FloatList.of(1f, 2f);
+            Assert.assertEquals(2f, list.set(1, 5f), 0f);
+            Assert.assertEquals(5f, list.get(1), 0f);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void beyondSize() {
+            FloatList list = new FloatList(10);
+            list.add(1f);
+            list.get(1);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void negative() {
+            FloatList.of(1f).get(-1);
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void happyFlow() {
+            FloatList list = FloatList.of(1f, 2f, 3f);
+            Assert.assertEquals(2f, list.removeAt(1), 0f);
+            Assert.assertArrayEquals(new float[]{1f, 3f}, list.toArray(), 0f);
+            Assert.assertEquals(3f, list.removeAt(1), 0f);
+            Assert.assertArrayEquals(new float[]{1f}, list.toArray(), 0f);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void outOfRange() {
+            FloatList.of(1f).removeAt(1);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void negative() {
+            FloatList.of(1f).removeAt(-1);
+        }
+    }
+
+    public static class Sort {
+
+        @Test
+        public void happyFlow() {
+            FloatList list = FloatList.of(3.5f, -1f, 2f);
+            list.sort();
+            Assert.assertArrayEquals(new float[]{-1f, 2f, 3.5f}, list.toArray(), 0f);
+            Assert.assertEquals(1, list.binarySearch(2f));
+            Assert.assertTrue(list.binarySearch(0f) < 0);
+        }
+    }
+
+    public static class Stream {
+
+        @Test
+        public void happyFlow() {
+            Assert.assertEquals(4.5, FloatList.of(1f, 1.5f, 2f).stream().sum(), 0.0);
+        }
+    }
+
+    public static class AsList {
+
+        @Test
+        public void happyFlow() {
+            FloatList list = FloatList.of(1f, 2f);
+            Assert.assertEquals(Arrays.asList(1f, 2f), list.asList());
+            list.asList().add(3f);
+            Assert.assertEquals(3f, list.get(2), 0f);
+        }
+    }
+
+    public static class Equals {
+
+        @Test
+        public void nan() {
+            Assert.assertEquals(FloatList.of(Float.NaN), FloatList.of(Float.NaN));
+            Assert.assertTrue(FloatList.of(Float.NaN).contains(Float.NaN));
+            Assert.assertNotEquals(FloatList.of(0f), FloatList.of(-0f));
+            Assert.assertEquals("[1.0, 2.5]", FloatList.of(1f, 2.5f).toString());
+        }
+    }
+}
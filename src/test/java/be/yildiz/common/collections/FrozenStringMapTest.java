@@ -0,0 +1,121 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class FrozenStringMapTest {
+
+    private static Map<String, Integer> givenAMap(final int size) {
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put("key" + i, i);
+        }
+        return map;
+    }
+
+    public static class CopyOf {
+
+        @Test
+        public void happyFlow() {
+            for (int size : new int[]{0, 1, 2, 3, 10, 1000, 20000}) {
+                Map<String, Integer> source = givenAMap(size);
+                FrozenStringMap<Integer> map = FrozenStringMap.copyOf(source);
+                Assert.assertEquals(size, map.size());
+                Assert.assertEquals(source, map);
+                Set<Integer> slots = new HashSet<>();
+                for (Map.Entry<String, Integer> e : source.entrySet()) {
+                    Assert.assertEquals(e.getValue(), map.get(e.getKey()));
+                    int slot = map.indexOf(e.getKey());
+                    Assert.assertEquals(e.getKey(), map.keyAt(slot));
+                    Assert.assertTrue(slots.add(slot));
+                }
+                Assert.assertNull(map.get("key" + size));
+                Assert.assertFalse(map.containsKey("other"));
+            }
+        }
+
+        @Test
+        public void sameHashCodes() {
+            Map<String, Integer> source = new HashMap<>();
+            source.put("Aa", 1);
+            source.put("BB", 2);
+            source.put("AaAa", 3);
+            source.put("BBBB", 4);
+            source.put("AaBB", 5);
+            FrozenStringMap<Integer> map = FrozenStringMap.copyOf(source);
+            Assert.assertEquals(source, map);
+            Assert.assertEquals(Integer.valueOf(2), map.get("BB"));
+            Assert.assertEquals(Integer.valueOf(5), map.get("AaBB"));
+            Assert.assertNull(map.get("BBAa"));
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void nullMap() {
+            FrozenStringMap.copyOf(null);
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void nullValue() {
+            FrozenStringMap.copyOf(Collections.singletonMap("a", null));
+        }
+    }
+
+    public static class Get {
+
+        @Test
+        public void otherType() {
+            FrozenStringMap<Integer> map = Maps.freeze(givenAMap(3));
+            Assert.assertNull(map.get(1));
+            Assert.assertNull(map.get(null));
+            Assert.assertFalse(map.containsKey(null));
+        }
+    }
+
+    public static class Modify {
+
+        @Test(expected = UnsupportedOperationException.class)
+        public void put() {
+            Maps.<Integer>freeze(givenAMap(3)).put("a", 1);
+        }
+
+        @Test(expected = UnsupportedOperationException.class)
+        public void remove() {
+            Maps.<Integer>freeze(givenAMap(3)).remove("key1");
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class IntListTest {
+
+    public static class Constructor {
+
+        @Test
+        public void happyFlow() {
+            IntList list = new IntList();
+            Assert.assertTrue(list.isEmpty());
+            Assert.assertEquals(0, list.size());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void negativeCapacity() {
+            new IntList(-1);
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void ofNull() {
+            IntList.of((int[]) null);
+        }
+    }
+
+    public static class Add {
+
+        @Test
+        public void happyFlow() {
+            IntList list = new IntList(0);
+            for (int i = 0; i < 1000; i++) {
+                list.add(i);
+            }
+            Assert.assertEquals(1000, list.size());
+            for (int i = 0; i < 1000; i++) {
+                Assert.assertEquals(i, list.get(i));
+            }
+        }
+
+        @Test
+        public void bulk() {
+            IntList list = IntList.of(1, 2);
+            list.addAll(new int[]{5, 6, 7, 8}, 1, 2);
+            list.addAll(IntList.of(9));
+            list.addAll(10, 11);
+            Assert.assertArrayEquals(new int[]{1, 2, 6, 7, 9, 10, 11}, list.toArray());
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void bulkOutOfRange() {
+            new IntList().addAll(new int[]{1, 2}, 1, 2);
+        }
+
+        @Test
+        public void insert() {
+            IntList list = IntList.of(1, 3);
+            list.insert(1, 2);
+            list.insert(3, 4);
+            list.insert(0, 0);
+            Assert.assertArrayEquals(new int[]{0, 1, 2, 3, 4}, list.toArray());
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void insertOutOfRange() {
+            IntList.of(1).insert(2, 1);
+        }
+    }
+
+    public static class Get {
+
+        @Test
+        public void set() {
+            IntList list = IntList.of(1, 2);
+            Assert.assertEquals(2, list.set(1, 5));
+            Assert.assertEquals(5, list.get(1));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void beyondSize() {
+            IntList list = new IntList(10);
+            list.add(1);
+            list.get(1);
+        }
+
+        @Test
+        public void indexOf() {
+            IntList list = IntList.of(4, 5, 4);
+            Assert.assertEquals(0, list.indexOf(4));
+            Assert.assertEquals(-1, list.indexOf(3));
+            Assert.assertTrue(list.contains(5));
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void happyFlow() {
+            IntList list = IntList.of(1, 2, 3);
+            Assert.assertEquals(2, list.removeAt(1));
+            Assert.assertArrayEquals(new int[]{1, 3}, list.toArray());
+            list.clear();
+            Assert.assertTrue(list.isEmpty());
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void outOfRange() {
+            IntList.of(1).removeAt(1);
+        }
+    }
+
+    public static class Sort {
+
+        @Test
+        public void sameAsArray() {
+            Random random = new Random(3);
+            IntList list = new IntList();
+            for (int i = 0; i < 500; i++) {
+                list.add(random.nextInt(200) - 100);
+            }
+            int[] expected = list.toArray();
+            Arrays.sort(expected);
+            list.sort();
+            Assert.assertArrayEquals(expected, list.toArray());
+            for (int v = -110; v < 110; v++) {
+                int index = list.binarySearch(v);
+                int expectedIndex = Arrays.binarySearch(expected, v);
+                Assert.assertEquals(expectedIndex >= 0, index >= 0);
+                if (index >= 0) {
+                    Assert.assertEquals(v, list.get(index));
+                } else {
+                    Assert.assertEquals(expectedIndex, index);
+                }
+            }
+        }
+
+        @Test
+        public void ignoreUnusedCapacity() {
+            IntList list = new IntList(10);
+            list.addAll(3, 1, 2);
+            list.sort();
+            Assert.assertArrayEquals(new int[]{1, 2, 3}, list.toArray());
+            Assert.assertEquals(-4, list.binarySearch(4));
+        }
+    }
+
+    public static class Capacity {
+
+        @Test
+        public void ensureCapacity() {
+            IntList list = new IntList(0);
+            list.ensureCapacity(100);
+            list.addAll(new int[100]);
+            Assert.assertEquals(100, list.size());
+            list.trimToSize();
+            list.add(1);
+            Assert.assertEquals(101, list.size());
+        }
+
+        @Test
+        public void ensureNegativeCapacity() {
+            IntList list = IntList.of(1);
+            list.ensureCapacity(-1);
+            list.ensureCapacity(0);
+            Assert.assertArrayEquals(new int[]{1}, list.toArray());
+        }
+
+        @Test(expected = OutOfMemoryError.class)
+        public void tooLarge() {
+            new IntList().ensureCapacity(Integer.MAX_VALUE);
+        }
+    }
+
+    public static class Stream {
+
+        @Test
+        public void happyFlow() {
+            IntList list = new IntList(10);
+            list.addAll(1, 2, 3);
+            Assert.assertEquals(6, list.stream().sum());
+        }
+    }
+
+    public static class AsList {
+
+        @Test
+        public void happyFlow() {
+            IntList list = IntList.of(1, 2);
+            List<Integer> view = list.asList();
+            Assert.assertEquals(Arrays.asList(1, 2), view);
+            view.add(3);
+            view.set(0, 5);
+            view.remove(1);
+            Assert.assertArrayEquals(new int[]{5, 3}, list.toArray());
+            list.add(4);
+            Assert.assertEquals(new ArrayList<>(Arrays.asList(5, 3, 4)), view);
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void addNull() {
+            new IntList().asList().add(null);
+        }
+    }
+
+    public static class Equals {
+
+        @Test
+        public void happyFlow() {
+            IntList list = new IntList(10);
+            list.addAll(1, 2);
+            Assert.assertEquals(IntList.of(1, 2), list);
+            Assert.assertEquals(IntList.of(1, 2).hashCode(), list.hashCode());
+            Assert.assertEquals(Arrays.asList(1, 2).hashCode(), list.hashCode());
+            Assert.assertNotEquals(IntList.of(1, 3), list);
+            Assert.assertNotEquals(IntList.of(1), list);
+            Assert.assertEquals("[1, 2]", list.toString());
+        }
+    }
+}
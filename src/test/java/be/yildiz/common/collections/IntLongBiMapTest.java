@@ -0,0 +1,124 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class IntLongBiMapTest {
+
+    private static IntLongBiMap givenAMap() {
+        return new IntLongBiMap(4, -1, -1L);
+    }
+
+    public static class Constructor {
+
+        @Test
+        public void happyFlow() {
+            IntLongBiMap map = givenAMap();
+            Assert.assertTrue(map.isEmpty());
+            Assert.assertEquals(-1, map.getMissingKey());
+            Assert.assertEquals(-1L, map.getMissingValue());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void negativeSize() {
+            new IntLongBiMap(-1, 0, 0L);
+        }
+    }
+
+    public static class Put {
+
+        @Test
+        public void happyFlow() {
+            IntLongBiMap map = givenAMap();
+            for (int i = 0; i < 1000; i++) {
+                map.put(i, i * 100_000_000_000L);
+            }
+            Assert.assertEquals(1000, map.size());
+            for (int i = 0; i < 1000; i++) {
+                Assert.assertEquals(i * 100_000_000_000L, map.getValue(i));
+                Assert.assertEquals(i, map.getKey(i * 100_000_000_000L));
+            }
+        }
+
+        @Test
+        public void replaceKey() {
+            IntLongBiMap map = givenAMap();
+            map.put(1, 10L);
+            map.put(1, 20L);
+            Assert.assertEquals(20L, map.getValue(1));
+            Assert.assertFalse(map.containsValue(10L));
+            Assert.assertEquals(-1, map.getKey(10L));
+            Assert.assertEquals(1, map.size());
+        }
+
+        @Test
+        public void replaceValue() {
+            IntLongBiMap map = givenAMap();
+            map.put(1, 10L);
+            map.put(2, 10L);
+            Assert.assertEquals(2, map.getKey(10L));
+            Assert.assertFalse(map.containsKey(1));
+            Assert.assertEquals(1, map.size());
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void key() {
+            IntLongBiMap map = givenAMap();
+            map.put(0, 0L);
+            Assert.assertEquals(0L, map.removeKey(0));
+            Assert.assertFalse(map.containsValue(0L));
+            Assert.assertEquals(-1L, map.removeKey(0));
+        }
+
+        @Test
+        public void value() {
+            IntLongBiMap map = givenAMap();
+            map.put(5, 50L);
+            Assert.assertEquals(5, map.removeValue(50L));
+            Assert.assertFalse(map.containsKey(5));
+            Assert.assertEquals(-1, map.removeValue(50L));
+            Assert.assertTrue(map.isEmpty());
+        }
+
+        @Test
+        public void clear() {
+            IntLongBiMap map = givenAMap();
+            map.put(5, 50L);
+            map.clear();
+            Assert.assertTrue(map.isEmpty());
+            Assert.assertEquals(-1L, map.getValue(5));
+        }
+    }
+}
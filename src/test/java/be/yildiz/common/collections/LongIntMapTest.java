@@ -0,0 +1,106 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class LongIntMapTest {
+
+    public static class Put {
+
+        @Test
+        public void happyFlow() {
+            LongIntMap map = new LongIntMap(4, -1);
+            Assert.assertEquals(-1, map.put(5, 10));
+            Assert.assertEquals(10, map.put(5, 11));
+            Assert.assertEquals(11, map.get(5));
+            Assert.assertEquals(-1, map.get(6));
+            Assert.assertEquals(1, map.size());
+        }
+
+        @Test
+        public void zeroKey() {
+            LongIntMap map = new LongIntMap(4, -1);
+            Assert.assertFalse(map.containsKey(0));
+            Assert.assertEquals(-1, map.put(0, 3));
+            Assert.assertTrue(map.containsKey(0));
+            Assert.assertEquals(3, map.get(0));
+            Assert.assertEquals(1, map.size());
+            Assert.assertEquals(3, map.remove(0));
+            Assert.assertEquals(-1, map.remove(0));
+            Assert.assertTrue(map.isEmpty());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void negativeSize() {
+            new LongIntMap(-1, 0);
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void sameAsHashMap() {
+            LongIntMap map = new LongIntMap(0, Integer.MIN_VALUE);
+            Map<Long, Integer> expected = new HashMap<>();
+            Random random = new Random(8);
+            for (int i = 0; i < 200000; i++) {
+                long key = random.nextInt(600) - 300;
+                if (random.nextBoolean()) {
+                    Integer previous = expected.put(key, i);
+                    Assert.assertEquals(previous == null ? Integer.MIN_VALUE : previous, map.put(key, i));
+                } else {
+                    Integer previous = expected.remove(key);
+                    Assert.assertEquals(previous == null ? Integer.MIN_VALUE : previous, map.remove(key));
+                }
+                Assert.assertEquals(expected.size(), map.size());
+            }
+            for (long key = -300; key < 300; key++) {
+                Assert.assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+        }
+
+        @Test
+        public void clear() {
+            LongIntMap map = new LongIntMap(4, -1);
+            map.put(1, 1);
+            map.put(0, 1);
+            map.clear();
+            Assert.assertTrue(map.isEmpty());
+            Assert.assertFalse(map.containsKey(0));
+            Assert.assertFalse(map.containsKey(1));
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class LongListTest {
+
+    public static class Constructor {
+
+        @Test
+        public void happyFlow() {
+            LongList list = new LongList();
+            Assert.assertTrue(list.isEmpty());
+            Assert.assertEquals(0, list.size());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void negativeCapacity() {
+            new LongList(-1);
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void ofNull() {
+            LongList.of((long[]) null);
+        }
+    }
+
+    public static class Add {
+
+        @Test
+        public void happyFlow() {
+            LongList list = new LongList(0);
+            for (int i = 0; i < 1000; i++) {
+                list.add(i + Integer.MAX_VALUE);
+            }
+            Assert.assertEquals(1000, list.size());
+            for (int i = 0; i < 1000; i++) {
+                Assert.assertEquals(i + Integer.MAX_VALUE, list.get(i));
+            }
+        }
+
+        @Test
+        public void bulk() {
+            LongList list = LongList.of(1, 2);
+            list.addAll(new long[]{5, 6, 7, 8}, 1, 2);
+            list.addAll(LongList.of(9));
+            list.addAll(10, 11);
+            Assert.assertArrayEquals(new long[]{1, 2, 6, 7, 9, 10, 11}, list.toArray());
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void bulkOutOfRange() {
+            new LongList().addAll(new long[]{1, 2}, 1, 2);
+        }
+
+        @Test
+        public void insert() {
+            LongList list = LongList.of(1, 3);
+            list.insert(1, 2);
+            list.insert(3, 4);
+            list.insert(0, 0);
+            Assert.assertArrayEquals(new long[]{0, 1, 2, 3, 4}, list.toArray());
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void insertOutOfRange() {
+            LongList.of(1).insert(2, 1);
+        }
+    }
+
+    public static class Get {
+
+        @Test
+        public void set() {
+            LongList list = LongList.of(1, 2);
+            Assert.assertEquals(2, list.set(1, 5));
+            Assert.assertEquals(5, list.get(1));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void beyondSize() {
+            LongList list = new LongList(10);
+            list.add(1);
+            list.get(1);
+        }
+
+        @Test
+        public void indexOf() {
+            LongList list = LongList.of(4, 5, 4);
+            Assert.assertEquals(0, list.indexOf(4));
+            Assert.assertEquals(-1, list.indexOf(3));
+            Assert.assertTrue(list.contains(5));
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void happyFlow() {
+            LongList list = LongList.of(1, 2, 3);
+            Assert.assertEquals(2, list.removeAt(1));
+            Assert.assertArrayEquals(new long[]{1, 3}, list.toArray());
+            list.clear();
+            Assert.assertTrue(list.isEmpty());
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void outOfRange() {
+            LongList.of(1).removeAt(1);
+        }
+    }
+
+    public static class Sort {
+
+        @Test
+        public void sameAsArray() {
+            Random random = new Random(3);
+            LongList list = new LongList();
+            for (int i = 0; i < 500; i++) {
+                list.add((random.nextInt(200) - 100) * 10_000_000_000L);
+            }
+            long[] expected = list.toArray();
+            Arrays.sort(expected);
+            list.sort();
+            Assert.assertArrayEquals(expected, list.toArray());
+            for (long v = -110L * 10_000_000_000L; v < 110L * 10_000_000_000L; v += 5_000_000_000L) {
+                int index = list.binarySearch(v);
+                int expectedIndex = Arrays.binarySearch(expected, v);
+                Assert.assertEquals(expectedIndex >= 0, index >= 0);
+                if (index >= 0) {
+                    Assert.assertEquals(v, list.get(index));
+                } else {
+                    Assert.assertEquals(expectedIndex, index);
+                }
+            }
+        }
+
+        @Test
+        public void extremes() {
+            LongList list = LongList.of(Long.MAX_VALUE, 1L);
+            list.add(Long.MIN_VALUE);
+            list.sort();
+            Assert.assertArrayEquals(new long[]{Long.MIN_VALUE, 1L, Long.MAX_VALUE}, list.toArray());
+            Assert.assertEquals(2, list.binarySearch(Long.MAX_VALUE));
+        }
+
+        @Test
+        public void ignoreUnusedCapacity() {
+            LongList list = new LongList(10);
+            list.addAll(3, 1, 2);
+            list.sort();
+            Assert.assertArrayEquals(new long[]{1, 2, 3}, list.toArray());
+            Assert.assertEquals(-4, list.binarySearch(4));
+        }
+    }
+
+    public static class Capacity {
+
+        @Test
+        public void ensureCapacity() {
+            LongList list = new LongList(0);
+            list.ensureCapacity(100);
+            list.addAll(new long[100]);
+            Assert.assertEquals(100, list.size());
+            list.trimToSize();
+            list.add(1L);
+            Assert.assertEquals(101, list.size());
+        }
+
+        @Test
+        public void ensureNegativeCapacity() {
+            LongList list = LongList.of(1L);
+            list.ensureCapacity(-1);
+            list.ensureCapacity(0);
+            Assert.assertArrayEquals(new long[]{1L}, list.toArray());
+        }
+
+        @Test(expected = OutOfMemoryError.class)
+        public void tooLarge() {
+            new LongList().ensureCapacity(Integer.MAX_VALUE);
+        }
+    }
+
+    public static class Stream {
+
+        @Test
+        public void happyFlow() {
+            LongList list = new LongList(10);
+            list.addAll(1, 2, 3);
+            Assert.assertEquals(6, list.stream().sum());
+        }
+    }
+
+    public static class AsList {
+
+        @Test
+        public void happyFlow() {
+            LongList list = LongList.of(1, 2);
+            List<Long> view = list.asList();
+            Assert.assertEquals(Arrays.asList(1L, 2L), view);
+            view.add(3L);
+            view.set(0, 5L);
+            view.remove(1);
+            Assert.assertArrayEquals(new long[]{5, 3}, list.toArray());
+            list.add(4);
+            Assert.assertEquals(new ArrayList<>(Arrays.asList(5L, 3L, 4L)), view);
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void addNull() {
+            new LongList().asList().add(null);
+        }
+    }
+
+    public static class Equals {
+
+        @Test
+        public void happyFlow() {
+            LongList list = new LongList(10);
+            list.addAll(1, 2);
+            Assert.assertEquals(LongList.of(1, 2), list);
+            Assert.assertEquals(LongList.of(1, 2).hashCode(), list.hashCode());
+            Assert.assertEquals(Arrays.asList(1L, 2L).hashCode(), list.hashCode());
+            Assert.assertNotEquals(LongList.of(1, 3), list);
+            Assert.assertNotEquals(LongList.of(1), list);
+            Assert.assertEquals("[1, 2]", list.toString());
+        }
+    }
+}
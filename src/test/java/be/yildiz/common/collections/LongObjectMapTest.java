@@ -0,0 +1,244 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class LongObjectMapTest {
+
+    public static class Constructor {
+
+        @Test
+        public void happyFlow() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            Assert.assertTrue(map.isEmpty());
+            Assert.assertEquals(0, map.size());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void negativeSize() {
+            new LongObjectMap<String>(-1);
+        }
+    }
+
+    public static class Put {
+
+        @Test
+        public void happyFlow() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            Assert.assertNull(map.put(5, "a"));
+            Assert.assertEquals("a", map.get(5));
+            Assert.assertEquals("a", map.put(5, "b"));
+            Assert.assertEquals("b", map.get(5));
+            Assert.assertEquals(1, map.size());
+        }
+
+        @Test
+        public void grow() {
+            LongObjectMap<String> map = new LongObjectMap<>(0);
+            for (long i = 0; i < 1000; i++) {
+                map.put(i << 32, String.valueOf(i));
+            }
+            Assert.assertEquals(1000, map.size());
+            for (long i = 0; i < 1000; i++) {
+                Assert.assertEquals(String.valueOf(i), map.get(i << 32));
+            }
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void nullValue() {
+            new LongObjectMap<String>().put(1, null);
+        }
+    }
+
+    public static class Get {
+
+        @Test
+        public void notExisting() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            map.put(1, "a");
+            Assert.assertNull(map.get(2));
+            Assert.assertEquals("z", map.getOrDefault(2, "z"));
+            Assert.assertEquals("a", map.getOrDefault(1, "z"));
+            Assert.assertTrue(map.containsKey(1));
+            Assert.assertFalse(map.containsKey(2));
+        }
+    }
+
+    public static class ComputeIfAbsent {
+
+        @Test
+        public void happyFlow() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            Assert.assertEquals("7", map.computeIfAbsent(7, String::valueOf));
+            Assert.assertEquals("7", map.computeIfAbsent(7, k -> "other"));
+            Assert.assertEquals(1, map.size());
+        }
+
+        @Test
+        public void nullResult() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            Assert.assertNull(map.computeIfAbsent(7, k -> null));
+            Assert.assertTrue(map.isEmpty());
+        }
+    }
+
+    public static class ComputeIfAbsentWithKeyObject {
+
+        @Test
+        public void happyFlow() {
+            LongObjectMap<String> map = new LongObjectMap<>(1);
+            for (long i = 0; i < 100; i++) {
+                Assert.assertEquals("k" + i, map.computeIfAbsent(i, "k" + i, k -> k));
+            }
+            Assert.assertEquals("k7", map.computeIfAbsent(7, "other", k -> k));
+            Assert.assertEquals(100, map.size());
+        }
+
+        @Test
+        public void nullNotInserted() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            Assert.assertNull(map.computeIfAbsent(7, "k", k -> null));
+            Assert.assertFalse(map.containsKey(7));
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void happyFlow() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            map.put(1, "a");
+            Assert.assertEquals("a", map.remove(1));
+            Assert.assertNull(map.remove(1));
+            Assert.assertTrue(map.isEmpty());
+        }
+
+        @Test
+        public void sameAsHashMap() {
+            LongObjectMap<Long> map = new LongObjectMap<>(4);
+            Map<Long, Long> expected = new HashMap<>();
+            Random random = new Random(11);
+            for (int i = 0; i < 200000; i++) {
+                long key = random.nextInt(500);
+                if (random.nextBoolean()) {
+                    Assert.assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+                } else {
+                    Assert.assertEquals(expected.remove(key), map.remove(key));
+                }
+                Assert.assertEquals(expected.size(), map.size());
+            }
+            for (long key = 0; key < 500; key++) {
+                Assert.assertEquals(expected.get(key), map.get(key));
+            }
+        }
+
+        @Test
+        public void clear() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            map.put(1, "a");
+            map.clear();
+            Assert.assertTrue(map.isEmpty());
+            Assert.assertNull(map.get(1));
+        }
+    }
+
+    public static class Cursor {
+
+        @Test
+        public void happyFlow() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            for (long i = -50; i < 50; i++) {
+                map.put(i, String.valueOf(i));
+            }
+            Map<Long, String> result = new HashMap<>();
+            LongObjectMap.Cursor<String> cursor = map.cursor();
+            while (cursor.next()) {
+                result.put(cursor.key(), cursor.value());
+            }
+            Assert.assertEquals(100, result.size());
+            Assert.assertEquals("-50", result.get(-50L));
+            Assert.assertFalse(cursor.next());
+        }
+
+        @Test
+        public void setValue() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            map.put(1, "a");
+            LongObjectMap.Cursor<String> cursor = map.cursor();
+            Assert.assertTrue(cursor.next());
+            cursor.setValue("b");
+            Assert.assertEquals("b", map.get(1));
+        }
+
+        @Test
+        public void reset() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            map.put(1, "a");
+            map.put(2, "b");
+            LongObjectMap.Cursor<String> cursor = map.cursor();
+            Assert.assertTrue(cursor.next());
+            cursor.reset();
+            int count = 0;
+            while (cursor.next()) {
+                count++;
+            }
+            Assert.assertEquals(2, count);
+        }
+
+        @Test(expected = NoSuchElementException.class)
+        public void resetBeforeFirst() {
+            LongObjectMap<String> map = new LongObjectMap<>();
+            map.put(1, "a");
+            LongObjectMap.Cursor<String> cursor = map.cursor();
+            cursor.next();
+            cursor.reset();
+            cursor.key();
+        }
+
+        @Test(expected = NoSuchElementException.class)
+        public void beforeFirst() {
+            new LongObjectMap<String>().cursor().key();
+        }
+
+        @Test(expected = NoSuchElementException.class)
+        public void afterLast() {
+            LongObjectMap.Cursor<String> cursor = new LongObjectMap<String>().cursor();
+            cursor.next();
+            cursor.value();
+        }
+    }
+}
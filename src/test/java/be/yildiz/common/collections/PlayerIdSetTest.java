@@ -0,0 +1,139 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.collections;
+
+import be.yildiz.common.id.PlayerId;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class PlayerIdSetTest {
+
+    public static class Add {
+
+        @Test
+        public void happyFlow() {
+            PlayerIdSet set = new PlayerIdSet();
+            Assert.assertTrue(set.add(PlayerId.get(5)));
+            Assert.assertFalse(set.add(PlayerId.get(5)));
+            Assert.assertTrue(set.contains(PlayerId.get(5)));
+            Assert.assertFalse(set.contains(PlayerId.get(6)));
+            Assert.assertEquals(1, set.cardinality());
+        }
+
+        @Test
+        public void negative() {
+            PlayerIdSet set = new PlayerIdSet();
+            set.add(PlayerId.get(-7));
+            Assert.assertTrue(set.contains(PlayerId.get(-7)));
+            Assert.assertFalse(set.contains(PlayerId.get(7)));
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void nullId() {
+            new PlayerIdSet().add(null);
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void happyFlow() {
+            PlayerIdSet set = new PlayerIdSet();
+            set.add(PlayerId.get(5));
+            Assert.assertTrue(set.remove(PlayerId.get(5)));
+            Assert.assertFalse(set.remove(PlayerId.get(5)));
+            Assert.assertFalse(set.contains(PlayerId.get(5)));
+            Assert.assertTrue(set.isEmpty());
+        }
+
+        @Test
+        public void clear() {
+            PlayerIdSet set = new PlayerIdSet();
+            set.add(PlayerId.get(1));
+            set.add(PlayerId.get(2));
+            set.clear();
+            Assert.assertTrue(set.isEmpty());
+        }
+    }
+
+    public static class SetOperations {
+
+        @Test
+        public void union() {
+            PlayerIdSet set = new PlayerIdSet();
+            set.add(PlayerId.get(1));
+            set.add(PlayerId.get(2));
+            PlayerIdSet other = new PlayerIdSet();
+            other.add(PlayerId.get(2));
+            other.add(PlayerId.get(-3));
+            PlayerIdSet union = set.or(other);
+            Assert.assertEquals(3, union.cardinality());
+            Assert.assertTrue(union.contains(PlayerId.get(-3)));
+            Assert.assertEquals(2, set.cardinality());
+        }
+
+        @Test
+        public void intersection() {
+            PlayerIdSet set = new PlayerIdSet();
+            set.add(PlayerId.get(4));
+            PlayerIdSet other = new PlayerIdSet();
+            other.add(PlayerId.get(4));
+            other.add(PlayerId.get(-7));
+            Assert.assertEquals(set, set.and(other));
+            Assert.assertEquals(1, set.andCardinality(other));
+        }
+
+        @Test
+        public void difference() {
+            PlayerIdSet set = new PlayerIdSet();
+            set.add(PlayerId.get(4));
+            set.add(PlayerId.get(5));
+            PlayerIdSet other = new PlayerIdSet();
+            other.add(PlayerId.get(4));
+            PlayerIdSet difference = set.andNot(other);
+            Assert.assertFalse(difference.contains(PlayerId.get(4)));
+            Assert.assertTrue(difference.contains(PlayerId.get(5)));
+        }
+
+        @Test
+        public void forEach() {
+            PlayerIdSet set = new PlayerIdSet();
+            set.add(PlayerId.get(4));
+            set.add(PlayerId.get(-7));
+            List<PlayerId> result = new ArrayList<>();
+            set.forEach(result::add);
+            Assert.assertEquals(Arrays.asList(PlayerId.get(-7), PlayerId.get(4)), result);
+        }
+    }
+}
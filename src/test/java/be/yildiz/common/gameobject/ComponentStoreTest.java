@@ -0,0 +1,257 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.gameobject;
+
+import be.yildiz.common.id.EntityHandle;
+import be.yildiz.common.id.EntityHandleAllocator;
+import be.yildiz.common.id.EntityId;
+import be.yildiz.common.id.EntityIdentifiable;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class ComponentStoreTest {
+
+    private static final class Component implements EntityIdentifiable {
+
+        private final EntityId id;
+
+        private final String value;
+
+        private Component(final long id, final String value) {
+            this.id = EntityId.get(id);
+            this.value = value;
+        }
+
+        @Override
+        public EntityId getId() {
+            return this.id;
+        }
+    }
+
+    /**
+     * Create a store with an allocator having a handle for the ids 0 to 99.
+     */
+    private static ComponentStore<Component> givenAStore(final EntityHandleAllocator allocator, final int expectedSize) {
+        for (long i = 0; i < 100; i++) {
+            if (allocator.getHandle(EntityId.get(i)) == EntityHandle.NONE) {
+                allocator.create(EntityId.get(i));
+            }
+        }
+        return new ComponentStore<>(allocator, expectedSize);
+    }
+
+    private static ComponentStore<Component> givenAStore() {
+        return givenAStore(new EntityHandleAllocator(), 64);
+    }
+
+    public static class Add {
+
+        @Test
+        public void happyFlow() {
+            ComponentStore<Component> store = givenAStore();
+            Component c = new Component(5, "a");
+            Assert.assertNull(store.add(c));
+            Assert.assertSame(c, store.get(EntityId.get(5L)));
+            Assert.assertTrue(store.contains(EntityId.get(5L)));
+            Assert.assertEquals(1, store.size());
+        }
+
+        @Test
+        public void replace() {
+            ComponentStore<Component> store = givenAStore();
+            Component c = new Component(5, "a");
+            store.add(c);
+            Assert.assertSame(c, store.add(new Component(5, "b")));
+            Assert.assertEquals("b", store.get(EntityId.get(5L)).value);
+            Assert.assertEquals(1, store.size());
+        }
+
+        @Test
+        public void grow() {
+            EntityHandleAllocator allocator = new EntityHandleAllocator(1);
+            ComponentStore<Component> store = givenAStore(allocator, 1);
+            for (long i = 100; i < 500; i++) {
+                allocator.create(EntityId.get(i));
+            }
+            for (long i = 0; i < 500; i++) {
+                store.add(new Component(i, String.valueOf(i)));
+            }
+            Assert.assertEquals(500, store.size());
+            Assert.assertEquals("499", store.get(EntityId.get(499L)).value);
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void nullComponent() {
+            givenAStore().add(null);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void noHandle() {
+            givenAStore().add(new Component(100, "a"));
+        }
+
+        @Test
+        public void staleHandleReplaced() {
+            EntityHandleAllocator allocator = new EntityHandleAllocator();
+            ComponentStore<Component> store = givenAStore(allocator, 64);
+            long stale = allocator.getHandle(EntityId.get(5L));
+            store.add(new Component(5, "a"));
+            allocator.release(stale);
+            long handle = allocator.create(EntityId.get(100L));
+            Assert.assertEquals(EntityHandle.index(stale), EntityHandle.index(handle));
+            Assert.assertNull(store.getByHandle(handle));
+            Assert.assertNull(store.add(new Component(100, "b")));
+            Assert.assertEquals(1, store.size());
+            Assert.assertNull(store.getByHandle(stale));
+            Assert.assertEquals("b", store.getByHandle(handle).value);
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void happyFlow() {
+            ComponentStore<Component> store = givenAStore();
+            store.add(new Component(1, "a"));
+            store.add(new Component(2, "b"));
+            store.add(new Component(3, "c"));
+            Assert.assertEquals("a", store.remove(EntityId.get(1L)).value);
+            Assert.assertNull(store.remove(EntityId.get(1L)));
+            Assert.assertNull(store.get(EntityId.get(1L)));
+            Assert.assertEquals("c", store.get(EntityId.get(3L)).value);
+            Assert.assertEquals("b", store.get(EntityId.get(2L)).value);
+            Assert.assertEquals(2, store.size());
+        }
+
+        @Test
+        public void last() {
+            ComponentStore<Component> store = givenAStore();
+            store.add(new Component(1, "a"));
+            store.add(new Component(2, "b"));
+            store.remove(EntityId.get(2L));
+            Assert.assertEquals("a", store.get(0).value);
+            Assert.assertEquals(1, store.size());
+        }
+
+        @Test
+        public void clear() {
+            ComponentStore<Component> store = givenAStore();
+            store.add(new Component(1, "a"));
+            store.clear();
+            Assert.assertTrue(store.isEmpty());
+            Assert.assertFalse(store.contains(EntityId.get(1L)));
+        }
+    }
+
+    public static class Handle {
+
+        @Test
+        public void happyFlow() {
+            EntityHandleAllocator allocator = new EntityHandleAllocator();
+            ComponentStore<Component> store = givenAStore(allocator, 64);
+            long handle = allocator.getHandle(EntityId.get(7L));
+            store.add(new Component(7, "a"));
+            Assert.assertTrue(store.containsHandle(handle));
+            Assert.assertEquals("a", store.getByHandle(handle).value);
+            Assert.assertEquals(handle, store.getHandle(0));
+            Assert.assertFalse(store.containsHandle(EntityHandle.NONE));
+            Assert.assertNull(store.getByHandle(0x80000000L));
+        }
+
+        @Test
+        public void staleHandle() {
+            EntityHandleAllocator allocator = new EntityHandleAllocator();
+            ComponentStore<Component> store = givenAStore(allocator, 64);
+            long handle = allocator.getHandle(EntityId.get(7L));
+            store.add(new Component(7, "a"));
+            allocator.release(handle);
+            allocator.create(EntityId.get(100L));
+            Assert.assertFalse(store.contains(EntityId.get(100L)));
+            Assert.assertTrue(store.containsHandle(handle));
+            Assert.assertEquals("a", store.removeByHandle(handle).value);
+            Assert.assertTrue(store.isEmpty());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void joinDifferentAllocators() {
+            ComponentStore.join(givenAStore(), givenAStore(), (a, b) -> {});
+        }
+    }
+
+    public static class Iteration {
+
+        @Test
+        public void forEach() {
+            ComponentStore<Component> store = givenAStore();
+            store.add(new Component(1, "a"));
+            store.add(new Component(2, "b"));
+            Set<String> result = new HashSet<>();
+            store.forEach(c -> result.add(c.value));
+            Assert.assertEquals(2, result.size());
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void indexOutOfBounds() {
+            givenAStore().get(0);
+        }
+
+        @Test
+        public void join() {
+            EntityHandleAllocator allocator = new EntityHandleAllocator();
+            ComponentStore<Component> positions = givenAStore(allocator, 64);
+            ComponentStore<Component> velocities = givenAStore(allocator, 64);
+            ComponentStore<Component> tags = givenAStore(allocator, 64);
+            for (long i = 0; i < 10; i++) {
+                positions.add(new Component(i, "p" + i));
+            }
+            velocities.add(new Component(3, "v3"));
+            velocities.add(new Component(7, "v7"));
+            velocities.add(new Component(42, "v42"));
+            tags.add(new Component(7, "t7"));
+            List<String> pairs = new ArrayList<>();
+            ComponentStore.join(positions, velocities, (p, v) -> pairs.add(p.value + v.value));
+            Assert.assertEquals(new HashSet<>(Arrays.asList("p3v3", "p7v7")), new HashSet<>(pairs));
+            pairs.clear();
+            ComponentStore.join(velocities, positions, (v, p) -> pairs.add(p.value + v.value));
+            Assert.assertEquals(2, pairs.size());
+            pairs.clear();
+            ComponentStore.join(positions, velocities, tags, (p, v, t) -> pairs.add(p.value + v.value + t.value));
+            Assert.assertEquals(Collections.singletonList("p7v7t7"), pairs);
+        }
+    }
+}
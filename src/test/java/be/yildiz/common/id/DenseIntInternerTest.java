@@ -0,0 +1,120 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class DenseIntInternerTest {
+
+    private static final class Value {
+
+        private final long value;
+
+        private Value(final long value) {
+            this.value = value;
+        }
+    }
+
+    public static class Constructor {
+
+        @Test
+        public void happyFlow() {
+            Assert.assertEquals(10, new DenseIntInterner<>(Value::new, 10).getLimit());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void negativeLimit() {
+            new DenseIntInterner<>(Value::new, -1);
+        }
+    }
+
+    public static class Get {
+
+        @Test
+        public void insideAndOutsideRange() {
+            DenseIntInterner<Value> interner = new DenseIntInterner<>(Value::new, 10);
+            for (int i = -20; i < 20; i++) {
+                Value v = interner.get(i);
+                Assert.assertEquals(i, v.value);
+                Assert.assertSame(v, interner.get(i));
+                Assert.assertSame(v, interner.get((long) i));
+            }
+            Assert.assertEquals(40, interner.size());
+        }
+
+        @Test
+        public void zeroLimit() {
+            DenseIntInterner<Value> interner = new DenseIntInterner<>(Value::new, 0);
+            Assert.assertSame(interner.get(0), interner.get(0));
+        }
+
+        @Test
+        public void registeredBeforeGet() {
+            DenseIntInterner<Value> interner = new DenseIntInterner<>(Value::new, 10);
+            Value v = new Value(3);
+            Assert.assertSame(v, interner.register(3, v));
+            Assert.assertSame(v, interner.get(3));
+        }
+
+        @Test
+        public void concurrent() throws Exception {
+            DenseIntInterner<Value> interner = new DenseIntInterner<>(Value::new, 1000);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<Value[]>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    futures.add(executor.submit(() -> {
+                        Value[] result = new Value[2000];
+                        for (int i = 0; i < result.length; i++) {
+                            result[i] = interner.get(i);
+                        }
+                        return result;
+                    }));
+                }
+                Value[] first = futures.get(0).get();
+                for (Future<Value[]> f : futures) {
+                    Value[] other = f.get();
+                    for (int i = 0; i < first.length; i++) {
+                        Assert.assertSame(first[i], other[i]);
+                    }
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class EntityHandleAllocatorTest {
+
+    public static class Handle {
+
+        @Test
+        public void pack() {
+            long handle = EntityHandle.of(12, 34);
+            Assert.assertEquals(12, EntityHandle.index(handle));
+            Assert.assertEquals(34, EntityHandle.generation(handle));
+            Assert.assertEquals(Integer.MAX_VALUE, EntityHandle.index(EntityHandle.of(Integer.MAX_VALUE, Integer.MAX_VALUE)));
+            Assert.assertTrue(EntityHandle.of(Integer.MAX_VALUE, Integer.MAX_VALUE) >= 0);
+        }
+    }
+
+    public static class Create {
+
+        @Test
+        public void happyFlow() {
+            EntityHandleAllocator allocator = new EntityHandleAllocator();
+            long a = allocator.create(EntityId.get(100L));
+            long b = allocator.create(EntityId.get(-5L));
+            Assert.assertEquals(0, EntityHandle.index(a));
+            Assert.assertEquals(1, EntityHandle.index(b));
+            Assert.assertEquals(2, allocator.size());
+            Assert.assertEquals(2, allocator.getCapacity());
+            Assert.assertSame(EntityId.get(100L), allocator.getEntityId(a));
+            Assert.assertEquals(b, allocator.getHandle(EntityId.get(-5L)));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void alreadyExisting() {
+            EntityHandleAllocator allocator = new EntityHandleAllocator();
+            allocator.create(EntityId.get(1L));
+            allocator.create(EntityId.get(1L));
+        }
+
+        @Test
+        public void grow() {
+            EntityHandleAllocator allocator = new EntityHandleAllocator(1);
+            List<Long> handles = new ArrayList<>();
+            for (long i = 0; i < 1000; i++) {
+                handles.add(allocator.create(EntityId.get(i * 7)));
+            }
+            for (int i = 0; i < 1000; i++) {
+                Assert.assertSame(EntityId.get(i * 7L), allocator.getEntityId(handles.get(i)));
+                Assert.assertEquals((long) handles.get(i), allocator.getHandle(EntityId.get(i * 7L)));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void zeroSize() {
+            new EntityHandleAllocator(0);
+        }
+    }
+
+    public static class Release {
+
+        @Test
+        public void staleHandle() {
+            EntityHandleAllocator allocator = new EntityHandleAllocator();
+            long handle = allocator.create(EntityId.get(1L));
+            Assert.assertTrue(allocator.release(handle));
+            Assert.assertFalse(allocator.isAlive(handle));
+            Assert.assertFalse(allocator.release(handle));
+            Assert.assertNull(allocator.getEntityId(handle));
+            Assert.assertEquals(EntityHandle.NONE, allocator.getHandle(EntityId.get(1L)));
+            Assert.assertEquals(0, allocator.size());
+        }
+
+        @Test
+        public void indexRecycled() {
+            EntityHandleAllocator allocator = new EntityHandleAllocator();
+            long first = allocator.create(EntityId.get(1L));
+            allocator.create(EntityId.get(2L));
+            allocator.release(EntityId.get(1L));
+            long reused = allocator.create(EntityId.get(3L));
+            Assert.assertEquals(EntityHandle.index(first), EntityHandle.index(reused));
+            Assert.assertNotEquals(first, reused);
+            Assert.assertFalse(allocator.isAlive(first));
+            Assert.assertTrue(allocator.isAlive(reused));
+            Assert.assertSame(EntityId.get(2L), allocator.getEntityId(allocator.getHandle(EntityId.get(2L))));
+            Assert.assertEquals(2, allocator.getCapacity());
+        }
+
+        @Test
+        public void notCreated() {
+            EntityHandleAllocator allocator = new EntityHandleAllocator();
+            Assert.assertFalse(allocator.release(EntityId.get(1L)));
+            Assert.assertFalse(allocator.isAlive(EntityHandle.of(5, 0)));
+            Assert.assertFalse(allocator.isAlive(EntityHandle.NONE));
+        }
+
+        @Test
+        public void negativeIndex() {
+            EntityHandleAllocator allocator = new EntityHandleAllocator();
+            allocator.create(EntityId.get(1L));
+            Assert.assertFalse(allocator.isAlive(0x80000000L));
+            Assert.assertNull(allocator.getEntityId(0x80000000L));
+            Assert.assertFalse(allocator.release(0x80000000L));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class EntityIdAllocatorTest {
+
+    private static final class MemoryMark implements IdHighWaterMark {
+
+        private long mark;
+
+        private int saves;
+
+        private MemoryMark(final long mark) {
+            this.mark = mark;
+        }
+
+        @Override
+        public long load() {
+            return this.mark;
+        }
+
+        @Override
+        public void save(final long mark) {
+            this.mark = mark;
+            this.saves++;
+        }
+    }
+
+    public static class Constructor {
+
+        @Test(expected = IllegalArgumentException.class)
+        public void zeroBlockSize() {
+            new EntityIdAllocator(0);
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void nullMark() {
+            new EntityIdAllocator(10, null);
+        }
+    }
+
+    public static class Next {
+
+        @Test
+        public void happyFlow() {
+            EntityIdAllocator allocator = new EntityIdAllocator(4);
+            for (long i = 1; i <= 10; i++) {
+                Assert.assertSame(EntityId.get(i), allocator.next());
+            }
+        }
+
+        @Test
+        public void uniqueAcrossThreads() throws Exception {
+            EntityIdAllocator allocator = new EntityIdAllocator(16);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<long[]>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    futures.add(executor.submit(() -> {
+                        long[] result = new long[10000];
+                        for (int i = 0; i < result.length; i++) {
+                            result[i] = allocator.nextValue();
+                        }
+                        return result;
+                    }));
+                }
+                Set<Long> all = new HashSet<>();
+                for (Future<long[]> f : futures) {
+                    for (long v : f.get()) {
+                        Assert.assertTrue(v > 0);
+                        Assert.assertTrue(all.add(v));
+                    }
+                }
+                Assert.assertEquals(40000, all.size());
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    public static class NextConcurrent {
+
+        @Test
+        public void uniqueInternedIds() throws Exception {
+            EntityIdAllocator allocator = new EntityIdAllocator(64);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<EntityId[]>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    futures.add(executor.submit(() -> {
+                        EntityId[] result = new EntityId[10000];
+                        for (int i = 0; i < result.length; i++) {
+                            result[i] = allocator.next();
+                        }
+                        return result;
+                    }));
+                }
+                Set<Long> all = new HashSet<>();
+                for (Future<EntityId[]> f : futures) {
+                    for (EntityId id : f.get()) {
+                        Assert.assertTrue(id.value > 0);
+                        Assert.assertSame(id, EntityId.get(id.value));
+                        Assert.assertTrue(all.add(id.value));
+                    }
+                }
+                Assert.assertEquals(40000, all.size());
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        public void mixedWithValues() {
+            EntityIdAllocator allocator = new EntityIdAllocator(4);
+            Set<Long> all = new HashSet<>();
+            for (int i = 0; i < 50; i++) {
+                Assert.assertTrue(all.add(allocator.nextValue()));
+                EntityId id = allocator.next();
+                Assert.assertSame(id, EntityId.get(id.value));
+                Assert.assertTrue(all.add(id.value));
+            }
+            Assert.assertEquals(100, all.size());
+        }
+    }
+
+    public static class HighWaterMark {
+
+        @Test
+        public void neverRepeatedAfterRestart() {
+            MemoryMark mark = new MemoryMark(0);
+            EntityIdAllocator first = new EntityIdAllocator(8, mark);
+            long last = 0;
+            for (int i = 0; i < 1000; i++) {
+                last = first.nextValue();
+            }
+            Assert.assertTrue(mark.mark > last);
+            Assert.assertTrue(mark.saves < 5);
+            EntityIdAllocator restarted = new EntityIdAllocator(8, mark);
+            Assert.assertTrue(restarted.nextValue() > last);
+        }
+
+        @Test
+        public void file() throws Exception {
+            Path file = Files.createTempFile("yildiz-id", ".mark");
+            Files.delete(file);
+            try {
+                IdHighWaterMark mark = IdHighWaterMark.file(file);
+                Assert.assertEquals(0, mark.load());
+                EntityIdAllocator allocator = new EntityIdAllocator(8, mark);
+                long value = allocator.nextValue();
+                Assert.assertEquals(1, value);
+                Assert.assertTrue(IdHighWaterMark.file(file).load() > value);
+                mark.save(42);
+                Assert.assertEquals(42, mark.load());
+                Assert.assertEquals(42, new EntityIdAllocator(8, mark).nextValue());
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
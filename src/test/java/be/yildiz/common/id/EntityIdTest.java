@@ -82,4 +82,15 @@ public final class EntityIdTest {
     public void testToString() {
         Assert.assertEquals("5", EntityId.get(5L).toString());
     }
+
+    /***/
+    @Test
+    public void testRegistrySize() {
+        int size = EntityId.getRegistrySize();
+        EntityId id = EntityId.get(987654321L);
+        Assert.assertEquals(size + 1, EntityId.getRegistrySize());
+        Assert.assertSame(id, EntityId.get(987654321L));
+        Assert.assertEquals(size + 1, EntityId.getRegistrySize());
+        Assert.assertEquals(0, EntityId.getReclaimedCount());
+    }
 }
@@ -0,0 +1,150 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class LongInternerTest {
+
+    private static final class Value {
+
+        private final long value;
+
+        private Value(final long value) {
+            this.value = value;
+        }
+    }
+
+    public static class GetRange {
+
+        @Test
+        public void happyFlow() {
+            LongInterner<Value> interner = new LongInterner<>(Value::new);
+            Value existing = interner.get(12);
+            Value[] result = new Value[110];
+            interner.getRange(10, 100, result);
+            Assert.assertSame(existing, result[2]);
+            Assert.assertNull(result[100]);
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(10 + i, result[i].value);
+                Assert.assertSame(result[i], interner.get(10 + i));
+            }
+            Assert.assertEquals(100, interner.size());
+        }
+    }
+
+    public static class Get {
+
+        @Test
+        public void sameInstance() {
+            LongInterner<Value> interner = new LongInterner<>(Value::new);
+            Value v = interner.get(5);
+            Assert.assertSame(v, interner.get(5));
+            Assert.assertEquals(5, v.value);
+            Assert.assertEquals(1, interner.size());
+        }
+
+        @Test
+        public void manyValues() {
+            LongInterner<Value> interner = new LongInterner<>(Value::new);
+            List<Value> values = new ArrayList<>();
+            for (long i = -5000; i < 5000; i++) {
+                values.add(interner.get(i * 31));
+            }
+            Assert.assertEquals(10000, interner.size());
+            for (int i = 0; i < values.size(); i++) {
+                Assert.assertSame(values.get(i), interner.get((i - 5000L) * 31));
+            }
+        }
+
+        @Test
+        public void extremeValues() {
+            LongInterner<Value> interner = new LongInterner<>(Value::new);
+            Assert.assertEquals(Long.MIN_VALUE, interner.get(Long.MIN_VALUE).value);
+            Assert.assertEquals(Long.MAX_VALUE, interner.get(Long.MAX_VALUE).value);
+            Assert.assertEquals(0, interner.get(0).value);
+        }
+
+        @Test
+        public void concurrent() throws Exception {
+            LongInterner<Value> interner = new LongInterner<>(Value::new);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<Value[]>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    Callable<Value[]> task = () -> {
+                        Value[] result = new Value[20000];
+                        for (int i = 0; i < result.length; i++) {
+                            result[i] = interner.get(i);
+                        }
+                        return result;
+                    };
+                    futures.add(executor.submit(task));
+                }
+                Value[] first = futures.get(0).get();
+                for (Future<Value[]> f : futures) {
+                    Value[] other = f.get();
+                    for (int i = 0; i < first.length; i++) {
+                        Assert.assertSame(first[i], other[i]);
+                    }
+                }
+                Assert.assertEquals(20000, interner.size());
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    public static class Register {
+
+        @Test
+        public void notExisting() {
+            LongInterner<Value> interner = new LongInterner<>(Value::new);
+            Value v = new Value(3);
+            Assert.assertSame(v, interner.register(3, v));
+            Assert.assertSame(v, interner.get(3));
+        }
+
+        @Test
+        public void existing() {
+            LongInterner<Value> interner = new LongInterner<>(Value::new);
+            Value v = interner.get(3);
+            Assert.assertSame(v, interner.register(3, new Value(3)));
+        }
+    }
+}
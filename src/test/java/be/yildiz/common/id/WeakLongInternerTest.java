@@ -0,0 +1,134 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.id;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class WeakLongInternerTest {
+
+    private static final class Value {
+
+        private final long value;
+
+        private Value(final long value) {
+            this.value = value;
+        }
+    }
+
+    public static class GetRange {
+
+        @Test
+        public void happyFlow() {
+            WeakLongInterner<Value> interner = new WeakLongInterner<>(Value::new);
+            Value existing = interner.get(12);
+            Value[] result = new Value[110];
+            interner.getRange(10, 100, result);
+            Assert.assertSame(existing, result[2]);
+            Assert.assertNull(result[100]);
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(10 + i, result[i].value);
+                Assert.assertSame(result[i], interner.get(10 + i));
+            }
+            Assert.assertEquals(100, interner.size());
+        }
+    }
+
+    public static class Get {
+
+        @Test
+        public void sameInstance() {
+            WeakLongInterner<Value> interner = new WeakLongInterner<>(Value::new);
+            Value v = interner.get(5);
+            Assert.assertSame(v, interner.get(5));
+            Assert.assertEquals(5, v.value);
+            Assert.assertEquals(1, interner.size());
+        }
+
+        @Test
+        public void manyValues() {
+            WeakLongInterner<Value> interner = new WeakLongInterner<>(Value::new);
+            List<Value> values = new ArrayList<>();
+            for (long i = -5000; i < 5000; i++) {
+                values.add(interner.get(i * 31));
+            }
+            Assert.assertEquals(10000, interner.size());
+            for (int i = 0; i < values.size(); i++) {
+                Assert.assertSame(values.get(i), interner.get((i - 5000L) * 31));
+            }
+        }
+    }
+
+    public static class Reclaim {
+
+        @Test
+        public void unusedIdsAreRemoved() throws InterruptedException {
+            WeakLongInterner<Value> interner = new WeakLongInterner<>(Value::new);
+            List<Value> kept = new ArrayList<>();
+            for (long i = 0; i < 1000; i++) {
+                Value v = interner.get(i);
+                if (i % 2 == 0) {
+                    kept.add(v);
+                }
+            }
+            for (int i = 0; i < 50 && interner.reclaimed() < 500; i++) {
+                System.gc();
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(500, interner.reclaimed());
+            Assert.assertEquals(500, interner.size());
+            for (int i = 0; i < kept.size(); i++) {
+                Assert.assertSame(kept.get(i), interner.get(i * 2L));
+            }
+            Assert.assertEquals(1, interner.get(1).value);
+            Assert.assertEquals(501, interner.size());
+        }
+
+        @Test
+        public void tableDoesNotGrowWithChurn() throws InterruptedException {
+            WeakLongInterner<Value> interner = new WeakLongInterner<>(Value::new);
+            for (long i = 0; i < 100000; i++) {
+                interner.get(i);
+                if (i % 10000 == 0) {
+                    System.gc();
+                }
+            }
+            for (int i = 0; i < 50 && interner.size() > 0; i++) {
+                System.gc();
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(0, interner.size());
+            Assert.assertEquals(100000, interner.reclaimed());
+        }
+    }
+}
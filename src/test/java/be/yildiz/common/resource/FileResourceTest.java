@@ -39,8 +39,12 @@ import org.junit.runner.RunWith;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
 /**
  * Test class for FileResource.
@@ -140,6 +144,38 @@ public final class  FileResourceTest {
         return new File(FileResourceTest.class.getClassLoader().getResource(name).getFile()).getAbsoluteFile();
     }
 
+    public static class ComputeCrc {
+
+        @Test
+        public void sameAsFullRead() throws IOException {
+            Path path = Files.createTempFile("crc", ".bin");
+            try {
+                byte[] content = new byte[3 * 1024 * 1024 + 17];
+                new Random(5).nextBytes(content);
+                Files.write(path, content);
+                CRC32 expected = new CRC32();
+                expected.update(content);
+                Assert.assertEquals(expected.getValue(), FileResource.computeCrc(path, 0, 1024 * 1024));
+                Assert.assertEquals(expected.getValue(), FileResource.computeCrc(path, content.length, content.length));
+                Assert.assertEquals(expected.getValue(), FileResource.computeCrc(path, content.length + 1, 1024));
+                Assert.assertEquals(expected.getValue(), FileResource.computeCrc(path, Long.MAX_VALUE, 1024));
+            } finally {
+                Files.delete(path);
+            }
+        }
+
+        @Test
+        public void emptyFile() throws IOException {
+            Path path = Files.createTempFile("crc", ".bin");
+            try {
+                Assert.assertEquals(0, FileResource.computeCrc(path, 1024, 1024));
+                Assert.assertEquals(0, FileResource.computeCrc(path, 0, 1024));
+            } finally {
+                Files.delete(path);
+            }
+        }
+    }
+
     public static class FindResource {
 
         @Test
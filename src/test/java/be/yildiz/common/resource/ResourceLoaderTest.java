@@ -0,0 +1,207 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.resource;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class ResourceLoaderTest {
+
+    private static class DummyResource extends Resource {
+
+        private final AtomicInteger loadCount = new AtomicInteger();
+
+        private final List<String> order;
+
+        private DummyResource(final String name, final List<String> order) {
+            super(name);
+            this.order = order;
+        }
+
+        @Override
+        protected void loadImpl() {
+            this.loadCount.incrementAndGet();
+            this.order.add(this.getName());
+        }
+    }
+
+    public static class Load {
+
+        @Test
+        public void happyFlow() throws Exception {
+            List<String> order = Collections.synchronizedList(new ArrayList<>());
+            DummyResource r = new DummyResource("r", order);
+            Assert.assertFalse(r.isLoaded());
+            Assert.assertSame(r, new ResourceLoader().load(r).get(5, TimeUnit.SECONDS));
+            Assert.assertTrue(r.isLoaded());
+            Assert.assertEquals(1, r.loadCount.get());
+        }
+
+        @Test
+        public void dependencies() throws Exception {
+            List<String> order = Collections.synchronizedList(new ArrayList<>());
+            DummyResource material = new DummyResource("material", order);
+            DummyResource texture = new DummyResource("texture", order);
+            DummyResource shader = new DummyResource("shader", order);
+            DummyResource image = new DummyResource("image", order);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                ResourceLoader loader = new ResourceLoader(executor);
+                loader.addDependency(material, texture, shader);
+                loader.addDependency(texture, image);
+                loader.loadAll(Arrays.asList(material, image, shader)).get(5, TimeUnit.SECONDS);
+            } finally {
+                executor.shutdown();
+            }
+            Assert.assertEquals(4, order.size());
+            Assert.assertEquals("material", order.get(3));
+            Assert.assertTrue(order.indexOf("image") < order.indexOf("texture"));
+            Assert.assertEquals(1, image.loadCount.get());
+        }
+
+        @Test
+        public void independentInParallel() throws Exception {
+            CountDownLatch started = new CountDownLatch(2);
+            List<Resource> resources = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                resources.add(new Resource(String.valueOf(i)) {
+                    @Override
+                    protected void loadImpl() {
+                        started.countDown();
+                        try {
+                            Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+                        } catch (InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                });
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                new ResourceLoader(executor).loadAll(resources).get(10, TimeUnit.SECONDS);
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        public void exactlyOnce() throws Exception {
+            DummyResource r = new DummyResource("r", Collections.synchronizedList(new ArrayList<>()));
+            ResourceLoader loader = new ResourceLoader();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    final boolean direct = t % 2 == 0;
+                    futures.add(executor.submit(() -> {
+                        if (direct) {
+                            r.load();
+                        } else {
+                            loader.load(r).join();
+                        }
+                    }));
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            Assert.assertEquals(1, r.loadCount.get());
+        }
+
+        @Test
+        public void failurePropagated() throws Exception {
+            AtomicInteger attempts = new AtomicInteger();
+            Resource failing = new Resource("failing") {
+                @Override
+                protected void loadImpl() {
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new IllegalStateException("broken");
+                    }
+                }
+            };
+            DummyResource dependent = new DummyResource("dependent", Collections.synchronizedList(new ArrayList<>()));
+            ResourceLoader loader = new ResourceLoader();
+            loader.addDependency(dependent, failing);
+            CompletableFuture<Resource> future = loader.load(dependent);
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+            Assert.assertFalse(failing.isLoaded());
+            Assert.assertEquals(0, dependent.loadCount.get());
+            loader.load(failing).get(5, TimeUnit.SECONDS);
+            Assert.assertTrue(failing.isLoaded());
+        }
+    }
+
+    public static class AddDependency {
+
+        @Test(expected = InvalidParameterException.class)
+        public void cycle() {
+            List<String> order = new ArrayList<>();
+            DummyResource a = new DummyResource("a", order);
+            DummyResource b = new DummyResource("b", order);
+            DummyResource c = new DummyResource("c", order);
+            ResourceLoader loader = new ResourceLoader();
+            loader.addDependency(a, b);
+            loader.addDependency(b, c);
+            loader.addDependency(c, a);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void self() {
+            DummyResource a = new DummyResource("a", new ArrayList<>());
+            new ResourceLoader().addDependency(a, a);
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void nullExecutor() {
+            new ResourceLoader(null);
+        }
+    }
+}
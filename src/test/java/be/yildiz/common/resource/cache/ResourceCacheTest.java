@@ -0,0 +1,326 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.resource.cache;
+
+import be.yildiz.common.resource.Resource;
+import be.yildiz.common.resource.ResourceLoader;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class ResourceCacheTest {
+
+    private static class DummyResource extends Resource {
+
+        private final long size;
+
+        private int loadCount;
+
+        private int unloadCount;
+
+        private DummyResource(final String name, final long size) {
+            super(name);
+            this.size = size;
+        }
+
+        @Override
+        protected void loadImpl() {
+            this.loadCount++;
+        }
+
+        @Override
+        protected void unloadImpl() {
+            this.unloadCount++;
+        }
+    }
+
+    private static ResourceCache<DummyResource> givenALruCache(final long budget) {
+        return new ResourceCache<>(budget, r -> r.size, EvictionPolicy.lru());
+    }
+
+    public static class Constructor {
+
+        @Test(expected = IllegalArgumentException.class)
+        public void negativeBudget() {
+            givenALruCache(-1);
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void nullPolicy() {
+            new ResourceCache<DummyResource>(10, r -> r.size, null);
+        }
+    }
+
+    public static class Get {
+
+        @Test
+        public void happyFlow() {
+            ResourceCache<DummyResource> cache = givenALruCache(100);
+            DummyResource r = new DummyResource("r", 10);
+            Assert.assertSame(r, cache.get(r));
+            Assert.assertTrue(r.isLoaded());
+            cache.get(r);
+            Assert.assertEquals(1, r.loadCount);
+            Assert.assertEquals(1, cache.getHitCount());
+            Assert.assertEquals(1, cache.getMissCount());
+            Assert.assertEquals(0.5, cache.getHitRate(), 0.0);
+            Assert.assertEquals(10, cache.getWeight());
+        }
+
+        @Test
+        public void evictLeastRecentlyUsed() {
+            ResourceCache<DummyResource> cache = givenALruCache(30);
+            DummyResource a = new DummyResource("a", 10);
+            DummyResource b = new DummyResource("b", 10);
+            DummyResource c = new DummyResource("c", 10);
+            DummyResource d = new DummyResource("d", 10);
+            cache.get(a);
+            cache.get(b);
+            cache.get(c);
+            cache.get(a);
+            cache.get(d);
+            Assert.assertFalse(cache.contains(b));
+            Assert.assertFalse(b.isLoaded());
+            Assert.assertEquals(1, b.unloadCount);
+            Assert.assertTrue(a.isLoaded());
+            Assert.assertEquals(30, cache.getWeight());
+            Assert.assertEquals(1, cache.getEvictionCount());
+        }
+
+        @Test
+        public void reloadAfterEviction() {
+            ResourceCache<DummyResource> cache = givenALruCache(10);
+            DummyResource a = new DummyResource("a", 10);
+            DummyResource b = new DummyResource("b", 10);
+            cache.get(a);
+            cache.get(b);
+            Assert.assertFalse(a.isLoaded());
+            cache.get(a);
+            Assert.assertTrue(a.isLoaded());
+            Assert.assertEquals(2, a.loadCount);
+            Assert.assertEquals(3, cache.getMissCount());
+        }
+
+        @Test
+        public void heavierThanBudget() {
+            ResourceCache<DummyResource> cache = givenALruCache(10);
+            DummyResource a = new DummyResource("a", 5);
+            DummyResource big = new DummyResource("big", 50);
+            cache.get(a);
+            cache.get(big);
+            Assert.assertTrue(big.isLoaded());
+            Assert.assertFalse(a.isLoaded());
+            Assert.assertEquals(50, cache.getWeight());
+        }
+
+        @Test
+        public void unloadedOutsideCache() {
+            ResourceCache<DummyResource> cache = givenALruCache(100);
+            DummyResource a = new DummyResource("a", 5);
+            cache.get(a);
+            a.unload();
+            cache.get(a);
+            Assert.assertTrue(a.isLoaded());
+            Assert.assertEquals(5, cache.getWeight());
+            Assert.assertEquals(0, cache.getHitCount());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void negativeWeight() {
+            givenALruCache(10).get(new DummyResource("a", -1));
+        }
+    }
+
+    public static class Unload {
+
+        @Test
+        public void outsideCacheLock() throws Exception {
+            ResourceCache<DummyResource> cache = givenALruCache(10);
+            AtomicBoolean lockFree = new AtomicBoolean();
+            DummyResource a = new DummyResource("a", 10) {
+                @Override
+                protected void unloadImpl() {
+                    Thread other = new Thread(() -> lockFree.set(cache.size() >= 0));
+                    other.start();
+                    try {
+                        other.join(5000);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            };
+            cache.get(a);
+            cache.get(new DummyResource("b", 10));
+            Assert.assertFalse(a.isLoaded());
+            Assert.assertTrue(lockFree.get());
+        }
+
+        @Test
+        public void reloadThroughLoader() throws Exception {
+            ResourceCache<DummyResource> cache = givenALruCache(10);
+            ResourceLoader loader = new ResourceLoader(Runnable::run);
+            DummyResource a = new DummyResource("a", 10);
+            loader.load(a).get();
+            cache.get(a);
+            cache.get(new DummyResource("b", 10));
+            Assert.assertFalse(a.isLoaded());
+            Assert.assertSame(a, loader.load(a).get());
+            Assert.assertTrue(a.isLoaded());
+            Assert.assertEquals(2, a.loadCount);
+        }
+    }
+
+    public static class Concurrent {
+
+        @Test(timeout = 60000)
+        public void neverUnloadedWhileCached() throws Exception {
+            ResourceCache<DummyResource> cache = givenALruCache(20);
+            AtomicInteger unloaded = new AtomicInteger();
+            List<DummyResource> resources = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                resources.add(new DummyResource(String.valueOf(i), 1) {
+                    @Override
+                    protected void unloadImpl() {
+                        // A resource returned by the cache after its eviction would be unloaded while cached.
+                        if (cache.contains(this)) {
+                            unloaded.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    int seed = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 50000; i++) {
+                            cache.get(resources.get((i * 7 + seed * 13) % resources.size()));
+                        }
+                    }));
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            Assert.assertEquals(0, unloaded.get());
+            Assert.assertTrue(cache.getWeight() <= 20);
+            for (DummyResource r : resources) {
+                Assert.assertEquals(cache.contains(r), r.isLoaded());
+            }
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void happyFlow() {
+            ResourceCache<DummyResource> cache = givenALruCache(100);
+            DummyResource a = new DummyResource("a", 5);
+            cache.get(a);
+            Assert.assertTrue(cache.remove(a));
+            Assert.assertFalse(cache.remove(a));
+            Assert.assertFalse(a.isLoaded());
+            Assert.assertEquals(0, cache.getWeight());
+            Assert.assertEquals(0, cache.getEvictionCount());
+        }
+
+        @Test
+        public void clear() {
+            ResourceCache<DummyResource> cache = givenALruCache(100);
+            List<DummyResource> resources = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                resources.add(cache.get(new DummyResource(String.valueOf(i), 5)));
+            }
+            cache.clear();
+            Assert.assertEquals(0, cache.size());
+            for (DummyResource r : resources) {
+                Assert.assertFalse(r.isLoaded());
+            }
+        }
+    }
+
+    public static class WindowTinyLfu {
+
+        @Test
+        public void scanResistant() {
+            ResourceCache<DummyResource> cache = new ResourceCache<>(100, r -> r.size, EvictionPolicy.windowTinyLfu(100));
+            List<DummyResource> hot = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                hot.add(new DummyResource("hot" + i, 1));
+            }
+            for (int round = 0; round < 5; round++) {
+                for (DummyResource r : hot) {
+                    cache.get(r);
+                }
+            }
+            for (int i = 0; i < 1000; i++) {
+                cache.get(new DummyResource("scan" + i, 1));
+            }
+            int kept = 0;
+            for (DummyResource r : hot) {
+                if (cache.contains(r)) {
+                    kept++;
+                }
+            }
+            Assert.assertTrue("Only " + kept + " hot resources kept", kept >= 45);
+            Assert.assertTrue(cache.getWeight() <= 100);
+        }
+
+        @Test
+        public void lruIsNot() {
+            ResourceCache<DummyResource> cache = givenALruCache(100);
+            List<DummyResource> hot = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                hot.add(cache.get(new DummyResource("hot" + i, 1)));
+            }
+            for (int i = 0; i < 1000; i++) {
+                cache.get(new DummyResource("scan" + i, 1));
+            }
+            for (DummyResource r : hot) {
+                Assert.assertFalse(cache.contains(r));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void invalidExpectedEntries() {
+            EvictionPolicy.windowTinyLfu(0);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.spatial;
+
+import be.yildiz.common.shape.Box;
+import be.yildiz.common.shape.Plane;
+import be.yildiz.common.shape.Sphere;
+import be.yildiz.common.vector.Point3D;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class LooseOctreeTest {
+
+    private static LooseOctree<String> givenAnOctree() {
+        return new LooseOctree<>(Point3D.ZERO, 128, 6);
+    }
+
+    public static class Constructor {
+
+        @Test
+        public void happyFlow() {
+            Assert.assertEquals(0, givenAnOctree().size());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void zeroHalfSize() {
+            new LooseOctree<String>(Point3D.ZERO, 0, 6);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void negativeDepth() {
+            new LooseOctree<String>(Point3D.ZERO, 10, -1);
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void nullCenter() {
+            new LooseOctree<String>(null, 10, 1);
+        }
+    }
+
+    public static class Add {
+
+        @Test
+        public void happyFlow() {
+            LooseOctree<String> tree = givenAnOctree();
+            tree.add("box", new Box(2), Point3D.xyz(10, 10, 10));
+            tree.add("sphere", new Sphere(1), Point3D.xyz(-10, 10, 10));
+            tree.add("plane", new Plane(4), Point3D.xyz(0, -10, 0));
+            Assert.assertEquals(3, tree.size());
+            Assert.assertTrue(tree.contains("box"));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void alreadyExisting() {
+            LooseOctree<String> tree = givenAnOctree();
+            tree.add("box", new Box(2), Point3D.ZERO);
+            tree.add("box", new Box(2), Point3D.ZERO);
+        }
+
+        @Test
+        public void outsideRoot() {
+            LooseOctree<String> tree = givenAnOctree();
+            tree.add("box", new Box(2), Point3D.xyz(1000, 0, 0));
+            Assert.assertEquals(Collections.singletonList("box"), tree.querySphere(Point3D.xyz(1000, 0, 0), 1, new ArrayList<>()));
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void happyFlow() {
+            LooseOctree<String> tree = givenAnOctree();
+            tree.add("a", new Box(2), Point3D.ZERO);
+            tree.add("b", new Box(2), Point3D.xyz(1, 0, 0));
+            tree.add("c", new Box(2), Point3D.xyz(2, 0, 0));
+            Assert.assertTrue(tree.remove("a"));
+            Assert.assertFalse(tree.contains("a"));
+            Assert.assertEquals(new HashSet<>(Arrays.asList("b", "c")), new HashSet<>(tree.querySphere(Point3D.ZERO, 10, new ArrayList<>())));
+        }
+
+        @Test
+        public void notExisting() {
+            Assert.assertFalse(givenAnOctree().remove("a"));
+        }
+    }
+
+    public static class Move {
+
+        @Test
+        public void happyFlow() {
+            LooseOctree<String> tree = givenAnOctree();
+            tree.add("a", new Sphere(1), Point3D.ZERO);
+            tree.move("a", Point3D.xyz(50, 50, 50));
+            List<String> result = new ArrayList<>();
+            Assert.assertTrue(tree.querySphere(Point3D.ZERO, 2, result).isEmpty());
+            Assert.assertEquals(Collections.singletonList("a"), tree.querySphere(Point3D.xyz(50, 50, 50), 2, result));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void notExisting() {
+            givenAnOctree().move("a", Point3D.ZERO);
+        }
+
+        @Test
+        public void deferred() {
+            LooseOctree<String> tree = givenAnOctree();
+            tree.add("a", new Sphere(1), Point3D.ZERO);
+            tree.add("b", new Sphere(1), Point3D.ZERO);
+            tree.updateCenter("a", Point3D.xyz(50, 50, 50));
+            tree.remove("b");
+            tree.add("c", new Sphere(1), Point3D.ZERO);
+            List<String> result = new ArrayList<>();
+            Assert.assertEquals(Collections.singletonList("c"), tree.querySphere(Point3D.ZERO, 2, result));
+            Assert.assertEquals(Collections.singletonList("a"), tree.querySphere(Point3D.xyz(50, 50, 50), 2, result));
+        }
+    }
+
+    public static class QueryBox {
+
+        @Test
+        public void happyFlow() {
+            LooseOctree<String> tree = givenAnOctree();
+            tree.add("in", new Box(2), Point3D.xyz(5, 5, 5));
+            tree.add("touching", new Box(2), Point3D.xyz(11, 5, 5));
+            tree.add("out", new Box(2), Point3D.xyz(20, 5, 5));
+            Set<String> result = new HashSet<>(tree.queryBox(Point3D.ZERO, Point3D.xyz(10), new ArrayList<>()));
+            Assert.assertEquals(new HashSet<>(Arrays.asList("in", "touching")), result);
+        }
+    }
+
+    public static class QuerySphere {
+
+        @Test
+        public void sameAsBruteForce() {
+            LooseOctree<String> tree = givenAnOctree();
+            Random random = new Random(7);
+            List<Point3D> centers = new ArrayList<>();
+            List<Float> radius = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                Point3D center = Point3D.xyz(random.nextFloat() * 256 - 128, random.nextFloat() * 256 - 128, random.nextFloat() * 256 - 128);
+                float r = 0.5f + random.nextFloat() * 20;
+                centers.add(center);
+                radius.add(r);
+                tree.add(String.valueOf(i), new Sphere(r), center);
+            }
+            Point3D query = Point3D.xyz(10, -20, 30);
+            Set<String> expected = new HashSet<>();
+            for (int i = 0; i < centers.size(); i++) {
+                float d = 40 + radius.get(i);
+                if (Point3D.squaredDistance(query, centers.get(i)) <= d * d) {
+                    expected.add(String.valueOf(i));
+                }
+            }
+            List<String> result = tree.querySphere(query, 40, new ArrayList<>());
+            Assert.assertEquals(expected.size(), result.size());
+            Assert.assertEquals(expected, new HashSet<>(result));
+        }
+    }
+
+    public static class QueryRay {
+
+        @Test
+        public void happyFlow() {
+            LooseOctree<String> tree = givenAnOctree();
+            tree.add("box", new Box(2), Point3D.xyz(10, 0, 0));
+            tree.add("sphere", new Sphere(1), Point3D.xyz(20, 0.5f, 0));
+            tree.add("behind", new Box(2), Point3D.xyz(-10, 0, 0));
+            tree.add("aside", new Sphere(1), Point3D.xyz(15, 5, 0));
+            Set<String> result = new HashSet<>(tree.queryRay(Point3D.ZERO, Point3D.xyz(3, 0, 0), 100, new ArrayList<>()));
+            Assert.assertEquals(new HashSet<>(Arrays.asList("box", "sphere")), result);
+        }
+
+        @Test
+        public void maxDistance() {
+            LooseOctree<String> tree = givenAnOctree();
+            tree.add("box", new Box(2), Point3D.xyz(10, 0, 0));
+            tree.add("sphere", new Sphere(1), Point3D.xyz(20, 0, 0));
+            Assert.assertEquals(Collections.singletonList("box"), tree.queryRay(Point3D.ZERO, Point3D.X, 15, new ArrayList<>()));
+        }
+    }
+}
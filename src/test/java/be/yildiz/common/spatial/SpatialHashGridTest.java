@@ -0,0 +1,205 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.spatial;
+
+import be.yildiz.common.id.EntityId;
+import be.yildiz.common.vector.Point3D;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class SpatialHashGridTest {
+
+    public static class Constructor {
+
+        @Test
+        public void happyFlow() {
+            SpatialHashGrid grid = new SpatialHashGrid(10);
+            Assert.assertEquals(0, grid.size());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void zeroCellSize() {
+            new SpatialHashGrid(0);
+        }
+    }
+
+    public static class Move {
+
+        @Test
+        public void happyFlow() {
+            SpatialHashGrid grid = new SpatialHashGrid(10);
+            grid.move(EntityId.get(1L), Point3D.xyz(1, 2, 3));
+            Assert.assertEquals(1, grid.size());
+            Assert.assertEquals(Point3D.xyz(1, 2, 3), grid.getPosition(EntityId.get(1L)).get());
+        }
+
+        @Test
+        public void toOtherCell() {
+            SpatialHashGrid grid = new SpatialHashGrid(10);
+            grid.move(EntityId.get(1L), Point3D.xyz(1, 2, 3));
+            grid.move(EntityId.get(2L), Point3D.xyz(2, 2, 3));
+            grid.move(EntityId.get(1L), Point3D.xyz(-55, 2, 3));
+            List<EntityId> result = new ArrayList<>();
+            Assert.assertEquals(Arrays.asList(EntityId.get(2L)), grid.queryRadius(Point3D.ZERO, 5, result));
+            Assert.assertEquals(Arrays.asList(EntityId.get(1L)), grid.queryRadius(Point3D.xyz(-55, 0, 0), 5, result));
+        }
+
+        @Test
+        public void withEntityIdentifiable() {
+            SpatialHashGrid grid = new SpatialHashGrid(10);
+            grid.move(() -> EntityId.get(1L), Point3D.xyz(1, 2, 3));
+            Assert.assertTrue(grid.getPosition(EntityId.get(1L)).isPresent());
+        }
+
+        @Test(expected = NullPointerException.class)
+        public void withNullId() {
+            new SpatialHashGrid(10).move((EntityId) null, Point3D.ZERO);
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void happyFlow() {
+            SpatialHashGrid grid = new SpatialHashGrid(10);
+            grid.move(EntityId.get(1L), Point3D.xyz(1, 2, 3));
+            grid.move(EntityId.get(2L), Point3D.xyz(1, 2, 3));
+            Assert.assertTrue(grid.remove(EntityId.get(1L)));
+            Assert.assertEquals(1, grid.size());
+            Assert.assertFalse(grid.getPosition(EntityId.get(1L)).isPresent());
+            List<EntityId> result = new ArrayList<>();
+            Assert.assertEquals(Arrays.asList(EntityId.get(2L)), grid.queryRadius(Point3D.ZERO, 5, result));
+        }
+
+        @Test
+        public void notExisting() {
+            SpatialHashGrid grid = new SpatialHashGrid(10);
+            Assert.assertFalse(grid.remove(EntityId.get(1L)));
+        }
+    }
+
+    public static class QueryRadius {
+
+        @Test
+        public void sameAsBruteForce() {
+            SpatialHashGrid grid = new SpatialHashGrid(7);
+            List<Point3D> positions = SpatialHashGridTest.randomPositions(500);
+            for (int i = 0; i < positions.size(); i++) {
+                grid.move(EntityId.get((long) i), positions.get(i));
+            }
+            Point3D center = Point3D.xyz(3, -4, 5);
+            float radius = 25;
+            Set<EntityId> expected = new HashSet<>();
+            for (int i = 0; i < positions.size(); i++) {
+                if (Point3D.squaredDistance(center, positions.get(i)) <= radius * radius) {
+                    expected.add(EntityId.get((long) i));
+                }
+            }
+            List<EntityId> result = new ArrayList<>();
+            grid.queryRadius(center, radius, result);
+            Assert.assertEquals(expected.size(), result.size());
+            Assert.assertEquals(expected, new HashSet<>(result));
+        }
+
+        @Test
+        public void resultIsCleared() {
+            SpatialHashGrid grid = new SpatialHashGrid(10);
+            List<EntityId> result = new ArrayList<>();
+            result.add(EntityId.get(1L));
+            Assert.assertTrue(grid.queryRadius(Point3D.ZERO, 5, result).isEmpty());
+        }
+    }
+
+    public static class QueryNearest {
+
+        @Test
+        public void sameAsBruteForce() {
+            SpatialHashGrid grid = new SpatialHashGrid(5);
+            List<Point3D> positions = SpatialHashGridTest.randomPositions(500);
+            for (int i = 0; i < positions.size(); i++) {
+                grid.move(EntityId.get((long) i), positions.get(i));
+            }
+            Point3D center = Point3D.xyz(80, 10, -70);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < positions.size(); i++) {
+                expected.add(i);
+            }
+            expected.sort((a, b) -> Float.compare(Point3D.squaredDistance(center, positions.get(a)), Point3D.squaredDistance(center, positions.get(b))));
+            List<EntityId> result = new ArrayList<>();
+            grid.queryNearest(center, 10, result);
+            Assert.assertEquals(10, result.size());
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(EntityId.get((long) expected.get(i)), result.get(i));
+            }
+        }
+
+        @Test
+        public void lessThanK() {
+            SpatialHashGrid grid = new SpatialHashGrid(5);
+            grid.move(EntityId.get(1L), Point3D.xyz(100, 0, 0));
+            grid.move(EntityId.get(2L), Point3D.xyz(1, 0, 0));
+            List<EntityId> result = new ArrayList<>();
+            Assert.assertEquals(Arrays.asList(EntityId.get(2L), EntityId.get(1L)), grid.queryNearest(Point3D.ZERO, 5, result));
+        }
+
+        @Test(timeout = 5000)
+        public void distantOutlier() {
+            SpatialHashGrid grid = new SpatialHashGrid(1);
+            grid.move(EntityId.get(1L), Point3D.ZERO);
+            grid.move(EntityId.get(2L), Point3D.xyz(100000, 0, 0));
+            grid.move(EntityId.get(3L), Point3D.xyz(-3, 2, 0));
+            List<EntityId> result = new ArrayList<>();
+            Assert.assertEquals(Arrays.asList(EntityId.get(1L), EntityId.get(3L)), grid.queryNearest(Point3D.ZERO, 2, result));
+            Assert.assertEquals(Arrays.asList(EntityId.get(1L), EntityId.get(3L), EntityId.get(2L)), grid.queryNearest(Point3D.ZERO, 3, result));
+            Assert.assertEquals(Arrays.asList(EntityId.get(2L), EntityId.get(1L)), grid.queryNearest(Point3D.xyz(99990, 0, 0), 2, result));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void zeroK() {
+            new SpatialHashGrid(5).queryNearest(Point3D.ZERO, 0, new ArrayList<>());
+        }
+    }
+
+    private static List<Point3D> randomPositions(final int number) {
+        Random random = new Random(42);
+        List<Point3D> result = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            result.add(Point3D.xyz(random.nextFloat() * 200 - 100, random.nextFloat() * 200 - 100, random.nextFloat() * 200 - 100));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class RegistererTest {
+
+    private static final class Element extends BaseRegisterable {
+
+        private Element(final String name) {
+            super(name);
+        }
+    }
+
+    public static class Register {
+
+        @Test
+        public void happyFlow() {
+            Registerer<Element> r = Registerer.newRegisterer();
+            Element a = new Element("a");
+            Element b = new Element("b");
+            Assert.assertEquals(0, r.register(a));
+            Assert.assertEquals(1, r.register(b));
+            Assert.assertSame(a, r.get("a"));
+            Assert.assertSame(b, r.get(1));
+            Assert.assertEquals(1, r.getHandle("b"));
+            Assert.assertEquals(2, r.size());
+        }
+
+        @Test
+        public void manyElements() {
+            Registerer<Element> r = Registerer.newRegisterer();
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(i, r.register(new Element(String.valueOf(i))));
+            }
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(String.valueOf(i), r.get(i).getName());
+            }
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void alreadyExisting() {
+            Registerer<Element> r = Registerer.newRegisterer();
+            r.register(new Element("a"));
+            r.register(new Element("a"));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void concurrentAlreadyExisting() {
+            Registerer<Element> r = Registerer.newConcurrentRegisterer();
+            r.register(new Element("a"));
+            r.register(new Element("a"));
+        }
+    }
+
+    public static class Get {
+
+        @Test(expected = InvalidParameterException.class)
+        public void notExisting() {
+            Registerer.<Element>newRegisterer().get("a");
+        }
+
+        @Test
+        public void noResult() {
+            Element d = new Element("default");
+            Registerer<Element> r = Registerer.newConcurrentRegisterer(n -> d);
+            Assert.assertSame(d, r.get("a"));
+            Assert.assertFalse(r.find("a").isPresent());
+            Assert.assertEquals(Registerer.NO_HANDLE, r.getHandle("a"));
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void invalidHandle() {
+            Registerer.<Element>newRegisterer().get(0);
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void negativeHandle() {
+            Registerer.<Element>newConcurrentRegisterer().get(-1);
+        }
+    }
+
+    public static class Remove {
+
+        @Test
+        public void happyFlow() {
+            Registerer<Element> r = Registerer.newRegisterer();
+            this.removeAndRegisterAgain(r);
+        }
+
+        @Test
+        public void concurrent() {
+            Registerer<Element> r = Registerer.newConcurrentRegisterer();
+            this.removeAndRegisterAgain(r);
+        }
+
+        private void removeAndRegisterAgain(final Registerer<Element> r) {
+            Element a = new Element("a");
+            r.register(a);
+            r.register(new Element("b"));
+            r.remove(a);
+            Assert.assertFalse(r.find("a").isPresent());
+            Assert.assertEquals(1, r.size());
+            Assert.assertEquals(2, r.register(a));
+            Assert.assertSame(a, r.get(2));
+            try {
+                r.get(0);
+                Assert.fail();
+            } catch (InvalidParameterException e) {
+                // ok
+            }
+        }
+    }
+
+    public static class Freeze {
+
+        @Test
+        public void happyFlow() {
+            Registerer<Element> r = Registerer.newRegisterer();
+            for (int i = 0; i < 50; i++) {
+                r.register(new Element(String.valueOf(i)));
+            }
+            r.remove(r.get("10"));
+            r.freeze();
+            Assert.assertTrue(r.isFrozen());
+            Assert.assertEquals(49, r.size());
+            Assert.assertEquals("20", r.get("20").getName());
+            Assert.assertEquals(20, r.getHandle("20"));
+            Assert.assertEquals("20", r.get(20).getName());
+            Assert.assertFalse(r.find("10").isPresent());
+            Assert.assertEquals(Registerer.NO_HANDLE, r.getHandle("50"));
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void registerAfter() {
+            Registerer<Element> r = Registerer.newConcurrentRegisterer();
+            r.register(new Element("a"));
+            r.freeze();
+            r.freeze();
+            r.register(new Element("b"));
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void removeAfter() {
+            Registerer<Element> r = Registerer.newRegisterer();
+            Element a = new Element("a");
+            r.register(a);
+            r.freeze();
+            r.remove(a);
+        }
+    }
+
+    public static class Concurrent {
+
+        @Test
+        public void readWhileRegistering() throws Exception {
+            Registerer<Element> r = Registerer.newConcurrentRegisterer();
+            ExecutorService executor = Executors.newFixedThreadPool(3);
+            try {
+                Future<?> writer = executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        r.register(new Element(String.valueOf(i)));
+                    }
+                });
+                List<Future<?>> readers = new ArrayList<>();
+                for (int t = 0; t < 2; t++) {
+                    readers.add(executor.submit(() -> {
+                        while (r.size() < 2000) {
+                            int size = r.size();
+                            for (int i = 0; i < size; i++) {
+                                Assert.assertEquals(String.valueOf(i), r.get(i).getName());
+                                Assert.assertEquals(i, r.getHandle(String.valueOf(i)));
+                            }
+                        }
+                    }));
+                }
+                writer.get();
+                for (Future<?> f : readers) {
+                    f.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+}
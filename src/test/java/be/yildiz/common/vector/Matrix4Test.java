@@ -0,0 +1,160 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.vector;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class Matrix4Test {
+
+    private static final float DELTA = 0.0001f;
+
+    private static final Quaternion QUARTER_Y = Quaternion.fromAxisAngle(Point3D.Y, new Radian((float) Math.PI / 2));
+
+    private static void assertPoint(final Point3D expected, final Point3D actual) {
+        Assert.assertEquals(expected.x, actual.x, DELTA);
+        Assert.assertEquals(expected.y, actual.y, DELTA);
+        Assert.assertEquals(expected.z, actual.z, DELTA);
+    }
+
+    public static class Transform {
+
+        @Test
+        public void identity() {
+            Assert.assertEquals(Point3D.xyz(1, 2, 3), Matrix4.IDENTITY.transform(Point3D.xyz(1, 2, 3)));
+        }
+
+        @Test
+        public void translation() {
+            Assert.assertEquals(Point3D.xyz(2, 4, 6), Matrix4.translation(Point3D.xyz(1, 2, 3)).transform(Point3D.xyz(1, 2, 3)));
+        }
+
+        @Test
+        public void scale() {
+            Assert.assertEquals(Point3D.xyz(2, 6, 12), Matrix4.scale(Point3D.xyz(2, 3, 4)).transform(Point3D.xyz(1, 2, 3)));
+        }
+
+        @Test
+        public void rotation() {
+            Point3D p = Point3D.xyz(1, 2, 3);
+            assertPoint(QUARTER_Y.rotate(p), Matrix4.rotation(QUARTER_Y).transform(p));
+        }
+
+        @Test
+        public void compose() {
+            Point3D p = Point3D.xyz(1, 2, 3);
+            Point3D t = Point3D.xyz(10, 0, -5);
+            Point3D s = Point3D.xyz(2, 1, 0.5f);
+            Matrix4 expected = Matrix4.translation(t).multiply(Matrix4.rotation(QUARTER_Y)).multiply(Matrix4.scale(s));
+            assertPoint(expected.transform(p), Matrix4.compose(t, QUARTER_Y, s).transform(p));
+            assertPoint(QUARTER_Y.rotate(Point3D.xyz(2, 2, 1.5f)).add(t), Matrix4.compose(t, QUARTER_Y, s).transform(p));
+        }
+
+        @Test
+        public void direction() {
+            Matrix4 m = Matrix4.compose(Point3D.xyz(10, 0, -5), QUARTER_Y, Point3D.xyz(1));
+            assertPoint(QUARTER_Y.rotate(Point3D.X), m.transformDirection(Point3D.X));
+        }
+
+        @Test
+        public void mutable() {
+            Matrix4 m = Matrix4.compose(Point3D.xyz(10, 0, -5), QUARTER_Y, Point3D.xyz(2));
+            MutablePoint3D p = new MutablePoint3D(1, 2, 3);
+            Assert.assertSame(p, m.transform(p, p));
+            assertPoint(m.transform(Point3D.xyz(1, 2, 3)), p.toPoint3D());
+        }
+
+        @Test
+        public void batch() {
+            Matrix4 m = Matrix4.compose(Point3D.xyz(10, 0, -5), QUARTER_Y, Point3D.xyz(2));
+            float[] points = {1, 2, 3, 4, 5, 6, 7, 8, 9};
+            float[] result = new float[9];
+            m.transform(points, result, 2);
+            assertPoint(m.transform(Point3D.xyz(1, 2, 3)), Point3D.xyz(result[0], result[1], result[2]));
+            assertPoint(m.transform(Point3D.xyz(4, 5, 6)), Point3D.xyz(result[3], result[4], result[5]));
+            Assert.assertEquals(0, result[6], DELTA);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void batchTooSmall() {
+            Matrix4.IDENTITY.transform(new float[3], new float[6], 2);
+        }
+
+        @Test
+        public void buffer() {
+            Matrix4 m = Matrix4.compose(Point3D.xyz(10, 0, -5), QUARTER_Y, Point3D.xyz(2));
+            Point3DBuffer source = Point3DBuffer.create(2);
+            source.append(Point3D.xyz(1, 2, 3));
+            Point3DBuffer destination = Point3DBuffer.create(1);
+            source.transform(m, destination);
+            assertPoint(m.transform(Point3D.xyz(1, 2, 3)), destination.get(0));
+        }
+    }
+
+    public static class Inverse {
+
+        @Test
+        public void happyFlow() {
+            Matrix4 m = Matrix4.compose(Point3D.xyz(10, 0, -5), QUARTER_Y, Point3D.xyz(2, 1, 0.5f));
+            Point3D p = Point3D.xyz(1, 2, 3);
+            assertPoint(p, m.inverse().transform(m.transform(p)));
+        }
+
+        @Test
+        public void smallScale() {
+            Matrix4 m = Matrix4.compose(Point3D.xyz(3, -2, 1), QUARTER_Y, Point3D.xyz(0.01f, 0.01f, 0.01f));
+            Point3D p = Point3D.xyz(1, 2, 3);
+            assertPoint(p, m.inverse().transform(m.transform(p)));
+            assertPoint(Point3D.xyz(100, 100, 100), Matrix4.scale(Point3D.xyz(0.01f, 0.01f, 0.01f)).inverse().transform(Point3D.xyz(1, 1, 1)));
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void determinantUnderflow() {
+            Matrix4.scale(Point3D.xyz(1e-20f, 1e-20f, 1e-20f)).inverse();
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void notInvertible() {
+            Matrix4.scale(Point3D.xyz(1, 0, 1)).inverse();
+        }
+    }
+
+    public static class ToArray {
+
+        @Test
+        public void happyFlow() {
+            float[] result = Matrix4.translation(Point3D.xyz(1, 2, 3)).toArray(new float[16]);
+            Assert.assertEquals(1, result[3], DELTA);
+            Assert.assertEquals(2, result[7], DELTA);
+            Assert.assertEquals(3, result[11], DELTA);
+            Assert.assertEquals(1, result[15], DELTA);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.vector;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class MutablePoint3DTest {
+
+    public static class Constructor {
+
+        @Test
+        public void happyFlow() {
+            MutablePoint3D p = new MutablePoint3D(1, 2, 3);
+            Assert.assertEquals(1, p.x, 0.000001f);
+            Assert.assertEquals(2, p.y, 0.000001f);
+            Assert.assertEquals(3, p.z, 0.000001f);
+        }
+
+        @Test
+        public void fromPoint3D() {
+            MutablePoint3D p = MutablePoint3D.from(Point3D.xyz(1, 2, 3));
+            Assert.assertTrue(p.sameValues(Point3D.xyz(1, 2, 3)));
+        }
+    }
+
+    public static class Add {
+
+        @Test
+        public void happyFlow() {
+            MutablePoint3D p = new MutablePoint3D(1, 2, 3);
+            MutablePoint3D result = p.add(Point3D.xyz(1, 1, 1));
+            Assert.assertSame(p, result);
+            Assert.assertEquals(Point3D.xyz(2, 3, 4), p.toPoint3D());
+        }
+
+        @Test
+        public void scaled() {
+            MutablePoint3D p = new MutablePoint3D(1, 2, 3);
+            p.addScaled(Point3D.xyz(1, 2, 3), 2);
+            Assert.assertEquals(Point3D.xyz(3, 6, 9), p.toPoint3D());
+        }
+
+        @Test
+        public void sameAsPoint3D() {
+            Point3D p = Point3D.xyz(1.5f, -2, 3);
+            MutablePoint3D m = MutablePoint3D.from(p);
+            Assert.assertTrue(m.addX(2).addY(3).addZ(-1).sameValues(p.addX(2).addY(3).addZ(-1)));
+        }
+    }
+
+    public static class Subtract {
+
+        @Test
+        public void happyFlow() {
+            MutablePoint3D p = new MutablePoint3D(1, 2, 3);
+            p.subtract(Point3D.xyz(1, 1, 1));
+            Assert.assertEquals(Point3D.xyz(0, 1, 2), p.toPoint3D());
+        }
+    }
+
+    public static class Normalize {
+
+        @Test
+        public void sameAsPoint3D() {
+            Point3D p = Point3D.xyz(3, 4, 12);
+            Assert.assertTrue(MutablePoint3D.from(p).normalizeAndMultiply(5).sameValues(Point3D.normalizeAndMultiply(p, 5)));
+        }
+
+        @Test
+        public void zeroLength() {
+            MutablePoint3D p = new MutablePoint3D();
+            p.normalize();
+            Assert.assertEquals(Point3D.ZERO, p.toPoint3D());
+        }
+    }
+
+    public static class Round {
+
+        @Test
+        public void happyFlow() {
+            MutablePoint3D p = new MutablePoint3D(1.2f, 2.6f, -3.7f);
+            Assert.assertEquals(Point3D.xyz(1, 3, -4), p.round().toPoint3D());
+        }
+    }
+
+    public static class ToXZ {
+
+        @Test
+        public void happyFlow() {
+            MutablePoint3D p = new MutablePoint3D(1, 2, 3);
+            Assert.assertEquals(Point3D.xyz(1, 0, 3), p.toXZ().toPoint3D());
+        }
+    }
+
+    public static class SquaredDistance {
+
+        @Test
+        public void sameAsPoint3D() {
+            Point3D p1 = Point3D.xyz(1, 2, 3);
+            Point3D p2 = Point3D.xyz(-4, 5, 8);
+            Assert.assertEquals(Point3D.squaredDistance(p1, p2), MutablePoint3D.from(p1).squaredDistance(p2), 0.000001f);
+        }
+    }
+
+    public static class Point3DDestination {
+
+        @Test
+        public void add() {
+            MutablePoint3D result = new MutablePoint3D();
+            Assert.assertSame(result, Point3D.xyz(1, 2, 3).add(Point3D.xyz(1, 1, 1), result));
+            Assert.assertEquals(Point3D.xyz(2, 3, 4), result.toPoint3D());
+        }
+
+        @Test
+        public void subtract() {
+            MutablePoint3D result = new MutablePoint3D();
+            Point3D.xyz(1, 2, 3).subtract(Point3D.xyz(1, 1, 1), result);
+            Assert.assertEquals(Point3D.xyz(0, 1, 2), result.toPoint3D());
+        }
+
+        @Test
+        public void multiply() {
+            MutablePoint3D result = new MutablePoint3D();
+            Point3D.xyz(1, 2, 3).multiply(2, result);
+            Assert.assertEquals(Point3D.xyz(2, 4, 6), result.toPoint3D());
+        }
+
+        @Test
+        public void toXZ() {
+            MutablePoint3D result = new MutablePoint3D();
+            Point3D.xyz(1, 2, 3).toXZ(result);
+            Assert.assertEquals(Point3D.xyz(1, 0, 3), result.toPoint3D());
+        }
+
+        @Test
+        public void normalizeAndMultiply() {
+            Point3D p = Point3D.xyz(3, 4, 0);
+            MutablePoint3D result = new MutablePoint3D();
+            Point3D.normalizeAndMultiply(p, 2, result);
+            Assert.assertTrue(result.sameValues(Point3D.normalizeAndMultiply(p, 2)));
+        }
+    }
+}
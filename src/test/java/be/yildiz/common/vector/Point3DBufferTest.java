@@ -0,0 +1,242 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.vector;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class Point3DBufferTest {
+
+    public static class Create {
+
+        @Test
+        public void happyFlow() {
+            Point3DBuffer b = Point3DBuffer.create(2);
+            Assert.assertTrue(b.isEmpty());
+            Assert.assertEquals(0, b.size());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void zeroCapacity() {
+            Point3DBuffer.create(0);
+        }
+
+        @Test
+        public void fromList() {
+            Point3DBuffer b = Point3DBuffer.fromList(Arrays.asList(Point3D.xyz(1, 2, 3), Point3D.xyz(4, 5, 6)));
+            Assert.assertEquals(2, b.size());
+            Assert.assertEquals(Point3D.xyz(4, 5, 6), b.get(1));
+            Assert.assertEquals(Arrays.asList(Point3D.xyz(1, 2, 3), Point3D.xyz(4, 5, 6)), b.toList());
+        }
+    }
+
+    public static class Append {
+
+        @Test
+        public void grow() {
+            Point3DBuffer b = Point3DBuffer.create(1);
+            Assert.assertEquals(0, b.append(Point3D.xyz(1, 2, 3)));
+            Assert.assertEquals(1, b.append(Point3D.xyz(4, 5, 6)));
+            Assert.assertEquals(2, b.append(7, 8, 9));
+            Assert.assertEquals(3, b.size());
+            Assert.assertEquals(Point3D.xyz(7, 8, 9), b.get(2));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void getOutOfBounds() {
+            Point3DBuffer b = Point3DBuffer.create(4);
+            b.append(Point3D.ZERO);
+            b.get(1);
+        }
+    }
+
+    public static class RemoveAndSwap {
+
+        @Test
+        public void happyFlow() {
+            Point3DBuffer b = Point3DBuffer.create(4);
+            b.append(Point3D.xyz(1));
+            b.append(Point3D.xyz(2));
+            b.append(Point3D.xyz(3));
+            b.removeAndSwap(0);
+            Assert.assertEquals(2, b.size());
+            Assert.assertEquals(Point3D.xyz(3), b.get(0));
+            Assert.assertEquals(Point3D.xyz(2), b.get(1));
+        }
+    }
+
+    public static class Kernels {
+
+        @Test
+        public void translate() {
+            Point3DBuffer b = Point3DBuffer.create(4);
+            b.append(Point3D.xyz(1, 2, 3));
+            b.translate(Point3D.xyz(1, 1, 1));
+            Assert.assertEquals(Point3D.xyz(2, 3, 4), b.get(0));
+        }
+
+        @Test
+        public void addScaled() {
+            Point3DBuffer positions = Point3DBuffer.create(4);
+            positions.append(Point3D.xyz(1, 2, 3));
+            Point3DBuffer velocities = Point3DBuffer.create(4);
+            velocities.append(Point3D.xyz(1, 0, -1));
+            positions.addScaled(velocities, 2);
+            Assert.assertEquals(Point3D.xyz(3, 2, 1), positions.get(0));
+            positions.add(velocities);
+            Assert.assertEquals(Point3D.xyz(4, 2, 0), positions.get(0));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void addDifferentSize() {
+            Point3DBuffer b = Point3DBuffer.create(4);
+            b.append(Point3D.ZERO);
+            b.add(Point3DBuffer.create(4));
+        }
+
+        @Test
+        public void scale() {
+            Point3DBuffer b = Point3DBuffer.create(4);
+            b.append(Point3D.xyz(1, 2, 3));
+            b.scale(2);
+            Assert.assertEquals(Point3D.xyz(2, 4, 6), b.get(0));
+        }
+
+        @Test
+        public void normalize() {
+            Point3D p = Point3D.xyz(3, 4, 12);
+            Point3DBuffer b = Point3DBuffer.create(4);
+            b.append(p);
+            b.append(Point3D.ZERO);
+            b.normalize();
+            Assert.assertEquals(Point3D.normalize(p), b.get(0));
+            Assert.assertEquals(Point3D.ZERO, b.get(1));
+        }
+
+        @Test
+        public void squaredDistance() {
+            Point3D p1 = Point3D.xyz(1, 2, 3);
+            Point3D p2 = Point3D.xyz(-4, 5, 8);
+            Point3DBuffer b = Point3DBuffer.create(4);
+            b.append(p1);
+            b.append(p2);
+            float[] result = new float[2];
+            b.squaredDistance(Point3D.ZERO, result);
+            Assert.assertEquals(Point3D.squaredDistance(p1, Point3D.ZERO), result[0], 0.000001f);
+            Assert.assertEquals(Point3D.squaredDistance(p2, Point3D.ZERO), result[1], 0.000001f);
+        }
+
+        @Test
+        public void squaredDistanceBuffers() {
+            Point3D p1 = Point3D.xyz(1, 2, 3);
+            Point3D p2 = Point3D.xyz(-4, 5, 8);
+            Point3DBuffer b1 = Point3DBuffer.create(1);
+            b1.append(p1);
+            Point3DBuffer b2 = Point3DBuffer.create(1);
+            b2.append(p2);
+            float[] result = new float[1];
+            Point3DBuffer.squaredDistance(b1, b2, result);
+            Assert.assertEquals(Point3D.squaredDistance(p1, p2), result[0], 0.000001f);
+        }
+
+        @Test
+        public void dot() {
+            Point3DBuffer b = Point3DBuffer.create(4);
+            b.append(Point3D.xyz(1, 2, 3));
+            b.append(Point3D.xyz(-1, 0, 2));
+            float[] result = new float[2];
+            b.dot(Point3D.xyz(2, 3, 4), result);
+            Assert.assertEquals(20, result[0], 0.000001f);
+            Assert.assertEquals(6, result[1], 0.000001f);
+        }
+
+        @Test
+        public void dotBuffers() {
+            Point3DBuffer b1 = Point3DBuffer.create(1);
+            b1.append(Point3D.xyz(1, 2, 3));
+            Point3DBuffer b2 = Point3DBuffer.create(1);
+            b2.append(Point3D.xyz(2, 3, 4));
+            float[] result = new float[1];
+            Point3DBuffer.dot(b1, b2, result);
+            Assert.assertEquals(20, result[0], 0.000001f);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void dotDifferentSize() {
+            Point3DBuffer b = Point3DBuffer.create(1);
+            b.append(Point3D.ZERO);
+            Point3DBuffer.dot(b, Point3DBuffer.create(1), new float[1]);
+        }
+
+        @Test
+        public void length() {
+            Point3DBuffer b = Point3DBuffer.create(4);
+            b.append(Point3D.xyz(3, 4, 12));
+            float[] result = new float[1];
+            b.length(result);
+            Assert.assertEquals(13, result[0], 0.000001f);
+        }
+
+        @Test
+        public void within() {
+            Point3DBuffer b = Point3DBuffer.create(4);
+            b.append(Point3D.xyz(1, 0, 0));
+            b.append(Point3D.xyz(10, 0, 0));
+            b.append(Point3D.xyz(0, 2, 0));
+            int[] result = new int[3];
+            Assert.assertEquals(2, b.within(Point3D.ZERO, 2, result));
+            Assert.assertEquals(0, result[0]);
+            Assert.assertEquals(2, result[1]);
+        }
+    }
+
+    public static class ToDirectBuffer {
+
+        @Test
+        public void happyFlow() {
+            Point3DBuffer b = Point3DBuffer.createDirect(1);
+            b.append(Point3D.xyz(1, 2, 3));
+            b.append(Point3D.xyz(4, 5, 6));
+            FloatBuffer fb = b.toDirectBuffer();
+            Assert.assertTrue(fb.isDirect());
+            Assert.assertEquals(6, fb.limit());
+            Assert.assertEquals(1, fb.get(0), 0.000001f);
+            Assert.assertEquals(6, fb.get(5), 0.000001f);
+        }
+
+        @Test(expected = IllegalStateException.class)
+        public void notDirect() {
+            Point3DBuffer.create(1).toDirectBuffer();
+        }
+    }
+}
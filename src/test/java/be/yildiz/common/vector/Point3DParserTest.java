@@ -0,0 +1,169 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.vector;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidParameterException;
+import java.util.Random;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class Point3DParserTest {
+
+    public static class Parse {
+
+        @Test
+        public void happyFlow() {
+            Assert.assertEquals(Point3D.xyz(1.5f, -2, 3.25f), new Point3DParser().parse("1.5,-2,3.25"));
+        }
+
+        @Test
+        public void xz() {
+            Assert.assertEquals(Point3D.xyz(1, 0, 3), new Point3DParser().parse("1,3"));
+        }
+
+        @Test
+        public void withSpaces() {
+            Assert.assertEquals(Point3D.xyz(1, 2, 3), new Point3DParser().parse(" 1 , 2,3 "));
+        }
+
+        @Test
+        public void exponentAndSpecialValues() {
+            Point3D p = new Point3DParser().parse("1.0E-5,Infinity,NaN");
+            Assert.assertEquals(1.0E-5f, p.x, 0);
+            Assert.assertEquals(Float.POSITIVE_INFINITY, p.y, 0);
+            Assert.assertTrue(Float.isNaN(p.z));
+        }
+
+        @Test
+        public void sameAsPoint3DConstructor() {
+            Random random = new Random(3);
+            Point3DParser parser = new Point3DParser();
+            for (int i = 0; i < 10000; i++) {
+                Point3D expected = Point3D.xyz(
+                        (random.nextFloat() - 0.5f) * 1e6f,
+                        random.nextFloat() * 1e-3f,
+                        Float.intBitsToFloat(random.nextInt() & 0x7F7FFFFF));
+                Assert.assertEquals(expected, parser.parse(expected.toString()));
+            }
+        }
+
+        @Test
+        public void longMantissaOnRoundingBoundary() {
+            String upper = "1.0000000596046447753906251";
+            String half = "1.000000059604644775390625";
+            String lower = "1.0000000596046447753906249";
+            String text = upper + "," + half + "," + lower;
+            MutablePoint3D result = new Point3DParser().parse(text, 0, text.length(), new MutablePoint3D());
+            Assert.assertEquals(Float.parseFloat(upper), result.x, 0);
+            Assert.assertEquals(Float.parseFloat(half), result.y, 0);
+            Assert.assertEquals(Float.parseFloat(lower), result.z, 0);
+            Assert.assertTrue(result.x > result.z);
+        }
+
+        @Test
+        public void charArrayRange() {
+            char[] text = "xx4,5,6yy".toCharArray();
+            MutablePoint3D result = new Point3DParser().parse(text, 2, 7, new MutablePoint3D());
+            Assert.assertTrue(result.sameValues(Point3D.xyz(4, 5, 6)));
+        }
+
+        @Test
+        public void byteBufferRange() {
+            ByteBuffer text = ByteBuffer.wrap("xx4,5,6yy".getBytes(StandardCharsets.US_ASCII));
+            MutablePoint3D result = new Point3DParser().parse(text, 2, 7, new MutablePoint3D());
+            Assert.assertTrue(result.sameValues(Point3D.xyz(4, 5, 6)));
+            Assert.assertEquals(0, text.position());
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void tooManyValues() {
+            new Point3DParser().parse("1,2,3,4");
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void oneValue() {
+            new Point3DParser().parse("1");
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void notANumber() {
+            new Point3DParser().parse("1,a,3");
+        }
+
+        @Test(expected = InvalidParameterException.class)
+        public void emptyValue() {
+            new Point3DParser().parse("1,,3");
+        }
+    }
+
+    public static class ParseAll {
+
+        @Test
+        public void happyFlow() {
+            Point3DBuffer buffer = Point3DBuffer.create(2);
+            Assert.assertEquals(3, new Point3DParser().parseAll("1,2,3\n4,5\n\n7,8,9\n", '\n', buffer));
+            Assert.assertEquals(Point3D.xyz(1, 2, 3), buffer.get(0));
+            Assert.assertEquals(Point3D.xyz(4, 0, 5), buffer.get(1));
+            Assert.assertEquals(Point3D.xyz(7, 8, 9), buffer.get(2));
+        }
+
+        @Test
+        public void byteBuffer() {
+            ByteBuffer text = ByteBuffer.wrap("1,2,3;4,5,6".getBytes(StandardCharsets.US_ASCII));
+            Point3DBuffer buffer = Point3DBuffer.create(2);
+            Assert.assertEquals(2, new Point3DParser().parseAll(text, 0, text.limit(), ';', buffer));
+            Assert.assertEquals(Point3D.xyz(4, 5, 6), buffer.get(1));
+        }
+    }
+
+    public static class Writer {
+
+        @Test
+        public void sameAsToString() {
+            Point3D p = Point3D.xyz(1.5f, -2.25f, 3e-7f);
+            Assert.assertEquals(p.x + "," + p.y + "," + p.z, Point3DWriter.append(p, new StringBuilder()).toString());
+            Assert.assertEquals(p.toString(), Point3DWriter.append(MutablePoint3D.from(p), new StringBuilder()).toString());
+        }
+
+        @Test
+        public void roundTrip() {
+            Point3DBuffer buffer = Point3DBuffer.create(2);
+            buffer.append(1, 2, 3);
+            buffer.append(-4.5f, 0.1f, 6);
+            StringBuilder sb = Point3DWriter.append(buffer, '\n', new StringBuilder());
+            Point3DBuffer read = Point3DBuffer.create(2);
+            new Point3DParser().parseAll(sb, '\n', read);
+            Assert.assertEquals(buffer.toList(), read.toList());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.vector;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class QuaternionTest {
+
+    private static final float DELTA = 0.0001f;
+
+    private static final Quaternion QUARTER_Y = Quaternion.fromAxisAngle(Point3D.Y, new Radian((float) Math.PI / 2));
+
+    private static void assertPoint(final Point3D expected, final Point3D actual) {
+        Assert.assertEquals(expected.x, actual.x, DELTA);
+        Assert.assertEquals(expected.y, actual.y, DELTA);
+        Assert.assertEquals(expected.z, actual.z, DELTA);
+    }
+
+    private static void assertQuaternion(final Quaternion expected, final Quaternion actual) {
+        Assert.assertEquals(expected.w, actual.w, DELTA);
+        Assert.assertEquals(expected.x, actual.x, DELTA);
+        Assert.assertEquals(expected.y, actual.y, DELTA);
+        Assert.assertEquals(expected.z, actual.z, DELTA);
+    }
+
+    public static class FromAxisAngle {
+
+        @Test
+        public void happyFlow() {
+            assertPoint(Point3D.Y, QUARTER_Y.getAxis());
+            Assert.assertEquals(Math.PI / 2, QUARTER_Y.getAngle().angle, DELTA);
+            Assert.assertEquals(1, QUARTER_Y.length(), DELTA);
+        }
+
+        @Test
+        public void notNormalizedAxis() {
+            assertQuaternion(QUARTER_Y, Quaternion.fromAxisAngle(Point3D.xyz(0, 5, 0), new Radian((float) Math.PI / 2)));
+        }
+
+        @Test
+        public void zeroAxis() {
+            Assert.assertSame(Quaternion.IDENTITY, Quaternion.fromAxisAngle(Point3D.ZERO, new Radian(1)));
+        }
+    }
+
+    public static class Rotate {
+
+        @Test
+        public void happyFlow() {
+            assertPoint(Point3D.xyz(0, 0, -1), QUARTER_Y.rotate(Point3D.X));
+        }
+
+        @Test
+        public void identity() {
+            assertPoint(Point3D.xyz(1, 2, 3), Quaternion.IDENTITY.rotate(Point3D.xyz(1, 2, 3)));
+        }
+
+        @Test
+        public void sameAsMultiplication() {
+            Quaternion q = Quaternion.fromAxisAngle(Point3D.xyz(1, 2, 3), new Radian(0.7f));
+            Point3D p = Point3D.xyz(4, -5, 6);
+            Quaternion expected = q.multiply(new Quaternion(0, p.x, p.y, p.z)).multiply(q.conjugate());
+            assertPoint(Point3D.xyz(expected.x, expected.y, expected.z), q.rotate(p));
+        }
+
+        @Test
+        public void inPlace() {
+            MutablePoint3D p = new MutablePoint3D(1, 0, 0);
+            Assert.assertSame(p, QUARTER_Y.rotate(p));
+            assertPoint(Point3D.xyz(0, 0, -1), p.toPoint3D());
+        }
+
+        @Test
+        public void buffer() {
+            Point3DBuffer source = Point3DBuffer.create(2);
+            source.append(Point3D.X);
+            source.append(Point3D.xyz(1, 2, 3));
+            Point3DBuffer destination = Point3DBuffer.create(1);
+            source.rotate(QUARTER_Y, destination);
+            Assert.assertEquals(2, destination.size());
+            assertPoint(QUARTER_Y.rotate(Point3D.X), destination.get(0));
+            assertPoint(QUARTER_Y.rotate(Point3D.xyz(1, 2, 3)), destination.get(1));
+            source.rotate(QUARTER_Y);
+            assertPoint(destination.get(1), source.get(1));
+        }
+    }
+
+    public static class Inverse {
+
+        @Test
+        public void happyFlow() {
+            Quaternion q = new Quaternion(1, 2, 3, 4);
+            assertQuaternion(Quaternion.IDENTITY, q.multiply(q.inverse()));
+        }
+
+        @Test
+        public void conjugateOfUnit() {
+            assertQuaternion(QUARTER_Y.inverse(), QUARTER_Y.conjugate());
+            assertPoint(Point3D.X, QUARTER_Y.conjugate().rotate(QUARTER_Y.rotate(Point3D.X)));
+        }
+    }
+
+    public static class Normalize {
+
+        @Test
+        public void happyFlow() {
+            Assert.assertEquals(1, new Quaternion(1, 2, 3, 4).normalize().length(), DELTA);
+        }
+
+        @Test
+        public void zero() {
+            Quaternion q = new Quaternion(0, 0, 0, 0);
+            Assert.assertSame(q, q.normalize());
+        }
+    }
+
+    public static class Interpolation {
+
+        @Test
+        public void slerpBounds() {
+            assertQuaternion(Quaternion.IDENTITY, Quaternion.slerp(Quaternion.IDENTITY, QUARTER_Y, 0));
+            assertQuaternion(QUARTER_Y, Quaternion.slerp(Quaternion.IDENTITY, QUARTER_Y, 1));
+        }
+
+        @Test
+        public void slerpHalf() {
+            Quaternion half = Quaternion.slerp(Quaternion.IDENTITY, QUARTER_Y, 0.5f);
+            assertQuaternion(Quaternion.fromAxisAngle(Point3D.Y, new Radian((float) Math.PI / 4)), half);
+        }
+
+        @Test
+        public void slerpShortestPath() {
+            Quaternion negated = new Quaternion(-QUARTER_Y.w, -QUARTER_Y.x, -QUARTER_Y.y, -QUARTER_Y.z);
+            Quaternion half = Quaternion.slerp(Quaternion.IDENTITY, negated, 0.5f);
+            assertPoint(Quaternion.fromAxisAngle(Point3D.Y, new Radian((float) Math.PI / 4)).rotate(Point3D.X), half.rotate(Point3D.X));
+        }
+
+        @Test
+        public void nlerpHalf() {
+            Quaternion half = Quaternion.nlerp(Quaternion.IDENTITY, QUARTER_Y, 0.5f);
+            assertQuaternion(Quaternion.fromAxisAngle(Point3D.Y, new Radian((float) Math.PI / 4)), half);
+        }
+    }
+}
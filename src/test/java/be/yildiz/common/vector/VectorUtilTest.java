@@ -0,0 +1,98 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ * Copyright (c) 2017 Grégory Van den Borre
+ *
+ * More infos available: https://www.yildiz-games.be
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without
+ * limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ * WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ * OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ */
+
+package be.yildiz.common.vector;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * @author Grégory Van den Borre
+ */
+@RunWith(Enclosed.class)
+public class VectorUtilTest {
+
+    public static class GetPointOnCircle {
+
+        @Test
+        public void happyFlow() {
+            Point2D[] result = VectorUtil.getPointOnCircle(4, 10);
+            Assert.assertEquals(4, result.length);
+            Assert.assertEquals(new Point2D(0, 10), result[0]);
+            Assert.assertEquals(new Point2D(-10, 0), result[1]);
+            Assert.assertEquals(10, result[3].getX());
+        }
+
+        @Test
+        public void cachedResultNotShared() {
+            Point2D[] first = VectorUtil.getPointOnCircle(6, 5);
+            first[0].setValues(100, 100);
+            Point2D[] second = VectorUtil.getPointOnCircle(6, 5);
+            Assert.assertNotSame(first, second);
+            Assert.assertNotEquals(first[0], second[0]);
+        }
+
+        @Test
+        public void differentRadius() {
+            Point2D[] small = VectorUtil.getPointOnCircle(8, 10);
+            Point2D[] big = VectorUtil.getPointOnCircle(8, 1000);
+            Assert.assertEquals(707, big[0].getX());
+            Assert.assertEquals(7, small[0].getX());
+        }
+
+        @Test
+        public void notCachedSize() {
+            Assert.assertEquals(5000, VectorUtil.getPointOnCircle(5000, 10).length);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void zeroNumber() {
+            VectorUtil.getPointOnCircle(0, 10);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void zeroRadius() {
+            VectorUtil.getPointOnCircle(5, 0);
+        }
+    }
+
+    public static class GetPointOnCircleArray {
+
+        @Test
+        public void happyFlow() {
+            float[] result = VectorUtil.getPointOnCircle(4, 2.5f, new float[8]);
+            Assert.assertEquals(0, result[0], 0.0001f);
+            Assert.assertEquals(2.5f, result[1], 0.0001f);
+            Assert.assertEquals(-2.5f, result[2], 0.0001f);
+            Assert.assertEquals(2.5f, result[6], 0.0001f);
+            Assert.assertEquals(0, result[7], 0.0001f);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void arrayTooSmall() {
+            VectorUtil.getPointOnCircle(4, 2.5f, new float[7]);
+        }
+    }
+}